@@ -0,0 +1,91 @@
+package com.github.jordanpottruff.jgml;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Times the VecN and MatMN operations that run on the {@link Kernels} loops. Run it once with
+ * {@code --add-modules jdk.incubator.vector} and once without on the same JDK to compare the
+ * vectorized kernels against the scalar ones; the 'bench' Gradle task runs both.
+ */
+public class KernelBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+    private static final long ROUND_NANOS = 200_000_000L;
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        System.out.println("Vectorized kernels: " + isVectorized());
+        Random random = new Random(1L);
+        VecN vecA = new VecN(randomArray(random, 4096));
+        VecN vecB = new VecN(randomArray(random, 4096));
+        MatMN matA = new MatMN(randomMatrix(random, 256, 256));
+        MatMN matB = new MatMN(randomMatrix(random, 256, 256));
+        VecN vecC = new VecN(randomArray(random, 256));
+
+        run("VecN.add (4096)", () -> vecA.add(vecB));
+        run("VecN.scale (4096)", () -> vecA.scale(1.5));
+        run("VecN.dot (4096)", () -> vecA.dot(vecB));
+        run("VecN.magnitude (4096)", vecA::magnitude);
+        run("MatMN.add (256x256)", () -> matA.add(matB));
+        run("MatMN.multiply(Vec) (256x256)", () -> matA.multiply(vecC));
+        run("MatMN.multiply(Mat) (256x256)", () -> matA.multiply(matB));
+        run("MatMN.transposeMultiply(Vec) (256x256)", () -> matA.transposeMultiply(vecC));
+        run("MatMN.transposeMultiply(Mat) (256x256)", () -> matA.transposeMultiply(matB));
+        run("MatMN.gram (256x256)", matA::gram);
+    }
+
+    private static boolean isVectorized() {
+        try {
+            return Kernels.class.getDeclaredField("VECTORIZED").getBoolean(null);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static void run(String name, Supplier<Object> operation) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            measure(operation);
+        }
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            best = Math.min(best, measure(operation));
+        }
+        System.out.println(String.format("%-40s %12.1f ns/op", name, best));
+    }
+
+    /**
+     * Repeats the operation for about ROUND_NANOS and returns the average time of one call.
+     */
+    private static double measure(Supplier<Object> operation) {
+        long count = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < 16; i++) {
+                sink = operation.get();
+            }
+            count += 16;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ROUND_NANOS);
+        return (double) elapsed / count;
+    }
+
+    private static double[] randomArray(Random random, int size) {
+        double[] array = new double[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = random.nextDouble() - 0.5;
+        }
+        return array;
+    }
+
+    private static double[][] randomMatrix(Random random, int cols, int rows) {
+        double[][] matrix = new double[cols][];
+        for (int c = 0; c < cols; c++) {
+            matrix[c] = randomArray(random, rows);
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.jordanpottruff.jgml;
+
+import java.util.Arrays;
+
+/**
+ * Fused update operations in the style of the BLAS (Basic Linear Algebra Subprograms) levels 1 to
+ * 3. Each operation combines a product, a scaling and a sum into a single pass that writes into an
+ * array provided by the caller, so loops such as iterative solvers can update their state without
+ * allocating intermediate vectors and matrices.
+ * <p>
+ * Vectors are plain arrays. Destination matrices are either arrays of columns, in the same layout
+ * as {@link Mat#toArray()}, or single column-major arrays, in the layout that MatMN stores.
+ * Following the BLAS convention, a 'beta' of zero overwrites the destination instead of scaling
+ * it, so its previous contents, even NaN, do not matter.
+ */
+public final class Blas {
+
+    private Blas() {
+        // Intentionally blank to prevent instantiation.
+    }
+
+    /**
+     * Adds a multiple of one vector to another in place: y = alpha * x + y.
+     *
+     * @param alpha the scalar multiple of x.
+     * @param x the vector to add.
+     * @param y the vector to add to, which is overwritten with the result.
+     * @throws IllegalArgumentException if the vectors do not have the same dimension.
+     */
+    public static void axpy(double alpha, double[] x, double[] y) {
+        Util.verifyEqualDimensions(x, y);
+        for (int i = 0; i < y.length; i++) {
+            y[i] += alpha * x[i];
+        }
+    }
+
+    /**
+     * Computes the matrix-vector update y = alpha * A * x + beta * y in place.
+     *
+     * @param alpha the scalar multiple of the product.
+     * @param a the matrix A.
+     * @param x the vector x, with one element per column of A.
+     * @param beta the scalar multiple of the current contents of y.
+     * @param y the vector y, with one element per row of A, which is overwritten with the result.
+     * @throws IllegalArgumentException if the dimensions of the vectors do not match the matrix.
+     * @throws IllegalArgumentException if x and y are the same array.
+     */
+    public static void gemv(double alpha, MatMN a, double[] x, double beta, double[] y) {
+        Util.verifyExactDimension(x, a.cols);
+        Util.verifyExactDimension(y, a.rows);
+        if (x == y) {
+            throw new IllegalArgumentException("Expected separate arrays for x and y but " +
+                    "received the same array");
+        }
+        scale(beta, y);
+        if (alpha == 0.0) return;
+        Util.multiplyColumn(alpha, a.elements(), a.rows, x, 0, y, 0);
+    }
+
+    /**
+     * Computes the matrix-matrix update C = alpha * A * B + beta * C in place. Each column of C is
+     * updated in turn as in {@link #gemv(double, MatMN, double[], double, double[])}, so no
+     * intermediate arrays are created.
+     *
+     * @param alpha the scalar multiple of the product.
+     * @param a the matrix A.
+     * @param b the matrix B, with one row per column of A.
+     * @param beta the scalar multiple of the current contents of C.
+     * @param c the columns of C, with one row per row of A and one column per column of B, which
+     *          are overwritten with the result.
+     * @throws IllegalArgumentException if the dimensions of the matrices do not match.
+     */
+    public static void gemm(double alpha, MatMN a, MatMN b, double beta, double[][] c) {
+        Util.verifyOperableDimensions(a.elements(), a.rows, b.elements(), b.rows);
+        Util.verifyExactDimension(c, a.rows, b.cols);
+        double[] aElements = a.elements();
+        double[] bElements = b.elements();
+        for (int col = 0; col < c.length; col++) {
+            scale(beta, c[col]);
+            if (alpha != 0.0) {
+                Util.multiplyColumn(alpha, aElements, a.rows, bElements, col * b.rows, c[col], 0);
+            }
+        }
+    }
+
+    /**
+     * Computes the matrix-matrix update C = alpha * A * B + beta * C in place, where C is a single
+     * column-major array so that the element at (row, col) is at index col * rows + row. This is
+     * the layout that MatMN stores, so large products can use the same cache-blocked kernel as
+     * {@link MatMN#multiply(Mat)}. Products where A has at most 64 rows and columns create no
+     * intermediate arrays.
+     *
+     * @param alpha the scalar multiple of the product.
+     * @param a the matrix A.
+     * @param b the matrix B, with one row per column of A.
+     * @param beta the scalar multiple of the current contents of C.
+     * @param c the column-major elements of C, with one row per row of A and one column per column
+     *          of B, which are overwritten with the result.
+     * @throws IllegalArgumentException if the dimensions of the matrices do not match.
+     */
+    public static void gemm(double alpha, MatMN a, MatMN b, double beta, double[] c) {
+        double[] aElements = a.elements();
+        double[] bElements = b.elements();
+        Util.verifyOperableDimensions(aElements, a.rows, bElements, b.rows);
+        Util.verifyExactDimension(c, a.rows * b.cols);
+        scale(beta, c);
+        if (alpha == 0.0) return;
+        Util.multiplyColumns(alpha, aElements, a.rows, bElements, b.rows, c, 0, b.cols);
+    }
+
+    private static void scale(double beta, double[] y) {
+        if (beta == 0.0) {
+            Arrays.fill(y, 0.0);
+        } else if (beta != 1.0) {
+            for (int i = 0; i < y.length; i++) {
+                y[i] *= beta;
+            }
+        }
+    }
+}
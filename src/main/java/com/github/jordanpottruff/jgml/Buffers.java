@@ -0,0 +1,140 @@
+package com.github.jordanpottruff.jgml;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.List;
+
+/**
+ * Bulk versions of {@link Mat#writeTo(FloatBuffer, Layout)} and {@link Vec#writeTo(FloatBuffer)}
+ * that write a whole list of matrices or vectors back to back into one NIO buffer, such as the
+ * per-instance data of a draw call. The room in the buffer is checked once up front, so either
+ * every element is written or the buffer is left untouched, and no intermediate arrays are
+ * created for the fixed-size types.
+ */
+public final class Buffers {
+
+    private Buffers() {
+        // Intentionally blank to prevent instantiation.
+    }
+
+    /**
+     * Writes each matrix in turn into a float buffer in the given layout, starting at the position
+     * of the buffer and advancing it. Each element is rounded to the nearest float.
+     *
+     * @param matrices the matrices to write.
+     * @param buffer the buffer to write into.
+     * @param layout the order to write the elements of each matrix in.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    public static void writeMatrices(List<? extends Mat> matrices, FloatBuffer buffer,
+                                     Layout layout) {
+        Util.verifyRemaining(buffer, countMatrixElements(matrices));
+        for (Mat mat : matrices) {
+            mat.writeTo(buffer, layout);
+        }
+    }
+
+    /**
+     * Writes each matrix in turn into a double buffer in the given layout, starting at the
+     * position of the buffer and advancing it.
+     *
+     * @param matrices the matrices to write.
+     * @param buffer the buffer to write into.
+     * @param layout the order to write the elements of each matrix in.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    public static void writeMatrices(List<? extends Mat> matrices, DoubleBuffer buffer,
+                                     Layout layout) {
+        Util.verifyRemaining(buffer, countMatrixElements(matrices));
+        for (Mat mat : matrices) {
+            mat.writeTo(buffer, layout);
+        }
+    }
+
+    /**
+     * Writes each matrix in turn into a byte buffer as 4-byte floats in the given layout, using
+     * the byte order of the buffer. The first element is written at the absolute byte offset, and
+     * the position of the buffer is left unchanged.
+     *
+     * @param matrices the matrices to write.
+     * @param buffer the buffer to write into.
+     * @param offset the byte index of the first element.
+     * @param layout the order to write the elements of each matrix in.
+     * @throws IllegalArgumentException if the buffer does not have room for every element from the
+     * offset.
+     */
+    public static void writeMatrices(List<? extends Mat> matrices, ByteBuffer buffer, int offset,
+                                     Layout layout) {
+        Util.verifyBufferRegion(buffer, offset, countMatrixElements(matrices) * Float.BYTES);
+        for (Mat mat : matrices) {
+            mat.writeTo(buffer, offset, layout);
+            offset += mat.rows() * mat.cols() * Float.BYTES;
+        }
+    }
+
+    /**
+     * Writes each vector in turn into a float buffer, starting at the position of the buffer and
+     * advancing it. Each element is rounded to the nearest float.
+     *
+     * @param vectors the vectors to write.
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    public static void writeVectors(List<? extends Vec> vectors, FloatBuffer buffer) {
+        Util.verifyRemaining(buffer, countVectorElements(vectors));
+        for (Vec vec : vectors) {
+            vec.writeTo(buffer);
+        }
+    }
+
+    /**
+     * Writes each vector in turn into a double buffer, starting at the position of the buffer and
+     * advancing it.
+     *
+     * @param vectors the vectors to write.
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    public static void writeVectors(List<? extends Vec> vectors, DoubleBuffer buffer) {
+        Util.verifyRemaining(buffer, countVectorElements(vectors));
+        for (Vec vec : vectors) {
+            vec.writeTo(buffer);
+        }
+    }
+
+    /**
+     * Writes each vector in turn into a byte buffer as 4-byte floats, using the byte order of the
+     * buffer. The first element is written at the absolute byte offset, and the position of the
+     * buffer is left unchanged.
+     *
+     * @param vectors the vectors to write.
+     * @param buffer the buffer to write into.
+     * @param offset the byte index of the first element.
+     * @throws IllegalArgumentException if the buffer does not have room for every element from the
+     * offset.
+     */
+    public static void writeVectors(List<? extends Vec> vectors, ByteBuffer buffer, int offset) {
+        Util.verifyBufferRegion(buffer, offset, countVectorElements(vectors) * Float.BYTES);
+        for (Vec vec : vectors) {
+            vec.writeTo(buffer, offset);
+            offset += vec.size() * Float.BYTES;
+        }
+    }
+
+    private static int countMatrixElements(List<? extends Mat> matrices) {
+        int count = 0;
+        for (Mat mat : matrices) {
+            count += mat.rows() * mat.cols();
+        }
+        return count;
+    }
+
+    private static int countVectorElements(List<? extends Vec> vectors) {
+        int count = 0;
+        for (Vec vec : vectors) {
+            count += vec.size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The Cholesky decomposition of a symmetric positive-definite matrix A, such that A = LL^T, where
+ * L is lower-triangular with a positive diagonal. It takes roughly half the work of an LU
+ * decomposition and needs no pivoting. The matrix is factored once when the decomposition is
+ * created, after which every solve reuses the stored factor at a cost of O(n^2) per right-hand
+ * side.
+ * <p>
+ * Like the matrix classes, a decomposition is immutable and safe to share between threads.
+ */
+public class CholeskyDecomposition {
+
+    private final double[] matrix;
+    private final double[] l;
+    private final int n;
+
+    /**
+     * Factors the given matrix. The array is only read, and is kept for reporting errors, so it
+     * must not be modified afterward.
+     *
+     * @param matrix the column-major elements of the matrix to factor.
+     * @param n the number of rows and columns.
+     * @throws IllegalArgumentException if the matrix is not symmetric.
+     * @throws IllegalArgumentException if the matrix is not positive-definite.
+     */
+    CholeskyDecomposition(double[] matrix, int n) {
+        Util.verifySymmetricMatrix(matrix, n);
+        this.matrix = matrix;
+        this.n = n;
+        this.l = matrix.clone();
+        if (!Util.decomposeCholesky(l, n)) {
+            throw new IllegalArgumentException(String.format("Expected a positive-definite " +
+                    "matrix but received:\n%s", Util.stringify(Util.unflatten(matrix, n), 2)));
+        }
+    }
+
+    /**
+     * Returns the lower-triangular factor L.
+     *
+     * @return the lower-triangular factor.
+     */
+    public MatN l() {
+        double[] result = new double[n * n];
+        for (int c = 0; c < n; c++) {
+            System.arraycopy(l, c * n + c, result, c * n + c, n - c);
+        }
+        return new MatN(result, n);
+    }
+
+    /**
+     * Calculates the determinant of the factored matrix, which is the square of the product of the
+     * diagonal of L.
+     *
+     * @return the determinant.
+     */
+    public double determinant() {
+        double product = 1.0;
+        for (int i = 0; i < n; i++) {
+            product *= l[i * n + i];
+        }
+        return product * product;
+    }
+
+    /**
+     * Solves the linear system Ax = b for x.
+     *
+     * @param vec the right-hand side b.
+     * @return the solution x.
+     * @throws IllegalArgumentException if the dimension of the vector differs from the dimension
+     *                                  of the factored matrix.
+     */
+    public VecN solve(Vec vec) {
+        double[] x = vec.toArray();
+        Util.verifyOperableDimensions(matrix, n, x);
+        Util.solveCholesky(l, n, x, 0);
+        return new VecN(x);
+    }
+
+    /**
+     * Solves the linear system AX = B for X, treating each column of B as a separate right-hand
+     * side.
+     *
+     * @param mat the right-hand sides B.
+     * @return the solution X, with the same dimensions as B.
+     * @throws IllegalArgumentException if the number of rows in the matrix differs from the
+     *                                  dimension of the factored matrix.
+     */
+    public MatMN solve(Mat mat) {
+        double[] x = MatMN.elementsOf(mat).clone();
+        Util.verifyOperableDimensions(matrix, n, x, mat.rows());
+        for (int col = 0; col < x.length; col += n) {
+            Util.solveCholesky(l, n, x, col);
+        }
+        return new MatMN(x, n, mat.cols());
+    }
+
+    /**
+     * Calculates the inverse of the factored matrix.
+     *
+     * @return the inverse matrix.
+     */
+    public MatN inverse() {
+        double[] result = new double[n * n];
+        for (int col = 0; col < n; col++) {
+            result[col * n + col] = 1.0;
+            Util.solveCholesky(l, n, result, col * n);
+        }
+        return new MatN(result, n);
+    }
+}
@@ -0,0 +1,181 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The eigen-decomposition of a symmetric matrix A, such that A = VDV^T, where D is the diagonal
+ * matrix of (real) eigenvalues and the columns of V are the matching orthonormal eigenvectors.
+ * Eigenvalues are sorted in descending order, and eigenvector i belongs to eigenvalue i.
+ * <p>
+ * The decomposition is computed with the cyclic Jacobi method, which repeatedly applies plane
+ * rotations that zero one off-diagonal element at a time until the matrix is diagonal to working
+ * precision. It is robust and finds small eigenvalues to high relative accuracy.
+ * <p>
+ * Like the matrix classes, a decomposition is immutable and safe to share between threads.
+ */
+public class EigenDecomposition {
+
+    static final int MAX_SWEEPS = 64;
+
+    private final VecN eigenvalues;
+    private final MatN eigenvectors;
+
+    /**
+     * Constructs a decomposition from eigenvalues sorted in descending order and the matching
+     * eigenvector columns.
+     *
+     * @param eigenvalues the eigenvalues.
+     * @param eigenvectors the eigenvectors, as columns.
+     */
+    EigenDecomposition(VecN eigenvalues, MatN eigenvectors) {
+        this.eigenvalues = eigenvalues;
+        this.eigenvectors = eigenvectors;
+    }
+
+    /**
+     * Decomposes the given symmetric matrix with the cyclic Jacobi method.
+     *
+     * @param matrix the column-major elements of the matrix to decompose.
+     * @param n the number of rows and columns.
+     * @return the eigen-decomposition.
+     * @throws IllegalArgumentException if the matrix is not symmetric.
+     */
+    static EigenDecomposition jacobi(double[] matrix, int n) {
+        Util.verifySymmetricMatrix(matrix, n);
+        double[] a = matrix.clone();
+        double[][] v = diagonalize(a, n);
+
+        // Sort the eigenvalues into descending order, keeping the eigenvectors paired.
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = a[i * n + i];
+        }
+        for (int i = 0; i < n - 1; i++) {
+            int max = i;
+            for (int j = i + 1; j < n; j++) {
+                if (values[j] > values[max]) {
+                    max = j;
+                }
+            }
+            if (max != i) {
+                double value = values[i];
+                values[i] = values[max];
+                values[max] = value;
+                double[] vector = v[i];
+                v[i] = v[max];
+                v[max] = vector;
+            }
+        }
+        return new EigenDecomposition(new VecN(values), new MatN(v, false));
+    }
+
+    /**
+     * Applies cyclic Jacobi sweeps to the symmetric column-major N x N matrix 'a' until it is
+     * diagonal to working precision, leaving the (unsorted) eigenvalues on its diagonal. Returns
+     * the accumulated rotations, whose columns are the matching eigenvectors.
+     */
+    static double[][] diagonalize(double[] a, int n) {
+        double[][] v = Util.identity(n);
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            double off = 0.0;
+            double diagonal = 0.0;
+            for (int c = 0; c < n; c++) {
+                diagonal += Math.abs(a[c * n + c]);
+                for (int r = 0; r < c; r++) {
+                    off += Math.abs(a[c * n + r]);
+                }
+            }
+            if (off <= Math.ulp(1.0) * diagonal) break;
+
+            for (int p = 0; p < n - 1; p++) {
+                for (int q = p + 1; q < n; q++) {
+                    rotate(a, v, n, p, q);
+                }
+            }
+        }
+        return v;
+    }
+
+    /**
+     * Applies the Jacobi rotation in the (p, q) plane that zeroes the element at (p, q) of the
+     * symmetric column-major matrix 'a', and accumulates it into the columns of 'v'.
+     */
+    private static void rotate(double[] a, double[][] v, int n, int p, int q) {
+        int colP = p * n;
+        int colQ = q * n;
+        double apq = a[colQ + p];
+        if (apq == 0.0) return;
+
+        double app = a[colP + p];
+        double aqq = a[colQ + q];
+        double theta = (aqq - app) / (2.0 * apq);
+        double t = Math.copySign(1.0, theta) / (Math.abs(theta) + Math.sqrt(theta * theta + 1.0));
+        double c = 1.0 / Math.sqrt(t * t + 1.0);
+        double s = t * c;
+
+        a[colP + p] = app - t * apq;
+        a[colQ + q] = aqq + t * apq;
+        a[colQ + p] = 0.0;
+        a[colP + q] = 0.0;
+        for (int r = 0; r < n; r++) {
+            if (r == p || r == q) continue;
+            double arp = a[colP + r];
+            double arq = a[colQ + r];
+            double newRp = c * arp - s * arq;
+            double newRq = s * arp + c * arq;
+            // Keep both triangles up to date so every column can be read contiguously.
+            a[colP + r] = newRp;
+            a[r * n + p] = newRp;
+            a[colQ + r] = newRq;
+            a[r * n + q] = newRq;
+        }
+
+        double[] vp = v[p];
+        double[] vq = v[q];
+        for (int r = 0; r < n; r++) {
+            double vrp = vp[r];
+            double vrq = vq[r];
+            vp[r] = c * vrp - s * vrq;
+            vq[r] = s * vrp + c * vrq;
+        }
+    }
+
+    /**
+     * Returns the eigenvalues in descending order.
+     *
+     * @return the eigenvalues.
+     */
+    public VecN eigenvalues() {
+        return eigenvalues;
+    }
+
+    /**
+     * Returns the eigenvectors as the columns of a matrix, where column i is the eigenvector of
+     * eigenvalue i.
+     *
+     * @return the eigenvectors.
+     */
+    public MatN eigenvectors() {
+        return eigenvectors;
+    }
+
+    /**
+     * Returns the eigenvalue at the specified 0-based index, in descending order.
+     *
+     * @param i the index of the eigenvalue.
+     * @return the eigenvalue.
+     * @throws IllegalArgumentException if the index is out of range.
+     */
+    public double eigenvalue(int i) {
+        return eigenvalues.get(i);
+    }
+
+    /**
+     * Returns the unit eigenvector of the eigenvalue at the specified 0-based index.
+     *
+     * @param i the index of the eigenvalue.
+     * @return the eigenvector.
+     * @throws IllegalArgumentException if the index is out of range.
+     */
+    public VecN eigenvector(int i) {
+        return eigenvectors.getCol(i);
+    }
+}
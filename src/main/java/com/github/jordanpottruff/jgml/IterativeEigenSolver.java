@@ -0,0 +1,307 @@
+package com.github.jordanpottruff.jgml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Finds the K eigenvalues of largest magnitude, and their eigenvectors, of a large symmetric
+ * operator without decomposing it. Both methods only apply the operator to vectors, so they work
+ * on any {@link LinearOperator} and never form or factor a dense N x N matrix.
+ * <p>
+ * Power iteration with deflation is the simplest method and needs only O(N) extra memory per
+ * eigenpair, but converges slowly when the wanted eigenvalues are close in magnitude to the next
+ * ones. The Lanczos method builds an orthonormal Krylov basis and usually needs far fewer operator
+ * products, at the cost of storing one N-dimensional vector per iteration.
+ * <p>
+ * An eigenpair is converged once the residual norm ||Av - &lambda;v|| is at most the tolerance
+ * times the largest eigenvalue magnitude found. The operator must be symmetric; the results are
+ * meaningless otherwise. A solver holds only its settings, so it is immutable and safe to share
+ * between threads.
+ */
+public class IterativeEigenSolver {
+
+    private static final long SEED = 1L;
+
+    private final double tolerance;
+    private final int maxIterations;
+
+    /**
+     * Constructs a solver with the given convergence settings.
+     *
+     * @param tolerance the largest residual norm accepted, relative to the largest eigenvalue
+     *                  magnitude.
+     * @param maxIterations the largest number of operator products allowed per eigenpair for
+     *                      power iteration, and in total for the Lanczos method.
+     * @throws IllegalArgumentException if the tolerance or the iteration cap is not positive.
+     */
+    public IterativeEigenSolver(double tolerance, int maxIterations) {
+        if (!(tolerance > 0.0) || maxIterations <= 0) {
+            throw new IllegalArgumentException(String.format("Expected a positive tolerance and " +
+                    "iteration cap but received %s and %d", tolerance, maxIterations));
+        }
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Finds the K eigenpairs of largest magnitude with power iteration. After each eigenpair
+     * converges it is deflated out of the operator, so the next iteration converges to the next
+     * largest eigenvalue.
+     *
+     * @param operator the symmetric operator.
+     * @param k the number of eigenpairs to find.
+     * @return the eigenpairs, in descending order of eigenvalue magnitude.
+     * @throws IllegalArgumentException if the operator is not square, or K is not between 1 and N.
+     * @throws IllegalArgumentException if an eigenpair does not converge within the iteration cap,
+     *                                  as happens when two eigenvalues have the same magnitude.
+     */
+    public List<EigenPair> powerIteration(LinearOperator operator, int k) {
+        int n = verifyOperator(operator, k);
+        Random random = new Random(SEED);
+        List<EigenPair> pairs = new ArrayList<>(k);
+        double[][] vectors = new double[k][];
+        double[] values = new double[k];
+        double scale = 0.0;
+
+        for (int j = 0; j < k; j++) {
+            double[] x = randomVector(random, n);
+            orthogonalize(x, vectors, j);
+            normalize(x);
+            boolean converged = false;
+            for (int iteration = 0; iteration < maxIterations; iteration++) {
+                double[] y = apply(operator, x);
+                // Deflate the eigenpairs already found, so that y = (A - sum(l_i v_i v_i^T))x.
+                for (int i = 0; i < j; i++) {
+                    axpy(-values[i] * Util.multiply(vectors[i], x), vectors[i], y);
+                }
+                double lambda = Util.multiply(x, y);
+                double residual = 0.0;
+                for (int r = 0; r < n; r++) {
+                    double d = y[r] - lambda * x[r];
+                    residual += d * d;
+                }
+                if (Math.sqrt(residual) <= tolerance * Math.max(scale, Math.abs(lambda))) {
+                    values[j] = lambda;
+                    converged = true;
+                    break;
+                }
+                orthogonalize(y, vectors, j);
+                normalize(y);
+                x = y;
+            }
+            if (!converged) {
+                throw notConverged(j);
+            }
+            vectors[j] = x;
+            scale = Math.max(scale, Math.abs(values[j]));
+            pairs.add(new EigenPair(values[j], new VecN(x, false)));
+        }
+        return pairs;
+    }
+
+    /**
+     * Finds the K eigenpairs of largest magnitude with the Lanczos method. The operator is
+     * projected onto a growing Krylov subspace, whose basis is fully reorthogonalized for
+     * stability, until the K largest Ritz pairs of the projection have converged.
+     *
+     * @param operator the symmetric operator.
+     * @param k the number of eigenpairs to find.
+     * @return the eigenpairs, in descending order of eigenvalue magnitude.
+     * @throws IllegalArgumentException if the operator is not square, or K is not between 1 and N.
+     * @throws IllegalArgumentException if the eigenpairs do not converge within the iteration cap.
+     */
+    public List<EigenPair> lanczos(LinearOperator operator, int k) {
+        int n = verifyOperator(operator, k);
+        Random random = new Random(SEED);
+        int limit = Math.min(n, maxIterations);
+        double[][] basis = new double[limit][];
+        double[] alpha = new double[limit];
+        double[] beta = new double[limit];
+        int interval = Math.max(k, 4);
+        double norm = 0.0;
+
+        double[] q = randomVector(random, n);
+        normalize(q);
+        for (int j = 0; j < limit; j++) {
+            basis[j] = q;
+            double[] w = apply(operator, q);
+            if (j > 0) {
+                axpy(-beta[j - 1], basis[j - 1], w);
+            }
+            alpha[j] = Util.multiply(w, q);
+            axpy(-alpha[j], q, w);
+            // Reorthogonalize twice against the whole basis to keep it orthonormal.
+            orthogonalize(w, basis, j + 1);
+            orthogonalize(w, basis, j + 1);
+            beta[j] = Math.sqrt(Util.multiply(w, w));
+            norm = Math.max(norm, Math.abs(alpha[j]) + beta[j] + (j > 0 ? beta[j - 1] : 0.0));
+
+            int size = j + 1;
+            boolean invariant = beta[j] <= n * Math.ulp(1.0) * norm;
+            // An invariant subspace may hide further copies of a repeated eigenvalue, so the Ritz
+            // pairs are only accepted from it once the basis spans the whole space. Until then
+            // the basis is extended from a fresh direction below.
+            if (size == n || (size >= k && !invariant && (size - k) % interval == 0)) {
+                List<EigenPair> pairs = ritzPairs(basis, alpha, beta, size, k, n);
+                if (pairs != null) {
+                    return pairs;
+                }
+            }
+            if (invariant) {
+                // The basis spans an invariant subspace, so the projection is exact. Continue from
+                // a fresh direction to find the eigenpairs outside of it.
+                beta[j] = 0.0;
+                w = randomVector(random, n);
+                orthogonalize(w, basis, j + 1);
+                orthogonalize(w, basis, j + 1);
+            }
+            normalize(w);
+            q = w;
+        }
+        throw notConverged(k - 1);
+    }
+
+    /**
+     * Diagonalizes the tridiagonal projection of the given size and returns its K largest Ritz
+     * pairs, or null if any of them has not yet converged.
+     */
+    private List<EigenPair> ritzPairs(double[][] basis, double[] alpha, double[] beta, int size,
+                                      int k, int n) {
+        double[] t = new double[size * size];
+        for (int i = 0; i < size; i++) {
+            t[i * size + i] = alpha[i];
+            if (i > 0) {
+                t[i * size + i - 1] = beta[i - 1];
+                t[(i - 1) * size + i] = beta[i - 1];
+            }
+        }
+        double[][] v = EigenDecomposition.diagonalize(t, size);
+
+        // Select the K Ritz values of largest magnitude, in descending order.
+        int[] order = new int[k];
+        boolean[] taken = new boolean[size];
+        double scale = 0.0;
+        for (int i = 0; i < k; i++) {
+            int best = -1;
+            for (int c = 0; c < size; c++) {
+                if (!taken[c] && (best < 0 || Math.abs(t[c * size + c]) > Math.abs(t[best * size
+                        + best]))) {
+                    best = c;
+                }
+            }
+            taken[best] = true;
+            order[i] = best;
+            scale = Math.max(scale, Math.abs(t[best * size + best]));
+        }
+
+        // The residual norm of a Ritz pair is the last component of its eigenvector in the
+        // projection, scaled by the next off-diagonal element.
+        double next = size < n ? beta[size - 1] : 0.0;
+        for (int c : order) {
+            if (Math.abs(next * v[c][size - 1]) > tolerance * scale) {
+                return null;
+            }
+        }
+
+        List<EigenPair> pairs = new ArrayList<>(k);
+        for (int c : order) {
+            double[] x = new double[n];
+            for (int i = 0; i < size; i++) {
+                axpy(v[c][i], basis[i], x);
+            }
+            pairs.add(new EigenPair(t[c * size + c], new VecN(x, false)));
+        }
+        return pairs;
+    }
+
+    private static int verifyOperator(LinearOperator operator, int k) {
+        int n = operator.rows();
+        if (operator.cols() != n) {
+            throw new IllegalArgumentException(String.format("Expected a square operator but " +
+                    "received one with %d rows and %d columns", n, operator.cols()));
+        }
+        if (k < 1 || k > n) {
+            throw new IllegalArgumentException(String.format("Expected between 1 and %d " +
+                    "eigenpairs but received %d", n, k));
+        }
+        return n;
+    }
+
+    private IllegalArgumentException notConverged(int index) {
+        return new IllegalArgumentException(String.format("Expected eigenpair %d to converge " +
+                "within %d iterations", index, maxIterations));
+    }
+
+    private static double[] apply(LinearOperator operator, double[] x) {
+        double[] y = operator.multiply(new VecN(x, false)).toArray();
+        Util.verifyExactDimension(y, x.length);
+        return y;
+    }
+
+    private static double[] randomVector(Random random, int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble() - 0.5;
+        }
+        return x;
+    }
+
+    /**
+     * Removes the components of x along the first 'count' orthonormal vectors.
+     */
+    private static void orthogonalize(double[] x, double[][] vectors, int count) {
+        for (int i = 0; i < count; i++) {
+            axpy(-Util.multiply(vectors[i], x), vectors[i], x);
+        }
+    }
+
+    private static void normalize(double[] x) {
+        double norm = Math.sqrt(Util.multiply(x, x));
+        for (int i = 0; i < x.length; i++) {
+            x[i] /= norm;
+        }
+    }
+
+    /**
+     * Adds a times x to y.
+     */
+    private static void axpy(double a, double[] x, double[] y) {
+        if (a == 0.0) return;
+        for (int i = 0; i < y.length; i++) {
+            y[i] += a * x[i];
+        }
+    }
+
+    /**
+     * An eigenvalue of an operator together with its unit eigenvector.
+     */
+    public static class EigenPair {
+
+        private final double value;
+        private final VecN vector;
+
+        private EigenPair(double value, VecN vector) {
+            this.value = value;
+            this.vector = vector;
+        }
+
+        /**
+         * Returns the eigenvalue.
+         *
+         * @return the eigenvalue.
+         */
+        public double value() {
+            return value;
+        }
+
+        /**
+         * Returns the unit eigenvector.
+         *
+         * @return the eigenvector.
+         */
+        public VecN vector() {
+            return vector;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The innermost loops of the vector and matrix operations in {@link Util}, which do not verify
+ * their arguments. This is the portable version, which runs every loop in {@link ScalarKernels}.
+ * The multi-release jar replaces this class on Java 17 and later with one that computes dot
+ * products with the incubating Vector API whenever the jdk.incubator.vector module is available,
+ * and uses the same scalar loops otherwise.
+ */
+final class Kernels {
+
+    private Kernels() {
+        // Intentionally blank to prevent instantiation.
+    }
+
+    /**
+     * Returns the dot product of the two arrays, which must have the same length.
+     */
+    static double dot(double[] a, double[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Returns the dot product of 'length' elements of 'a' starting at 'aFrom' with those of 'b'
+     * starting at 'bFrom'.
+     */
+    static double dot(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        return ScalarKernels.dot(a, aFrom, b, bFrom, length);
+    }
+
+    /**
+     * Stores the elementwise sum of 'a' and 'b' into 'result'. All three must have the same length.
+     */
+    static void add(double[] a, double[] b, double[] result) {
+        ScalarKernels.add(a, b, result);
+    }
+
+    /**
+     * Stores the elementwise difference of 'a' and 'b' into 'result'. All three must have the same
+     * length.
+     */
+    static void subtract(double[] a, double[] b, double[] result) {
+        ScalarKernels.subtract(a, b, result);
+    }
+
+    /**
+     * Stores 'a' multiplied by the scalar into 'result'. Both must have the same length.
+     */
+    static void scale(double[] a, double scalar, double[] result) {
+        ScalarKernels.scale(a, scalar, result);
+    }
+
+    /**
+     * Adds 'alpha' * 'x' to 'y' for the elements from 'from' (inclusive) to 'to' (exclusive). Each
+     * element is multiplied and then added, without a fused multiply-add, so every implementation
+     * gives identical results.
+     */
+    static void axpy(double alpha, double[] x, double[] y, int from, int to) {
+        ScalarKernels.axpy(alpha, x, y, from, to);
+    }
+
+    /**
+     * Adds 'alpha' * 'x' to 'y' for 'length' elements, starting at 'xFrom' in 'x' and 'yFrom' in
+     * 'y', so that a column of a column-major matrix can be combined into another in place. Like
+     * the other axpy, it never uses a fused multiply-add.
+     */
+    static void axpy(double alpha, double[] x, int xFrom, double[] y, int yFrom, int length) {
+        ScalarKernels.axpy(alpha, x, xFrom, y, yFrom, length);
+    }
+}
@@ -0,0 +1,151 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The LU decomposition of a square matrix A with partial pivoting, such that PA = LU, where P is a
+ * permutation matrix, L is unit lower-triangular and U is upper-triangular. The matrix is factored
+ * once when the decomposition is created, after which every solve reuses the stored factors and
+ * pivots at a cost of O(n^2) per right-hand side.
+ * <p>
+ * Like the matrix classes, a decomposition is immutable and safe to share between threads.
+ */
+public class LUDecomposition {
+
+    private final double[] matrix;
+    private final double[] lu;
+    private final int[] pivots;
+    private final int n;
+    private final int sign;
+    private final double scale;
+
+    /**
+     * Factors the given square matrix. The array is only read, and is kept for reporting errors, so
+     * it must not be modified afterward.
+     *
+     * @param matrix the column-major elements of the square matrix to factor.
+     * @param n the number of rows and columns.
+     */
+    LUDecomposition(double[] matrix, int n) {
+        this.matrix = matrix;
+        this.n = n;
+        this.lu = matrix.clone();
+        this.scale = Util.maxAbs(lu);
+        this.pivots = new int[n];
+        this.sign = Util.decomposeLU(lu, n, pivots);
+    }
+
+    /**
+     * Returns the unit lower-triangular factor L.
+     *
+     * @return the lower-triangular factor.
+     */
+    public MatN l() {
+        double[] l = new double[n * n];
+        for (int c = 0; c < n; c++) {
+            l[c * n + c] = 1.0;
+            System.arraycopy(lu, c * n + c + 1, l, c * n + c + 1, n - c - 1);
+        }
+        return new MatN(l, n);
+    }
+
+    /**
+     * Returns the upper-triangular factor U.
+     *
+     * @return the upper-triangular factor.
+     */
+    public MatN u() {
+        double[] u = new double[n * n];
+        for (int c = 0; c < n; c++) {
+            System.arraycopy(lu, c * n, u, c * n, c + 1);
+        }
+        return new MatN(u, n);
+    }
+
+    /**
+     * Returns the permutation matrix P describing the row exchanges made while pivoting.
+     *
+     * @return the permutation matrix.
+     */
+    public MatN p() {
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = i;
+        }
+        for (int k = 0; k < n; k++) {
+            int tmp = rows[k];
+            rows[k] = rows[pivots[k]];
+            rows[pivots[k]] = tmp;
+        }
+        double[] p = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            p[rows[i] * n + i] = 1.0;
+        }
+        return new MatN(p, n);
+    }
+
+    /**
+     * Returns whether the factored matrix is singular to working precision, in which case it has no
+     * inverse and linear systems cannot be solved with it.
+     *
+     * @return true if the matrix is singular.
+     */
+    public boolean isSingular() {
+        return Util.isSingularLU(lu, n, scale);
+    }
+
+    /**
+     * Calculates the determinant of the factored matrix from the diagonal of U.
+     *
+     * @return the determinant.
+     */
+    public double determinant() {
+        return Util.determinantLU(lu, n, sign);
+    }
+
+    /**
+     * Solves the linear system Ax = b for x.
+     *
+     * @param vec the right-hand side b.
+     * @return the solution x.
+     * @throws IllegalArgumentException if the dimension of the vector differs from the dimension
+     *                                  of the factored matrix.
+     * @throws IllegalArgumentException if the factored matrix is singular.
+     */
+    public VecN solve(Vec vec) {
+        double[] x = vec.toArray();
+        Util.verifyOperableDimensions(matrix, n, x);
+        Util.verifyInvertibleLU(matrix, n, lu, scale);
+        Util.solveLU(lu, n, pivots, x, 0);
+        return new VecN(x);
+    }
+
+    /**
+     * Solves the linear system AX = B for X, treating each column of B as a separate right-hand
+     * side.
+     *
+     * @param mat the right-hand sides B.
+     * @return the solution X, with the same dimensions as B.
+     * @throws IllegalArgumentException if the number of rows in the matrix differs from the
+     *                                  dimension of the factored matrix.
+     * @throws IllegalArgumentException if the factored matrix is singular.
+     */
+    public MatMN solve(Mat mat) {
+        double[] x = MatMN.elementsOf(mat).clone();
+        Util.verifyOperableDimensions(matrix, n, x, mat.rows());
+        Util.verifyInvertibleLU(matrix, n, lu, scale);
+        for (int col = 0; col < x.length; col += n) {
+            Util.solveLU(lu, n, pivots, x, col);
+        }
+        return new MatMN(x, n, mat.cols());
+    }
+
+    /**
+     * Calculates the inverse of the factored matrix.
+     *
+     * @return the inverse matrix.
+     * @throws IllegalArgumentException if the factored matrix is singular.
+     */
+    public MatN inverse() {
+        Util.verifyInvertibleLU(matrix, n, lu, scale);
+        return new MatN(Util.inverseLU(lu, n, pivots), n);
+    }
+}
@@ -0,0 +1,18 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The order in which the elements of a matrix are laid out when they are written into a buffer.
+ */
+public enum Layout {
+
+    /**
+     * Each column is written in turn, the order that OpenGL and Vulkan expect and that MatMN
+     * stores, so the element at (row, col) is at index col * rows + row.
+     */
+    COLUMN_MAJOR,
+
+    /**
+     * Each row is written in turn, so the element at (row, col) is at index row * cols + col.
+     */
+    ROW_MAJOR
+}
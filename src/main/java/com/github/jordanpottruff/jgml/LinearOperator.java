@@ -0,0 +1,35 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The definition of a linear map that can be applied to vectors. Every matrix is a linear operator,
+ * but an operator need not store its elements: sparse, structured or implicitly defined matrices
+ * only have to compute their product with a vector. Iterative algorithms such as the
+ * {@link IterativeEigenSolver} only need this much of a matrix.
+ */
+public interface LinearOperator {
+
+    /**
+     * Returns the number of rows in the operator, which is the dimension of its products.
+     *
+     * @return the number of rows.
+     */
+    int rows();
+
+    /**
+     * Returns the number of columns in the operator, which is the dimension of the vectors it can
+     * be applied to.
+     *
+     * @return the number of columns.
+     */
+    int cols();
+
+    /**
+     * Calculates the multiplication of this operator by the passed vector.
+     *
+     * @param vec the vector to multiply by.
+     * @return the product, always a vector.
+     * @throws IllegalArgumentException if the dimension of the vector is not equal to the number
+     * of columns in this operator.
+     */
+    Vec multiply(Vec vec);
+}
@@ -1,9 +1,13 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * The definition of the core functionality for a generalized matrix.
  */
-public interface Mat extends Iterable<Double> {
+public interface Mat extends LinearOperator, Iterable<Double> {
 
     /**
      * Returns the number of rows in the matrix.
@@ -106,4 +110,96 @@ public interface Mat extends Iterable<Double> {
      * @return the matrix.
      */
     double[][] toArray();
+
+    /**
+     * Writes the elements of the matrix into a float buffer in column-major order, starting at the
+     * position of the buffer and advancing it. Each element is rounded to the nearest float, and no
+     * intermediate arrays are created.
+     *
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    default void writeTo(FloatBuffer buffer) {
+        writeTo(buffer, Layout.COLUMN_MAJOR);
+    }
+
+    /**
+     * Writes the elements of the matrix into a float buffer in the given layout, starting at the
+     * position of the buffer and advancing it. Each element is rounded to the nearest float, and no
+     * intermediate arrays are created. The default implementation reads each element with
+     * {@link #get(int, int)}.
+     *
+     * @param buffer the buffer to write into.
+     * @param layout the order to write the elements in.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    default void writeTo(FloatBuffer buffer, Layout layout) {
+        int length = rows() * cols();
+        Util.verifyRemaining(buffer, length);
+        for (int i = 0; i < length; i++) {
+            buffer.put((float) Util.elementAt(this, layout, i));
+        }
+    }
+
+    /**
+     * Writes the elements of the matrix into a double buffer in column-major order, starting at the
+     * position of the buffer and advancing it.
+     *
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    default void writeTo(DoubleBuffer buffer) {
+        writeTo(buffer, Layout.COLUMN_MAJOR);
+    }
+
+    /**
+     * Writes the elements of the matrix into a double buffer in the given layout, starting at the
+     * position of the buffer and advancing it. The default implementation reads each element with
+     * {@link #get(int, int)}.
+     *
+     * @param buffer the buffer to write into.
+     * @param layout the order to write the elements in.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    default void writeTo(DoubleBuffer buffer, Layout layout) {
+        int length = rows() * cols();
+        Util.verifyRemaining(buffer, length);
+        for (int i = 0; i < length; i++) {
+            buffer.put(Util.elementAt(this, layout, i));
+        }
+    }
+
+    /**
+     * Writes the elements of the matrix into a byte buffer as 4-byte floats in column-major order,
+     * using the byte order of the buffer. The elements are written at the absolute byte offset, so
+     * the position of the buffer is left unchanged.
+     *
+     * @param buffer the buffer to write into.
+     * @param offset the byte index of the first element.
+     * @throws IllegalArgumentException if the buffer does not have room for every element from the
+     * offset.
+     */
+    default void writeTo(ByteBuffer buffer, int offset) {
+        writeTo(buffer, offset, Layout.COLUMN_MAJOR);
+    }
+
+    /**
+     * Writes the elements of the matrix into a byte buffer as 4-byte floats in the given layout,
+     * using the byte order of the buffer. The elements are written at the absolute byte offset, so
+     * the position of the buffer is left unchanged. The default implementation reads each element
+     * with {@link #get(int, int)}.
+     *
+     * @param buffer the buffer to write into.
+     * @param offset the byte index of the first element.
+     * @param layout the order to write the elements in.
+     * @throws IllegalArgumentException if the buffer does not have room for every element from the
+     * offset.
+     */
+    default void writeTo(ByteBuffer buffer, int offset, Layout layout) {
+        int length = rows() * cols();
+        Util.verifyBufferRegion(buffer, offset, length * Float.BYTES);
+        for (int i = 0; i < length; i++) {
+            buffer.putFloat(offset + i * Float.BYTES, (float) Util.elementAt(this, layout, i));
+        }
+    }
 }
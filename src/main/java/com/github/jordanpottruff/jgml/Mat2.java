@@ -1,10 +1,20 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * A matrix of dimensions 2x2.
+ * <p>
+ * The elements are stored in fields rather than an array, where mRC is the element at row R and
+ * column C.
  */
 public class Mat2 extends MatN {
 
+    final double m00, m01;
+    final double m10, m11;
+
     /**
      * Constructs a Mat2 from a two-dimensional array of elements. The outer-array must contain two
      * inner-arrays, with each being of length two. The order of the 2D array is preserved.
@@ -14,8 +24,46 @@ public class Mat2 extends MatN {
      * @throws IllegalArgumentException if the inner-arrays are not all of length two.
      */
     public Mat2(double[][] array) {
-        super(array);
-        Util.verifyExactDimension(array, 2, 2);
+        this(array, true);
+    }
+
+    /**
+     * Constructs a Mat2 from a two-dimensional array of elements, optionally skipping validation.
+     * See {@link MatMN#MatMN(double[][], boolean)}.
+     *
+     * @param array the 2D array of elements.
+     * @param verify whether the array should be validated.
+     */
+    Mat2(double[][] array, boolean verify) {
+        super(2);
+        if (verify) {
+            Util.verifyExactDimension(array, 2, 2);
+        }
+        this.m00 = array[0][0];
+        this.m10 = array[0][1];
+        this.m01 = array[1][0];
+        this.m11 = array[1][1];
+    }
+
+    /**
+     * Constructs a Mat2 from a column-major array of 4 elements, which is read but not kept.
+     *
+     * @param matrix the column-major elements.
+     */
+    Mat2(double[] matrix) {
+        this(matrix[0], matrix[1], matrix[2], matrix[3]);
+    }
+
+    /**
+     * Constructs a Mat2 from its elements, given in column-major order.
+     */
+    Mat2(double m00, double m10,
+         double m01, double m11) {
+        super(2);
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m01 = m01;
+        this.m11 = m11;
     }
 
     /**
@@ -26,8 +74,7 @@ public class Mat2 extends MatN {
      * @throws IllegalArgumentException if the matrix object is not of dimension 2x2.
      */
     public Mat2(Mat mat) {
-        super(mat);
-        Util.verifyExactDimension(mat.toArray(), 2, 2);
+        this(mat.toArray());
     }
 
     /**
@@ -38,7 +85,7 @@ public class Mat2 extends MatN {
      * @param vec2 the second column vector.
      */
     public Mat2(Vec2 vec1, Vec2 vec2) {
-        super(new double[][]{vec1.toArray(), vec2.toArray()});
+        this(vec1.x, vec1.y, vec2.x, vec2.y);
     }
 
     /**
@@ -47,7 +94,7 @@ public class Mat2 extends MatN {
      * @return the identity matrix.
      */
     public static Mat2 createIdentityMatrix() {
-        return new Mat2(Util.identity(2));
+        return new Mat2(1.0, 0.0, 0.0, 1.0);
     }
 
     /**
@@ -60,7 +107,66 @@ public class Mat2 extends MatN {
      * @return the product of the series of matrices.
      */
     public static Mat2 chain(Mat2 mat, Mat2... matrices) {
-        return new Mat2(MatMN.chain(mat, matrices));
+        Mat2 product = mat;
+        for (Mat2 next : matrices) {
+            product = product.multiply(next);
+        }
+        return product;
+    }
+
+    @Override
+    double[] elements() {
+        return new double[]{m00, m10, m01, m11};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get(int row, int col) {
+        if (row >= 0 && row < 2 && col >= 0 && col < 2) {
+            switch (col * 2 + row) {
+                case 0:
+                    return m00;
+                case 1:
+                    return m10;
+                case 2:
+                    return m01;
+                default:
+                    return m11;
+            }
+        }
+        return super.get(row, col);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VecN getRow(int i) {
+        switch (i) {
+            case 0:
+                return new VecN(new double[]{m00, m01}, false);
+            case 1:
+                return new VecN(new double[]{m10, m11}, false);
+            default:
+                return super.getRow(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VecN getCol(int i) {
+        switch (i) {
+            case 0:
+                return new VecN(new double[]{m00, m10}, false);
+            case 1:
+                return new VecN(new double[]{m01, m11}, false);
+            default:
+                return super.getCol(i);
+        }
     }
 
     /**
@@ -68,7 +174,7 @@ public class Mat2 extends MatN {
      */
     @Override
     public Mat2 invert() {
-        return new Mat2(super.invert());
+        return new Mat2(-m00, -m10, -m01, -m11);
     }
 
     /**
@@ -76,7 +182,11 @@ public class Mat2 extends MatN {
      */
     @Override
     public Mat2 add(Mat mat) {
-        return new Mat2(super.add(mat));
+        if (mat instanceof Mat2) {
+            Mat2 other = (Mat2) mat;
+            return new Mat2(m00 + other.m00, m10 + other.m10, m01 + other.m01, m11 + other.m11);
+        }
+        return new Mat2(super.add(mat).matrix);
     }
 
     /**
@@ -84,7 +194,11 @@ public class Mat2 extends MatN {
      */
     @Override
     public Mat2 subtract(Mat mat) {
-        return new Mat2(super.subtract(mat));
+        if (mat instanceof Mat2) {
+            Mat2 other = (Mat2) mat;
+            return new Mat2(m00 - other.m00, m10 - other.m10, m01 - other.m01, m11 - other.m11);
+        }
+        return new Mat2(super.subtract(mat).matrix);
     }
 
     /**
@@ -92,7 +206,7 @@ public class Mat2 extends MatN {
      */
     @Override
     public Mat2 scale(double scalar) {
-        return new Mat2(super.scale(scalar));
+        return new Mat2(m00 * scalar, m10 * scalar, m01 * scalar, m11 * scalar);
     }
 
     /**
@@ -100,7 +214,13 @@ public class Mat2 extends MatN {
      */
     @Override
     public Mat2 multiply(MatN mat) {
-        return new Mat2(super.multiply(mat));
+        if (mat instanceof Mat2) {
+            Mat2 other = (Mat2) mat;
+            return new Mat2(
+                    m00 * other.m00 + m01 * other.m10, m10 * other.m00 + m11 * other.m10,
+                    m00 * other.m01 + m01 * other.m11, m10 * other.m01 + m11 * other.m11);
+        }
+        return new Mat2(Util.multiply(elements(), 2, mat.elements(), mat.rows));
     }
 
     /**
@@ -110,7 +230,15 @@ public class Mat2 extends MatN {
      * @return the product, always a 2-dimensional vector.
      */
     public Vec2 multiply(Vec2 vec) {
-        return new Vec2(super.multiply(vec));
+        return new Vec2(m00 * vec.x + m01 * vec.y, m10 * vec.x + m11 * vec.y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double determinant() {
+        return m00 * m11 - m01 * m10;
     }
 
     /**
@@ -118,22 +246,136 @@ public class Mat2 extends MatN {
      */
     @Override
     public Mat2 inverse() {
-        return new Mat2(super.inverse());
+        double det = m00 * m11 - m01 * m10;
+        if (Util.isNegligibleDeterminant(det, 2, hadamardBound())) {
+            // Too close to singular for the closed form: defer to the pivoted LU factorization,
+            // which rejects the matrix exactly when MatN would.
+            return new Mat2(super.inverse().matrix);
+        }
+        double invDet = 1.0 / det;
+
+        return new Mat2(
+                m11 * invDet, -m10 * invDet,
+                -m01 * invDet, m00 * invDet);
+    }
+
+    /**
+     * Returns the product of the norms of the columns of this matrix, which bounds the magnitude
+     * of its determinant.
+     */
+    double hadamardBound() {
+        double bound = Math.sqrt(m00 * m00 + m10 * m10);
+        bound *= Math.sqrt(m01 * m01 + m11 * m11);
+        return bound;
+    }
+
+    /**
+     * Solves the linear system Ax = b, where A is this 2x2 matrix, for the passed 2-dimensional
+     * vector b.
+     *
+     * @param vec the 2-dimensional right-hand side b.
+     * @return the solution x, always a 2-dimensional vector.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Vec2 solve(Vec2 vec) {
+        return new Vec2(super.solve(vec).vector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[][] toArray() {
+        return new double[][]{{m00, m10}, {m01, m11}};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, 4);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put((float) m00).put((float) m10).put((float) m01).put((float) m11);
+        } else {
+            buffer.put((float) m00).put((float) m01).put((float) m10).put((float) m11);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, 4);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put(m00).put(m10).put(m01).put(m11);
+        } else {
+            buffer.put(m00).put(m01).put(m10).put(m11);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset, Layout layout) {
+        Util.verifyBufferRegion(buffer, offset, 4 * Float.BYTES);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.putFloat(offset, (float) m00).putFloat(offset + 4, (float) m10)
+                    .putFloat(offset + 8, (float) m01).putFloat(offset + 12, (float) m11);
+        } else {
+            buffer.putFloat(offset, (float) m00).putFloat(offset + 4, (float) m01)
+                    .putFloat(offset + 8, (float) m10).putFloat(offset + 12, (float) m11);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat2 mat = (Mat2) obj;
+        return Double.compare(m00, mat.m00) == 0 && Double.compare(m10, mat.m10) == 0
+                && Double.compare(m01, mat.m01) == 0 && Double.compare(m11, mat.m11) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat2 mat = (Mat2) obj;
+        return Math.abs(mat.m00 - m00) <= error && Math.abs(mat.m10 - m10) <= error
+                && Math.abs(mat.m01 - m01) <= error && Math.abs(mat.m11 - m11) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(m00);
+        hash = 31 * hash + Double.hashCode(m10);
+        hash = 31 * hash + Double.hashCode(m01);
+        hash = 31 * hash + Double.hashCode(m11);
+        return hash;
     }
 
     /**
      * A Mat2 builder that provides methods to construct a transformation matrix. The order of
      * execution of operations follows the order that the methods were called on the builder object.
+     * <p>
+     * The builder holds a single column-major array. Each operation updates it in place, touching
+     * only the rows that the elementary transformation changes, instead of multiplying by a full
+     * matrix.
      */
     public static class TransformBuilder {
 
-        private Mat2 matrix;
+        private final double[] matrix = new double[4];
 
         /**
          * Creates a new transformation.
          */
         public TransformBuilder() {
-            matrix = createIdentityMatrix();
+            Util.setIdentity(matrix, 2);
         }
 
         /**
@@ -144,10 +386,8 @@ public class Mat2 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder scale(double x, double y) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = x;
-            operation[1][1] = y;
-            applyOperation(operation);
+            Util.scaleRow(matrix, 2, 0, x);
+            Util.scaleRow(matrix, 2, 1, y);
             return this;
         }
 
@@ -158,14 +398,7 @@ public class Mat2 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder rotate(double radians) {
-            double cos = Math.cos(radians);
-            double sin = Math.sin(radians);
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = cos;
-            operation[1][0] = -sin;
-            operation[0][1] = sin;
-            operation[1][1] = cos;
-            applyOperation(operation);
+            Util.rotateRows(matrix, 2, 0, 1, Math.cos(radians), Math.sin(radians));
             return this;
         }
 
@@ -176,9 +409,7 @@ public class Mat2 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearX(double y) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[1][0] = y;
-            applyOperation(operation);
+            Util.addRow(matrix, 2, 0, 1, y);
             return this;
         }
 
@@ -189,9 +420,7 @@ public class Mat2 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearY(double x) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][1] = x;
-            applyOperation(operation);
+            Util.addRow(matrix, 2, 1, 0, x);
             return this;
         }
 
@@ -204,9 +433,29 @@ public class Mat2 extends MatN {
             return new Mat2(matrix);
         }
 
-        private void applyOperation(double[][] operation) {
-            Mat2 operationMat = new Mat2(operation);
-            matrix = operationMat.multiply(matrix);
+        /**
+         * Writes the transformation matrix into an array in column-major order, so that the
+         * element at (row, col) is stored at index offset + col * 2 + row. Nothing is allocated,
+         * so together with {@link #reset()} a builder can produce a new transformation every frame
+         * without creating garbage.
+         *
+         * @param array the array to write the 4 elements into.
+         * @param offset the index of the first element.
+         * @throws IllegalArgumentException if the array does not have 4 elements from the offset.
+         */
+        public void buildInto(double[] array, int offset) {
+            Util.verifyArrayRegion(array, offset, 4);
+            System.arraycopy(matrix, 0, array, offset, 4);
+        }
+
+        /**
+         * Discards every operation applied so far, returning the builder to the identity.
+         *
+         * @return the reset builder.
+         */
+        public TransformBuilder reset() {
+            Util.setIdentity(matrix, 2);
+            return this;
         }
 
     }
@@ -0,0 +1,444 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * A matrix of dimensions 2x2 with single-precision elements. It mirrors the operations of {@link
+ * Mat2} in half the memory, for bulk data such as instance transforms that does not need double
+ * precision. Like a Mat2, the elements are stored in fields, where mRC is the element at row R and
+ * column C.
+ */
+public class Mat2f {
+
+    final float m00, m01;
+    final float m10, m11;
+
+    /**
+     * Constructs a Mat2f from a two-dimensional array of elements. The outer-array must contain
+     * two inner-arrays, with each being of length two. The order of the 2D array is preserved.
+     *
+     * @param array the 2D array of elements.
+     * @throws IllegalArgumentException if the outer-array does not contain two inner-arrays.
+     * @throws IllegalArgumentException if the inner-arrays are not all of length two.
+     */
+    public Mat2f(float[][] array) {
+        Util.verifyExactDimension(array, 2, 2);
+        this.m00 = array[0][0];
+        this.m10 = array[0][1];
+        this.m01 = array[1][0];
+        this.m11 = array[1][1];
+    }
+
+    /**
+     * Constructs a Mat2f from a column-major array of 4 double-precision elements, rounding each
+     * to the nearest float.
+     *
+     * @param matrix the column-major elements.
+     */
+    Mat2f(double[] matrix) {
+        this((float) matrix[0], (float) matrix[1],
+                (float) matrix[2], (float) matrix[3]);
+    }
+
+    /**
+     * Constructs a Mat2f from its elements, given in column-major order.
+     */
+    Mat2f(float m00, float m10,
+          float m01, float m11) {
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m01 = m01;
+        this.m11 = m11;
+    }
+
+    /**
+     * Constructs a Mat2f from a Mat2, rounding each element to the nearest float.
+     *
+     * @param mat the double-precision matrix.
+     */
+    public Mat2f(Mat2 mat) {
+        this((float) mat.m00, (float) mat.m10,
+                (float) mat.m01, (float) mat.m11);
+    }
+
+    /**
+     * Constructs a Mat2f from two Vec2f objects. The vectors will create the column vectors of the
+     * new matrix.
+     *
+     * @param vec1 the first column vector.
+     * @param vec2 the second column vector.
+     */
+    public Mat2f(Vec2f vec1, Vec2f vec2) {
+        this(vec1.x, vec1.y,
+                vec2.x, vec2.y);
+    }
+
+    /**
+     * Creates a 2x2 identity matrix.
+     *
+     * @return the identity matrix.
+     */
+    public static Mat2f createIdentityMatrix() {
+        return new Mat2f(1.0f, 0.0f,
+                0.0f, 1.0f);
+    }
+
+    /**
+     * Returns the product of multiplying a series of 2x2 matrices together. The order of the
+     * arguments represents the order of multiplications such that A*B*C is equivalent to {@code
+     * chain(A, B, C)}.
+     *
+     * @param mat the first matrix of the product chain.
+     * @param matrices the rest of the matrices of the product chain.
+     * @return the product of the series of matrices.
+     */
+    public static Mat2f chain(Mat2f mat, Mat2f... matrices) {
+        Mat2f product = mat;
+        for (Mat2f next : matrices) {
+            product = product.multiply(next);
+        }
+        return product;
+    }
+
+    /**
+     * Converts this matrix to double precision. Every float is exactly representable as a double,
+     * so no precision is lost.
+     *
+     * @return the double-precision matrix.
+     */
+    public Mat2 toMat2() {
+        return new Mat2(m00, m10,
+                m01, m11);
+    }
+
+    /**
+     * Returns the number of rows, which is always two.
+     *
+     * @return the number of rows.
+     */
+    public int rows() {
+        return 2;
+    }
+
+    /**
+     * Returns the number of columns, which is always two.
+     *
+     * @return the number of columns.
+     */
+    public int cols() {
+        return 2;
+    }
+
+    /**
+     * Gets the row at the specified index.
+     *
+     * @param i the index of the row.
+     * @return the row as a vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec2f getRow(int i) {
+        return new Vec2f(get(i, 0), get(i, 1));
+    }
+
+    /**
+     * Gets the column at the specified index.
+     *
+     * @param i the index of the column.
+     * @return the column as a vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec2f getCol(int i) {
+        return new Vec2f(get(0, i), get(1, i));
+    }
+
+    /**
+     * Gets the element at the specified row and column.
+     *
+     * @param row the row of the element.
+     * @param col the column of the element.
+     * @return the element.
+     * @throws IllegalArgumentException if the position is out of bounds.
+     */
+    public float get(int row, int col) {
+        if (row >= 0 && row < 2 && col >= 0 && col < 2) {
+            switch (col * 2 + row) {
+                case 0:
+                    return m00;
+                case 1:
+                    return m10;
+                case 2:
+                    return m01;
+                default:
+                    return m11;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Position at row=%d, col=%d is out of " +
+                "bounds of the matrix:\n%s", row, col, toString(2)));
+    }
+
+    /**
+     * Returns this matrix with every element negated.
+     *
+     * @return the inverted matrix.
+     */
+    public Mat2f invert() {
+        return new Mat2f(-m00, -m10,
+                -m01, -m11);
+    }
+
+    /**
+     * Returns the element-wise sum of this matrix and another.
+     *
+     * @param mat the matrix to add.
+     * @return the sum.
+     */
+    public Mat2f add(Mat2f mat) {
+        return new Mat2f(m00 + mat.m00, m10 + mat.m10,
+                m01 + mat.m01, m11 + mat.m11);
+    }
+
+    /**
+     * Returns the element-wise difference of this matrix and another.
+     *
+     * @param mat the matrix to subtract.
+     * @return the difference.
+     */
+    public Mat2f subtract(Mat2f mat) {
+        return new Mat2f(m00 - mat.m00, m10 - mat.m10,
+                m01 - mat.m01, m11 - mat.m11);
+    }
+
+    /**
+     * Returns this matrix with every element multiplied by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return the scaled matrix.
+     */
+    public Mat2f scale(float scalar) {
+        return new Mat2f(m00 * scalar, m10 * scalar,
+                m01 * scalar, m11 * scalar);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix with another.
+     *
+     * @param mat the matrix to multiply by.
+     * @return the product.
+     */
+    public Mat2f multiply(Mat2f mat) {
+        // Each group of two elements is a column of the result.
+        return new Mat2f(
+                m00 * mat.m00 + m01 * mat.m10,
+                        m10 * mat.m00 + m11 * mat.m10,
+                m00 * mat.m01 + m01 * mat.m11,
+                        m10 * mat.m01 + m11 * mat.m11);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix with the passed 2-dimensional vector.
+     *
+     * @param vec the 2-dimensional vector to multiply by.
+     * @return the product, always a 2-dimensional vector.
+     */
+    public Vec2f multiply(Vec2f vec) {
+        float x = vec.x, y = vec.y;
+        return new Vec2f(
+                m00 * x + m01 * y,
+                m10 * x + m11 * y);
+    }
+
+    /**
+     * Calculates the determinant of this matrix. It is computed in double precision and rounded,
+     * as are {@link #inverse()} and {@link #solve(Vec2f)}.
+     *
+     * @return the determinant.
+     */
+    public float determinant() {
+        return (float) toMat2().determinant();
+    }
+
+    /**
+     * Calculates the inverse of this matrix.
+     *
+     * @return the inverse.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Mat2f inverse() {
+        return new Mat2f(toMat2().inverse());
+    }
+
+    /**
+     * Solves the linear system Ax = b, where A is this 2x2 matrix, for the passed 2-dimensional
+     * vector b.
+     *
+     * @param vec the 2-dimensional right-hand side b.
+     * @return the solution x, always a 2-dimensional vector.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Vec2f solve(Vec2f vec) {
+        return new Vec2f(toMat2().solve(vec.toVec2()));
+    }
+
+    /**
+     * Returns a copy of the elements of this matrix as an array of columns.
+     *
+     * @return the 2D array of elements.
+     */
+    public float[][] toArray() {
+        return new float[][]{{m00, m10}, {m01, m11}};
+    }
+
+    @Override
+    public String toString() {
+        return Util.stringify(Util.widen(toArray()));
+    }
+
+    /**
+     * Creates a string representation of the matrix with the specified number of decimals.
+     *
+     * @param decimals the number of decimals for each element.
+     * @return the string representation.
+     * @throws IllegalArgumentException if the specified decimal amount is less than zero.
+     */
+    public String toString(int decimals) {
+        return Util.stringify(Util.widen(toArray()), decimals);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat2f mat = (Mat2f) obj;
+        for (int c = 0; c < 2; c++) {
+            for (int r = 0; r < 2; r++) {
+                if (Float.compare(get(r, c), mat.get(r, c)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat2f mat = (Mat2f) obj;
+        for (int c = 0; c < 2; c++) {
+            for (int r = 0; r < 2; r++) {
+                if (Math.abs(get(r, c) - mat.get(r, c)) > error) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int c = 0; c < 2; c++) {
+            for (int r = 0; r < 2; r++) {
+                hash = 31 * hash + Float.hashCode(get(r, c));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * A Mat2f builder that provides methods to construct a transformation matrix. The order of
+     * execution of operations follows the order that the methods were called on the builder object.
+     * <p>
+     * The operations are composed in double precision by a {@link Mat2.TransformBuilder}, and the
+     * result is only rounded to single precision when it is built, so that long sequences of
+     * operations do not accumulate rounding error.
+     */
+    public static class TransformBuilder {
+
+        private final Mat2.TransformBuilder builder = new Mat2.TransformBuilder();
+        private final double[] matrix = new double[4];
+
+        /**
+         * Scales in both axes.
+         *
+         * @param x how much to scale in the x-axis.
+         * @param y how much to scale in the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scale(float x, float y) {
+            builder.scale(x, y);
+            return this;
+        }
+
+        /**
+         * Rotates (along the invisible third axis perpendicular to the view plane).
+         *
+         * @param radians the amount to rotate by, in radians.
+         * @return the transformed builder.
+         */
+        public TransformBuilder rotate(float radians) {
+            builder.rotate(radians);
+            return this;
+        }
+
+        /**
+         * Shears the x-axis based on the y factor.
+         *
+         * @param y shear factor for y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearX(float y) {
+            builder.shearX(y);
+            return this;
+        }
+
+        /**
+         * Shears the y-axis based on x factor.
+         *
+         * @param x shear factor for x-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearY(float x) {
+            builder.shearY(x);
+            return this;
+        }
+
+        /**
+         * Creates the transformation matrix.
+         *
+         * @return the transformation matrix.
+         */
+        public Mat2f build() {
+            builder.buildInto(matrix, 0);
+            return new Mat2f(matrix);
+        }
+
+        /**
+         * Writes the transformation matrix into an array in column-major order, so that the
+         * element at (row, col) is stored at index offset + col * 2 + row. Nothing is allocated,
+         * so together with {@link #reset()} a builder can produce a new transformation every frame
+         * without creating garbage.
+         *
+         * @param array the array to write the 4 elements into.
+         * @param offset the index of the first element.
+         * @throws IllegalArgumentException if the array does not have 4 elements from the offset.
+         */
+        public void buildInto(float[] array, int offset) {
+            Util.verifyArrayRegion(array, offset, 4);
+            builder.buildInto(matrix, 0);
+            for (int i = 0; i < 4; i++) {
+                array[offset + i] = (float) matrix[i];
+            }
+        }
+
+        /**
+         * Discards every operation applied so far, returning the builder to the identity.
+         *
+         * @return the reset builder.
+         */
+        public TransformBuilder reset() {
+            builder.reset();
+            return this;
+        }
+
+    }
+}
@@ -1,10 +1,21 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * A matrix of dimensions 3x3.
+ * <p>
+ * The elements are stored in fields rather than an array, where mRC is the element at row R and
+ * column C.
  */
 public class Mat3 extends MatN {
 
+    final double m00, m01, m02;
+    final double m10, m11, m12;
+    final double m20, m21, m22;
+
     /**
      * Constructs a Mat3 from a two-dimensional array of elements. The outer-array must contain
      * three inner-arrays, with each being of length three. The order of the 2D array is preserved.
@@ -14,8 +25,59 @@ public class Mat3 extends MatN {
      * @throws IllegalArgumentException if the inner-arrays are not all of length three.
      */
     public Mat3(double[][] array) {
-        super(array);
-        Util.verifyExactDimension(array, 3, 3);
+        this(array, true);
+    }
+
+    /**
+     * Constructs a Mat3 from a two-dimensional array of elements, optionally skipping validation.
+     * See {@link MatMN#MatMN(double[][], boolean)}.
+     *
+     * @param array the 2D array of elements.
+     * @param verify whether the array should be validated.
+     */
+    Mat3(double[][] array, boolean verify) {
+        super(3);
+        if (verify) {
+            Util.verifyExactDimension(array, 3, 3);
+        }
+        this.m00 = array[0][0];
+        this.m10 = array[0][1];
+        this.m20 = array[0][2];
+        this.m01 = array[1][0];
+        this.m11 = array[1][1];
+        this.m21 = array[1][2];
+        this.m02 = array[2][0];
+        this.m12 = array[2][1];
+        this.m22 = array[2][2];
+    }
+
+    /**
+     * Constructs a Mat3 from a column-major array of 9 elements, which is read but not kept.
+     *
+     * @param matrix the column-major elements.
+     */
+    Mat3(double[] matrix) {
+        this(matrix[0], matrix[1], matrix[2],
+                matrix[3], matrix[4], matrix[5],
+                matrix[6], matrix[7], matrix[8]);
+    }
+
+    /**
+     * Constructs a Mat3 from its elements, given in column-major order.
+     */
+    Mat3(double m00, double m10, double m20,
+         double m01, double m11, double m21,
+         double m02, double m12, double m22) {
+        super(3);
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m20 = m20;
+        this.m01 = m01;
+        this.m11 = m11;
+        this.m21 = m21;
+        this.m02 = m02;
+        this.m12 = m12;
+        this.m22 = m22;
     }
 
     /**
@@ -26,8 +88,7 @@ public class Mat3 extends MatN {
      * @throws IllegalArgumentException if the matrix object is not of dimension 3x3.
      */
     public Mat3(Mat mat) {
-        super(mat);
-        Util.verifyExactDimension(mat.toArray(), 3, 3);
+        this(mat.toArray());
     }
 
     /**
@@ -39,7 +100,9 @@ public class Mat3 extends MatN {
      * @param vec3 the third column vector.
      */
     public Mat3(Vec3 vec1, Vec3 vec2, Vec3 vec3) {
-        super(new double[][]{vec1.toArray(), vec2.toArray(), vec3.toArray()});
+        this(vec1.x, vec1.y, vec1.z,
+                vec2.x, vec2.y, vec2.z,
+                vec3.x, vec3.y, vec3.z);
     }
 
     /**
@@ -48,7 +111,9 @@ public class Mat3 extends MatN {
      * @return the identity matrix.
      */
     public static Mat3 createIdentityMatrix() {
-        return new Mat3(Util.identity(3));
+        return new Mat3(1.0, 0.0, 0.0,
+                0.0, 1.0, 0.0,
+                0.0, 0.0, 1.0);
     }
 
     /**
@@ -61,7 +126,80 @@ public class Mat3 extends MatN {
      * @return the product of the series of matrices.
      */
     public static Mat3 chain(Mat3 mat, Mat3... matrices) {
-        return new Mat3(MatMN.chain(mat, matrices));
+        Mat3 product = mat;
+        for (Mat3 next : matrices) {
+            product = product.multiply(next);
+        }
+        return product;
+    }
+
+    @Override
+    double[] elements() {
+        return new double[]{m00, m10, m20, m01, m11, m21, m02, m12, m22};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get(int row, int col) {
+        if (row >= 0 && row < 3 && col >= 0 && col < 3) {
+            switch (col * 3 + row) {
+                case 0:
+                    return m00;
+                case 1:
+                    return m10;
+                case 2:
+                    return m20;
+                case 3:
+                    return m01;
+                case 4:
+                    return m11;
+                case 5:
+                    return m21;
+                case 6:
+                    return m02;
+                case 7:
+                    return m12;
+                default:
+                    return m22;
+            }
+        }
+        return super.get(row, col);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VecN getRow(int i) {
+        switch (i) {
+            case 0:
+                return new VecN(new double[]{m00, m01, m02}, false);
+            case 1:
+                return new VecN(new double[]{m10, m11, m12}, false);
+            case 2:
+                return new VecN(new double[]{m20, m21, m22}, false);
+            default:
+                return super.getRow(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VecN getCol(int i) {
+        switch (i) {
+            case 0:
+                return new VecN(new double[]{m00, m10, m20}, false);
+            case 1:
+                return new VecN(new double[]{m01, m11, m21}, false);
+            case 2:
+                return new VecN(new double[]{m02, m12, m22}, false);
+            default:
+                return super.getCol(i);
+        }
     }
 
     /**
@@ -69,7 +207,9 @@ public class Mat3 extends MatN {
      */
     @Override
     public Mat3 invert() {
-        return new Mat3(super.invert());
+        return new Mat3(-m00, -m10, -m20,
+                -m01, -m11, -m21,
+                -m02, -m12, -m22);
     }
 
     /**
@@ -77,7 +217,13 @@ public class Mat3 extends MatN {
      */
     @Override
     public Mat3 add(Mat mat) {
-        return new Mat3(super.add(mat));
+        if (mat instanceof Mat3) {
+            Mat3 o = (Mat3) mat;
+            return new Mat3(m00 + o.m00, m10 + o.m10, m20 + o.m20,
+                    m01 + o.m01, m11 + o.m11, m21 + o.m21,
+                    m02 + o.m02, m12 + o.m12, m22 + o.m22);
+        }
+        return new Mat3(super.add(mat).matrix);
     }
 
     /**
@@ -85,7 +231,13 @@ public class Mat3 extends MatN {
      */
     @Override
     public Mat3 subtract(Mat mat) {
-        return new Mat3(super.subtract(mat));
+        if (mat instanceof Mat3) {
+            Mat3 o = (Mat3) mat;
+            return new Mat3(m00 - o.m00, m10 - o.m10, m20 - o.m20,
+                    m01 - o.m01, m11 - o.m11, m21 - o.m21,
+                    m02 - o.m02, m12 - o.m12, m22 - o.m22);
+        }
+        return new Mat3(super.subtract(mat).matrix);
     }
 
     /**
@@ -93,7 +245,9 @@ public class Mat3 extends MatN {
      */
     @Override
     public Mat3 scale(double scalar) {
-        return new Mat3(super.scale(scalar));
+        return new Mat3(m00 * scalar, m10 * scalar, m20 * scalar,
+                m01 * scalar, m11 * scalar, m21 * scalar,
+                m02 * scalar, m12 * scalar, m22 * scalar);
     }
 
     /**
@@ -101,7 +255,22 @@ public class Mat3 extends MatN {
      */
     @Override
     public Mat3 multiply(MatN mat) {
-        return new Mat3(super.multiply(mat));
+        if (mat instanceof Mat3) {
+            Mat3 o = (Mat3) mat;
+            // Each line is a column of the result, with the terms of each element summed in the
+            // same order as Util.multiply.
+            return new Mat3(
+                    m00 * o.m00 + m01 * o.m10 + m02 * o.m20,
+                            m10 * o.m00 + m11 * o.m10 + m12 * o.m20,
+                            m20 * o.m00 + m21 * o.m10 + m22 * o.m20,
+                    m00 * o.m01 + m01 * o.m11 + m02 * o.m21,
+                            m10 * o.m01 + m11 * o.m11 + m12 * o.m21,
+                            m20 * o.m01 + m21 * o.m11 + m22 * o.m21,
+                    m00 * o.m02 + m01 * o.m12 + m02 * o.m22,
+                            m10 * o.m02 + m11 * o.m12 + m12 * o.m22,
+                            m20 * o.m02 + m21 * o.m12 + m22 * o.m22);
+        }
+        return new Mat3(Util.multiply(elements(), 3, mat.elements(), mat.rows));
     }
 
     /**
@@ -111,7 +280,21 @@ public class Mat3 extends MatN {
      * @return the product, always a 3-dimensional vector.
      */
     public Vec3 multiply(Vec3 vec) {
-        return new Vec3(super.multiply(vec));
+        double x = vec.x, y = vec.y, z = vec.z;
+        return new Vec3(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double determinant() {
+        return m00 * (m11 * m22 - m12 * m21)
+                - m01 * (m10 * m22 - m12 * m20)
+                + m02 * (m10 * m21 - m11 * m20);
     }
 
     /**
@@ -119,22 +302,345 @@ public class Mat3 extends MatN {
      */
     @Override
     public Mat3 inverse() {
-        return new Mat3(super.inverse());
+        // Cofactors of the first row, which are reused for the determinant.
+        double c00 = m11 * m22 - m12 * m21;
+        double c01 = m12 * m20 - m10 * m22;
+        double c02 = m10 * m21 - m11 * m20;
+
+        double det = m00 * c00 + m01 * c01 + m02 * c02;
+        if (Util.isNegligibleDeterminant(det, 3, hadamardBound())) {
+            // Too close to singular for the closed form: defer to the pivoted LU factorization,
+            // which rejects the matrix exactly when MatN would.
+            return new Mat3(super.inverse().matrix);
+        }
+        double invDet = 1.0 / det;
+
+        // The inverse is the transposed cofactor matrix (adjugate) scaled by 1/det. Each line is a
+        // column of the result.
+        return new Mat3(
+                c00 * invDet, c01 * invDet, c02 * invDet,
+                (m02 * m21 - m01 * m22) * invDet, (m00 * m22 - m02 * m20) * invDet,
+                        (m01 * m20 - m00 * m21) * invDet,
+                (m01 * m12 - m02 * m11) * invDet, (m02 * m10 - m00 * m12) * invDet,
+                        (m00 * m11 - m01 * m10) * invDet);
+    }
+
+    /**
+     * Returns the product of the norms of the columns of this matrix, which bounds the magnitude
+     * of its determinant.
+     */
+    double hadamardBound() {
+        double bound = Math.sqrt(m00 * m00 + m10 * m10 + m20 * m20);
+        bound *= Math.sqrt(m01 * m01 + m11 * m11 + m21 * m21);
+        bound *= Math.sqrt(m02 * m02 + m12 * m12 + m22 * m22);
+        return bound;
+    }
+
+    /**
+     * Solves the linear system Ax = b, where A is this 3x3 matrix, for the passed 3-dimensional
+     * vector b.
+     *
+     * @param vec the 3-dimensional right-hand side b.
+     * @return the solution x, always a 3-dimensional vector.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Vec3 solve(Vec3 vec) {
+        return new Vec3(super.solve(vec).vector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[][] toArray() {
+        return new double[][]{{m00, m10, m20}, {m01, m11, m21}, {m02, m12, m22}};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, 9);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put((float) m00).put((float) m10).put((float) m20).put((float) m01)
+                    .put((float) m11).put((float) m21).put((float) m02).put((float) m12)
+                    .put((float) m22);
+        } else {
+            buffer.put((float) m00).put((float) m01).put((float) m02).put((float) m10)
+                    .put((float) m11).put((float) m12).put((float) m20).put((float) m21)
+                    .put((float) m22);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, 9);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put(m00).put(m10).put(m20).put(m01).put(m11).put(m21).put(m02).put(m12).put(m22);
+        } else {
+            buffer.put(m00).put(m01).put(m02).put(m10).put(m11).put(m12).put(m20).put(m21).put(m22);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset, Layout layout) {
+        Util.verifyBufferRegion(buffer, offset, 9 * Float.BYTES);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.putFloat(offset, (float) m00).putFloat(offset + 4, (float) m10)
+                    .putFloat(offset + 8, (float) m20).putFloat(offset + 12, (float) m01)
+                    .putFloat(offset + 16, (float) m11).putFloat(offset + 20, (float) m21)
+                    .putFloat(offset + 24, (float) m02).putFloat(offset + 28, (float) m12)
+                    .putFloat(offset + 32, (float) m22);
+        } else {
+            buffer.putFloat(offset, (float) m00).putFloat(offset + 4, (float) m01)
+                    .putFloat(offset + 8, (float) m02).putFloat(offset + 12, (float) m10)
+                    .putFloat(offset + 16, (float) m11).putFloat(offset + 20, (float) m12)
+                    .putFloat(offset + 24, (float) m20).putFloat(offset + 28, (float) m21)
+                    .putFloat(offset + 32, (float) m22);
+        }
+    }
+
+    /**
+     * Computes the eigen-decomposition of this matrix, which must be symmetric. This unrolls the
+     * cyclic Jacobi method of {@link MatN#eigen()} over the six distinct elements of the matrix,
+     * held in local variables, so the only allocations are for the result.
+     *
+     * @return the eigen-decomposition, with 3-dimensional eigenvalues and eigenvectors.
+     * @throws IllegalArgumentException if this matrix is not symmetric.
+     */
+    @Override
+    public Eigen eigen() {
+        if (m01 != m10 || m02 != m20 || m12 != m21) {
+            Util.verifySymmetricMatrix(elements(), 3);
+        }
+        double a00 = m00, a01 = m01, a02 = m02;
+        double a11 = m11, a12 = m12;
+        double a22 = m22;
+        double v00 = 1.0, v01 = 0.0, v02 = 0.0;
+        double v10 = 0.0, v11 = 1.0, v12 = 0.0;
+        double v20 = 0.0, v21 = 0.0, v22 = 1.0;
+
+        for (int sweep = 0; sweep < EigenDecomposition.MAX_SWEEPS; sweep++) {
+            double off = Math.abs(a01) + Math.abs(a02) + Math.abs(a12);
+            double diagonal = Math.abs(a00) + Math.abs(a11) + Math.abs(a22);
+            if (off <= Math.ulp(1.0) * diagonal) break;
+
+            // Rotate in the (0, 1), (0, 2) and (1, 2) planes in turn, updating the eigenvector
+            // columns alongside.
+            if (a01 != 0.0) {
+                double theta = (a11 - a00) / (2.0 * a01);
+                double t = Math.copySign(1.0, theta) / (Math.abs(theta)
+                        + Math.sqrt(theta * theta + 1.0));
+                double c = 1.0 / Math.sqrt(t * t + 1.0);
+                double s = t * c;
+                a00 -= t * a01;
+                a11 += t * a01;
+                a01 = 0.0;
+                double arp = a02;
+                a02 = c * arp - s * a12;
+                a12 = s * arp + c * a12;
+                double vp0 = v00;
+                v00 = c * vp0 - s * v01;
+                v01 = s * vp0 + c * v01;
+                double vp1 = v10;
+                v10 = c * vp1 - s * v11;
+                v11 = s * vp1 + c * v11;
+                double vp2 = v20;
+                v20 = c * vp2 - s * v21;
+                v21 = s * vp2 + c * v21;
+            }
+            if (a02 != 0.0) {
+                double theta = (a22 - a00) / (2.0 * a02);
+                double t = Math.copySign(1.0, theta) / (Math.abs(theta)
+                        + Math.sqrt(theta * theta + 1.0));
+                double c = 1.0 / Math.sqrt(t * t + 1.0);
+                double s = t * c;
+                a00 -= t * a02;
+                a22 += t * a02;
+                a02 = 0.0;
+                double arp = a01;
+                a01 = c * arp - s * a12;
+                a12 = s * arp + c * a12;
+                double vp0 = v00;
+                v00 = c * vp0 - s * v02;
+                v02 = s * vp0 + c * v02;
+                double vp1 = v10;
+                v10 = c * vp1 - s * v12;
+                v12 = s * vp1 + c * v12;
+                double vp2 = v20;
+                v20 = c * vp2 - s * v22;
+                v22 = s * vp2 + c * v22;
+            }
+            if (a12 != 0.0) {
+                double theta = (a22 - a11) / (2.0 * a12);
+                double t = Math.copySign(1.0, theta) / (Math.abs(theta)
+                        + Math.sqrt(theta * theta + 1.0));
+                double c = 1.0 / Math.sqrt(t * t + 1.0);
+                double s = t * c;
+                a11 -= t * a12;
+                a22 += t * a12;
+                a12 = 0.0;
+                double arp = a01;
+                a01 = c * arp - s * a02;
+                a02 = s * arp + c * a02;
+                double vp0 = v01;
+                v01 = c * vp0 - s * v02;
+                v02 = s * vp0 + c * v02;
+                double vp1 = v11;
+                v11 = c * vp1 - s * v12;
+                v12 = s * vp1 + c * v12;
+                double vp2 = v21;
+                v21 = c * vp2 - s * v22;
+                v22 = s * vp2 + c * v22;
+            }
+        }
+
+        // Sort the eigenvalues into descending order, keeping the eigenvectors paired.
+        if (a11 > a00) {
+            double d = a00;
+            a00 = a11;
+            a11 = d;
+            double v0 = v00;
+            v00 = v01;
+            v01 = v0;
+            double v1 = v10;
+            v10 = v11;
+            v11 = v1;
+            double v2 = v20;
+            v20 = v21;
+            v21 = v2;
+        }
+        if (a22 > a00) {
+            double d = a00;
+            a00 = a22;
+            a22 = d;
+            double v0 = v00;
+            v00 = v02;
+            v02 = v0;
+            double v1 = v10;
+            v10 = v12;
+            v12 = v1;
+            double v2 = v20;
+            v20 = v22;
+            v22 = v2;
+        }
+        if (a22 > a11) {
+            double d = a11;
+            a11 = a22;
+            a22 = d;
+            double v0 = v01;
+            v01 = v02;
+            v02 = v0;
+            double v1 = v11;
+            v11 = v12;
+            v12 = v1;
+            double v2 = v21;
+            v21 = v22;
+            v22 = v2;
+        }
+        return new Eigen(new Vec3(a00, a11, a22), new Mat3(
+                v00, v10, v20, v01, v11, v21, v02, v12, v22));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat3 mat = (Mat3) obj;
+        return Double.compare(m00, mat.m00) == 0 && Double.compare(m10, mat.m10) == 0
+                && Double.compare(m20, mat.m20) == 0 && Double.compare(m01, mat.m01) == 0
+                && Double.compare(m11, mat.m11) == 0 && Double.compare(m21, mat.m21) == 0
+                && Double.compare(m02, mat.m02) == 0 && Double.compare(m12, mat.m12) == 0
+                && Double.compare(m22, mat.m22) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat3 mat = (Mat3) obj;
+        return Math.abs(mat.m00 - m00) <= error && Math.abs(mat.m10 - m10) <= error
+                && Math.abs(mat.m20 - m20) <= error && Math.abs(mat.m01 - m01) <= error
+                && Math.abs(mat.m11 - m11) <= error && Math.abs(mat.m21 - m21) <= error
+                && Math.abs(mat.m02 - m02) <= error && Math.abs(mat.m12 - m12) <= error
+                && Math.abs(mat.m22 - m22) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(m00);
+        hash = 31 * hash + Double.hashCode(m10);
+        hash = 31 * hash + Double.hashCode(m20);
+        hash = 31 * hash + Double.hashCode(m01);
+        hash = 31 * hash + Double.hashCode(m11);
+        hash = 31 * hash + Double.hashCode(m21);
+        hash = 31 * hash + Double.hashCode(m02);
+        hash = 31 * hash + Double.hashCode(m12);
+        hash = 31 * hash + Double.hashCode(m22);
+        return hash;
+    }
+
+    /**
+     * The eigen-decomposition of a symmetric 3x3 matrix, with 3-dimensional eigenvalues and
+     * eigenvectors.
+     */
+    public static class Eigen extends EigenDecomposition {
+
+        private Eigen(Vec3 eigenvalues, Mat3 eigenvectors) {
+            super(eigenvalues, eigenvectors);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Vec3 eigenvalues() {
+            return (Vec3) super.eigenvalues();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Mat3 eigenvectors() {
+            return (Mat3) super.eigenvectors();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Vec3 eigenvector(int i) {
+            return new Vec3(super.eigenvector(i).vector);
+        }
     }
 
     /**
      * A Mat3 builder that provides methods to construct an affine transformation. The order of
      * execution of operations follows the order that the methods were called on the builder object.
+     * <p>
+     * The builder holds a single column-major array. Each operation updates it in place, touching
+     * only the rows that the elementary transformation changes, instead of multiplying by a full
+     * matrix.
      */
     public static class TransformBuilder {
 
-        private Mat3 matrix;
+        private final double[] matrix = new double[9];
 
         /**
          * Creates a new transformation.
          */
         public TransformBuilder() {
-            matrix = createIdentityMatrix();
+            Util.setIdentity(matrix, 3);
         }
 
         /**
@@ -145,10 +651,8 @@ public class Mat3 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder scale(double x, double y) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = x;
-            operation[1][1] = y;
-            applyOperation(operation);
+            Util.scaleRow(matrix, 3, 0, x);
+            Util.scaleRow(matrix, 3, 1, y);
             return this;
         }
 
@@ -180,10 +684,8 @@ public class Mat3 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder translate(double x, double y) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[2][0] = x;
-            operation[2][1] = y;
-            applyOperation(operation);
+            Util.addRow(matrix, 3, 0, 2, x);
+            Util.addRow(matrix, 3, 1, 2, y);
             return this;
         }
 
@@ -224,14 +726,7 @@ public class Mat3 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder rotate(double radians) {
-            double cos = Math.cos(radians);
-            double sin = Math.sin(radians);
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = cos;
-            operation[1][0] = -sin;
-            operation[0][1] = sin;
-            operation[1][1] = cos;
-            applyOperation(operation);
+            Util.rotateRows(matrix, 3, 0, 1, Math.cos(radians), Math.sin(radians));
             return this;
         }
 
@@ -242,9 +737,7 @@ public class Mat3 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearX(double y) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[1][0] = y;
-            applyOperation(operation);
+            Util.addRow(matrix, 3, 0, 1, y);
             return this;
         }
 
@@ -255,9 +748,7 @@ public class Mat3 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearY(double x) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][1] = x;
-            applyOperation(operation);
+            Util.addRow(matrix, 3, 1, 0, x);
             return this;
         }
 
@@ -270,9 +761,29 @@ public class Mat3 extends MatN {
             return new Mat3(matrix);
         }
 
-        private void applyOperation(double[][] operation) {
-            Mat3 operationMat = new Mat3(operation);
-            matrix = operationMat.multiply(matrix);
+        /**
+         * Writes the transformation matrix into an array in column-major order, so that the
+         * element at (row, col) is stored at index offset + col * 3 + row. Nothing is allocated,
+         * so together with {@link #reset()} a builder can produce a new transformation every frame
+         * without creating garbage.
+         *
+         * @param array the array to write the 9 elements into.
+         * @param offset the index of the first element.
+         * @throws IllegalArgumentException if the array does not have 9 elements from the offset.
+         */
+        public void buildInto(double[] array, int offset) {
+            Util.verifyArrayRegion(array, offset, 9);
+            System.arraycopy(matrix, 0, array, offset, 9);
+        }
+
+        /**
+         * Discards every operation applied so far, returning the builder to the identity.
+         *
+         * @return the reset builder.
+         */
+        public TransformBuilder reset() {
+            Util.setIdentity(matrix, 3);
+            return this;
         }
 
     }
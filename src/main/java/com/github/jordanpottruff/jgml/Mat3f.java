@@ -0,0 +1,549 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * A matrix of dimensions 3x3 with single-precision elements. It mirrors the operations of {@link
+ * Mat3} in half the memory, for bulk data such as instance transforms that does not need double
+ * precision. Like a Mat3, the elements are stored in fields, where mRC is the element at row R and
+ * column C.
+ */
+public class Mat3f {
+
+    final float m00, m01, m02;
+    final float m10, m11, m12;
+    final float m20, m21, m22;
+
+    /**
+     * Constructs a Mat3f from a two-dimensional array of elements. The outer-array must contain
+     * three inner-arrays, with each being of length three. The order of the 2D array is preserved.
+     *
+     * @param array the 2D array of elements.
+     * @throws IllegalArgumentException if the outer-array does not contain three inner-arrays.
+     * @throws IllegalArgumentException if the inner-arrays are not all of length three.
+     */
+    public Mat3f(float[][] array) {
+        Util.verifyExactDimension(array, 3, 3);
+        this.m00 = array[0][0];
+        this.m10 = array[0][1];
+        this.m20 = array[0][2];
+        this.m01 = array[1][0];
+        this.m11 = array[1][1];
+        this.m21 = array[1][2];
+        this.m02 = array[2][0];
+        this.m12 = array[2][1];
+        this.m22 = array[2][2];
+    }
+
+    /**
+     * Constructs a Mat3f from a column-major array of 9 double-precision elements, rounding each
+     * to the nearest float.
+     *
+     * @param matrix the column-major elements.
+     */
+    Mat3f(double[] matrix) {
+        this((float) matrix[0], (float) matrix[1], (float) matrix[2],
+                (float) matrix[3], (float) matrix[4], (float) matrix[5],
+                (float) matrix[6], (float) matrix[7], (float) matrix[8]);
+    }
+
+    /**
+     * Constructs a Mat3f from its elements, given in column-major order.
+     */
+    Mat3f(float m00, float m10, float m20,
+          float m01, float m11, float m21,
+          float m02, float m12, float m22) {
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m20 = m20;
+        this.m01 = m01;
+        this.m11 = m11;
+        this.m21 = m21;
+        this.m02 = m02;
+        this.m12 = m12;
+        this.m22 = m22;
+    }
+
+    /**
+     * Constructs a Mat3f from a Mat3, rounding each element to the nearest float.
+     *
+     * @param mat the double-precision matrix.
+     */
+    public Mat3f(Mat3 mat) {
+        this((float) mat.m00, (float) mat.m10, (float) mat.m20,
+                (float) mat.m01, (float) mat.m11, (float) mat.m21,
+                (float) mat.m02, (float) mat.m12, (float) mat.m22);
+    }
+
+    /**
+     * Constructs a Mat3f from three Vec3f objects. The vectors will create the column vectors of
+     * the new matrix.
+     *
+     * @param vec1 the first column vector.
+     * @param vec2 the second column vector.
+     * @param vec3 the third column vector.
+     */
+    public Mat3f(Vec3f vec1, Vec3f vec2, Vec3f vec3) {
+        this(vec1.x, vec1.y, vec1.z,
+                vec2.x, vec2.y, vec2.z,
+                vec3.x, vec3.y, vec3.z);
+    }
+
+    /**
+     * Creates a 3x3 identity matrix.
+     *
+     * @return the identity matrix.
+     */
+    public static Mat3f createIdentityMatrix() {
+        return new Mat3f(1.0f, 0.0f, 0.0f,
+                0.0f, 1.0f, 0.0f,
+                0.0f, 0.0f, 1.0f);
+    }
+
+    /**
+     * Returns the product of multiplying a series of 3x3 matrices together. The order of the
+     * arguments represents the order of multiplications such that A*B*C is equivalent to {@code
+     * chain(A, B, C)}.
+     *
+     * @param mat the first matrix of the product chain.
+     * @param matrices the rest of the matrices of the product chain.
+     * @return the product of the series of matrices.
+     */
+    public static Mat3f chain(Mat3f mat, Mat3f... matrices) {
+        Mat3f product = mat;
+        for (Mat3f next : matrices) {
+            product = product.multiply(next);
+        }
+        return product;
+    }
+
+    /**
+     * Converts this matrix to double precision. Every float is exactly representable as a double,
+     * so no precision is lost.
+     *
+     * @return the double-precision matrix.
+     */
+    public Mat3 toMat3() {
+        return new Mat3(m00, m10, m20,
+                m01, m11, m21,
+                m02, m12, m22);
+    }
+
+    /**
+     * Returns the number of rows, which is always three.
+     *
+     * @return the number of rows.
+     */
+    public int rows() {
+        return 3;
+    }
+
+    /**
+     * Returns the number of columns, which is always three.
+     *
+     * @return the number of columns.
+     */
+    public int cols() {
+        return 3;
+    }
+
+    /**
+     * Gets the row at the specified index.
+     *
+     * @param i the index of the row.
+     * @return the row as a vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec3f getRow(int i) {
+        return new Vec3f(get(i, 0), get(i, 1), get(i, 2));
+    }
+
+    /**
+     * Gets the column at the specified index.
+     *
+     * @param i the index of the column.
+     * @return the column as a vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec3f getCol(int i) {
+        return new Vec3f(get(0, i), get(1, i), get(2, i));
+    }
+
+    /**
+     * Gets the element at the specified row and column.
+     *
+     * @param row the row of the element.
+     * @param col the column of the element.
+     * @return the element.
+     * @throws IllegalArgumentException if the position is out of bounds.
+     */
+    public float get(int row, int col) {
+        if (row >= 0 && row < 3 && col >= 0 && col < 3) {
+            switch (col * 3 + row) {
+                case 0:
+                    return m00;
+                case 1:
+                    return m10;
+                case 2:
+                    return m20;
+                case 3:
+                    return m01;
+                case 4:
+                    return m11;
+                case 5:
+                    return m21;
+                case 6:
+                    return m02;
+                case 7:
+                    return m12;
+                default:
+                    return m22;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Position at row=%d, col=%d is out of " +
+                "bounds of the matrix:\n%s", row, col, toString(2)));
+    }
+
+    /**
+     * Returns this matrix with every element negated.
+     *
+     * @return the inverted matrix.
+     */
+    public Mat3f invert() {
+        return new Mat3f(-m00, -m10, -m20,
+                -m01, -m11, -m21,
+                -m02, -m12, -m22);
+    }
+
+    /**
+     * Returns the element-wise sum of this matrix and another.
+     *
+     * @param mat the matrix to add.
+     * @return the sum.
+     */
+    public Mat3f add(Mat3f mat) {
+        return new Mat3f(m00 + mat.m00, m10 + mat.m10, m20 + mat.m20,
+                m01 + mat.m01, m11 + mat.m11, m21 + mat.m21,
+                m02 + mat.m02, m12 + mat.m12, m22 + mat.m22);
+    }
+
+    /**
+     * Returns the element-wise difference of this matrix and another.
+     *
+     * @param mat the matrix to subtract.
+     * @return the difference.
+     */
+    public Mat3f subtract(Mat3f mat) {
+        return new Mat3f(m00 - mat.m00, m10 - mat.m10, m20 - mat.m20,
+                m01 - mat.m01, m11 - mat.m11, m21 - mat.m21,
+                m02 - mat.m02, m12 - mat.m12, m22 - mat.m22);
+    }
+
+    /**
+     * Returns this matrix with every element multiplied by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return the scaled matrix.
+     */
+    public Mat3f scale(float scalar) {
+        return new Mat3f(m00 * scalar, m10 * scalar, m20 * scalar,
+                m01 * scalar, m11 * scalar, m21 * scalar,
+                m02 * scalar, m12 * scalar, m22 * scalar);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix with another.
+     *
+     * @param mat the matrix to multiply by.
+     * @return the product.
+     */
+    public Mat3f multiply(Mat3f mat) {
+        // Each group of three elements is a column of the result.
+        return new Mat3f(
+                m00 * mat.m00 + m01 * mat.m10 + m02 * mat.m20,
+                        m10 * mat.m00 + m11 * mat.m10 + m12 * mat.m20,
+                        m20 * mat.m00 + m21 * mat.m10 + m22 * mat.m20,
+                m00 * mat.m01 + m01 * mat.m11 + m02 * mat.m21,
+                        m10 * mat.m01 + m11 * mat.m11 + m12 * mat.m21,
+                        m20 * mat.m01 + m21 * mat.m11 + m22 * mat.m21,
+                m00 * mat.m02 + m01 * mat.m12 + m02 * mat.m22,
+                        m10 * mat.m02 + m11 * mat.m12 + m12 * mat.m22,
+                        m20 * mat.m02 + m21 * mat.m12 + m22 * mat.m22);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix with the passed 3-dimensional vector.
+     *
+     * @param vec the 3-dimensional vector to multiply by.
+     * @return the product, always a 3-dimensional vector.
+     */
+    public Vec3f multiply(Vec3f vec) {
+        float x = vec.x, y = vec.y, z = vec.z;
+        return new Vec3f(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z);
+    }
+
+    /**
+     * Calculates the determinant of this matrix. It is computed in double precision and rounded,
+     * as are {@link #inverse()} and {@link #solve(Vec3f)}.
+     *
+     * @return the determinant.
+     */
+    public float determinant() {
+        return (float) toMat3().determinant();
+    }
+
+    /**
+     * Calculates the inverse of this matrix.
+     *
+     * @return the inverse.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Mat3f inverse() {
+        return new Mat3f(toMat3().inverse());
+    }
+
+    /**
+     * Solves the linear system Ax = b, where A is this 3x3 matrix, for the passed 3-dimensional
+     * vector b.
+     *
+     * @param vec the 3-dimensional right-hand side b.
+     * @return the solution x, always a 3-dimensional vector.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Vec3f solve(Vec3f vec) {
+        return new Vec3f(toMat3().solve(vec.toVec3()));
+    }
+
+    /**
+     * Returns a copy of the elements of this matrix as an array of columns.
+     *
+     * @return the 2D array of elements.
+     */
+    public float[][] toArray() {
+        return new float[][]{{m00, m10, m20}, {m01, m11, m21}, {m02, m12, m22}};
+    }
+
+    @Override
+    public String toString() {
+        return Util.stringify(Util.widen(toArray()));
+    }
+
+    /**
+     * Creates a string representation of the matrix with the specified number of decimals.
+     *
+     * @param decimals the number of decimals for each element.
+     * @return the string representation.
+     * @throws IllegalArgumentException if the specified decimal amount is less than zero.
+     */
+    public String toString(int decimals) {
+        return Util.stringify(Util.widen(toArray()), decimals);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat3f mat = (Mat3f) obj;
+        for (int c = 0; c < 3; c++) {
+            for (int r = 0; r < 3; r++) {
+                if (Float.compare(get(r, c), mat.get(r, c)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat3f mat = (Mat3f) obj;
+        for (int c = 0; c < 3; c++) {
+            for (int r = 0; r < 3; r++) {
+                if (Math.abs(get(r, c) - mat.get(r, c)) > error) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int c = 0; c < 3; c++) {
+            for (int r = 0; r < 3; r++) {
+                hash = 31 * hash + Float.hashCode(get(r, c));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * A Mat3f builder that provides methods to construct an affine transformation. The order of
+     * execution of operations follows the order that the methods were called on the builder object.
+     * <p>
+     * The operations are composed in double precision by a {@link Mat3.TransformBuilder}, and the
+     * result is only rounded to single precision when it is built, so that long sequences of
+     * operations do not accumulate rounding error.
+     */
+    public static class TransformBuilder {
+
+        private final Mat3.TransformBuilder builder = new Mat3.TransformBuilder();
+        private final double[] matrix = new double[9];
+
+        /**
+         * Scales in both axes.
+         *
+         * @param x how much to scale in the x-axis.
+         * @param y how much to scale in the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scale(float x, float y) {
+            builder.scale(x, y);
+            return this;
+        }
+
+        /**
+         * Scales along the x-axis.
+         *
+         * @param factor how much to scale in the x-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scaleX(float factor) {
+            builder.scaleX(factor);
+            return this;
+        }
+
+        /**
+         * Scales along the y-axis.
+         *
+         * @param factor how much to scale in the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scaleY(float factor) {
+            builder.scaleY(factor);
+            return this;
+        }
+
+        /**
+         * Translates in both axes.
+         *
+         * @param x how much to translate along the x-axis.
+         * @param y how much to translate along the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translate(float x, float y) {
+            builder.translate(x, y);
+            return this;
+        }
+
+        /**
+         * Translates in both axes.
+         *
+         * @param amounts how much to translate along each axis, represented as a Vec2f.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translate(Vec2f amounts) {
+            builder.translate(amounts.x, amounts.y);
+            return this;
+        }
+
+        /**
+         * Translates along the x-axis.
+         *
+         * @param factor how much to translate along the x-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translateX(float factor) {
+            builder.translateX(factor);
+            return this;
+        }
+
+        /**
+         * Translates along the y-axis.
+         *
+         * @param factor how much to translate along the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translateY(float factor) {
+            builder.translateY(factor);
+            return this;
+        }
+
+        /**
+         * Rotates (along the invisible third axis perpendicular to the view plane).
+         *
+         * @param radians the amount to rotate by, in radians.
+         * @return the transformed builder.
+         */
+        public TransformBuilder rotate(float radians) {
+            builder.rotate(radians);
+            return this;
+        }
+
+        /**
+         * Shears the x-axis based on the y factor.
+         *
+         * @param y shear factor for y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearX(float y) {
+            builder.shearX(y);
+            return this;
+        }
+
+        /**
+         * Shears the y-axis based on x factor.
+         *
+         * @param x shear factor for x-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearY(float x) {
+            builder.shearY(x);
+            return this;
+        }
+
+        /**
+         * Creates the transformation matrix.
+         *
+         * @return the transformation matrix.
+         */
+        public Mat3f build() {
+            builder.buildInto(matrix, 0);
+            return new Mat3f(matrix);
+        }
+
+        /**
+         * Writes the transformation matrix into an array in column-major order, so that the
+         * element at (row, col) is stored at index offset + col * 3 + row. Nothing is allocated,
+         * so together with {@link #reset()} a builder can produce a new transformation every frame
+         * without creating garbage.
+         *
+         * @param array the array to write the 9 elements into.
+         * @param offset the index of the first element.
+         * @throws IllegalArgumentException if the array does not have 9 elements from the offset.
+         */
+        public void buildInto(float[] array, int offset) {
+            Util.verifyArrayRegion(array, offset, 9);
+            builder.buildInto(matrix, 0);
+            for (int i = 0; i < 9; i++) {
+                array[offset + i] = (float) matrix[i];
+            }
+        }
+
+        /**
+         * Discards every operation applied so far, returning the builder to the identity.
+         *
+         * @return the reset builder.
+         */
+        public TransformBuilder reset() {
+            builder.reset();
+            return this;
+        }
+
+    }
+}
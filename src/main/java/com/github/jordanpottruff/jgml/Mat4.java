@@ -1,10 +1,22 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * A matrix of dimensions 4x4.
+ * <p>
+ * The elements are stored in fields rather than an array, where mRC is the element at row R and
+ * column C.
  */
 public class Mat4 extends MatN {
 
+    final double m00, m01, m02, m03;
+    final double m10, m11, m12, m13;
+    final double m20, m21, m22, m23;
+    final double m30, m31, m32, m33;
+
     /**
      * Constructs a Mat4 from a two-dimensional array of elements. The outer-array must contain four
      * inner-arrays, with each being of length four. The order of the 2D array is preserved.
@@ -14,8 +26,75 @@ public class Mat4 extends MatN {
      * @throws IllegalArgumentException if the inner-arrays are not all of length four.
      */
     public Mat4(double[][] array) {
-        super(array);
-        Util.verifyExactDimension(array, 4, 4);
+        this(array, true);
+    }
+
+    /**
+     * Constructs a Mat4 from a two-dimensional array of elements, optionally skipping validation.
+     * See {@link MatMN#MatMN(double[][], boolean)}.
+     *
+     * @param array the 2D array of elements.
+     * @param verify whether the array should be validated.
+     */
+    Mat4(double[][] array, boolean verify) {
+        super(4);
+        if (verify) {
+            Util.verifyExactDimension(array, 4, 4);
+        }
+        this.m00 = array[0][0];
+        this.m10 = array[0][1];
+        this.m20 = array[0][2];
+        this.m30 = array[0][3];
+        this.m01 = array[1][0];
+        this.m11 = array[1][1];
+        this.m21 = array[1][2];
+        this.m31 = array[1][3];
+        this.m02 = array[2][0];
+        this.m12 = array[2][1];
+        this.m22 = array[2][2];
+        this.m32 = array[2][3];
+        this.m03 = array[3][0];
+        this.m13 = array[3][1];
+        this.m23 = array[3][2];
+        this.m33 = array[3][3];
+    }
+
+    /**
+     * Constructs a Mat4 from a column-major array of 16 elements, which is read but not kept.
+     *
+     * @param matrix the column-major elements.
+     */
+    Mat4(double[] matrix) {
+        this(matrix[0], matrix[1], matrix[2], matrix[3],
+                matrix[4], matrix[5], matrix[6], matrix[7],
+                matrix[8], matrix[9], matrix[10], matrix[11],
+                matrix[12], matrix[13], matrix[14], matrix[15]);
+    }
+
+    /**
+     * Constructs a Mat4 from its elements, given in column-major order.
+     */
+    Mat4(double m00, double m10, double m20, double m30,
+         double m01, double m11, double m21, double m31,
+         double m02, double m12, double m22, double m32,
+         double m03, double m13, double m23, double m33) {
+        super(4);
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m20 = m20;
+        this.m30 = m30;
+        this.m01 = m01;
+        this.m11 = m11;
+        this.m21 = m21;
+        this.m31 = m31;
+        this.m02 = m02;
+        this.m12 = m12;
+        this.m22 = m22;
+        this.m32 = m32;
+        this.m03 = m03;
+        this.m13 = m13;
+        this.m23 = m23;
+        this.m33 = m33;
     }
 
     /**
@@ -26,8 +105,7 @@ public class Mat4 extends MatN {
      * @throws IllegalArgumentException if the matrix object is not of dimension 4x4.
      */
     public Mat4(Mat mat) {
-        super(mat);
-        Util.verifyExactDimension(mat.toArray(), 4, 4);
+        this(mat.toArray());
     }
 
     /**
@@ -40,7 +118,10 @@ public class Mat4 extends MatN {
      * @param vec4 the fourth column vector.
      */
     public Mat4(Vec4 vec1, Vec4 vec2, Vec4 vec3, Vec4 vec4) {
-        super(new double[][]{vec1.toArray(), vec2.toArray(), vec3.toArray(), vec4.toArray()});
+        this(vec1.x, vec1.y, vec1.z, vec1.w,
+                vec2.x, vec2.y, vec2.z, vec2.w,
+                vec3.x, vec3.y, vec3.z, vec3.w,
+                vec4.x, vec4.y, vec4.z, vec4.w);
     }
 
     /**
@@ -49,7 +130,10 @@ public class Mat4 extends MatN {
      * @return the identity matrix.
      */
     public static Mat4 createIdentityMatrix() {
-        return new Mat4(Util.identity(4));
+        return new Mat4(1.0, 0.0, 0.0, 0.0,
+                0.0, 1.0, 0.0, 0.0,
+                0.0, 0.0, 1.0, 0.0,
+                0.0, 0.0, 0.0, 1.0);
     }
 
     /**
@@ -62,7 +146,101 @@ public class Mat4 extends MatN {
      * @return the product of the series of matrices.
      */
     public static Mat4 chain(Mat4 mat, Mat4... matrices) {
-        return new Mat4(MatMN.chain(mat, matrices));
+        Mat4 product = mat;
+        for (Mat4 next : matrices) {
+            product = product.multiply(next);
+        }
+        return product;
+    }
+
+    @Override
+    double[] elements() {
+        return new double[]{m00, m10, m20, m30,
+                m01, m11, m21, m31,
+                m02, m12, m22, m32,
+                m03, m13, m23, m33};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get(int row, int col) {
+        if (row >= 0 && row < 4 && col >= 0 && col < 4) {
+            switch (col * 4 + row) {
+                case 0:
+                    return m00;
+                case 1:
+                    return m10;
+                case 2:
+                    return m20;
+                case 3:
+                    return m30;
+                case 4:
+                    return m01;
+                case 5:
+                    return m11;
+                case 6:
+                    return m21;
+                case 7:
+                    return m31;
+                case 8:
+                    return m02;
+                case 9:
+                    return m12;
+                case 10:
+                    return m22;
+                case 11:
+                    return m32;
+                case 12:
+                    return m03;
+                case 13:
+                    return m13;
+                case 14:
+                    return m23;
+                default:
+                    return m33;
+            }
+        }
+        return super.get(row, col);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VecN getRow(int i) {
+        switch (i) {
+            case 0:
+                return new VecN(new double[]{m00, m01, m02, m03}, false);
+            case 1:
+                return new VecN(new double[]{m10, m11, m12, m13}, false);
+            case 2:
+                return new VecN(new double[]{m20, m21, m22, m23}, false);
+            case 3:
+                return new VecN(new double[]{m30, m31, m32, m33}, false);
+            default:
+                return super.getRow(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VecN getCol(int i) {
+        switch (i) {
+            case 0:
+                return new VecN(new double[]{m00, m10, m20, m30}, false);
+            case 1:
+                return new VecN(new double[]{m01, m11, m21, m31}, false);
+            case 2:
+                return new VecN(new double[]{m02, m12, m22, m32}, false);
+            case 3:
+                return new VecN(new double[]{m03, m13, m23, m33}, false);
+            default:
+                return super.getCol(i);
+        }
     }
 
     /**
@@ -70,7 +248,10 @@ public class Mat4 extends MatN {
      */
     @Override
     public Mat4 invert() {
-        return new Mat4(super.invert());
+        return new Mat4(-m00, -m10, -m20, -m30,
+                -m01, -m11, -m21, -m31,
+                -m02, -m12, -m22, -m32,
+                -m03, -m13, -m23, -m33);
     }
 
     /**
@@ -78,7 +259,14 @@ public class Mat4 extends MatN {
      */
     @Override
     public Mat4 add(Mat mat) {
-        return new Mat4(super.add(mat));
+        if (mat instanceof Mat4) {
+            Mat4 o = (Mat4) mat;
+            return new Mat4(m00 + o.m00, m10 + o.m10, m20 + o.m20, m30 + o.m30,
+                    m01 + o.m01, m11 + o.m11, m21 + o.m21, m31 + o.m31,
+                    m02 + o.m02, m12 + o.m12, m22 + o.m22, m32 + o.m32,
+                    m03 + o.m03, m13 + o.m13, m23 + o.m23, m33 + o.m33);
+        }
+        return new Mat4(super.add(mat).matrix);
     }
 
     /**
@@ -86,7 +274,14 @@ public class Mat4 extends MatN {
      */
     @Override
     public Mat4 subtract(Mat mat) {
-        return new Mat4(super.subtract(mat));
+        if (mat instanceof Mat4) {
+            Mat4 o = (Mat4) mat;
+            return new Mat4(m00 - o.m00, m10 - o.m10, m20 - o.m20, m30 - o.m30,
+                    m01 - o.m01, m11 - o.m11, m21 - o.m21, m31 - o.m31,
+                    m02 - o.m02, m12 - o.m12, m22 - o.m22, m32 - o.m32,
+                    m03 - o.m03, m13 - o.m13, m23 - o.m23, m33 - o.m33);
+        }
+        return new Mat4(super.subtract(mat).matrix);
     }
 
     /**
@@ -94,7 +289,10 @@ public class Mat4 extends MatN {
      */
     @Override
     public Mat4 scale(double scalar) {
-        return new Mat4(super.scale(scalar));
+        return new Mat4(m00 * scalar, m10 * scalar, m20 * scalar, m30 * scalar,
+                m01 * scalar, m11 * scalar, m21 * scalar, m31 * scalar,
+                m02 * scalar, m12 * scalar, m22 * scalar, m32 * scalar,
+                m03 * scalar, m13 * scalar, m23 * scalar, m33 * scalar);
     }
 
     /**
@@ -102,7 +300,29 @@ public class Mat4 extends MatN {
      */
     @Override
     public Mat4 multiply(MatN mat) {
-        return new Mat4(super.multiply(mat));
+        if (mat instanceof Mat4) {
+            Mat4 o = (Mat4) mat;
+            // Each group of four elements is a column of the result, with the terms of each
+            // element summed in the same order as Util.multiply.
+            return new Mat4(
+                    m00 * o.m00 + m01 * o.m10 + m02 * o.m20 + m03 * o.m30,
+                            m10 * o.m00 + m11 * o.m10 + m12 * o.m20 + m13 * o.m30,
+                            m20 * o.m00 + m21 * o.m10 + m22 * o.m20 + m23 * o.m30,
+                            m30 * o.m00 + m31 * o.m10 + m32 * o.m20 + m33 * o.m30,
+                    m00 * o.m01 + m01 * o.m11 + m02 * o.m21 + m03 * o.m31,
+                            m10 * o.m01 + m11 * o.m11 + m12 * o.m21 + m13 * o.m31,
+                            m20 * o.m01 + m21 * o.m11 + m22 * o.m21 + m23 * o.m31,
+                            m30 * o.m01 + m31 * o.m11 + m32 * o.m21 + m33 * o.m31,
+                    m00 * o.m02 + m01 * o.m12 + m02 * o.m22 + m03 * o.m32,
+                            m10 * o.m02 + m11 * o.m12 + m12 * o.m22 + m13 * o.m32,
+                            m20 * o.m02 + m21 * o.m12 + m22 * o.m22 + m23 * o.m32,
+                            m30 * o.m02 + m31 * o.m12 + m32 * o.m22 + m33 * o.m32,
+                    m00 * o.m03 + m01 * o.m13 + m02 * o.m23 + m03 * o.m33,
+                            m10 * o.m03 + m11 * o.m13 + m12 * o.m23 + m13 * o.m33,
+                            m20 * o.m03 + m21 * o.m13 + m22 * o.m23 + m23 * o.m33,
+                            m30 * o.m03 + m31 * o.m13 + m32 * o.m23 + m33 * o.m33);
+        }
+        return new Mat4(Util.multiply(elements(), 4, mat.elements(), mat.rows));
     }
 
     /**
@@ -112,7 +332,176 @@ public class Mat4 extends MatN {
      * @return the product, always a 4-dimensional vector.
      */
     public Vec4 multiply(Vec4 vec) {
-        return new Vec4(super.multiply(vec));
+        double x = vec.x, y = vec.y, z = vec.z, w = vec.w;
+        return new Vec4(
+                m00 * x + m01 * y + m02 * z + m03 * w,
+                m10 * x + m11 * y + m12 * z + m13 * w,
+                m20 * x + m21 * y + m22 * z + m23 * w,
+                m30 * x + m31 * y + m32 * z + m33 * w);
+    }
+
+    /**
+     * Transforms a run of packed 3-dimensional points by this matrix, treating each as a
+     * homogeneous point with w=1 so that translation applies. Every three consecutive values of
+     * the source array are one point, and the resulting x, y and z are written to the destination
+     * array in the same layout; the resulting w is dropped, so no perspective divide is done. The
+     * arrays may be the same.
+     *
+     * @param src the packed source points.
+     * @param dst the array to write the transformed points into.
+     * @param count the number of points.
+     * @throws IllegalArgumentException if either array holds fewer than 'count' points.
+     */
+    public void transformPoints(double[] src, double[] dst, int count) {
+        transformPoints(src, 0, dst, 0, count);
+    }
+
+    /**
+     * Transforms a run of packed 3-dimensional points by this matrix, reading from the source
+     * array starting at one element offset and writing to the destination array starting at
+     * another. The regions may overlap only if they start at the same element. See {@link
+     * #transformPoints(double[], double[], int)}.
+     *
+     * @param src the packed source points.
+     * @param srcOffset the index of the first element to read.
+     * @param dst the array to write the transformed points into.
+     * @param dstOffset the index of the first element to write.
+     * @param count the number of points.
+     * @throws IllegalArgumentException if either array holds fewer than 'count' points from its
+     * offset.
+     */
+    public void transformPoints(double[] src, int srcOffset, double[] dst, int dstOffset,
+                                int count) {
+        transform(src, srcOffset, dst, dstOffset, count, 1.0);
+    }
+
+    /**
+     * Transforms every point of a vector array by this matrix, writing the results to the vector
+     * at the same index of the destination. See {@link #transformPoints(double[], double[], int)}.
+     *
+     * @param src the source points.
+     * @param dst the array to write the transformed points into, which may be the source.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public void transformPoints(Vec3Array src, Vec3Array dst) {
+        Util.verifyEqualSizes(src.size, dst.size);
+        transform(src.data, src.offset * 3, dst.data, dst.offset * 3, src.size, 1.0);
+    }
+
+    /**
+     * Transforms a run of packed 3-dimensional directions by this matrix, treating each as a
+     * homogeneous vector with w=0 so that translation does not apply. The layout is the same as
+     * {@link #transformPoints(double[], double[], int)}, and the arrays may be the same.
+     *
+     * @param src the packed source directions.
+     * @param dst the array to write the transformed directions into.
+     * @param count the number of directions.
+     * @throws IllegalArgumentException if either array holds fewer than 'count' directions.
+     */
+    public void transformDirections(double[] src, double[] dst, int count) {
+        transformDirections(src, 0, dst, 0, count);
+    }
+
+    /**
+     * Transforms a run of packed 3-dimensional directions by this matrix, reading from the source
+     * array starting at one element offset and writing to the destination array starting at
+     * another. The regions may overlap only if they start at the same element. See {@link
+     * #transformDirections(double[], double[], int)}.
+     *
+     * @param src the packed source directions.
+     * @param srcOffset the index of the first element to read.
+     * @param dst the array to write the transformed directions into.
+     * @param dstOffset the index of the first element to write.
+     * @param count the number of directions.
+     * @throws IllegalArgumentException if either array holds fewer than 'count' directions from
+     * its offset.
+     */
+    public void transformDirections(double[] src, int srcOffset, double[] dst, int dstOffset,
+                                    int count) {
+        transform(src, srcOffset, dst, dstOffset, count, 0.0);
+    }
+
+    /**
+     * Transforms every direction of a vector array by this matrix, writing the results to the
+     * vector at the same index of the destination. See
+     * {@link #transformDirections(double[], double[], int)}.
+     *
+     * @param src the source directions.
+     * @param dst the array to write the transformed directions into, which may be the source.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public void transformDirections(Vec3Array src, Vec3Array dst) {
+        Util.verifyEqualSizes(src.size, dst.size);
+        transform(src.data, src.offset * 3, dst.data, dst.offset * 3, src.size, 0.0);
+    }
+
+    /**
+     * Multiplies every 4-dimensional vector of a vector array by this matrix, writing the results
+     * to the vector at the same index of the destination. This gives the same values as {@link
+     * #multiply(Vec4)} without creating a Vec4 per element.
+     *
+     * @param src the source vectors.
+     * @param dst the array to write the products into, which may be the source.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public void transform(Vec4Array src, Vec4Array dst) {
+        Util.verifyEqualSizes(src.size, dst.size);
+        double[] in = src.data;
+        double[] out = dst.data;
+        int end = (src.offset + src.size) * 4;
+        for (int i = src.offset * 4, j = dst.offset * 4; i < end; i += 4, j += 4) {
+            double x = in[i], y = in[i + 1], z = in[i + 2], w = in[i + 3];
+            out[j] = m00 * x + m01 * y + m02 * z + m03 * w;
+            out[j + 1] = m10 * x + m11 * y + m12 * z + m13 * w;
+            out[j + 2] = m20 * x + m21 * y + m22 * z + m23 * w;
+            out[j + 3] = m30 * x + m31 * y + m32 * z + m33 * w;
+        }
+    }
+
+    /**
+     * Transforms 'count' packed 3-dimensional vectors as homogeneous vectors with the given w,
+     * which is 1 for points and 0 for directions.
+     */
+    private void transform(double[] src, int srcOffset, double[] dst, int dstOffset, int count,
+                           double w) {
+        if (count < 0) {
+            throw new IllegalArgumentException(String.format("Expected a non-negative count " +
+                    "but received %d", count));
+        }
+        Util.verifyArrayRegion(src, srcOffset, count * 3L);
+        Util.verifyArrayRegion(dst, dstOffset, count * 3L);
+        // The translation column is scaled by w once, rather than once per vector.
+        double tx = m03 * w, ty = m13 * w, tz = m23 * w;
+        int end = srcOffset + count * 3;
+        for (int i = srcOffset, j = dstOffset; i < end; i += 3, j += 3) {
+            double x = src[i], y = src[i + 1], z = src[i + 2];
+            dst[j] = m00 * x + m01 * y + m02 * z + tx;
+            dst[j + 1] = m10 * x + m11 * y + m12 * z + ty;
+            dst[j + 2] = m20 * x + m21 * y + m22 * z + tz;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double determinant() {
+        // 2x2 sub-determinants of the top two rows (s) and bottom two rows (c).
+        double s0 = m00 * m11 - m10 * m01;
+        double s1 = m00 * m12 - m10 * m02;
+        double s2 = m00 * m13 - m10 * m03;
+        double s3 = m01 * m12 - m11 * m02;
+        double s4 = m01 * m13 - m11 * m03;
+        double s5 = m02 * m13 - m12 * m03;
+
+        double c5 = m22 * m33 - m32 * m23;
+        double c4 = m21 * m33 - m31 * m23;
+        double c3 = m21 * m32 - m31 * m22;
+        double c2 = m20 * m33 - m30 * m23;
+        double c1 = m20 * m32 - m30 * m22;
+        double c0 = m20 * m31 - m30 * m21;
+
+        return s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
     }
 
     /**
@@ -120,22 +509,215 @@ public class Mat4 extends MatN {
      */
     @Override
     public Mat4 inverse() {
-        return new Mat4(super.inverse());
+        // 2x2 sub-determinants of the top two rows (s) and bottom two rows (c). Every cofactor of
+        // the matrix is a combination of three of these, so they are shared by the determinant
+        // and all sixteen entries of the adjugate.
+        double s0 = m00 * m11 - m10 * m01;
+        double s1 = m00 * m12 - m10 * m02;
+        double s2 = m00 * m13 - m10 * m03;
+        double s3 = m01 * m12 - m11 * m02;
+        double s4 = m01 * m13 - m11 * m03;
+        double s5 = m02 * m13 - m12 * m03;
+
+        double c5 = m22 * m33 - m32 * m23;
+        double c4 = m21 * m33 - m31 * m23;
+        double c3 = m21 * m32 - m31 * m22;
+        double c2 = m20 * m33 - m30 * m23;
+        double c1 = m20 * m32 - m30 * m22;
+        double c0 = m20 * m31 - m30 * m21;
+
+        double det = s0 * c5 - s1 * c4 + s2 * c3 + s3 * c2 - s4 * c1 + s5 * c0;
+        if (Util.isNegligibleDeterminant(det, 4, hadamardBound())) {
+            // Too close to singular for the closed form: defer to the pivoted LU factorization,
+            // which rejects the matrix exactly when MatN would.
+            return new Mat4(super.inverse().matrix);
+        }
+        double invDet = 1.0 / det;
+
+        // Each group of four elements is a column of the result.
+        return new Mat4(
+                (m11 * c5 - m12 * c4 + m13 * c3) * invDet,
+                        (-m10 * c5 + m12 * c2 - m13 * c1) * invDet,
+                        (m10 * c4 - m11 * c2 + m13 * c0) * invDet,
+                        (-m10 * c3 + m11 * c1 - m12 * c0) * invDet,
+                (-m01 * c5 + m02 * c4 - m03 * c3) * invDet,
+                        (m00 * c5 - m02 * c2 + m03 * c1) * invDet,
+                        (-m00 * c4 + m01 * c2 - m03 * c0) * invDet,
+                        (m00 * c3 - m01 * c1 + m02 * c0) * invDet,
+                (m31 * s5 - m32 * s4 + m33 * s3) * invDet,
+                        (-m30 * s5 + m32 * s2 - m33 * s1) * invDet,
+                        (m30 * s4 - m31 * s2 + m33 * s0) * invDet,
+                        (-m30 * s3 + m31 * s1 - m32 * s0) * invDet,
+                (-m21 * s5 + m22 * s4 - m23 * s3) * invDet,
+                        (m20 * s5 - m22 * s2 + m23 * s1) * invDet,
+                        (-m20 * s4 + m21 * s2 - m23 * s0) * invDet,
+                        (m20 * s3 - m21 * s1 + m22 * s0) * invDet);
+    }
+
+    /**
+     * Returns the product of the norms of the columns of this matrix, which bounds the magnitude
+     * of its determinant.
+     */
+    double hadamardBound() {
+        double bound = Math.sqrt(m00 * m00 + m10 * m10 + m20 * m20 + m30 * m30);
+        bound *= Math.sqrt(m01 * m01 + m11 * m11 + m21 * m21 + m31 * m31);
+        bound *= Math.sqrt(m02 * m02 + m12 * m12 + m22 * m22 + m32 * m32);
+        bound *= Math.sqrt(m03 * m03 + m13 * m13 + m23 * m23 + m33 * m33);
+        return bound;
+    }
+
+    /**
+     * Solves the linear system Ax = b, where A is this 4x4 matrix, for the passed 4-dimensional
+     * vector b.
+     *
+     * @param vec the 4-dimensional right-hand side b.
+     * @return the solution x, always a 4-dimensional vector.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Vec4 solve(Vec4 vec) {
+        return new Vec4(super.solve(vec).vector);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[][] toArray() {
+        return new double[][]{{m00, m10, m20, m30}, {m01, m11, m21, m31}, {m02, m12, m22, m32},
+                {m03, m13, m23, m33}};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, 16);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put((float) m00).put((float) m10).put((float) m20).put((float) m30)
+                    .put((float) m01).put((float) m11).put((float) m21).put((float) m31)
+                    .put((float) m02).put((float) m12).put((float) m22).put((float) m32)
+                    .put((float) m03).put((float) m13).put((float) m23).put((float) m33);
+        } else {
+            buffer.put((float) m00).put((float) m01).put((float) m02).put((float) m03)
+                    .put((float) m10).put((float) m11).put((float) m12).put((float) m13)
+                    .put((float) m20).put((float) m21).put((float) m22).put((float) m23)
+                    .put((float) m30).put((float) m31).put((float) m32).put((float) m33);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, 16);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put(m00).put(m10).put(m20).put(m30).put(m01).put(m11).put(m21).put(m31).put(m02)
+                    .put(m12).put(m22).put(m32).put(m03).put(m13).put(m23).put(m33);
+        } else {
+            buffer.put(m00).put(m01).put(m02).put(m03).put(m10).put(m11).put(m12).put(m13).put(m20)
+                    .put(m21).put(m22).put(m23).put(m30).put(m31).put(m32).put(m33);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset, Layout layout) {
+        Util.verifyBufferRegion(buffer, offset, 16 * Float.BYTES);
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.putFloat(offset, (float) m00).putFloat(offset + 4, (float) m10)
+                    .putFloat(offset + 8, (float) m20).putFloat(offset + 12, (float) m30)
+                    .putFloat(offset + 16, (float) m01).putFloat(offset + 20, (float) m11)
+                    .putFloat(offset + 24, (float) m21).putFloat(offset + 28, (float) m31)
+                    .putFloat(offset + 32, (float) m02).putFloat(offset + 36, (float) m12)
+                    .putFloat(offset + 40, (float) m22).putFloat(offset + 44, (float) m32)
+                    .putFloat(offset + 48, (float) m03).putFloat(offset + 52, (float) m13)
+                    .putFloat(offset + 56, (float) m23).putFloat(offset + 60, (float) m33);
+        } else {
+            buffer.putFloat(offset, (float) m00).putFloat(offset + 4, (float) m01)
+                    .putFloat(offset + 8, (float) m02).putFloat(offset + 12, (float) m03)
+                    .putFloat(offset + 16, (float) m10).putFloat(offset + 20, (float) m11)
+                    .putFloat(offset + 24, (float) m12).putFloat(offset + 28, (float) m13)
+                    .putFloat(offset + 32, (float) m20).putFloat(offset + 36, (float) m21)
+                    .putFloat(offset + 40, (float) m22).putFloat(offset + 44, (float) m23)
+                    .putFloat(offset + 48, (float) m30).putFloat(offset + 52, (float) m31)
+                    .putFloat(offset + 56, (float) m32).putFloat(offset + 60, (float) m33);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat4 mat = (Mat4) obj;
+        return Double.compare(m00, mat.m00) == 0 && Double.compare(m10, mat.m10) == 0
+                && Double.compare(m20, mat.m20) == 0 && Double.compare(m30, mat.m30) == 0
+                && Double.compare(m01, mat.m01) == 0 && Double.compare(m11, mat.m11) == 0
+                && Double.compare(m21, mat.m21) == 0 && Double.compare(m31, mat.m31) == 0
+                && Double.compare(m02, mat.m02) == 0 && Double.compare(m12, mat.m12) == 0
+                && Double.compare(m22, mat.m22) == 0 && Double.compare(m32, mat.m32) == 0
+                && Double.compare(m03, mat.m03) == 0 && Double.compare(m13, mat.m13) == 0
+                && Double.compare(m23, mat.m23) == 0 && Double.compare(m33, mat.m33) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat4 mat = (Mat4) obj;
+        return Math.abs(mat.m00 - m00) <= error && Math.abs(mat.m10 - m10) <= error
+                && Math.abs(mat.m20 - m20) <= error && Math.abs(mat.m30 - m30) <= error
+                && Math.abs(mat.m01 - m01) <= error && Math.abs(mat.m11 - m11) <= error
+                && Math.abs(mat.m21 - m21) <= error && Math.abs(mat.m31 - m31) <= error
+                && Math.abs(mat.m02 - m02) <= error && Math.abs(mat.m12 - m12) <= error
+                && Math.abs(mat.m22 - m22) <= error && Math.abs(mat.m32 - m32) <= error
+                && Math.abs(mat.m03 - m03) <= error && Math.abs(mat.m13 - m13) <= error
+                && Math.abs(mat.m23 - m23) <= error && Math.abs(mat.m33 - m33) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(m00);
+        hash = 31 * hash + Double.hashCode(m10);
+        hash = 31 * hash + Double.hashCode(m20);
+        hash = 31 * hash + Double.hashCode(m30);
+        hash = 31 * hash + Double.hashCode(m01);
+        hash = 31 * hash + Double.hashCode(m11);
+        hash = 31 * hash + Double.hashCode(m21);
+        hash = 31 * hash + Double.hashCode(m31);
+        hash = 31 * hash + Double.hashCode(m02);
+        hash = 31 * hash + Double.hashCode(m12);
+        hash = 31 * hash + Double.hashCode(m22);
+        hash = 31 * hash + Double.hashCode(m32);
+        hash = 31 * hash + Double.hashCode(m03);
+        hash = 31 * hash + Double.hashCode(m13);
+        hash = 31 * hash + Double.hashCode(m23);
+        hash = 31 * hash + Double.hashCode(m33);
+        return hash;
     }
 
     /**
      * A Mat4 builder that provides methods to construct an affine transformation. The order of
      * execution of operations follows the order that the methods were called on the builder object.
+     * <p>
+     * The builder holds a single column-major array. Each operation updates it in place, touching
+     * only the rows that the elementary transformation changes, instead of multiplying by a full
+     * matrix.
      */
     public static class TransformBuilder {
 
-        private Mat4 matrix;
+        private final double[] matrix = new double[16];
 
         /**
          * Creates a new transformation.
          */
         public TransformBuilder() {
-            matrix = createIdentityMatrix();
+            Util.setIdentity(matrix, 4);
         }
 
         /**
@@ -147,11 +729,9 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder scale(double x, double y, double z) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = x;
-            operation[1][1] = y;
-            operation[2][2] = z;
-            applyOperation(operation);
+            Util.scaleRow(matrix, 4, 0, x);
+            Util.scaleRow(matrix, 4, 1, y);
+            Util.scaleRow(matrix, 4, 2, z);
             return this;
         }
 
@@ -194,11 +774,9 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder translate(double x, double y, double z) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[3][0] = x;
-            operation[3][1] = y;
-            operation[3][2] = z;
-            applyOperation(operation);
+            Util.addRow(matrix, 4, 0, 3, x);
+            Util.addRow(matrix, 4, 1, 3, y);
+            Util.addRow(matrix, 4, 2, 3, z);
             return this;
         }
 
@@ -249,14 +827,7 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder rotateX(double radians) {
-            double cos = Math.cos(radians);
-            double sin = Math.sin(radians);
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[1][1] = cos;
-            operation[2][1] = -sin;
-            operation[1][2] = sin;
-            operation[2][2] = cos;
-            applyOperation(operation);
+            Util.rotateRows(matrix, 4, 1, 2, Math.cos(radians), Math.sin(radians));
             return this;
         }
 
@@ -267,14 +838,7 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder rotateY(double radians) {
-            double cos = Math.cos(radians);
-            double sin = Math.sin(radians);
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = cos;
-            operation[2][0] = sin;
-            operation[0][2] = -sin;
-            operation[2][2] = cos;
-            applyOperation(operation);
+            Util.rotateRows(matrix, 4, 2, 0, Math.cos(radians), Math.sin(radians));
             return this;
         }
 
@@ -285,14 +849,7 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder rotateZ(double radians) {
-            double cos = Math.cos(radians);
-            double sin = Math.sin(radians);
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][0] = cos;
-            operation[1][0] = -sin;
-            operation[0][1] = sin;
-            operation[1][1] = cos;
-            applyOperation(operation);
+            Util.rotateRows(matrix, 4, 0, 1, Math.cos(radians), Math.sin(radians));
             return this;
         }
 
@@ -304,10 +861,8 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearX(double y, double z) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[1][0] = y;
-            operation[2][0] = z;
-            applyOperation(operation);
+            Util.addRow(matrix, 4, 0, 1, y);
+            Util.addRow(matrix, 4, 0, 2, z);
             return this;
         }
 
@@ -319,10 +874,8 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearY(double x, double z) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][1] = x;
-            operation[2][1] = z;
-            applyOperation(operation);
+            Util.addRow(matrix, 4, 1, 0, x);
+            Util.addRow(matrix, 4, 1, 2, z);
             return this;
         }
 
@@ -334,10 +887,8 @@ public class Mat4 extends MatN {
          * @return the transformed builder.
          */
         public TransformBuilder shearZ(double x, double y) {
-            double[][] operation = createIdentityMatrix().toArray();
-            operation[0][2] = x;
-            operation[1][2] = y;
-            applyOperation(operation);
+            Util.addRow(matrix, 4, 2, 0, x);
+            Util.addRow(matrix, 4, 2, 1, y);
             return this;
         }
 
@@ -350,9 +901,29 @@ public class Mat4 extends MatN {
             return new Mat4(matrix);
         }
 
-        private void applyOperation(double[][] operation) {
-            Mat4 operationMat = new Mat4(operation);
-            matrix = operationMat.multiply(matrix);
+        /**
+         * Writes the transformation matrix into an array in column-major order, so that the
+         * element at (row, col) is stored at index offset + col * 4 + row. Nothing is allocated,
+         * so together with {@link #reset()} a builder can produce a new transformation every frame
+         * without creating garbage.
+         *
+         * @param array the array to write the 16 elements into.
+         * @param offset the index of the first element.
+         * @throws IllegalArgumentException if the array does not have 16 elements from the offset.
+         */
+        public void buildInto(double[] array, int offset) {
+            Util.verifyArrayRegion(array, offset, 16);
+            System.arraycopy(matrix, 0, array, offset, 16);
+        }
+
+        /**
+         * Discards every operation applied so far, returning the builder to the identity.
+         *
+         * @return the reset builder.
+         */
+        public TransformBuilder reset() {
+            Util.setIdentity(matrix, 4);
+            return this;
         }
 
     }
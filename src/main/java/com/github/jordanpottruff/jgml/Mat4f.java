@@ -0,0 +1,658 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * A matrix of dimensions 4x4 with single-precision elements. It mirrors the operations of {@link
+ * Mat4} in half the memory, for bulk data such as instance transforms that does not need double
+ * precision. Like a Mat4, the elements are stored in fields, where mRC is the element at row R and
+ * column C.
+ */
+public class Mat4f {
+
+    final float m00, m01, m02, m03;
+    final float m10, m11, m12, m13;
+    final float m20, m21, m22, m23;
+    final float m30, m31, m32, m33;
+
+    /**
+     * Constructs a Mat4f from a two-dimensional array of elements. The outer-array must contain
+     * four inner-arrays, with each being of length four. The order of the 2D array is preserved.
+     *
+     * @param array the 2D array of elements.
+     * @throws IllegalArgumentException if the outer-array does not contain four inner-arrays.
+     * @throws IllegalArgumentException if the inner-arrays are not all of length four.
+     */
+    public Mat4f(float[][] array) {
+        Util.verifyExactDimension(array, 4, 4);
+        this.m00 = array[0][0];
+        this.m10 = array[0][1];
+        this.m20 = array[0][2];
+        this.m30 = array[0][3];
+        this.m01 = array[1][0];
+        this.m11 = array[1][1];
+        this.m21 = array[1][2];
+        this.m31 = array[1][3];
+        this.m02 = array[2][0];
+        this.m12 = array[2][1];
+        this.m22 = array[2][2];
+        this.m32 = array[2][3];
+        this.m03 = array[3][0];
+        this.m13 = array[3][1];
+        this.m23 = array[3][2];
+        this.m33 = array[3][3];
+    }
+
+    /**
+     * Constructs a Mat4f from a column-major array of 16 double-precision elements, rounding each
+     * to the nearest float.
+     *
+     * @param matrix the column-major elements.
+     */
+    Mat4f(double[] matrix) {
+        this((float) matrix[0], (float) matrix[1], (float) matrix[2], (float) matrix[3],
+                (float) matrix[4], (float) matrix[5], (float) matrix[6], (float) matrix[7],
+                (float) matrix[8], (float) matrix[9], (float) matrix[10], (float) matrix[11],
+                (float) matrix[12], (float) matrix[13], (float) matrix[14], (float) matrix[15]);
+    }
+
+    /**
+     * Constructs a Mat4f from its elements, given in column-major order.
+     */
+    Mat4f(float m00, float m10, float m20, float m30,
+          float m01, float m11, float m21, float m31,
+          float m02, float m12, float m22, float m32,
+          float m03, float m13, float m23, float m33) {
+        this.m00 = m00;
+        this.m10 = m10;
+        this.m20 = m20;
+        this.m30 = m30;
+        this.m01 = m01;
+        this.m11 = m11;
+        this.m21 = m21;
+        this.m31 = m31;
+        this.m02 = m02;
+        this.m12 = m12;
+        this.m22 = m22;
+        this.m32 = m32;
+        this.m03 = m03;
+        this.m13 = m13;
+        this.m23 = m23;
+        this.m33 = m33;
+    }
+
+    /**
+     * Constructs a Mat4f from a Mat4, rounding each element to the nearest float.
+     *
+     * @param mat the double-precision matrix.
+     */
+    public Mat4f(Mat4 mat) {
+        this((float) mat.m00, (float) mat.m10, (float) mat.m20, (float) mat.m30,
+                (float) mat.m01, (float) mat.m11, (float) mat.m21, (float) mat.m31,
+                (float) mat.m02, (float) mat.m12, (float) mat.m22, (float) mat.m32,
+                (float) mat.m03, (float) mat.m13, (float) mat.m23, (float) mat.m33);
+    }
+
+    /**
+     * Constructs a Mat4f from four Vec4f objects. The vectors will create the column vectors of the
+     * new matrix.
+     *
+     * @param vec1 the first column vector.
+     * @param vec2 the second column vector.
+     * @param vec3 the third column vector.
+     * @param vec4 the fourth column vector.
+     */
+    public Mat4f(Vec4f vec1, Vec4f vec2, Vec4f vec3, Vec4f vec4) {
+        this(vec1.x, vec1.y, vec1.z, vec1.w,
+                vec2.x, vec2.y, vec2.z, vec2.w,
+                vec3.x, vec3.y, vec3.z, vec3.w,
+                vec4.x, vec4.y, vec4.z, vec4.w);
+    }
+
+    /**
+     * Creates a 4x4 identity matrix.
+     *
+     * @return the identity matrix.
+     */
+    public static Mat4f createIdentityMatrix() {
+        return new Mat4f(1.0f, 0.0f, 0.0f, 0.0f,
+                0.0f, 1.0f, 0.0f, 0.0f,
+                0.0f, 0.0f, 1.0f, 0.0f,
+                0.0f, 0.0f, 0.0f, 1.0f);
+    }
+
+    /**
+     * Returns the product of multiplying a series of 4x4 matrices together. The order of the
+     * arguments represents the order of multiplications such that A*B*C is equivalent to {@code
+     * chain(A, B, C)}.
+     *
+     * @param mat the first matrix of the product chain.
+     * @param matrices the rest of the matrices of the product chain.
+     * @return the product of the series of matrices.
+     */
+    public static Mat4f chain(Mat4f mat, Mat4f... matrices) {
+        Mat4f product = mat;
+        for (Mat4f next : matrices) {
+            product = product.multiply(next);
+        }
+        return product;
+    }
+
+    /**
+     * Converts this matrix to double precision. Every float is exactly representable as a double,
+     * so no precision is lost.
+     *
+     * @return the double-precision matrix.
+     */
+    public Mat4 toMat4() {
+        return new Mat4(m00, m10, m20, m30,
+                m01, m11, m21, m31,
+                m02, m12, m22, m32,
+                m03, m13, m23, m33);
+    }
+
+    /**
+     * Returns the number of rows, which is always four.
+     *
+     * @return the number of rows.
+     */
+    public int rows() {
+        return 4;
+    }
+
+    /**
+     * Returns the number of columns, which is always four.
+     *
+     * @return the number of columns.
+     */
+    public int cols() {
+        return 4;
+    }
+
+    /**
+     * Gets the row at the specified index.
+     *
+     * @param i the index of the row.
+     * @return the row as a vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec4f getRow(int i) {
+        return new Vec4f(get(i, 0), get(i, 1), get(i, 2), get(i, 3));
+    }
+
+    /**
+     * Gets the column at the specified index.
+     *
+     * @param i the index of the column.
+     * @return the column as a vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec4f getCol(int i) {
+        return new Vec4f(get(0, i), get(1, i), get(2, i), get(3, i));
+    }
+
+    /**
+     * Gets the element at the specified row and column.
+     *
+     * @param row the row of the element.
+     * @param col the column of the element.
+     * @return the element.
+     * @throws IllegalArgumentException if the position is out of bounds.
+     */
+    public float get(int row, int col) {
+        if (row >= 0 && row < 4 && col >= 0 && col < 4) {
+            switch (col * 4 + row) {
+                case 0:
+                    return m00;
+                case 1:
+                    return m10;
+                case 2:
+                    return m20;
+                case 3:
+                    return m30;
+                case 4:
+                    return m01;
+                case 5:
+                    return m11;
+                case 6:
+                    return m21;
+                case 7:
+                    return m31;
+                case 8:
+                    return m02;
+                case 9:
+                    return m12;
+                case 10:
+                    return m22;
+                case 11:
+                    return m32;
+                case 12:
+                    return m03;
+                case 13:
+                    return m13;
+                case 14:
+                    return m23;
+                default:
+                    return m33;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Position at row=%d, col=%d is out of " +
+                "bounds of the matrix:\n%s", row, col, toString(2)));
+    }
+
+    /**
+     * Returns this matrix with every element negated.
+     *
+     * @return the inverted matrix.
+     */
+    public Mat4f invert() {
+        return new Mat4f(-m00, -m10, -m20, -m30,
+                -m01, -m11, -m21, -m31,
+                -m02, -m12, -m22, -m32,
+                -m03, -m13, -m23, -m33);
+    }
+
+    /**
+     * Returns the element-wise sum of this matrix and another.
+     *
+     * @param mat the matrix to add.
+     * @return the sum.
+     */
+    public Mat4f add(Mat4f mat) {
+        return new Mat4f(m00 + mat.m00, m10 + mat.m10, m20 + mat.m20, m30 + mat.m30,
+                m01 + mat.m01, m11 + mat.m11, m21 + mat.m21, m31 + mat.m31,
+                m02 + mat.m02, m12 + mat.m12, m22 + mat.m22, m32 + mat.m32,
+                m03 + mat.m03, m13 + mat.m13, m23 + mat.m23, m33 + mat.m33);
+    }
+
+    /**
+     * Returns the element-wise difference of this matrix and another.
+     *
+     * @param mat the matrix to subtract.
+     * @return the difference.
+     */
+    public Mat4f subtract(Mat4f mat) {
+        return new Mat4f(m00 - mat.m00, m10 - mat.m10, m20 - mat.m20, m30 - mat.m30,
+                m01 - mat.m01, m11 - mat.m11, m21 - mat.m21, m31 - mat.m31,
+                m02 - mat.m02, m12 - mat.m12, m22 - mat.m22, m32 - mat.m32,
+                m03 - mat.m03, m13 - mat.m13, m23 - mat.m23, m33 - mat.m33);
+    }
+
+    /**
+     * Returns this matrix with every element multiplied by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return the scaled matrix.
+     */
+    public Mat4f scale(float scalar) {
+        return new Mat4f(m00 * scalar, m10 * scalar, m20 * scalar, m30 * scalar,
+                m01 * scalar, m11 * scalar, m21 * scalar, m31 * scalar,
+                m02 * scalar, m12 * scalar, m22 * scalar, m32 * scalar,
+                m03 * scalar, m13 * scalar, m23 * scalar, m33 * scalar);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix with another.
+     *
+     * @param mat the matrix to multiply by.
+     * @return the product.
+     */
+    public Mat4f multiply(Mat4f mat) {
+        // Each group of four elements is a column of the result.
+        return new Mat4f(
+                m00 * mat.m00 + m01 * mat.m10 + m02 * mat.m20 + m03 * mat.m30,
+                        m10 * mat.m00 + m11 * mat.m10 + m12 * mat.m20 + m13 * mat.m30,
+                        m20 * mat.m00 + m21 * mat.m10 + m22 * mat.m20 + m23 * mat.m30,
+                        m30 * mat.m00 + m31 * mat.m10 + m32 * mat.m20 + m33 * mat.m30,
+                m00 * mat.m01 + m01 * mat.m11 + m02 * mat.m21 + m03 * mat.m31,
+                        m10 * mat.m01 + m11 * mat.m11 + m12 * mat.m21 + m13 * mat.m31,
+                        m20 * mat.m01 + m21 * mat.m11 + m22 * mat.m21 + m23 * mat.m31,
+                        m30 * mat.m01 + m31 * mat.m11 + m32 * mat.m21 + m33 * mat.m31,
+                m00 * mat.m02 + m01 * mat.m12 + m02 * mat.m22 + m03 * mat.m32,
+                        m10 * mat.m02 + m11 * mat.m12 + m12 * mat.m22 + m13 * mat.m32,
+                        m20 * mat.m02 + m21 * mat.m12 + m22 * mat.m22 + m23 * mat.m32,
+                        m30 * mat.m02 + m31 * mat.m12 + m32 * mat.m22 + m33 * mat.m32,
+                m00 * mat.m03 + m01 * mat.m13 + m02 * mat.m23 + m03 * mat.m33,
+                        m10 * mat.m03 + m11 * mat.m13 + m12 * mat.m23 + m13 * mat.m33,
+                        m20 * mat.m03 + m21 * mat.m13 + m22 * mat.m23 + m23 * mat.m33,
+                        m30 * mat.m03 + m31 * mat.m13 + m32 * mat.m23 + m33 * mat.m33);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix with the passed 4-dimensional vector.
+     *
+     * @param vec the 4-dimensional vector to multiply by.
+     * @return the product, always a 4-dimensional vector.
+     */
+    public Vec4f multiply(Vec4f vec) {
+        float x = vec.x, y = vec.y, z = vec.z, w = vec.w;
+        return new Vec4f(
+                m00 * x + m01 * y + m02 * z + m03 * w,
+                m10 * x + m11 * y + m12 * z + m13 * w,
+                m20 * x + m21 * y + m22 * z + m23 * w,
+                m30 * x + m31 * y + m32 * z + m33 * w);
+    }
+
+    /**
+     * Calculates the determinant of this matrix. It is computed in double precision and rounded,
+     * as are {@link #inverse()} and {@link #solve(Vec4f)}.
+     *
+     * @return the determinant.
+     */
+    public float determinant() {
+        return (float) toMat4().determinant();
+    }
+
+    /**
+     * Calculates the inverse of this matrix.
+     *
+     * @return the inverse.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Mat4f inverse() {
+        return new Mat4f(toMat4().inverse());
+    }
+
+    /**
+     * Solves the linear system Ax = b, where A is this 4x4 matrix, for the passed 4-dimensional
+     * vector b.
+     *
+     * @param vec the 4-dimensional right-hand side b.
+     * @return the solution x, always a 4-dimensional vector.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    public Vec4f solve(Vec4f vec) {
+        return new Vec4f(toMat4().solve(vec.toVec4()));
+    }
+
+    /**
+     * Returns a copy of the elements of this matrix as an array of columns.
+     *
+     * @return the 2D array of elements.
+     */
+    public float[][] toArray() {
+        return new float[][]{{m00, m10, m20, m30}, {m01, m11, m21, m31}, {m02, m12, m22, m32},
+                {m03, m13, m23, m33}};
+    }
+
+    @Override
+    public String toString() {
+        return Util.stringify(Util.widen(toArray()));
+    }
+
+    /**
+     * Creates a string representation of the matrix with the specified number of decimals.
+     *
+     * @param decimals the number of decimals for each element.
+     * @return the string representation.
+     * @throws IllegalArgumentException if the specified decimal amount is less than zero.
+     */
+    public String toString(int decimals) {
+        return Util.stringify(Util.widen(toArray()), decimals);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat4f mat = (Mat4f) obj;
+        for (int c = 0; c < 4; c++) {
+            for (int r = 0; r < 4; r++) {
+                if (Float.compare(get(r, c), mat.get(r, c)) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Mat4f mat = (Mat4f) obj;
+        for (int c = 0; c < 4; c++) {
+            for (int r = 0; r < 4; r++) {
+                if (Math.abs(get(r, c) - mat.get(r, c)) > error) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (int c = 0; c < 4; c++) {
+            for (int r = 0; r < 4; r++) {
+                hash = 31 * hash + Float.hashCode(get(r, c));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * A Mat4f builder that provides methods to construct an affine transformation. The order of
+     * execution of operations follows the order that the methods were called on the builder object.
+     * <p>
+     * The operations are composed in double precision by a {@link Mat4.TransformBuilder}, and the
+     * result is only rounded to single precision when it is built, so that long sequences of
+     * operations do not accumulate rounding error.
+     */
+    public static class TransformBuilder {
+
+        private final Mat4.TransformBuilder builder = new Mat4.TransformBuilder();
+        private final double[] matrix = new double[16];
+
+        /**
+         * Scales in all three axes.
+         *
+         * @param x how much to scale in the x-axis.
+         * @param y how much to scale in the y-axis.
+         * @param z how much to scale in the z-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scale(float x, float y, float z) {
+            builder.scale(x, y, z);
+            return this;
+        }
+
+        /**
+         * Scales along the x-axis.
+         *
+         * @param factor how much to scale in the x-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scaleX(float factor) {
+            builder.scaleX(factor);
+            return this;
+        }
+
+        /**
+         * Scales along the y-axis.
+         *
+         * @param factor how much to scale in the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scaleY(float factor) {
+            builder.scaleY(factor);
+            return this;
+        }
+
+        /**
+         * Scales along the z-axis.
+         *
+         * @param factor how much to scale in the z-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder scaleZ(float factor) {
+            builder.scaleZ(factor);
+            return this;
+        }
+
+        /**
+         * Translates in all three axes.
+         *
+         * @param x how much to translate along the x-axis.
+         * @param y how much to translate along the y-axis.
+         * @param z how much to translate along the z-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translate(float x, float y, float z) {
+            builder.translate(x, y, z);
+            return this;
+        }
+
+        /**
+         * Translates in all three axes.
+         *
+         * @param amounts how much to translate along each axis, represented as a Vec3f.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translate(Vec3f amounts) {
+            builder.translate(amounts.x, amounts.y, amounts.z);
+            return this;
+        }
+
+        /**
+         * Translates along the x-axis.
+         *
+         * @param factor how much to translate along the x-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translateX(float factor) {
+            builder.translateX(factor);
+            return this;
+        }
+
+        /**
+         * Translates along the y-axis.
+         *
+         * @param factor how much to translate along the y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translateY(float factor) {
+            builder.translateY(factor);
+            return this;
+        }
+
+        /**
+         * Translates along the z-axis.
+         *
+         * @param factor how much to translate along the z-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder translateZ(float factor) {
+            builder.translateZ(factor);
+            return this;
+        }
+
+        /**
+         * Rotates along the x-axis.
+         *
+         * @param radians the amount to rotate by, in radians.
+         * @return the transformed builder.
+         */
+        public TransformBuilder rotateX(float radians) {
+            builder.rotateX(radians);
+            return this;
+        }
+
+        /**
+         * Rotates along the y-axis.
+         *
+         * @param radians the amount to rotate by, in radians.
+         * @return the transformed builder.
+         */
+        public TransformBuilder rotateY(float radians) {
+            builder.rotateY(radians);
+            return this;
+        }
+
+        /**
+         * Rotates along the z-axis.
+         *
+         * @param radians the amount to rotate by, in radians.
+         * @return the transformed builder.
+         */
+        public TransformBuilder rotateZ(float radians) {
+            builder.rotateZ(radians);
+            return this;
+        }
+
+        /**
+         * Shears the x-axis based on the y and z shear factors.
+         *
+         * @param y shear factor for y-axis.
+         * @param z shear factor for z-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearX(float y, float z) {
+            builder.shearX(y, z);
+            return this;
+        }
+
+        /**
+         * Shears the y-axis based on the x and z shear factors.
+         *
+         * @param x shear factor for x-axis.
+         * @param z shear factor for z-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearY(float x, float z) {
+            builder.shearY(x, z);
+            return this;
+        }
+
+        /**
+         * Shears the z-axis based on the x and y shear factors.
+         *
+         * @param x shear factor for x-axis.
+         * @param y shear factor for y-axis.
+         * @return the transformed builder.
+         */
+        public TransformBuilder shearZ(float x, float y) {
+            builder.shearZ(x, y);
+            return this;
+        }
+
+        /**
+         * Creates the transformation matrix.
+         *
+         * @return the transformation matrix.
+         */
+        public Mat4f build() {
+            builder.buildInto(matrix, 0);
+            return new Mat4f(matrix);
+        }
+
+        /**
+         * Writes the transformation matrix into an array in column-major order, so that the
+         * element at (row, col) is stored at index offset + col * 4 + row. Nothing is allocated,
+         * so together with {@link #reset()} a builder can produce a new transformation every frame
+         * without creating garbage.
+         *
+         * @param array the array to write the 16 elements into.
+         * @param offset the index of the first element.
+         * @throws IllegalArgumentException if the array does not have 16 elements from the offset.
+         */
+        public void buildInto(float[] array, int offset) {
+            Util.verifyArrayRegion(array, offset, 16);
+            builder.buildInto(matrix, 0);
+            for (int i = 0; i < 16; i++) {
+                array[offset + i] = (float) matrix[i];
+            }
+        }
+
+        /**
+         * Discards every operation applied so far, returning the builder to the identity.
+         *
+         * @return the reset builder.
+         */
+        public TransformBuilder reset() {
+            builder.reset();
+            return this;
+        }
+
+    }
+}
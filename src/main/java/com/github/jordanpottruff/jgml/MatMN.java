@@ -1,16 +1,26 @@
 package com.github.jordanpottruff.jgml;
 
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The root of the hierarchy of concrete matrix implementations. A MatMN is a generalized matrix of
  * any dimensions M x N where M and N are both greater than or equal to two.
+ * <p>
+ * The elements are stored in a single column-major array, where the element at (row, col) is at
+ * index col * rows + row, so each column is contiguous and directly follows the one before it.
+ * The fixed-size subclasses instead store their elements in fields, leaving the array null, and
+ * override {@link #elements()} along with the operations they implement directly.
  */
 public class MatMN implements Mat {
 
-    final double[][] matrix;
+    final double[] matrix;
+    final int rows;
+    final int cols;
 
     /**
      * Constructs a MatMN from a two-dimensional array of elements. The outer-array must contain two
@@ -25,9 +35,53 @@ public class MatMN implements Mat {
      *                                  be of dimension 2x2 or larger).
      */
     public MatMN(double[][] array) {
-        Util.verifyUniformMatrix(array);
-        Util.verifyMinimumDimensions(array, 2, 2);
-        matrix = arrayCopy(array);
+        this(array, true);
+    }
+
+    /**
+     * Constructs a MatMN from a two-dimensional array of elements, optionally skipping validation.
+     * When 'verify' is false the array must be a uniform array of valid dimensions that the caller
+     * has just built itself. Either way the elements are copied into the storage of the matrix.
+     *
+     * @param array the 2D array of elements.
+     * @param verify whether the array should be validated.
+     */
+    MatMN(double[][] array, boolean verify) {
+        if (verify) {
+            Util.verifyUniformMatrix(array);
+            Util.verifyMinimumDimensions(array, 2, 2);
+        }
+        this.matrix = Util.flatten(array);
+        this.rows = array[0].length;
+        this.cols = array.length;
+    }
+
+    /**
+     * Constructs a MatMN that takes ownership of a column-major array of elements. The array is
+     * neither copied nor validated, so this is only for operations that have just built an array
+     * of valid dimensions themselves and will not modify it afterward.
+     *
+     * @param matrix the column-major elements.
+     * @param rows the number of rows.
+     * @param cols the number of columns.
+     */
+    MatMN(double[] matrix, int rows, int cols) {
+        this.matrix = matrix;
+        this.rows = rows;
+        this.cols = cols;
+    }
+
+    /**
+     * Constructs a MatMN without an array of elements, for the fixed-size subclasses that store
+     * their elements in fields.
+     *
+     * @param rows the number of rows.
+     * @param cols the number of columns.
+     */
+    MatMN(int rows, int cols) {
+        this.matrix = null;
+        this.rows = rows;
+        this.cols = cols;
     }
 
     /**
@@ -74,17 +128,94 @@ public class MatMN implements Mat {
      * Returns the product of multiplying a series of matrices together. The order of the arguments
      * represents the order of multiplications such that A*B*C is equivalent to {@code
      * chain(A, B, C)}.
+     * <p>
+     * Since matrix multiplication is associative, the products are evaluated in the order that
+     * needs the fewest scalar multiplications, found by dynamic programming over the dimensions of
+     * the chain. For example, (1000x10)(10x1000)(1000x5) costs 100,000 multiplications evaluated
+     * right to left but 15,000,000 left to right. The result may differ from a left-to-right
+     * evaluation by rounding error.
      *
      * @param mat the first matrix of the product chain.
      * @param matrices the rest of the matrices of the product chain.
      * @return the product of the series of matrices.
+     * @throws IllegalArgumentException if the number of columns of a matrix in the chain is not
+     * equal to the number of rows of the next one.
      */
     public static MatMN chain(MatMN mat, MatMN... matrices) {
-        MatMN product = new MatMN(mat);
-        for(int i=0; i<matrices.length; i++) {
-            product = product.multiply(matrices[i]);
+        double[][] arrays = new double[matrices.length + 1][];
+        int[] dims = new int[matrices.length + 2];
+        arrays[0] = mat.elements();
+        dims[0] = mat.rows;
+        dims[1] = mat.cols;
+        for (int i = 0; i < matrices.length; i++) {
+            arrays[i + 1] = matrices[i].elements();
+            dims[i + 2] = matrices[i].cols;
+            Util.verifyOperableDimensions(arrays[i], dims[i], arrays[i + 1], matrices[i].rows);
+        }
+        return new MatMN(chainArrays(arrays, dims), mat.rows, dims[dims.length - 1]);
+    }
+
+    /**
+     * Returns the product of the given chain of column-major matrices as a new array, evaluated in
+     * the order with the fewest scalar multiplications. Matrix i has dims[i] rows and dims[i + 1]
+     * columns.
+     */
+    static double[] chainArrays(double[][] arrays, int[] dims) {
+        int count = arrays.length;
+        if (count == 1) {
+            return arrays[0].clone();
+        }
+
+        boolean uniform = true;
+        for (int i = 0; i <= count; i++) {
+            uniform &= dims[i] == dims[0];
+        }
+        if (uniform || count == 2) {
+            // Every order has the same cost, so multiply from left to right.
+            double[] product = arrays[0];
+            for (int i = 1; i < count; i++) {
+                product = Util.multiply(product, dims[0], arrays[i], dims[i]);
+            }
+            return product;
+        }
+
+        // cost[i][j] is the fewest multiplications needed for the product of matrices i through
+        // j, and split[i][j] is the k such that it is (i..k)(k+1..j).
+        long[][] cost = new long[count][count];
+        int[][] split = new int[count][count];
+        for (int length = 2; length <= count; length++) {
+            for (int i = 0; i + length <= count; i++) {
+                int j = i + length - 1;
+                cost[i][j] = Long.MAX_VALUE;
+                for (int k = i; k < j; k++) {
+                    long c = cost[i][k] + cost[k + 1][j]
+                            + (long) dims[i] * dims[k + 1] * dims[j + 1];
+                    if (c < cost[i][j]) {
+                        cost[i][j] = c;
+                        split[i][j] = k;
+                    }
+                }
+            }
         }
-        return product;
+        return chainArrays(arrays, dims, split, 0, count - 1);
+    }
+
+    private static double[] chainArrays(double[][] arrays, int[] dims, int[][] split, int i,
+                                        int j) {
+        if (i == j) {
+            return arrays[i];
+        }
+        int k = split[i][j];
+        return Util.multiply(chainArrays(arrays, dims, split, i, k), dims[i],
+                chainArrays(arrays, dims, split, k + 1, j), dims[k + 1]);
+    }
+
+    /**
+     * Returns the column-major elements of this matrix in an array that must not be modified. A
+     * MatMN returns its own array, while the fixed-size subclasses return a new one.
+     */
+    double[] elements() {
+        return matrix;
     }
 
     /**
@@ -94,7 +225,7 @@ public class MatMN implements Mat {
      * @return an iterator over the elements in this matrix.
      */
     public Iterator<Double> iterator() {
-        return Arrays.stream(matrix).flatMapToDouble(Arrays::stream).iterator();
+        return Arrays.stream(elements()).iterator();
     }
 
     /**
@@ -102,7 +233,7 @@ public class MatMN implements Mat {
      */
     @Override
     public int rows() {
-        return matrix[0].length;
+        return rows;
     }
 
     /**
@@ -110,7 +241,7 @@ public class MatMN implements Mat {
      */
     @Override
     public int cols() {
-        return matrix.length;
+        return cols;
     }
 
     /**
@@ -118,12 +249,13 @@ public class MatMN implements Mat {
      */
     @Override
     public VecN getRow(int i) {
-        Util.verifyValidRow(matrix, i);
-        ArrayList<Double> row = new ArrayList<>();
-        for (int c = 0; c < matrix.length; c++) {
-            row.add(matrix[c][i]);
+        double[] elements = elements();
+        Util.verifyValidRow(elements, rows, i);
+        double[] row = new double[cols];
+        for (int c = 0; c < cols; c++) {
+            row[c] = elements[c * rows + i];
         }
-        return VecN.createFrom(row);
+        return new VecN(row, false);
     }
 
     /**
@@ -131,8 +263,9 @@ public class MatMN implements Mat {
      */
     @Override
     public VecN getCol(int i) {
-        Util.verifyValidColumn(matrix, i);
-        return new VecN(matrix[i]);
+        double[] elements = elements();
+        Util.verifyValidColumn(elements, rows, i);
+        return new VecN(Arrays.copyOfRange(elements, i * rows, (i + 1) * rows), false);
     }
 
     /**
@@ -140,8 +273,9 @@ public class MatMN implements Mat {
      */
     @Override
     public double get(int row, int col) {
-        Util.verifyValidCoord(matrix, row, col);
-        return matrix[col][row];
+        double[] elements = elements();
+        Util.verifyValidCoord(elements, rows, row, col);
+        return elements[col * rows + row];
     }
 
     /**
@@ -149,7 +283,7 @@ public class MatMN implements Mat {
      */
     @Override
     public MatMN invert() {
-        return new MatMN(Util.invert(matrix));
+        return new MatMN(Util.invert(elements()), rows, cols);
     }
 
     /**
@@ -157,7 +291,10 @@ public class MatMN implements Mat {
      */
     @Override
     public MatMN add(Mat mat) {
-        return new MatMN(Util.add(matrix, mat.toArray()));
+        double[] elements = elements();
+        double[] other = elementsOf(mat);
+        Util.verifyEqualDimensions(elements, rows, other, mat.rows());
+        return new MatMN(Util.add(elements, other), rows, cols);
     }
 
     /**
@@ -165,7 +302,10 @@ public class MatMN implements Mat {
      */
     @Override
     public MatMN subtract(Mat mat) {
-        return new MatMN(Util.subtract(matrix, mat.toArray()));
+        double[] elements = elements();
+        double[] other = elementsOf(mat);
+        Util.verifyEqualDimensions(elements, rows, other, mat.rows());
+        return new MatMN(Util.subtract(elements, other), rows, cols);
     }
 
     /**
@@ -173,7 +313,7 @@ public class MatMN implements Mat {
      */
     @Override
     public MatMN scale(double scalar) {
-        return new MatMN(Util.scale(matrix, scalar));
+        return new MatMN(Util.scale(elements(), scalar), rows, cols);
     }
 
     /**
@@ -181,7 +321,7 @@ public class MatMN implements Mat {
      */
     @Override
     public VecN multiply(Vec vec) {
-        return new VecN(Util.multiply(matrix, vec.toArray()));
+        return new VecN(Util.multiply(elements(), rows, vec.toArray()), false);
     }
 
     /**
@@ -189,7 +329,133 @@ public class MatMN implements Mat {
      */
     @Override
     public MatMN multiply(Mat mat) {
-        return new MatMN(Util.multiply(matrix, mat.toArray()));
+        double[] other = Util.multiply(elements(), rows, elementsOf(mat), mat.rows());
+        return new MatMN(other, rows, mat.cols());
+    }
+
+    /**
+     * Calculates the multiplication of the transpose of this matrix by the passed vector, A^T x,
+     * without forming the transpose.
+     *
+     * @param vec the vector to multiply by.
+     * @return the product, always a vector with one element per column of this matrix.
+     * @throws IllegalArgumentException if the dimension of the vector is not equal to the number
+     * of rows in this matrix.
+     */
+    public VecN transposeMultiply(Vec vec) {
+        return new VecN(Util.transposeMultiply(elements(), rows, vec.toArray()), false);
+    }
+
+    /**
+     * Calculates the multiplication of the transpose of this matrix by the passed matrix, A^T B,
+     * without forming the transpose. Each element of the product is the dot product of a column of
+     * A with a column of B, so both are read in their stored order.
+     *
+     * @param mat the matrix to multiply by.
+     * @return the product, with one row per column of this matrix and one column per column of the
+     * passed matrix.
+     * @throws IllegalArgumentException if the passed matrix does not have the same number of rows
+     * as this matrix.
+     */
+    public MatMN transposeMultiply(Mat mat) {
+        double[] other = Util.transposeMultiply(elements(), rows, elementsOf(mat),
+                mat.rows());
+        return new MatMN(other, cols, mat.cols());
+    }
+
+    /**
+     * Calculates the multiplication of this matrix by the transpose of the passed matrix, A B^T,
+     * without forming the transpose.
+     *
+     * @param mat the matrix whose transpose to multiply by.
+     * @return the product, with one row per row of this matrix and one column per row of the
+     * passed matrix.
+     * @throws IllegalArgumentException if the passed matrix does not have the same number of
+     * columns as this matrix.
+     */
+    public MatMN multiplyTranspose(Mat mat) {
+        double[] other = Util.multiplyTranspose(elements(), rows, elementsOf(mat),
+                mat.rows());
+        return new MatMN(other, rows, mat.rows());
+    }
+
+    /**
+     * Calculates the Gram matrix A^T A of this matrix, whose elements are the dot products of each
+     * pair of columns, as needed for normal equations and covariance matrices. The result is
+     * symmetric, so only half of it is computed.
+     *
+     * @return the Gram matrix, a square matrix with one row and column per column of this matrix.
+     */
+    public MatN gram() {
+        return new MatN(Util.gram(elements(), rows), cols);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix by the passed matrix, splitting the columns of
+     * the product across the given fork/join pool. The result is identical to that of
+     * {@link #multiply(Mat)}, which already uses the common pool for products of at least 2^24
+     * multiply-adds (configurable with the 'jgml.parallelThreshold' system property).
+     *
+     * @param mat the matrix to multiply by.
+     * @param pool the pool to run the multiplication in.
+     * @return the product, always a matrix.
+     * @throws IllegalArgumentException if the number of columns in this matrix is not equal to the
+     * number of rows in the passed matrix.
+     */
+    public MatMN multiplyParallel(Mat mat, ForkJoinPool pool) {
+        double[] other = Util.multiplyParallel(elements(), rows, elementsOf(mat), mat.rows(),
+                pool);
+        return new MatMN(other, rows, mat.cols());
+    }
+
+    /**
+     * Computes the QR decomposition of this matrix using Householder reflections. The
+     * decomposition can be reused to solve any number of least-squares problems against this
+     * matrix without factoring it again.
+     *
+     * @return the QR decomposition.
+     * @throws IllegalArgumentException if this matrix has fewer rows than columns.
+     */
+    public QRDecomposition qr() {
+        return new QRDecomposition(elements(), rows);
+    }
+
+    /**
+     * Finds the vector x that minimizes the euclidean norm of Ax - b, where A is this matrix, such
+     * as when fitting a model to more observations than it has parameters. To solve for several
+     * right-hand sides, factor the matrix once with {@link #qr()} instead.
+     *
+     * @param vec the right-hand side b.
+     * @return the least-squares solution x.
+     * @throws IllegalArgumentException if this matrix has fewer rows than columns.
+     * @throws IllegalArgumentException if the dimension of the vector is not equal to the number
+     *                                  of rows in this matrix.
+     * @throws IllegalArgumentException if this matrix does not have full column rank.
+     */
+    public VecN leastSquares(Vec vec) {
+        return qr().leastSquares(vec);
+    }
+
+    /**
+     * Computes the thin (economy) singular value decomposition of this matrix, in which U has only
+     * as many columns as the smaller dimension of this matrix.
+     *
+     * @return the thin singular value decomposition.
+     */
+    public SingularValueDecomposition svd() {
+        return svd(true);
+    }
+
+    /**
+     * Computes the singular value decomposition of this matrix, in either the thin (economy) or
+     * the full form. The full form should be avoided for tall matrices unless the full M x M basis
+     * of U is really needed.
+     *
+     * @param thin whether to compute the thin form rather than the full form.
+     * @return the singular value decomposition.
+     */
+    public SingularValueDecomposition svd(boolean thin) {
+        return new SingularValueDecomposition(elements(), rows, thin);
     }
 
     /**
@@ -197,12 +463,72 @@ public class MatMN implements Mat {
      */
     @Override
     public double[][] toArray() {
-        return arrayCopy(matrix);
+        return Util.unflatten(elements(), rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, rows * cols);
+        double[] elements = elements();
+        if (layout == Layout.COLUMN_MAJOR) {
+            for (double element : elements) {
+                buffer.put((float) element);
+            }
+        } else {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    buffer.put((float) elements[c * rows + r]);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer, Layout layout) {
+        Util.verifyRemaining(buffer, rows * cols);
+        double[] elements = elements();
+        if (layout == Layout.COLUMN_MAJOR) {
+            buffer.put(elements);
+        } else {
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    buffer.put(elements[c * rows + r]);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset, Layout layout) {
+        Util.verifyBufferRegion(buffer, offset, rows * cols * Float.BYTES);
+        double[] elements = elements();
+        if (layout == Layout.COLUMN_MAJOR) {
+            for (int i = 0; i < elements.length; i++) {
+                buffer.putFloat(offset + i * Float.BYTES, (float) elements[i]);
+            }
+        } else {
+            int index = offset;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    buffer.putFloat(index, (float) elements[c * rows + r]);
+                    index += Float.BYTES;
+                }
+            }
+        }
     }
 
     @Override
     public String toString() {
-        return Util.stringify(matrix);
+        return Util.stringify(toArray());
     }
 
     /**
@@ -214,7 +540,7 @@ public class MatMN implements Mat {
      * @throws IllegalArgumentException if the specified decimal amount is less than zero.
      */
     public String toString(int decimals) {
-        return Util.stringify(matrix, decimals);
+        return Util.stringify(toArray(), decimals);
     }
 
     @Override
@@ -227,12 +553,7 @@ public class MatMN implements Mat {
         if (cols() != mat.cols() || rows() != mat.rows()) {
             return false;
         }
-        for (int c = 0; c < cols(); c++) {
-            if (!Arrays.equals(matrix[c], mat.matrix[c])) {
-                return false;
-            }
-        }
-        return true;
+        return Arrays.equals(elements(), mat.elements());
     }
 
     public boolean equals(Object obj, double error) {
@@ -244,11 +565,11 @@ public class MatMN implements Mat {
         if (cols() != mat.cols() || rows() != mat.rows()) {
             return false;
         }
-        for (int c = 0; c < cols(); c++) {
-            for (int r = 0; r < rows(); r++) {
-                if (Math.abs(matrix[c][r] - mat.matrix[c][r]) > error) {
-                    return false;
-                }
+        double[] elements = elements();
+        double[] other = mat.elements();
+        for (int i = 0; i < elements.length; i++) {
+            if (Math.abs(elements[i] - other[i]) > error) {
+                return false;
             }
         }
         return true;
@@ -256,15 +577,14 @@ public class MatMN implements Mat {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(matrix);
+        return 31 * rows + Arrays.hashCode(elements());
     }
 
-    private static double[][] arrayCopy(double[][] array) {
-        int n = array.length;
-        double[][] arrayCopy = new double[n][];
-        for (int i = 0; i < n; i++) {
-            arrayCopy[i] = array[i].clone();
-        }
-        return arrayCopy;
+    /**
+     * Returns the column-major elements of a matrix, read directly from the storage of a MatMN
+     * and copied from any other implementation.
+     */
+    static double[] elementsOf(Mat mat) {
+        return mat instanceof MatMN ? ((MatMN) mat).elements() : Util.flatten(mat.toArray());
     }
 }
@@ -1,5 +1,7 @@
 package com.github.jordanpottruff.jgml;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A MatN is a generalized square matrix of any dimensions N x N where N is greater than or equal to
  * two.
@@ -21,8 +23,41 @@ public class MatN extends MatMN implements SquareMat {
      *                                  of rows and columns.
      */
     public MatN(double[][] array) {
-        super(array);
-        Util.verifySquareMatrix(array);
+        this(array, true);
+    }
+
+    /**
+     * Constructs a MatN from a two-dimensional array of elements, optionally skipping validation.
+     * See {@link MatMN#MatMN(double[][], boolean)}.
+     *
+     * @param array the 2D array of elements.
+     * @param verify whether the array should be validated.
+     */
+    MatN(double[][] array, boolean verify) {
+        super(array, verify);
+        if (verify) {
+            Util.verifySquareMatrix(array);
+        }
+    }
+
+    /**
+     * Constructs a MatN that takes ownership of a column-major array of elements. See {@link
+     * MatMN#MatMN(double[], int, int)}.
+     *
+     * @param matrix the column-major elements.
+     * @param n the number of rows and columns.
+     */
+    MatN(double[] matrix, int n) {
+        super(matrix, n, n);
+    }
+
+    /**
+     * Constructs a MatN without an array of elements. See {@link MatMN#MatMN(int, int)}.
+     *
+     * @param n the number of rows and columns.
+     */
+    MatN(int n) {
+        super(n, n);
     }
 
     /**
@@ -67,7 +102,7 @@ public class MatN extends MatMN implements SquareMat {
      */
     @Override
     public MatN invert() {
-        return new MatN(super.invert());
+        return new MatN(super.invert().matrix, rows);
     }
 
     /**
@@ -75,7 +110,7 @@ public class MatN extends MatMN implements SquareMat {
      */
     @Override
     public MatN add(Mat mat) {
-        return new MatN(super.add(mat));
+        return new MatN(super.add(mat).matrix, rows);
     }
 
     /**
@@ -83,7 +118,7 @@ public class MatN extends MatMN implements SquareMat {
      */
     @Override
     public MatN subtract(Mat mat) {
-        return new MatN(super.subtract(mat));
+        return new MatN(super.subtract(mat).matrix, rows);
     }
 
     /**
@@ -91,7 +126,7 @@ public class MatN extends MatMN implements SquareMat {
      */
     @Override
     public MatN scale(double scalar) {
-        return new MatN(super.scale(scalar));
+        return new MatN(super.scale(scalar).matrix, rows);
     }
 
     /**
@@ -102,7 +137,60 @@ public class MatN extends MatMN implements SquareMat {
      * @throws IllegalArgumentException if dimensions of these matrices differs.
      */
     public MatN multiply(MatN mat) {
-        return new MatN(super.multiply(mat));
+        return new MatN(Util.multiply(elements(), rows, mat.elements(), mat.rows), mat.cols);
+    }
+
+    /**
+     * Calculates the multiplication of this matrix by the passed square matrix, splitting the
+     * columns of the product across the given fork/join pool. The result is identical to that of
+     * {@link #multiply(MatN)}.
+     *
+     * @param mat the square matrix to multiply by.
+     * @param pool the pool to run the multiplication in.
+     * @return the product, always a square matrix.
+     * @throws IllegalArgumentException if dimensions of these matrices differs.
+     */
+    public MatN multiplyParallel(MatN mat, ForkJoinPool pool) {
+        double[] product = Util.multiplyParallel(elements(), rows, mat.elements(), mat.rows, pool);
+        return new MatN(product, mat.cols);
+    }
+
+    /**
+     * Calculates the multiplication of this square matrix by the passed square matrix with the
+     * Strassen-Winograd algorithm, which takes O(N^2.81) rather than O(N^3) operations. It only
+     * pays off for large matrices, in the thousands of rows, and recurses until the blocks are at
+     * most 64 x 64 before switching to the classical kernel.
+     * <p>
+     * The result is not bit-identical to {@link #multiply(MatN)}, and its error is only bounded
+     * normwise. With unit roundoff u = 2^-53, a cutoff of N0, and ||X|| the largest absolute
+     * element of X, the error of the product is at most about
+     * ((N0^2 + 6 N0) (N / N0)^(log2 18) - 6N) u ||A|| ||B|| (Higham, Accuracy and Stability of
+     * Numerical Algorithms), where log2 18 is about 4.17. The classical kernel instead satisfies
+     * the elementwise bound N u |A| |B|, so small elements of the product that arise from
+     * cancellation may lose much more relative accuracy here.
+     *
+     * @param mat the square matrix to multiply by.
+     * @return the product, always a square matrix.
+     * @throws IllegalArgumentException if dimensions of these matrices differs.
+     */
+    public MatN multiplyStrassen(MatN mat) {
+        return multiplyStrassen(mat, Util.STRASSEN_CUTOFF);
+    }
+
+    /**
+     * Calculates the multiplication of this square matrix by the passed square matrix with the
+     * Strassen-Winograd algorithm, switching to the classical kernel once the blocks are at most
+     * the given size. Lower cutoffs save more multiplications but add more error and more
+     * additions; see {@link #multiplyStrassen(MatN)}.
+     *
+     * @param mat the square matrix to multiply by.
+     * @param cutoff the largest block size multiplied classically.
+     * @return the product, always a square matrix.
+     * @throws IllegalArgumentException if dimensions of these matrices differs.
+     * @throws IllegalArgumentException if the cutoff is not positive.
+     */
+    public MatN multiplyStrassen(MatN mat, int cutoff) {
+        return new MatN(Util.multiplyStrassen(elements(), mat.elements(), rows, cutoff), rows);
     }
 
     /**
@@ -110,7 +198,7 @@ public class MatN extends MatMN implements SquareMat {
      */
     @Override
     public double determinant() {
-        return Util.determinant(matrix);
+        return Util.determinant(elements(), rows);
     }
 
     /**
@@ -118,6 +206,72 @@ public class MatN extends MatMN implements SquareMat {
      */
     @Override
     public MatN inverse() {
-        return new MatN(Util.inverse(matrix));
+        return new MatN(Util.inverse(elements(), rows), rows);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Triangular matrices are solved directly by substitution in O(n^2). Any other matrix is
+     * solved by a pivoted LU factorization in O(n^3); to solve many systems against the same
+     * matrix, factor it once with {@link #lu()} instead.
+     */
+    @Override
+    public VecN solve(Vec vec) {
+        double[] x = vec.toArray();
+        Util.verifyOperableDimensions(elements(), rows, x);
+        Util.solve(elements(), rows, x);
+        return new VecN(x);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Triangular matrices are solved directly by substitution in O(n^2) per column. Any other
+     * matrix is factored once by a pivoted LU factorization in O(n^3), which is then shared by
+     * every column.
+     */
+    @Override
+    public MatMN solve(Mat mat) {
+        double[] x = elementsOf(mat).clone();
+        Util.verifyOperableDimensions(elements(), rows, x, mat.rows());
+        Util.solve(elements(), rows, x);
+        return new MatMN(x, rows, mat.cols());
+    }
+
+    /**
+     * Computes the LU decomposition of this matrix with partial pivoting. The decomposition can be
+     * reused to solve any number of linear systems against this matrix, or to find its determinant
+     * and inverse, without factoring it again.
+     *
+     * @return the LU decomposition.
+     */
+    public LUDecomposition lu() {
+        return new LUDecomposition(elements(), rows);
+    }
+
+    /**
+     * Computes the Cholesky decomposition of this matrix, which must be symmetric and
+     * positive-definite, as covariance and stiffness matrices are. For such matrices it is about
+     * twice as fast as {@link #lu()} and needs no pivoting.
+     *
+     * @return the Cholesky decomposition.
+     * @throws IllegalArgumentException if this matrix is not symmetric.
+     * @throws IllegalArgumentException if this matrix is not positive-definite.
+     */
+    public CholeskyDecomposition cholesky() {
+        return new CholeskyDecomposition(elements(), rows);
+    }
+
+    /**
+     * Computes the eigen-decomposition of this matrix, which must be symmetric, as inertia tensors
+     * and covariance matrices are. Symmetric matrices always have real eigenvalues and an
+     * orthonormal basis of eigenvectors.
+     *
+     * @return the eigen-decomposition.
+     * @throws IllegalArgumentException if this matrix is not symmetric.
+     */
+    public EigenDecomposition eigen() {
+        return EigenDecomposition.jacobi(elements(), rows);
     }
 }
@@ -0,0 +1,225 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The QR decomposition of an M x N matrix A with M greater than or equal to N, such that A = QR,
+ * where Q is an M x N matrix with orthonormal columns and R is an N x N upper-triangular matrix.
+ * The decomposition is computed with Householder reflections applied directly to the columns of a
+ * working copy of the matrix. The reflections are stored alongside R in that copy and reused by
+ * every least-squares solve, so each additional right-hand side costs O(MN).
+ * <p>
+ * Like the matrix classes, a decomposition is immutable and safe to share between threads.
+ */
+public class QRDecomposition {
+
+    private final double[] matrix;
+    private final double[] qr;
+    private final double[] rDiag;
+    private final int m;
+    private final int n;
+    private final double scale;
+
+    /**
+     * Factors the given matrix. The array is only read, and is kept for reporting errors, so it
+     * must not be modified afterward.
+     *
+     * @param matrix the column-major elements of the matrix to factor.
+     * @param rows the number of rows.
+     * @throws IllegalArgumentException if the matrix has fewer rows than columns.
+     */
+    QRDecomposition(double[] matrix, int rows) {
+        this.matrix = matrix;
+        this.m = rows;
+        this.n = matrix.length / rows;
+        if (m < n) {
+            throw new IllegalArgumentException(String.format("Expected a matrix with at least as " +
+                    "many rows as columns but received:\n%s",
+                    Util.stringify(Util.unflatten(matrix, m), 2)));
+        }
+
+        qr = matrix.clone();
+        scale = Util.maxAbs(qr);
+        rDiag = new double[n];
+
+        for (int k = 0; k < n; k++) {
+            int colK = k * m;
+
+            // The norm of the column on and below the diagonal, computed without overflow.
+            double norm = 0.0;
+            for (int i = k; i < m; i++) {
+                norm = Math.hypot(norm, qr[colK + i]);
+            }
+
+            if (norm != 0.0) {
+                // Choose the sign that avoids cancellation when forming the Householder vector.
+                if (qr[colK + k] < 0) {
+                    norm = -norm;
+                }
+                for (int i = k; i < m; i++) {
+                    qr[colK + i] /= norm;
+                }
+                qr[colK + k] += 1.0;
+
+                // Apply the reflection to each of the remaining columns.
+                for (int colJ = colK + m; colJ < qr.length; colJ += m) {
+                    reflect(k, qr, colJ);
+                }
+            }
+            rDiag[k] = -norm;
+        }
+    }
+
+    /**
+     * Returns the M x N factor Q, whose columns are orthonormal.
+     *
+     * @return the orthonormal factor.
+     */
+    public MatMN q() {
+        double[] q = new double[m * n];
+        for (int k = n - 1; k >= 0; k--) {
+            q[k * m + k] = 1.0;
+            if (qr[k * m + k] == 0.0) continue;
+            for (int j = k; j < n; j++) {
+                reflect(k, q, j * m);
+            }
+        }
+        return new MatMN(q, m, n);
+    }
+
+    /**
+     * Returns the M - N columns that extend the columns of Q to an orthonormal basis of the whole
+     * M-dimensional space, as a column-major array with M rows. They are the trailing columns of
+     * the full M x M orthogonal factor.
+     */
+    double[] complement() {
+        double[] result = new double[m * (m - n)];
+        for (int c = 0; c < m - n; c++) {
+            int column = c * m;
+            result[column + n + c] = 1.0;
+            for (int k = n - 1; k >= 0; k--) {
+                if (qr[k * m + k] == 0.0) continue;
+                reflect(k, result, column);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the N x N upper-triangular factor R.
+     *
+     * @return the upper-triangular factor.
+     */
+    public MatN r() {
+        double[] r = new double[n * n];
+        for (int c = 0; c < n; c++) {
+            System.arraycopy(qr, c * m, r, c * n, c);
+            r[c * n + c] = rDiag[c];
+        }
+        return new MatN(r, n);
+    }
+
+    /**
+     * Returns whether the columns of the factored matrix are linearly independent to working
+     * precision. Least-squares solutions are only unique, and only computed, for matrices of full
+     * column rank.
+     *
+     * @return true if the matrix has full column rank.
+     */
+    public boolean isFullRank() {
+        double tolerance = m * scale * Math.ulp(1.0);
+        for (int k = 0; k < n; k++) {
+            if (Math.abs(rDiag[k]) <= tolerance) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the vector x that minimizes the euclidean norm of Ax - b. When A is square this is the
+     * exact solution of Ax = b.
+     *
+     * @param vec the right-hand side b, with one element per row of the factored matrix.
+     * @return the least-squares solution x, with one element per column of the factored matrix.
+     * @throws IllegalArgumentException if the dimension of the vector is not equal to the number
+     *                                  of rows in the factored matrix.
+     * @throws IllegalArgumentException if the factored matrix does not have full column rank.
+     */
+    public VecN leastSquares(Vec vec) {
+        double[] b = vec.toArray();
+        Util.verifyExactDimension(b, m);
+        verifyFullRank();
+        solveInPlace(b, 0);
+        double[] x = new double[n];
+        System.arraycopy(b, 0, x, 0, n);
+        return new VecN(x);
+    }
+
+    /**
+     * Finds the matrix X that minimizes the euclidean norm of each column of AX - B, treating each
+     * column of B as a separate right-hand side.
+     *
+     * @param mat the right-hand sides B, with one row per row of the factored matrix.
+     * @return the least-squares solution X, with one row per column of the factored matrix and one
+     * column per column of B.
+     * @throws IllegalArgumentException if the number of rows in the passed matrix is not equal to
+     *                                  the number of rows in the factored matrix.
+     * @throws IllegalArgumentException if the factored matrix does not have full column rank.
+     */
+    public MatMN leastSquares(Mat mat) {
+        if (mat.rows() != m) {
+            throw new IllegalArgumentException(String.format("Expected a matrix with %d rows but " +
+                    "received:\n%s", m, mat));
+        }
+        verifyFullRank();
+        double[] b = MatMN.elementsOf(mat).clone();
+        int cols = mat.cols();
+        double[] x = new double[n * cols];
+        for (int c = 0; c < cols; c++) {
+            solveInPlace(b, c * m);
+            System.arraycopy(b, c * m, x, c * n, n);
+        }
+        return new MatMN(x, n, cols);
+    }
+
+    /**
+     * Overwrites the M elements of b from 'from' with Q^T b and then solves the leading N of them
+     * against R, so that they hold the least-squares solution on return.
+     */
+    private void solveInPlace(double[] b, int from) {
+        for (int k = 0; k < n; k++) {
+            if (qr[k * m + k] == 0.0) continue;
+            reflect(k, b, from);
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            b[from + k] /= rDiag[k];
+            double bk = b[from + k];
+            int colK = k * m;
+            for (int i = 0; i < k; i++) {
+                b[from + i] -= bk * qr[colK + i];
+            }
+        }
+    }
+
+    /**
+     * Applies the Householder reflection stored in column k of 'qr' to the column of 'target'
+     * that starts at 'from', which must have M elements. Only the elements from k onward change.
+     */
+    private void reflect(int k, double[] target, int from) {
+        int colK = k * m;
+        double s = 0.0;
+        for (int i = k; i < m; i++) {
+            s += qr[colK + i] * target[from + i];
+        }
+        s = -s / qr[colK + k];
+        for (int i = k; i < m; i++) {
+            target[from + i] += s * qr[colK + i];
+        }
+    }
+
+    private void verifyFullRank() {
+        if (!isFullRank()) {
+            throw new IllegalArgumentException(String.format("Expected a matrix of full column " +
+                    "rank but received:\n%s", Util.stringify(Util.unflatten(matrix, m), 2)));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The portable scalar loops behind {@link Kernels}. Both the Java 8 Kernels and its Java 17
+ * replacement in the multi-release jar delegate here for every loop they do not vectorize, so
+ * the two versions cannot drift apart. Like Kernels, nothing here verifies its arguments.
+ */
+final class ScalarKernels {
+
+    private ScalarKernels() {
+        // Intentionally blank to prevent instantiation.
+    }
+
+    /**
+     * Returns the dot product of 'length' elements of 'a' starting at 'aFrom' with those of 'b'
+     * starting at 'bFrom', summed in index order.
+     */
+    static double dot(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        double dot = 0;
+        for (int i = 0; i < length; i++) {
+            dot += a[aFrom + i] * b[bFrom + i];
+        }
+        return dot;
+    }
+
+    /**
+     * Stores the elementwise sum of 'a' and 'b' into 'result'. All three must have the same length.
+     */
+    static void add(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] + b[i];
+        }
+    }
+
+    /**
+     * Stores the elementwise difference of 'a' and 'b' into 'result'. All three must have the same
+     * length.
+     */
+    static void subtract(double[] a, double[] b, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] - b[i];
+        }
+    }
+
+    /**
+     * Stores 'a' multiplied by the scalar into 'result'. Both must have the same length.
+     */
+    static void scale(double[] a, double scalar, double[] result) {
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] * scalar;
+        }
+    }
+
+    /**
+     * Adds 'alpha' * 'x' to 'y' for the elements from 'from' (inclusive) to 'to' (exclusive),
+     * multiplying and then adding without a fused multiply-add.
+     */
+    static void axpy(double alpha, double[] x, double[] y, int from, int to) {
+        for (int i = from; i < to; i++) {
+            y[i] += x[i] * alpha;
+        }
+    }
+
+    /**
+     * Adds 'alpha' * 'x' to 'y' for 'length' elements, starting at 'xFrom' in 'x' and 'yFrom' in
+     * 'y', multiplying and then adding without a fused multiply-add.
+     */
+    static void axpy(double alpha, double[] x, int xFrom, double[] y, int yFrom, int length) {
+        for (int i = 0; i < length; i++) {
+            y[yFrom + i] += x[xFrom + i] * alpha;
+        }
+    }
+}
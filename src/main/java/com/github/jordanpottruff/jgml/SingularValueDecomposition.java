@@ -0,0 +1,317 @@
+package com.github.jordanpottruff.jgml;
+
+import java.util.Arrays;
+
+/**
+ * The singular value decomposition of an M x N matrix A, such that A = U&Sigma;V^T, where the
+ * columns of U and V are orthonormal and &Sigma; is diagonal with the singular values in
+ * descending order along its diagonal.
+ * <p>
+ * The decomposition is computed with one-sided Jacobi rotations, which orthogonalize the columns of
+ * a working copy of the matrix (or of its transpose, when A is wide) and accumulate the rotations
+ * into V. This works directly on column storage and computes small singular values to high
+ * relative accuracy.
+ * <p>
+ * In the thin (economy) form, with K = min(M, N), U is M x K, &Sigma; is K x K and V is N x K, so
+ * tall matrices never allocate a full M x M factor. In the full form U is M x M, &Sigma; is M x N
+ * and V is N x N.
+ * <p>
+ * Like the matrix classes, a decomposition is immutable and safe to share between threads.
+ */
+public class SingularValueDecomposition {
+
+    private static final int MAX_SWEEPS = 64;
+
+    private final double[] singularValues;
+    private final double[] u;
+    private final double[] v;
+    private final int m;
+    private final int n;
+    private final boolean thin;
+
+    /**
+     * Decomposes the given matrix. The array is only read.
+     *
+     * @param matrix the column-major elements of the matrix to decompose.
+     * @param rows the number of rows.
+     * @param thin whether to compute the thin (economy) form rather than the full form.
+     */
+    SingularValueDecomposition(double[] matrix, int rows, boolean thin) {
+        this.m = rows;
+        this.n = matrix.length / rows;
+        this.thin = thin;
+        boolean tall = m >= n;
+        int k = Math.min(m, n);
+        int length = Math.max(m, n);
+
+        // Work on K columns of the longer length: the columns of A, or of A^T when A is wide.
+        double[] w;
+        if (tall) {
+            w = matrix.clone();
+        } else {
+            w = new double[k * length];
+            for (int c = 0; c < k; c++) {
+                for (int i = 0; i < length; i++) {
+                    w[c * length + i] = matrix[i * m + c];
+                }
+            }
+        }
+        double[] rotations = new double[k * k];
+        Util.setIdentity(rotations, k);
+
+        orthogonalize(w, length, rotations, k);
+
+        // The norms of the orthogonalized columns are the singular values.
+        double[] sigma = new double[k];
+        for (int c = 0; c < k; c++) {
+            sigma[c] = Math.sqrt(Kernels.dot(w, c * length, w, c * length, length));
+        }
+        sortDescending(sigma, w, length, rotations, k);
+
+        // Normalizing the columns gives the singular vectors on the long side. Columns whose
+        // singular value is negligible carry no direction, so they are replaced below.
+        double tolerance = length * sigma[0] * Math.ulp(1.0);
+        int defined = 0;
+        for (int c = 0; c < k; c++) {
+            if (sigma[c] > tolerance) {
+                for (int i = c * length; i < (c + 1) * length; i++) {
+                    w[i] /= sigma[c];
+                }
+                defined++;
+            }
+        }
+        double[] vectors = completeBasis(w, defined, thin ? k : length, length);
+
+        singularValues = sigma;
+        if (tall) {
+            u = vectors;
+            v = rotations;
+        } else {
+            u = rotations;
+            v = vectors;
+        }
+    }
+
+    /**
+     * Returns the singular values in descending order.
+     *
+     * @return the singular values.
+     */
+    public VecN singularValues() {
+        return new VecN(singularValues);
+    }
+
+    /**
+     * Returns the left singular vectors as the columns of U. U is M x K in the thin form and M x M
+     * in the full form.
+     *
+     * @return the left singular vectors.
+     */
+    public MatMN u() {
+        return new MatMN(u.clone(), m, u.length / m);
+    }
+
+    /**
+     * Returns the diagonal matrix &Sigma; of singular values. &Sigma; is K x K in the thin form
+     * and M x N in the full form.
+     *
+     * @return the diagonal matrix of singular values.
+     */
+    public MatMN s() {
+        int rows = thin ? singularValues.length : m;
+        int cols = thin ? singularValues.length : n;
+        double[] s = new double[rows * cols];
+        for (int i = 0; i < singularValues.length; i++) {
+            s[i * rows + i] = singularValues[i];
+        }
+        return new MatMN(s, rows, cols);
+    }
+
+    /**
+     * Returns the right singular vectors as the columns of V. V is N x K in the thin form and N x N
+     * in the full form.
+     *
+     * @return the right singular vectors.
+     */
+    public MatMN v() {
+        return new MatMN(v.clone(), n, v.length / n);
+    }
+
+    /**
+     * Returns the numerical rank of the decomposed matrix: the number of singular values that are
+     * not negligible relative to the largest one.
+     *
+     * @return the rank.
+     */
+    public int rank() {
+        double tolerance = tolerance();
+        int rank = 0;
+        while (rank < singularValues.length && singularValues[rank] > tolerance) {
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the ratio of the largest to the smallest singular value, which is infinite for a
+     * rank-deficient matrix.
+     *
+     * @return the 2-norm condition number.
+     */
+    public double conditionNumber() {
+        return singularValues[0] / singularValues[singularValues.length - 1];
+    }
+
+    /**
+     * Calculates the Moore-Penrose pseudo-inverse of the decomposed matrix, V&Sigma;^+U^T, where
+     * negligible singular values are treated as zero. The result is N x M.
+     *
+     * @return the pseudo-inverse.
+     */
+    public MatMN pseudoInverse() {
+        int rank = rank();
+        double[] result = new double[n * m];
+        for (int j = 0; j < rank; j++) {
+            double inverse = 1.0 / singularValues[j];
+            for (int c = 0; c < m; c++) {
+                double factor = u[j * m + c] * inverse;
+                if (factor == 0.0) continue;
+                Kernels.axpy(factor, v, j * n, result, c * n, n);
+            }
+        }
+        return new MatMN(result, n, m);
+    }
+
+    /**
+     * Calculates the best approximation of the decomposed matrix with at most the given rank, in
+     * both the 2-norm and the Frobenius norm, by keeping only the largest singular values.
+     *
+     * @param rank the number of singular values to keep.
+     * @return the low-rank approximation, with the same dimensions as the decomposed matrix.
+     * @throws IllegalArgumentException if the rank is negative or larger than min(M, N).
+     */
+    public MatMN approximate(int rank) {
+        if (rank < 0 || rank > singularValues.length) {
+            throw new IllegalArgumentException(String.format("Expected a rank between 0 and %d " +
+                    "but received %d", singularValues.length, rank));
+        }
+        double[] result = new double[m * n];
+        for (int j = 0; j < rank; j++) {
+            for (int c = 0; c < n; c++) {
+                double factor = v[j * n + c] * singularValues[j];
+                if (factor == 0.0) continue;
+                Kernels.axpy(factor, u, j * m, result, c * m, m);
+            }
+        }
+        return new MatMN(result, m, n);
+    }
+
+    private double tolerance() {
+        return Math.max(m, n) * singularValues[0] * Math.ulp(1.0);
+    }
+
+    /**
+     * Applies Jacobi rotations to pairs of the columns of 'w', each 'length' long, until every pair
+     * is orthogonal to working precision, accumulating the same rotations into the columns of
+     * 'rotations', each 'k' long.
+     */
+    private static void orthogonalize(double[] w, int length, double[] rotations, int k) {
+        double epsilon = length * Math.ulp(1.0);
+        for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+            boolean rotated = false;
+            for (int p = 0; p < k - 1; p++) {
+                for (int q = p + 1; q < k; q++) {
+                    int wp = p * length;
+                    int wq = q * length;
+                    double alpha = 0.0;
+                    double beta = 0.0;
+                    double gamma = 0.0;
+                    for (int i = 0; i < length; i++) {
+                        alpha += w[wp + i] * w[wp + i];
+                        beta += w[wq + i] * w[wq + i];
+                        gamma += w[wp + i] * w[wq + i];
+                    }
+                    if (Math.abs(gamma) <= epsilon * Math.sqrt(alpha * beta)) continue;
+                    rotated = true;
+
+                    // The rotation that zeroes the inner product of the two columns.
+                    double zeta = (beta - alpha) / (2.0 * gamma);
+                    double t = Math.copySign(1.0, zeta) / (Math.abs(zeta) + Math.hypot(1.0, zeta));
+                    double c = 1.0 / Math.sqrt(1.0 + t * t);
+                    double s = c * t;
+                    rotate(w, wp, wq, length, c, s);
+                    rotate(rotations, p * k, q * k, k, c, s);
+                }
+            }
+            if (!rotated) break;
+        }
+    }
+
+    /**
+     * Rotates the two columns of 'mat' that start at 'a' and 'b', each 'length' long.
+     */
+    private static void rotate(double[] mat, int a, int b, int length, double c, double s) {
+        for (int i = 0; i < length; i++) {
+            double ai = mat[a + i];
+            double bi = mat[b + i];
+            mat[a + i] = c * ai - s * bi;
+            mat[b + i] = s * ai + c * bi;
+        }
+    }
+
+    /**
+     * Sorts the singular values into descending order, reordering the matching columns of 'w' and
+     * 'rotations' to keep them paired.
+     */
+    private static void sortDescending(double[] sigma, double[] w, int length, double[] rotations,
+                                       int k) {
+        for (int i = 0; i < sigma.length - 1; i++) {
+            int max = i;
+            for (int j = i + 1; j < sigma.length; j++) {
+                if (sigma[j] > sigma[max]) {
+                    max = j;
+                }
+            }
+            if (max != i) {
+                swap(sigma, i, max, 1);
+                swap(w, i, max, length);
+                swap(rotations, i, max, k);
+            }
+        }
+    }
+
+    /**
+     * Swaps the i-th and j-th runs of 'length' elements of the array, such as two columns of a
+     * column-major matrix.
+     */
+    private static void swap(double[] array, int i, int j, int length) {
+        for (int a = i * length, b = j * length; a < (i + 1) * length; a++, b++) {
+            double tmp = array[a];
+            array[a] = array[b];
+            array[b] = tmp;
+        }
+    }
+
+    /**
+     * Returns 'count' orthonormal columns of the given length as a column-major array, where the
+     * first 'defined' are taken from 'columns' and the rest are filled in with an orthonormal basis
+     * of their complement.
+     */
+    private static double[] completeBasis(double[] columns, int defined, int count, int length) {
+        if (defined == count) {
+            return columns;
+        }
+        double[] basis = new double[count * length];
+        if (defined == 0) {
+            for (int c = 0; c < count; c++) {
+                basis[c * length + c] = 1.0;
+            }
+            return basis;
+        }
+        System.arraycopy(columns, 0, basis, 0, defined * length);
+        double[] complement = new QRDecomposition(Arrays.copyOf(columns, defined * length), length)
+                .complement();
+        System.arraycopy(complement, 0, basis, defined * length, (count - defined) * length);
+        return basis;
+    }
+}
@@ -18,4 +18,27 @@ public interface SquareMat extends Mat {
      * @return the inverse matrix.
      */
     SquareMat inverse();
+
+    /**
+     * Solves the linear system Ax = b, where A is this matrix, without forming the inverse matrix.
+     *
+     * @param vec the right-hand side b.
+     * @return the solution x.
+     * @throws IllegalArgumentException if the dimension of the vector is not equal to the number
+     * of columns in this matrix.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    Vec solve(Vec vec);
+
+    /**
+     * Solves the linear system AX = B, where A is this matrix, without forming the inverse matrix.
+     * Each column of B is treated as a separate right-hand side.
+     *
+     * @param mat the right-hand sides B.
+     * @return the solution X, with the same dimensions as B.
+     * @throws IllegalArgumentException if the number of rows in the passed matrix is not equal to
+     * the number of columns in this matrix.
+     * @throws IllegalArgumentException if this matrix is not invertible.
+     */
+    Mat solve(Mat mat);
 }
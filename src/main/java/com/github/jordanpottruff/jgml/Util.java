@@ -1,7 +1,33 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 class Util {
 
+    /**
+     * The side length of the square tiles used by the blocked multiplication kernel. A tile of
+     * 'matA' is 32KB, which stays in the L1 or L2 cache while it is reused across a block of
+     * columns of 'matB'.
+     */
+    static final int BLOCK_SIZE = 64;
+
+    /**
+     * The number of multiply-adds at which matrix multiplication switches to the parallel kernel,
+     * by default 2^24, which is the product of two 256x256 matrices. It can be set with the
+     * 'jgml.parallelThreshold' system property.
+     */
+    static final long PARALLEL_THRESHOLD = Long.getLong("jgml.parallelThreshold", 1L << 24);
+
+    /**
+     * The default block size at and below which Strassen-Winograd multiplication switches to the
+     * classical kernel, where the saved multiplication no longer outweighs the extra additions.
+     */
+    static final int STRASSEN_CUTOFF = 64;
+
     private Util() {
         // Intentionally blank to prevent instantiation.
     }
@@ -10,11 +36,7 @@ class Util {
      * Returns the magnitude of the input vector.
      */
     static double magnitude(double[] vec) {
-        double sum = 0;
-        for (int i = 0; i < vec.length; i++) {
-            sum += Math.pow(vec[i], 2.0f);
-        }
-        return (double) Math.sqrt(sum);
+        return Math.sqrt(Kernels.dot(vec, vec));
     }
 
     /**
@@ -31,11 +53,7 @@ class Util {
 
     static double[] scale(double[] vec, double scalar) {
         double[] result = new double[vec.length];
-
-        for(int i=0; i<vec.length; i++) {
-            result[i] = vec[i] * scalar;
-        }
-
+        Kernels.scale(vec, scalar, result);
         return result;
     }
 
@@ -82,64 +100,346 @@ class Util {
     }
 
     /**
-     * Returns the minor of the matrix given a selected row and column. The minor of a matrix is the
-     * determinant of the submatrix formed by removing the given row and column.
+     * Returns the determinant of a matrix.
      */
-    private static double minor(double[][] mat, int row, int col) {
+    static double determinant(double[][] mat) {
         verifySquareMatrix(mat);
-        verifyValidCoord(mat, row, col);
+        if (mat.length == 1) {
+            return mat[0][0];
+        }
+        return determinant(flatten(mat), mat.length);
+    }
 
-        double[][] sub = submatrix(mat, row, col);
-        return determinant(sub);
+    /**
+     * Returns the determinant of an N x N column-major matrix. Matrices up to 3x3 are expanded
+     * directly by cofactors, while larger matrices are reduced with an LU factorization using
+     * partial pivoting, which runs in O(n^3) time and only allocates a single scratch copy of the
+     * matrix.
+     */
+    static double determinant(double[] mat, int n) {
+        if (n == 2) {
+            return mat[0] * mat[3] - mat[2] * mat[1];
+        } else if (n == 3) {
+            return mat[0] * (mat[4] * mat[8] - mat[7] * mat[5])
+                    - mat[1] * (mat[3] * mat[8] - mat[6] * mat[5])
+                    + mat[2] * (mat[3] * mat[7] - mat[6] * mat[4]);
+        } else {
+            double[] lu = mat.clone();
+            int sign = decomposeLU(lu, n, null);
+            return determinantLU(lu, n, sign);
+        }
     }
 
     /**
-     * Returns the cofactor of a matrix at (row,col). The cofactor of a matrix at (row,col) is the
-     * value of the matrix at (row,col) multiplied by the minor of the matrix at (row,col).
+     * Factors the n x n column-major matrix stored in 'lu' in place, such that PA = LU. On return
+     * the strictly lower triangle holds the multipliers of the unit lower-triangular L and the
+     * upper triangle (including the diagonal) holds U. If 'pivots' is not null, the row swapped
+     * with row k is recorded in pivots[k]. Returns the sign of the permutation, either 1 or -1.
+     * <p>
+     * A column that is entirely zero on and below the diagonal leaves a zero pivot in U rather than
+     * failing, so callers decide for themselves how to treat singular matrices.
      */
-    private static double cofactor(double[][] mat, int row, int col) {
-        verifySquareMatrix(mat);
-        verifyValidCoord(mat, row, col);
+    static int decomposeLU(double[] lu, int n, int[] pivots) {
+        int sign = 1;
+        int size = n * n;
+        for (int k = 0; k < n; k++) {
+            int colK = k * n;
+
+            // Select the largest magnitude element on or below the diagonal as the pivot.
+            int p = k;
+            double max = Math.abs(lu[colK + k]);
+            for (int r = k + 1; r < n; r++) {
+                double abs = Math.abs(lu[colK + r]);
+                if (abs > max) {
+                    max = abs;
+                    p = r;
+                }
+            }
+            if (pivots != null) {
+                pivots[k] = p;
+            }
+            if (p != k) {
+                for (int c = 0; c < size; c += n) {
+                    double tmp = lu[c + k];
+                    lu[c + k] = lu[c + p];
+                    lu[c + p] = tmp;
+                }
+                sign = -sign;
+            }
+
+            double pivot = lu[colK + k];
+            if (pivot == 0.0) continue;
 
-        return Math.pow(-1, row + col + 2) * minor(mat, row, col);
+            for (int r = k + 1; r < n; r++) {
+                lu[colK + r] /= pivot;
+            }
+            // Update the trailing columns one at a time so the inner loop runs down contiguous
+            // column storage.
+            for (int c = colK + n; c < size; c += n) {
+                double factor = lu[c + k];
+                if (factor == 0.0) continue;
+                for (int r = k + 1; r < n; r++) {
+                    lu[c + r] -= lu[colK + r] * factor;
+                }
+            }
+        }
+        return sign;
     }
 
     /**
-     * Returns the determinant of a matrix, using a recursive Laplace cofactor expansion.
+     * Returns the inverse of the input matrix. Will throw an exception if the matrix is not
+     * invertible.
      */
-    static double determinant(double[][] mat) {
+    static double[][] inverse(double[][] mat) {
         verifySquareMatrix(mat);
-        int dim = mat.length;
-        if (dim == 1) {
-            return mat[0][0];
-        } else if (dim == 2) {
-            return mat[0][0] * mat[1][1] - mat[1][0] * mat[0][1];
+        int n = mat.length;
+        return unflatten(inverse(flatten(mat), n), n);
+    }
+
+    /**
+     * Returns the inverse of the N x N column-major matrix, itself column-major. The matrix is
+     * factored once with a pivoted LU factorization and each column of the inverse is then
+     * recovered by forward and back substitution, for O(n^3) work in total. Will throw an exception
+     * if the matrix is not invertible, which is detected from the pivots of the factorization.
+     */
+    static double[] inverse(double[] mat, int n) {
+        double[] lu = mat.clone();
+        double scale = maxAbs(lu);
+        int[] pivots = new int[n];
+        decomposeLU(lu, n, pivots);
+        verifyInvertibleLU(mat, n, lu, scale);
+
+        return inverseLU(lu, n, pivots);
+    }
+
+    /**
+     * Solves the linear system formed by the N x N column-major matrix and each of the right-hand
+     * side columns in place, so that every column holds its solution on return. The columns are
+     * stored one after another in 'columns', N elements each. Triangular matrices are solved
+     * directly by substitution in O(n^2) per column; any other matrix is factored once with a
+     * pivoted LU factorization that is shared by all the columns. The inverse is never formed. Will
+     * throw an exception if the matrix is not invertible.
+     */
+    static void solve(double[] mat, int n, double[] columns) {
+        if (isUpperTriangular(mat, n)) {
+            verifyInvertibleTriangular(mat, n);
+            for (int b = 0; b < columns.length; b += n) {
+                // Back substitution, one column of the matrix at a time.
+                for (int k = n - 1; k >= 0; k--) {
+                    int colK = k * n;
+                    columns[b + k] /= mat[colK + k];
+                    double bk = columns[b + k];
+                    for (int r = 0; r < k; r++) {
+                        columns[b + r] -= mat[colK + r] * bk;
+                    }
+                }
+            }
+        } else if (isLowerTriangular(mat, n)) {
+            verifyInvertibleTriangular(mat, n);
+            for (int b = 0; b < columns.length; b += n) {
+                // Forward substitution, one column of the matrix at a time.
+                for (int k = 0; k < n; k++) {
+                    int colK = k * n;
+                    columns[b + k] /= mat[colK + k];
+                    double bk = columns[b + k];
+                    for (int r = k + 1; r < n; r++) {
+                        columns[b + r] -= mat[colK + r] * bk;
+                    }
+                }
+            }
         } else {
-            double det = 0;
-            for (int ri = 0; ri < dim; ri++) {
-                det += mat[0][ri] * cofactor(mat, ri, 0);
+            double[] lu = mat.clone();
+            double scale = maxAbs(lu);
+            int[] pivots = new int[n];
+            decomposeLU(lu, n, pivots);
+            verifyInvertibleLU(mat, n, lu, scale);
+            for (int b = 0; b < columns.length; b += n) {
+                solveLU(lu, n, pivots, columns, b);
             }
-            return det;
         }
     }
 
     /**
-     * Returns the inverse of the input matrix. Uses cofactor/adjugate/determinant to calculate the
-     * answer. Will throw an exception if the matrix is not invertible.
+     * Returns true if every element below the diagonal of the N x N column-major matrix is zero.
      */
-    static double[][] inverse(double[][] mat) {
-        verifySquareMatrix(mat);
-        verifyInvertibleMatrix(mat);
-        double[][] result = new double[mat.length][mat[0].length];
+    static boolean isUpperTriangular(double[] mat, int n) {
+        for (int c = 0; c < n; c++) {
+            for (int r = c + 1; r < n; r++) {
+                if (mat[c * n + r] != 0.0) return false;
+            }
+        }
+        return true;
+    }
 
-        for (int col = 0; col < mat.length; col++) {
-            for (int row = 0; row < mat[0].length; row++) {
-                // Creating adjugate by transposing cofactors
-                result[col][row] = cofactor(mat, col, row);
+    /**
+     * Returns true if every element above the diagonal of the N x N column-major matrix is zero.
+     */
+    static boolean isLowerTriangular(double[] mat, int n) {
+        for (int c = 1; c < n; c++) {
+            for (int r = 0; r < c; r++) {
+                if (mat[c * n + r] != 0.0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Factors the symmetric n x n column-major matrix stored in 'l' in place, such that A = LL^T,
+     * where L is lower-triangular with a positive diagonal. Only the lower triangle of the input is
+     * read; on return it holds L and the strictly upper triangle is zeroed. Returns false, leaving
+     * the array partially factored, if the matrix turns out not to be positive-definite.
+     */
+    static boolean decomposeCholesky(double[] l, int n) {
+        for (int j = 0; j < n; j++) {
+            int colJ = j * n;
+            // Subtract the contribution of every previous column, reading each one contiguously.
+            for (int k = 0; k < j; k++) {
+                int colK = k * n;
+                double factor = l[colK + j];
+                if (factor == 0.0) continue;
+                for (int i = j; i < n; i++) {
+                    l[colJ + i] -= l[colK + i] * factor;
+                }
+            }
+
+            double d = l[colJ + j];
+            // Written this way round so that NaN is also rejected.
+            if (!(d > 0.0)) {
+                return false;
+            }
+            d = Math.sqrt(d);
+            l[colJ + j] = d;
+            for (int i = j + 1; i < n; i++) {
+                l[colJ + i] /= d;
+            }
+            for (int i = 0; i < j; i++) {
+                l[colJ + i] = 0.0;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Solves LL^Tx = b in place, where 'l' is the output of decomposeCholesky and the N elements
+     * of 'b' from 'from' hold the right-hand side on entry and the solution x on return.
+     */
+    static void solveCholesky(double[] l, int n, double[] b, int from) {
+        // Forward substitution with L, one column at a time.
+        for (int k = 0; k < n; k++) {
+            int colK = k * n;
+            b[from + k] /= l[colK + k];
+            double bk = b[from + k];
+            if (bk == 0.0) continue;
+            for (int r = k + 1; r < n; r++) {
+                b[from + r] -= l[colK + r] * bk;
+            }
+        }
+        // Back substitution with L^T, where each row of L^T is a contiguous column of L.
+        for (int k = n - 1; k >= 0; k--) {
+            int colK = k * n;
+            double sum = b[from + k];
+            for (int r = k + 1; r < n; r++) {
+                sum -= l[colK + r] * b[from + r];
+            }
+            b[from + k] = sum / l[colK + k];
+        }
+    }
+
+    /**
+     * Returns the determinant of a matrix from its LU factors and the permutation sign, as produced
+     * by decomposeLU.
+     */
+    static double determinantLU(double[] lu, int n, int sign) {
+        double det = sign;
+        for (int i = 0; i < n; i++) {
+            det *= lu[i * n + i];
+        }
+        return det;
+    }
+
+    /**
+     * Returns the inverse of a matrix from its LU factors and pivots, as produced by decomposeLU,
+     * as a column-major array, by solving for each column of the identity matrix. The factors must
+     * not be singular.
+     */
+    static double[] inverseLU(double[] lu, int n, int[] pivots) {
+        double[] result = new double[n * n];
+        for (int col = 0; col < n; col++) {
+            result[col * n + col] = 1.0;
+            solveLU(lu, n, pivots, result, col * n);
+        }
+        return result;
+    }
+
+    /**
+     * Solves LUx = Pb in place, where 'lu' and 'pivots' are the outputs of decomposeLU and the N
+     * elements of 'b' from 'from' hold the right-hand side on entry and the solution x on return.
+     */
+    static void solveLU(double[] lu, int n, int[] pivots, double[] b, int from) {
+        for (int k = 0; k < n; k++) {
+            int p = pivots[k];
+            if (p != k) {
+                double tmp = b[from + k];
+                b[from + k] = b[from + p];
+                b[from + p] = tmp;
             }
         }
+        // Forward substitution with the unit lower-triangular L, one column at a time.
+        for (int k = 0; k < n; k++) {
+            double bk = b[from + k];
+            if (bk == 0.0) continue;
+            int colK = k * n;
+            for (int r = k + 1; r < n; r++) {
+                b[from + r] -= lu[colK + r] * bk;
+            }
+        }
+        // Back substitution with the upper-triangular U, one column at a time.
+        for (int k = n - 1; k >= 0; k--) {
+            int colK = k * n;
+            b[from + k] /= lu[colK + k];
+            double bk = b[from + k];
+            if (bk == 0.0) continue;
+            for (int r = 0; r < k; r++) {
+                b[from + r] -= lu[colK + r] * bk;
+            }
+        }
+    }
 
-        return scale(result, 1 / determinant(mat));
+    /**
+     * Returns true if the LU factors produced by decomposeLU contain a pivot that is negligible
+     * relative to 'scale', the largest magnitude element of the factored matrix. Such a matrix is
+     * singular to working precision.
+     */
+    static boolean isSingularLU(double[] lu, int n, double scale) {
+        double tolerance = n * scale * Math.ulp(1.0);
+        for (int k = 0; k < n; k++) {
+            if (Math.abs(lu[k * n + k]) <= tolerance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the determinant of an n x n matrix is negligible relative to 'bound', the
+     * product of the norms of its columns. By Hadamard's inequality |det| never exceeds that
+     * product, and the ratio between the two does not change when a column is scaled, so a large
+     * translation or scale does not make a well-conditioned matrix look singular. The tolerance,
+     * n * ulp(1) * bound, mirrors the pivot tolerance of isSingularLU.
+     */
+    static boolean isNegligibleDeterminant(double det, int n, double bound) {
+        return Math.abs(det) <= n * Math.ulp(1.0) * bound;
+    }
+
+    /**
+     * Returns the largest absolute value in the array.
+     */
+    static double maxAbs(double[] values) {
+        double max = 0.0;
+        for (int i = 0; i < values.length; i++) {
+            max = Math.max(max, Math.abs(values[i]));
+        }
+        return max;
     }
 
     /**
@@ -179,11 +479,8 @@ class Util {
      */
     static double[] add(double[] vecA, double[] vecB) {
         verifyEqualDimensions(vecA, vecB);
-        int n = vecA.length;
-        double[] sum = new double[n];
-        for (int i = 0; i < n; i++) {
-            sum[i] = vecA[i] + vecB[i];
-        }
+        double[] sum = new double[vecA.length];
+        Kernels.add(vecA, vecB, sum);
         return sum;
     }
 
@@ -198,9 +495,7 @@ class Util {
         double[][] result = new double[cols][rows];
 
         for (int ci = 0; ci < cols; ci++) {
-            for (int ri = 0; ri < rows; ri++) {
-                result[ci][ri] = matA[ci][ri] + matB[ci][ri];
-            }
+            Kernels.add(matA[ci], matB[ci], result[ci]);
         }
 
         return result;
@@ -210,8 +505,10 @@ class Util {
      * Returns a new vector that is the subtraction of vecB from vecA.
      */
     static double[] subtract(double[] vecA, double[] vecB) {
-        // Use add() for op and for compatibility checking.
-        return add(vecA, invert(vecB));
+        verifyEqualDimensions(vecA, vecB);
+        double[] difference = new double[vecA.length];
+        Kernels.subtract(vecA, vecB, difference);
+        return difference;
     }
 
     /**
@@ -219,7 +516,11 @@ class Util {
      */
     static double[][] subtract(double[][] matA, double[][] matB) {
         verifyEqualDimensions(matA, matB);
-        return add(matA, invert(matB));
+        double[][] result = new double[matA.length][matA[0].length];
+        for (int ci = 0; ci < matA.length; ci++) {
+            Kernels.subtract(matA[ci], matB[ci], result[ci]);
+        }
+        return result;
     }
 
     /**
@@ -227,12 +528,7 @@ class Util {
      */
     static double multiply(double[] vecA, double[] vecB) {
         verifyEqualDimensions(vecA, vecB);
-        int n = vecA.length;
-        double dot = 0;
-        for (int i = 0; i < n; i++) {
-            dot += vecA[i] * vecB[i];
-        }
-        return dot;
+        return Kernels.dot(vecA, vecB);
     }
 
     /**
@@ -241,43 +537,397 @@ class Util {
      */
     static double[] multiply(double[][] mat, double[] vec) {
         verifyOperableDimensions(mat, vec);
-        int matCols = mat.length;
-        int matRows = mat[0].length;
+        return multiply(flatten(mat), mat[0].length, vec);
+    }
 
-        double[] result = new double[matRows];
+    /**
+     * Returns a new vector that is the multiplication of the column-major matrix with the given
+     * number of rows and the input vector, in the order of 'mat' * 'vec'.
+     */
+    static double[] multiply(double[] mat, int rows, double[] vec) {
+        verifyOperableDimensions(mat, rows, vec);
+        double[] result = new double[rows];
+        multiplyColumn(1.0, mat, rows, vec, 0, result, 0);
+        return result;
+    }
 
-        for (int row = 0; row < matRows; row++) {
-            for (int col = 0; col < matCols; col++) {
-                result[row] += mat[col][row] * vec[col];
-            }
+    /**
+     * Adds 'alpha' * 'mat' * 'vec' to 'result', where 'mat' is column-major with the given number
+     * of rows, and the vector and result start at the given offsets. The columns are combined in
+     * order, straight out of the flat arrays and without any scratch arrays, so each element sums
+     * its terms in the order of the columns and Blas.gemv never allocates.
+     */
+    static void multiplyColumn(double alpha, double[] mat, int rows, double[] vec, int vecFrom,
+                               double[] result, int resultFrom) {
+        for (int i = 0, col = 0; col < mat.length; i++, col += rows) {
+            Kernels.axpy(alpha * vec[vecFrom + i], mat, col, result, resultFrom, rows);
         }
+    }
 
+    /**
+     * Returns a new column-major matrix that is the multiplication of the two column-major input
+     * matrices with the given numbers of rows, in the order of 'matA' * 'matB'. Products of at
+     * least PARALLEL_THRESHOLD multiply-adds are split across the common fork/join pool, which
+     * gives identical results.
+     */
+    static double[] multiply(double[] matA, int rowsA, double[] matB, int rowsB) {
+        verifyOperableDimensions(matA, rowsA, matB, rowsB);
+        int colsB = matB.length / rowsB;
+        if ((long) rowsA * rowsB * colsB >= PARALLEL_THRESHOLD
+                && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return multiplyParallel(matA, rowsA, matB, rowsB, ForkJoinPool.commonPool());
+        }
+        double[] result = new double[rowsA * colsB];
+        multiplyColumns(1.0, matA, rowsA, matB, rowsB, result, 0, colsB);
         return result;
     }
 
     /**
-     * Returns a new matrix that is the multiplication of the two input matrices. The multiplication
-     * is performed in the order of 'matA' * 'matB'.
+     * Returns a new column-major matrix that is the multiplication of the two column-major input
+     * matrices, in the order of 'matA' * 'matB', computed by splitting the columns of the result
+     * across the given pool. Each column is computed exactly as the serial kernel would compute
+     * it, so the result does not depend on the pool or on scheduling.
      */
-    static double[][] multiply(double[][] matA, double[][] matB) {
-        verifyOperableDimensions(matA, matB);
-        int matACols = matA.length;
-        int matARows = matA[0].length;
-        int matBCols = matB.length;
+    static double[] multiplyParallel(double[] matA, int rowsA, double[] matB, int rowsB,
+                                     ForkJoinPool pool) {
+        verifyOperableDimensions(matA, rowsA, matB, rowsB);
+        int colsB = matB.length / rowsB;
+        double[] result = new double[rowsA * colsB];
+
+        // Aim for a few tasks per worker so that uneven progress still balances out.
+        int grain = Math.max(1, Math.min(BLOCK_SIZE, colsB / (pool.getParallelism() * 4)));
+        pool.invoke(new MultiplyTask(matA, rowsA, matB, rowsB, result, 0, colsB, grain));
+        return result;
+    }
 
-        double[][] result = new double[matARows][matBCols];
+    /**
+     * Adds the columns of 'alpha' * 'matA' * 'matB' from 'colStart' (inclusive) to 'colEnd'
+     * (exclusive) to 'result'. All three are column-major, 'matA' and 'result' with 'rows' rows
+     * and 'matB' with 'inner' rows. An 'alpha' of exactly 1 leaves every term unchanged.
+     */
+    static void multiplyColumns(double alpha, double[] matA, int rows, double[] matB, int inner,
+                                double[] result, int colStart, int colEnd) {
+        multiplyTiles(alpha, matA, rows, inner, matB, colStart * inner, 1, inner, result,
+                colStart * rows, colEnd - colStart);
+    }
 
-        for (int row = 0; row < matARows; row++) {
-            for (int col = 0; col < matBCols; col++) {
-                for (int i = 0; i < matACols; i++) {
-                    result[col][row] += matA[i][row] * matB[col][i];
+    /**
+     * Adds 'alpha' * 'matA' * B to the 'cols' columns of the column-major 'result' that start at
+     * 'resultFrom', where 'matA' is column-major with 'rows' rows and 'inner' columns, and the
+     * element (i, col) of B is at 'matBFrom' + i * 'rowStride' + col * 'colStride' in 'matB'.
+     * <p>
+     * The JIT only vectorizes a loop over two arrays when both are indexed from the same offset,
+     * so the product is worked on in tiles of at most BLOCK_SIZE by BLOCK_SIZE. Each tile of
+     * 'matA' is copied into a scratch array once per block of BLOCK_SIZE result columns, and each
+     * column of the block accumulates its part of the tile in another scratch array, both starting
+     * at zero. The copies cost one element per BLOCK_SIZE multiply-adds, and each tile is loaded
+     * into cache once per block instead of once per column. Every element sums its terms in the
+     * order of the inner index, however the columns are split, and an 'alpha' of exactly 1 leaves
+     * every term unchanged.
+     * <p>
+     * The small products that are most common in this library, where 'matA' has at most
+     * BLOCK_SIZE rows and columns, skip the tiles and their scratch arrays. Each column of the
+     * result is combined straight out of the flat arrays, in the same order, which is faster than
+     * copying when the columns are short.
+     */
+    private static void multiplyTiles(double alpha, double[] matA, int rows, int inner,
+                                      double[] matB, int matBFrom, int rowStride, int colStride,
+                                      double[] result, int resultFrom, int cols) {
+        if (rows <= BLOCK_SIZE && inner <= BLOCK_SIZE) {
+            for (int col = 0; col < cols; col++) {
+                int resultCol = resultFrom + col * rows;
+                int matBCol = matBFrom + col * colStride;
+                for (int i = 0; i < inner; i++) {
+                    Kernels.axpy(alpha * matB[matBCol + i * rowStride], matA, i * rows, result,
+                            resultCol, rows);
+                }
+            }
+            return;
+        }
+        double[][] tile = new double[Math.min(BLOCK_SIZE, inner)][Math.min(BLOCK_SIZE, rows)];
+        double[] sum = new double[Math.min(BLOCK_SIZE, rows)];
+        for (int colBlock = 0; colBlock < cols; colBlock += BLOCK_SIZE) {
+            int colEnd = Math.min(colBlock + BLOCK_SIZE, cols);
+            for (int rowBlock = 0; rowBlock < rows; rowBlock += BLOCK_SIZE) {
+                int length = Math.min(BLOCK_SIZE, rows - rowBlock);
+                for (int innerBlock = 0; innerBlock < inner; innerBlock += BLOCK_SIZE) {
+                    int innerEnd = Math.min(innerBlock + BLOCK_SIZE, inner);
+                    for (int i = innerBlock; i < innerEnd; i++) {
+                        System.arraycopy(matA, i * rows + rowBlock, tile[i - innerBlock], 0,
+                                length);
+                    }
+                    for (int col = colBlock; col < colEnd; col++) {
+                        int resultCol = resultFrom + col * rows + rowBlock;
+                        int matBCol = matBFrom + col * colStride;
+                        System.arraycopy(result, resultCol, sum, 0, length);
+                        for (int i = innerBlock; i < innerEnd; i++) {
+                            Kernels.axpy(alpha * matB[matBCol + i * rowStride],
+                                    tile[i - innerBlock], sum, 0, length);
+                        }
+                        System.arraycopy(sum, 0, result, resultCol, length);
+                    }
                 }
             }
         }
+    }
+
+    /**
+     * Computes a range of result columns for multiplyParallel, splitting it in half until it is no
+     * wider than the grain.
+     */
+    private static class MultiplyTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] matA;
+        private final int rows;
+        private final double[] matB;
+        private final int inner;
+        private final double[] result;
+        private final int colStart;
+        private final int colEnd;
+        private final int grain;
+
+        MultiplyTask(double[] matA, int rows, double[] matB, int inner, double[] result,
+                     int colStart, int colEnd, int grain) {
+            this.matA = matA;
+            this.rows = rows;
+            this.matB = matB;
+            this.inner = inner;
+            this.result = result;
+            this.colStart = colStart;
+            this.colEnd = colEnd;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (colEnd - colStart <= grain) {
+                multiplyColumns(1.0, matA, rows, matB, inner, result, colStart, colEnd);
+                return;
+            }
+            int mid = (colStart + colEnd) >>> 1;
+            invokeAll(new MultiplyTask(matA, rows, matB, inner, result, colStart, mid, grain),
+                    new MultiplyTask(matA, rows, matB, inner, result, mid, colEnd, grain));
+        }
+    }
 
+    /**
+     * Returns a new vector that is the multiplication of the transpose of the column-major input
+     * matrix and the input vector, 'mat'^T * 'vec'. Each element is the dot product of a column
+     * with the vector.
+     */
+    static double[] transposeMultiply(double[] mat, int rows, double[] vec) {
+        verifyExactDimension(vec, rows);
+        double[] result = new double[mat.length / rows];
+        for (int i = 0, col = 0; col < mat.length; i++, col += rows) {
+            result[i] = Kernels.dot(mat, col, vec, 0, rows);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new column-major matrix that is the multiplication of the transpose of the first
+     * column-major input matrix and the second, 'matA'^T * 'matB'. Each element is the dot product
+     * of a column of 'matA' with a column of 'matB', so both are read down their contiguous
+     * columns.
+     */
+    static double[] transposeMultiply(double[] matA, int rowsA, double[] matB, int rowsB) {
+        verifyEqualRows(matA, rowsA, matB, rowsB);
+        int colsA = matA.length / rowsA;
+        double[] result = new double[colsA * (matB.length / rowsB)];
+        int index = 0;
+        for (int colB = 0; colB < matB.length; colB += rowsB) {
+            for (int colA = 0; colA < matA.length; colA += rowsA) {
+                result[index++] = Kernels.dot(matA, colA, matB, colB, rowsA);
+            }
+        }
         return result;
     }
 
+    /**
+     * Returns a new column-major matrix that is the multiplication of the first column-major input
+     * matrix and the transpose of the second, 'matA' * 'matB'^T. Column j of the result combines
+     * the columns of 'matA' with the elements of row j of 'matB', which are read in place with a
+     * stride, so neither input is transposed or copied whole.
+     */
+    static double[] multiplyTranspose(double[] matA, int rowsA, double[] matB, int rowsB) {
+        verifyEqualColumns(matA, rowsA, matB, rowsB);
+        double[] result = new double[rowsA * rowsB];
+        multiplyTiles(1.0, matA, rowsA, matA.length / rowsA, matB, 0, rowsB, 1, result, 0, rowsB);
+        return result;
+    }
+
+    /**
+     * Returns the Gram matrix 'mat'^T * 'mat' of the column-major input matrix, itself
+     * column-major. The result is symmetric, so only the dot products of each pair of columns are
+     * computed and each is stored twice.
+     */
+    static double[] gram(double[] mat, int rows) {
+        int n = mat.length / rows;
+        double[] result = new double[n * n];
+        for (int col = 0; col < n; col++) {
+            for (int row = 0; row <= col; row++) {
+                double dot = Kernels.dot(mat, row * rows, mat, col * rows, rows);
+                result[col * n + row] = dot;
+                result[row * n + col] = dot;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the product 'matA' * 'matB' of two N x N column-major matrices, computed with the
+     * Winograd variant of Strassen's algorithm. Each level of recursion replaces 8 half-size
+     * products with 7, and the recursion stops once the blocks are at most 'cutoff' wide, where the
+     * classical kernel takes over.
+     * <p>
+     * Matrices whose size does not halve evenly down to the cutoff are copied into buffers padded
+     * to one that does. All temporaries are allocated up front, one set per level of recursion,
+     * since the products at each level run one after another: 12 quarter-size buffers per level,
+     * or about 4N^2 elements in total, rather than fresh temporaries for each of the recursive
+     * products.
+     */
+    static double[] multiplyStrassen(double[] matA, double[] matB, int n, int cutoff) {
+        verifyEqualDimensions(matA, n, matB, n);
+        if (cutoff < 1) {
+            throw new IllegalArgumentException(String.format("Expected a positive cutoff but " +
+                    "received %d", cutoff));
+        }
+        if (n <= cutoff) {
+            return multiply(matA, n, matB, n);
+        }
+
+        // Find the number of levels needed to reach the cutoff, and pad to a size that can be
+        // halved that many times.
+        int levels = 0;
+        int leaf = n;
+        while (leaf > cutoff) {
+            leaf = (leaf + 1) / 2;
+            levels++;
+        }
+        int size = leaf << levels;
+
+        double[] a = matA;
+        double[] b = matB;
+        double[] c = new double[size * size];
+        if (size != n) {
+            a = new double[size * size];
+            b = new double[size * size];
+            for (int col = 0; col < n; col++) {
+                System.arraycopy(matA, col * n, a, col * size, n);
+                System.arraycopy(matB, col * n, b, col * size, n);
+            }
+        }
+        double[][][] workspace = new double[levels][12][];
+        for (int level = 0, half = size / 2; level < levels; level++, half /= 2) {
+            for (int i = 0; i < 12; i++) {
+                workspace[level][i] = new double[half * half];
+            }
+        }
+
+        double[][] leafBuffers = new double[3][leaf * leaf];
+
+        strassen(a, 0, size, b, 0, size, c, 0, size, size, workspace, 0, leafBuffers);
+
+        if (size == n) {
+            return c;
+        }
+        double[] result = new double[n * n];
+        for (int col = 0; col < n; col++) {
+            System.arraycopy(c, col * size, result, col * n, n);
+        }
+        return result;
+    }
+
+    /**
+     * Stores the product of the size x size column-major blocks of 'a' and 'b' at the given offsets
+     * and leading dimensions into the block of 'c', using the Winograd schedule of 7 products and
+     * 15 additions per level.
+     */
+    private static void strassen(double[] a, int aOff, int aLd, double[] b, int bOff, int bLd,
+                                 double[] c, int cOff, int cLd, int size,
+                                 double[][][] workspace, int level, double[][] leaf) {
+        if (level == workspace.length) {
+            multiplyLeaf(a, aOff, aLd, b, bOff, bLd, c, cOff, cLd, size, leaf);
+            return;
+        }
+        int h = size / 2;
+        int a11 = aOff, a21 = aOff + h, a12 = aOff + h * aLd, a22 = a12 + h;
+        int b11 = bOff, b21 = bOff + h, b12 = bOff + h * bLd, b22 = b12 + h;
+        int c11 = cOff, c21 = cOff + h, c12 = cOff + h * cLd, c22 = c12 + h;
+
+        double[][] w = workspace[level];
+        double[] s1 = w[0], s2 = w[1], s3 = w[2], s4 = w[3];
+        double[] t1 = w[4], t2 = w[5], t3 = w[6], t4 = w[7];
+        double[] m1 = w[8], m5 = w[9], m6 = w[10], m7 = w[11];
+
+        combine(a, a21, aLd, 1.0, a, a22, aLd, s1, 0, h, h);
+        combine(s1, 0, h, -1.0, a, a11, aLd, s2, 0, h, h);
+        combine(a, a11, aLd, -1.0, a, a21, aLd, s3, 0, h, h);
+        combine(a, a12, aLd, -1.0, s2, 0, h, s4, 0, h, h);
+        combine(b, b12, bLd, -1.0, b, b11, bLd, t1, 0, h, h);
+        combine(b, b22, bLd, -1.0, t1, 0, h, t2, 0, h, h);
+        combine(b, b22, bLd, -1.0, b, b12, bLd, t3, 0, h, h);
+        combine(t2, 0, h, -1.0, b, b21, bLd, t4, 0, h, h);
+
+        int next = level + 1;
+        strassen(a, a11, aLd, b, b11, bLd, m1, 0, h, h, workspace, next, leaf);
+        strassen(a, a12, aLd, b, b21, bLd, c, c11, cLd, h, workspace, next, leaf);
+        strassen(s4, 0, h, b, b22, bLd, c, c12, cLd, h, workspace, next, leaf);
+        strassen(a, a22, aLd, t4, 0, h, c, c21, cLd, h, workspace, next, leaf);
+        strassen(s1, 0, h, t1, 0, h, m5, 0, h, h, workspace, next, leaf);
+        strassen(s2, 0, h, t2, 0, h, m6, 0, h, h, workspace, next, leaf);
+        strassen(s3, 0, h, t3, 0, h, m7, 0, h, h, workspace, next, leaf);
+
+        // C11 = M1 + M2, U2 = M1 + M6, U3 = U2 + M7, U4 = U2 + M5, C12 = U4 + M3, C21 = U3 - M4
+        // and C22 = U3 + M5.
+        combine(c, c11, cLd, 1.0, m1, 0, h, c, c11, cLd, h);
+        combine(m1, 0, h, 1.0, m6, 0, h, m6, 0, h, h);
+        combine(m6, 0, h, 1.0, m7, 0, h, m7, 0, h, h);
+        combine(m6, 0, h, 1.0, m5, 0, h, m6, 0, h, h);
+        combine(c, c12, cLd, 1.0, m6, 0, h, c, c12, cLd, h);
+        combine(m7, 0, h, -1.0, c, c21, cLd, c, c21, cLd, h);
+        combine(m7, 0, h, 1.0, m5, 0, h, c, c22, cLd, h);
+    }
+
+    /**
+     * Stores x + sign * y into z, where all three are size x size column-major blocks given by an
+     * array, offset and leading dimension. The blocks of z may be the same as those of x or y.
+     */
+    private static void combine(double[] x, int xOff, int xLd, double sign, double[] y, int yOff,
+                                int yLd, double[] z, int zOff, int zLd, int size) {
+        for (int col = 0; col < size; col++) {
+            int xCol = xOff + col * xLd;
+            int yCol = yOff + col * yLd;
+            int zCol = zOff + col * zLd;
+            for (int row = 0; row < size; row++) {
+                z[zCol + row] = x[xCol + row] + sign * y[yCol + row];
+            }
+        }
+    }
+
+    /**
+     * Stores the classical product of two size x size column-major blocks into a third. The blocks
+     * are first copied into the contiguous arrays of 'leaf', so the product runs on the same kernel
+     * as multiply, with the columns of each block one after another.
+     */
+    private static void multiplyLeaf(double[] a, int aOff, int aLd, double[] b, int bOff, int bLd,
+                                     double[] c, int cOff, int cLd, int size, double[][] leaf) {
+        double[] leafA = leaf[0];
+        double[] leafB = leaf[1];
+        double[] leafC = leaf[2];
+        for (int col = 0; col < size; col++) {
+            System.arraycopy(a, aOff + col * aLd, leafA, col * size, size);
+            System.arraycopy(b, bOff + col * bLd, leafB, col * size, size);
+        }
+        Arrays.fill(leafC, 0.0);
+        multiplyColumns(1.0, leafA, size, leafB, size, leafC, 0, size);
+        for (int col = 0; col < size; col++) {
+            System.arraycopy(leafC, col * size, c, cOff + col * cLd, size);
+        }
+    }
+
     /**
      * Returns the cross product of the two input vectors.
      */
@@ -305,6 +955,100 @@ class Util {
         return mat;
     }
 
+    /**
+     * Returns a copy of the matrix as a single column-major array, where the element at (row, col)
+     * is stored at index col * rows + row.
+     */
+    static double[] flatten(double[][] mat) {
+        verifyUniformMatrix(mat);
+        int cols = mat.length;
+        int rows = cols == 0 ? 0 : mat[0].length;
+        double[] flat = new double[rows * cols];
+        for (int ci = 0; ci < cols; ci++) {
+            System.arraycopy(mat[ci], 0, flat, ci * rows, rows);
+        }
+        return flat;
+    }
+
+    /**
+     * Returns the columns of a matrix with the given number of rows stored as a single column-major
+     * array, the inverse of {@link #flatten(double[][])}.
+     */
+    static double[][] unflatten(double[] flat, int rows) {
+        double[][] mat = new double[flat.length / rows][];
+        for (int ci = 0; ci < mat.length; ci++) {
+            mat[ci] = Arrays.copyOfRange(flat, ci * rows, (ci + 1) * rows);
+        }
+        return mat;
+    }
+
+    /**
+     * Returns a copy of the single-precision vector widened to double precision.
+     */
+    static double[] widen(float[] vec) {
+        double[] result = new double[vec.length];
+        for (int i = 0; i < vec.length; i++) {
+            result[i] = vec[i];
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of the single-precision matrix widened to double precision.
+     */
+    static double[][] widen(float[][] mat) {
+        double[][] result = new double[mat.length][];
+        for (int c = 0; c < mat.length; c++) {
+            result[c] = widen(mat[c]);
+        }
+        return result;
+    }
+
+    /**
+     * Overwrites the column-major NxN matrix with the identity matrix.
+     */
+    static void setIdentity(double[] mat, int n) {
+        Arrays.fill(mat, 0, n * n, 0.0);
+        for (int i = 0; i < n; i++) {
+            mat[i * n + i] = 1.0;
+        }
+    }
+
+    /**
+     * Multiplies a row of the column-major NxN matrix by the factor in place, which is the same as
+     * multiplying the matrix on the left by an identity matrix with the factor on that row.
+     */
+    static void scaleRow(double[] mat, int n, int row, double factor) {
+        for (int i = row; i < n * n; i += n) {
+            mat[i] *= factor;
+        }
+    }
+
+    /**
+     * Adds the factor times the source row to the target row of the column-major NxN matrix in
+     * place, which is the same as multiplying the matrix on the left by an identity matrix with the
+     * factor at (target, source).
+     */
+    static void addRow(double[] mat, int n, int target, int source, double factor) {
+        for (int col = 0; col < n * n; col += n) {
+            mat[col + target] += factor * mat[col + source];
+        }
+    }
+
+    /**
+     * Rotates two rows of the column-major NxN matrix in place, which is the same as multiplying
+     * the matrix on the left by an identity matrix with cos at (a, a) and (b, b), -sin at (a, b)
+     * and sin at (b, a).
+     */
+    static void rotateRows(double[] mat, int n, int a, int b, double cos, double sin) {
+        for (int col = 0; col < n * n; col += n) {
+            double rowA = mat[col + a];
+            double rowB = mat[col + b];
+            mat[col + a] = cos * rowA - sin * rowB;
+            mat[col + b] = sin * rowA + cos * rowB;
+        }
+    }
+
     static String stringify(double[] vec) {
         return formatStringify("%f", vec);
     }
@@ -391,6 +1135,20 @@ class Util {
         }
     }
 
+    /**
+     * Throws an IllegalArgumentException at runtime if the single-precision matrix is not of the
+     * required dimension. The matrix is only widened to report the error.
+     */
+    static void verifyExactDimension(float[][] mat, int rows, int cols) {
+        boolean valid = mat.length == cols;
+        for (int c = 0; valid && c < mat.length; c++) {
+            valid = mat[c].length == rows;
+        }
+        if (!valid) {
+            verifyExactDimension(widen(mat), rows, cols);
+        }
+    }
+
     /**
      * Throws an IllegalArgumentException at runtime if the vector is not longer than the minimum
      * required dimension.
@@ -403,6 +1161,130 @@ class Util {
         }
     }
 
+    /**
+     * Throws an IllegalArgumentException at runtime if the single-precision vector is not longer
+     * than the minimum required dimension.
+     */
+    static void verifyMinimumDimension(float[] vec, int minLength) {
+        if (vec.length < minLength) {
+            verifyMinimumDimension(widen(vec), minLength);
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the array does not have 'length' elements
+     * starting at the offset. The length is a long so that callers can pass a count of vectors
+     * multiplied by their dimension without it overflowing first.
+     */
+    static void verifyArrayRegion(double[] array, int offset, long length) {
+        if (offset < 0 || offset > array.length - length) {
+            throw new IllegalArgumentException(String.format("Expected an array with %d elements " +
+                    "from offset %d but received one of length %d", length, offset, array.length));
+        }
+    }
+
+    /**
+     * Returns the element of the matrix at the given index when its elements are laid out in the
+     * given order, for the default writeTo methods of Mat.
+     */
+    static double elementAt(Mat mat, Layout layout, int index) {
+        if (layout == Layout.COLUMN_MAJOR) {
+            int rows = mat.rows();
+            return mat.get(index % rows, index / rows);
+        }
+        int cols = mat.cols();
+        return mat.get(index / cols, index % cols);
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the buffer does not have 'length' elements
+     * remaining after its position.
+     */
+    static void verifyRemaining(Buffer buffer, int length) {
+        if (buffer.remaining() < length) {
+            throw new IllegalArgumentException(String.format("Expected a buffer with %d elements " +
+                    "remaining but received one with %d", length, buffer.remaining()));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the byte buffer does not have 'length' bytes
+     * starting at the offset.
+     */
+    static void verifyBufferRegion(ByteBuffer buffer, int offset, long length) {
+        if (offset < 0 || offset > buffer.limit() - length) {
+            throw new IllegalArgumentException(String.format("Expected a buffer with %d bytes " +
+                    "from offset %d but received one with a limit of %d", length, offset,
+                    buffer.limit()));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the single-precision array does not have
+     * 'length' elements starting at the offset.
+     */
+    static void verifyArrayRegion(float[] array, int offset, int length) {
+        if (offset < 0 || offset > array.length - length) {
+            throw new IllegalArgumentException(String.format("Expected an array with %d elements " +
+                    "from offset %d but received one of length %d", length, offset, array.length));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the array cannot be split evenly into
+     * vectors of the given size.
+     */
+    static void verifyPackedVectors(double[] array, int size) {
+        if (array.length % size != 0) {
+            throw new IllegalArgumentException(String.format("Expected an array of %d-dimensional " +
+                    "vectors but received one of length %d", size, array.length));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if 'size' vectors of the given dimension have
+     * more elements than a single array can hold, so that size * dimension would overflow.
+     */
+    static void verifyPackedSize(int size, int dimension) {
+        if (size > Integer.MAX_VALUE / dimension) {
+            throw new IllegalArgumentException(String.format("Expected at most %d " +
+                    "%d-dimensional vectors but received %d", Integer.MAX_VALUE / dimension,
+                    dimension, size));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the index is not within a vector array of
+     * the given size.
+     */
+    static void verifyValidIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException(String.format("Index %d is out of bounds of the " +
+                    "vector array of size %d", index, size));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the range from 'from' (inclusive) to 'to'
+     * (exclusive) is not within a vector array of the given size.
+     */
+    static void verifyValidRange(int from, int to, int size) {
+        if (from < 0 || to > size || from > to) {
+            throw new IllegalArgumentException(String.format("Range [%d, %d) is out of bounds of " +
+                    "the vector array of size %d", from, to, size));
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if two vector arrays are not the same size.
+     */
+    static void verifyEqualSizes(int sizeA, int sizeB) {
+        if (sizeA != sizeB) {
+            throw new IllegalArgumentException(String.format("Expected vector arrays of equal " +
+                    "size but received sizes %d and %d", sizeA, sizeB));
+        }
+    }
+
     /**
      * Throws an IllegalArgumentException at runtime if the dimensions of the matrix are not at
      * least as large as the minimum required dimensions.
@@ -441,6 +1323,18 @@ class Util {
         }
     }
 
+    /**
+     * Throws a IllegalArgumentException at runtime if the two column-major matrices with the given
+     * numbers of rows are of different dimensions.
+     */
+    static void verifyEqualDimensions(double[] matA, int rowsA, double[] matB, int rowsB) {
+        if (rowsA != rowsB || matA.length != matB.length) {
+            throw new IllegalArgumentException(String.format("Expected matrices with identical " +
+                    "dimensions but received:\n%sand:\n%s", stringify(unflatten(matA, rowsA), 2),
+                    stringify(unflatten(matB, rowsB), 2)));
+        }
+    }
+
     /**
      * Throws an IllegalArgumentException at runtime if the given row coordinate is out of bounds
      * of the
@@ -468,29 +1362,36 @@ class Util {
         }
     }
 
+    /**
+     * Throws an IllegalArgumentException at runtime if the given (row, col) coordinate is out of
+     * bounds of the column-major matrix with the given number of rows.
+     */
+    static void verifyValidCoord(double[] mat, int rows, int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= mat.length / rows) {
+            throw new IllegalArgumentException(String.format("Position at row=%d, col=%d is out " +
+                    "of bounds of the matrix:\n%s", row, col, stringify(unflatten(mat, rows), 2)));
+        }
+    }
+
     /**
      * Throws an IllegalArgumentException at runtime if the given column is out of bounds of the
-     * matrix.
+     * column-major matrix with the given number of rows.
      */
-    static void verifyValidColumn(double[][] mat, int col) {
-        try {
-            double[] column = mat[col];
-        } catch (IndexOutOfBoundsException e) {
+    static void verifyValidColumn(double[] mat, int rows, int col) {
+        if (col < 0 || col >= mat.length / rows) {
             throw new IllegalArgumentException(String.format("Column at position %d does not " +
-                    "exist in the matrix:\n%s", col, stringify(mat, 2)));
+                    "exist in the matrix:\n%s", col, stringify(unflatten(mat, rows), 2)));
         }
     }
 
     /**
      * Throws an IllegalArgumentException at runtime if the given row is out of bounds of the
-     * matrix.
+     * column-major matrix with the given number of rows.
      */
-    static void verifyValidRow(double[][] mat, int row) {
-        try {
-            double val = mat[0][row];
-        } catch (IndexOutOfBoundsException e) {
+    static void verifyValidRow(double[] mat, int rows, int row) {
+        if (row < 0 || row >= rows) {
             throw new IllegalArgumentException(String.format("Row at position %d does not " +
-                    "exist in the matrix:\n%s", row, stringify(mat, 2)));
+                    "exist in the matrix:\n%s", row, stringify(unflatten(mat, rows), 2)));
         }
     }
 
@@ -514,6 +1415,18 @@ class Util {
 
     }
 
+    /**
+     * Throws a IllegalArgumentException at runtime if the number of columns in the column-major
+     * matrix with the given number of rows does not equal the number of rows in the vector.
+     */
+    static void verifyOperableDimensions(double[] mat, int rows, double[] vec) {
+        if (mat.length / rows != vec.length) {
+            throw new IllegalArgumentException(String.format("Expected the number of columns in a" +
+                    " matrix to equal the number of rows in the vector but received:\n%sand:\n%s",
+                    stringify(unflatten(mat, rows), 2), stringify(vec, 2)));
+        }
+    }
+
     /**
      * Throws a IllegalArgumentException at runtime if the two matrices are of dimensions that
      * are not compatible for an operation like matrix multiplication, where the number of columns
@@ -534,6 +1447,42 @@ class Util {
         }
     }
 
+    /**
+     * Throws a IllegalArgumentException at runtime if the number of columns in the first
+     * column-major matrix does not equal the number of rows in the second.
+     */
+    static void verifyOperableDimensions(double[] matA, int rowsA, double[] matB, int rowsB) {
+        if (matA.length / rowsA != rowsB) {
+            throw new IllegalArgumentException(String.format("Expected matrices with dimensions " +
+                    "compatible for operations but received:\n%sand:\n%s",
+                    stringify(unflatten(matA, rowsA), 2), stringify(unflatten(matB, rowsB), 2)));
+        }
+    }
+
+    /**
+     * Throws a IllegalArgumentException at runtime if the two column-major matrices with the given
+     * numbers of rows do not have the same number of rows.
+     */
+    static void verifyEqualRows(double[] matA, int rowsA, double[] matB, int rowsB) {
+        if (rowsA != rowsB) {
+            throw new IllegalArgumentException(String.format("Expected matrices with the same " +
+                    "number of rows but received:\n%sand:\n%s", stringify(unflatten(matA, rowsA),
+                    2), stringify(unflatten(matB, rowsB), 2)));
+        }
+    }
+
+    /**
+     * Throws a IllegalArgumentException at runtime if the two column-major matrices with the given
+     * numbers of rows do not have the same number of columns.
+     */
+    static void verifyEqualColumns(double[] matA, int rowsA, double[] matB, int rowsB) {
+        if (matA.length / rowsA != matB.length / rowsB) {
+            throw new IllegalArgumentException(String.format("Expected matrices with the same " +
+                    "number of columns but received:\n%sand:\n%s",
+                    stringify(unflatten(matA, rowsA), 2), stringify(unflatten(matB, rowsB), 2)));
+        }
+    }
+
     /**
      * Throws a IllegalArgumentException at runtime if the matrix has column vectors with different
      * lengths. The expected length is set as the length of the first (left-most) column vector, and
@@ -567,12 +1516,55 @@ class Util {
     }
 
     /**
-     * Throws an InvalidInputException at runtime if the given matrix is not invertible.
+     * Throws an IllegalArgumentException at runtime if the given matrix is not invertible.
      */
     static void verifyInvertibleMatrix(double[][] mat) {
-        if (determinant(mat) == 0.0f) {
+        verifySquareMatrix(mat);
+        double[] flat = flatten(mat);
+        double[] lu = flat.clone();
+        double scale = maxAbs(lu);
+        decomposeLU(lu, mat.length, null);
+        verifyInvertibleLU(flat, mat.length, lu, scale);
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the N x N column-major matrix is not
+     * symmetric.
+     */
+    static void verifySymmetricMatrix(double[] mat, int n) {
+        for (int c = 1; c < n; c++) {
+            for (int r = 0; r < c; r++) {
+                if (mat[c * n + r] != mat[r * n + c]) {
+                    throw new IllegalArgumentException(String.format("Expected a symmetric matrix" +
+                            " but received:\n%s", stringify(unflatten(mat, n), 2)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the given N x N column-major triangular
+     * matrix is not invertible, meaning one of its diagonal elements is negligible relative to the
+     * largest magnitude element of the matrix.
+     */
+    static void verifyInvertibleTriangular(double[] mat, int n) {
+        double tolerance = n * maxAbs(mat) * Math.ulp(1.0);
+        for (int i = 0; i < n; i++) {
+            if (Math.abs(mat[i * n + i]) <= tolerance) {
+                throw new IllegalArgumentException(String.format("Expected an invertible matrix " +
+                        "but received:\n%s", stringify(unflatten(mat, n), 2)));
+            }
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException at runtime if the LU factors of the N x N column-major
+     * matrix are singular to working precision.
+     */
+    static void verifyInvertibleLU(double[] mat, int n, double[] lu, double scale) {
+        if (isSingularLU(lu, n, scale)) {
             throw new IllegalArgumentException(String.format("Expected an invertible matrix but " +
-                    "received:\n%s", stringify(mat, 2)));
+                    "received:\n%s", stringify(unflatten(mat, n), 2)));
         }
     }
 }
@@ -1,5 +1,9 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * The definition of the core functionality for a generalized vector.
  */
@@ -84,4 +88,53 @@ public interface Vec extends Iterable<Double> {
      */
     double[] toArray();
 
+    /**
+     * Writes the elements of the vector into a float buffer, starting at the position of the
+     * buffer and advancing it. Each element is rounded to the nearest float, and no intermediate
+     * arrays are created. The default implementation reads each element with {@link #get(int)}.
+     *
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    default void writeTo(FloatBuffer buffer) {
+        int size = size();
+        Util.verifyRemaining(buffer, size);
+        for (int i = 0; i < size; i++) {
+            buffer.put((float) get(i));
+        }
+    }
+
+    /**
+     * Writes the elements of the vector into a double buffer, starting at the position of the
+     * buffer and advancing it. The default implementation writes the array from
+     * {@link #toArray()}.
+     *
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    default void writeTo(DoubleBuffer buffer) {
+        double[] elements = toArray();
+        Util.verifyRemaining(buffer, elements.length);
+        buffer.put(elements);
+    }
+
+    /**
+     * Writes the elements of the vector into a byte buffer as 4-byte floats, using the byte order
+     * of the buffer. The elements are written at the absolute byte offset, so the position of the
+     * buffer is left unchanged. The default implementation reads each element with
+     * {@link #get(int)}.
+     *
+     * @param buffer the buffer to write into.
+     * @param offset the byte index of the first element.
+     * @throws IllegalArgumentException if the buffer does not have room for every element from the
+     * offset.
+     */
+    default void writeTo(ByteBuffer buffer, int offset) {
+        int size = size();
+        Util.verifyBufferRegion(buffer, offset, size * Float.BYTES);
+        for (int i = 0; i < size; i++) {
+            buffer.putFloat(offset + i * Float.BYTES, (float) get(i));
+        }
+    }
+
 }
@@ -1,10 +1,17 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * A vector of dimension 2.
  */
 public class Vec2 extends VecN {
 
+    final double x;
+    final double y;
+
     /**
      * Constructs a Vec2 from the first two values of an array. The array must contain at least two
      * values. The order of the elements is preserved.
@@ -13,8 +20,9 @@ public class Vec2 extends VecN {
      * @throws IllegalArgumentException if the array does not contain at least two elements.
      */
     public Vec2(double[] array) {
-        super(array);
         Util.verifyMinimumDimension(array, 2);
+        this.x = array[0];
+        this.y = array[1];
     }
 
     /**
@@ -25,7 +33,7 @@ public class Vec2 extends VecN {
      * @throws IllegalArgumentException if the vector does not contain at least two elements.
      */
     public Vec2(Vec vec) {
-        super(vec, 2);
+        this(vec.toArray());
     }
 
     /**
@@ -35,7 +43,8 @@ public class Vec2 extends VecN {
      * @param y the y element.
      */
     public Vec2(double x, double y) {
-        this(new double[]{x, y});
+        this.x = x;
+        this.y = y;
     }
 
     /**
@@ -44,7 +53,7 @@ public class Vec2 extends VecN {
      * @return the x element.
      */
     public double x() {
-        return get(0);
+        return x;
     }
 
     /**
@@ -53,7 +62,43 @@ public class Vec2 extends VecN {
      * @return the y element.
      */
     public double y() {
-        return get(1);
+        return y;
+    }
+
+    @Override
+    double[] elements() {
+        return new double[]{x, y};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get(int i) {
+        switch (i) {
+            case 0:
+                return x;
+            case 1:
+                return y;
+            default:
+                return super.get(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double magnitude() {
+        return Math.sqrt(x * x + y * y);
     }
 
     /**
@@ -61,7 +106,8 @@ public class Vec2 extends VecN {
      */
     @Override
     public Vec2 normalize() {
-        return new Vec2(super.normalize().vector);
+        double magnitude = magnitude();
+        return new Vec2(x / magnitude, y / magnitude);
     }
 
     /**
@@ -69,7 +115,7 @@ public class Vec2 extends VecN {
      */
     @Override
     public Vec2 invert() {
-        return new Vec2(super.invert().vector);
+        return new Vec2(-x, -y);
     }
 
     /**
@@ -77,7 +123,7 @@ public class Vec2 extends VecN {
      */
     @Override
     public Vec2 scale(double scalar) {
-        return new Vec2(super.scale(scalar).vector);
+        return new Vec2(x * scalar, y * scalar);
     }
 
     /**
@@ -85,6 +131,10 @@ public class Vec2 extends VecN {
      */
     @Override
     public Vec2 add(Vec vec) {
+        if (vec instanceof Vec2) {
+            Vec2 other = (Vec2) vec;
+            return new Vec2(x + other.x, y + other.y);
+        }
         return new Vec2(super.add(vec).vector);
     }
 
@@ -93,7 +143,83 @@ public class Vec2 extends VecN {
      */
     @Override
     public Vec2 subtract(Vec vec) {
+        if (vec instanceof Vec2) {
+            Vec2 other = (Vec2) vec;
+            return new Vec2(x - other.x, y - other.y);
+        }
         return new Vec2(super.subtract(vec).vector);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double dot(Vec vec) {
+        if (vec instanceof Vec2) {
+            Vec2 other = (Vec2) vec;
+            return x * other.x + y * other.y;
+        }
+        return super.dot(vec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] toArray() {
+        return new double[]{x, y};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer) {
+        Util.verifyRemaining(buffer, 2);
+        buffer.put((float) x).put((float) y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer) {
+        Util.verifyRemaining(buffer, 2);
+        buffer.put(x).put(y);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset) {
+        Util.verifyBufferRegion(buffer, offset, 2 * Float.BYTES);
+        buffer.putFloat(offset, (float) x).putFloat(offset + 4, (float) y);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec2 vec = (Vec2) obj;
+        return Double.compare(x, vec.x) == 0 && Double.compare(y, vec.y) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec2 vec = (Vec2) obj;
+        return Math.abs(vec.x - x) <= error && Math.abs(vec.y - y) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(x);
+        hash = 31 * hash + Double.hashCode(y);
+        return hash;
+    }
+
 }
@@ -0,0 +1,218 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * A vector of exactly two single-precision elements. It mirrors the operations of {@link Vec2}
+ * in half the memory, for bulk data such as vertices that does not need double precision.
+ */
+public class Vec2f {
+
+    final float x;
+    final float y;
+
+    /**
+     * Constructs a Vec2f from the first two values of an array. The array must contain at least
+     * two values. The order of the elements is preserved.
+     *
+     * @param array an array containing at least two elements.
+     * @throws IllegalArgumentException if the array does not contain at least two elements.
+     */
+    public Vec2f(float[] array) {
+        Util.verifyMinimumDimension(array, 2);
+        this.x = array[0];
+        this.y = array[1];
+    }
+
+    /**
+     * Constructs a Vec2f from x and y elements.
+     *
+     * @param x the x element.
+     * @param y the y element.
+     */
+    public Vec2f(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Constructs a Vec2f from a Vec2, rounding each element to the nearest float.
+     *
+     * @param vec the double-precision vector.
+     */
+    public Vec2f(Vec2 vec) {
+        this((float) vec.x, (float) vec.y);
+    }
+
+    /**
+     * Gets the x element.
+     *
+     * @return the x element.
+     */
+    public float x() {
+        return x;
+    }
+
+    /**
+     * Gets the y element.
+     *
+     * @return the y element.
+     */
+    public float y() {
+        return y;
+    }
+
+    /**
+     * Converts this vector to double precision. Every float is exactly representable as a double,
+     * so no precision is lost.
+     *
+     * @return the double-precision vector.
+     */
+    public Vec2 toVec2() {
+        return new Vec2(x, y);
+    }
+
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param i the index of the element.
+     * @return the element at the index.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public float get(int i) {
+        switch (i) {
+            case 0:
+                return x;
+            case 1:
+                return y;
+            default:
+                throw new IllegalArgumentException(String.format("Position at row=%d is out of " +
+                        "bounds of the vector:\n%s", i, toString(2)));
+        }
+    }
+
+    /**
+     * Returns the number of elements, which is always two.
+     *
+     * @return the size of the vector.
+     */
+    public int size() {
+        return 2;
+    }
+
+    /**
+     * Calculates the magnitude (length) of this vector.
+     *
+     * @return the magnitude.
+     */
+    public float magnitude() {
+        return (float) Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * Returns the vector of length one in the same direction as this vector.
+     *
+     * @return the normalized vector.
+     */
+    public Vec2f normalize() {
+        float magnitude = magnitude();
+        return new Vec2f(x / magnitude, y / magnitude);
+    }
+
+    /**
+     * Returns the vector in the opposite direction of this vector.
+     *
+     * @return the inverted vector.
+     */
+    public Vec2f invert() {
+        return new Vec2f(-x, -y);
+    }
+
+    /**
+     * Returns this vector with every element multiplied by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return the scaled vector.
+     */
+    public Vec2f scale(float scalar) {
+        return new Vec2f(x * scalar, y * scalar);
+    }
+
+    /**
+     * Returns the element-wise sum of this vector and another.
+     *
+     * @param vec the vector to add.
+     * @return the sum.
+     */
+    public Vec2f add(Vec2f vec) {
+        return new Vec2f(x + vec.x, y + vec.y);
+    }
+
+    /**
+     * Returns the element-wise difference of this vector and another.
+     *
+     * @param vec the vector to subtract.
+     * @return the difference.
+     */
+    public Vec2f subtract(Vec2f vec) {
+        return new Vec2f(x - vec.x, y - vec.y);
+    }
+
+    /**
+     * Calculates the dot product of this vector and another.
+     *
+     * @param vec the other vector.
+     * @return the dot product.
+     */
+    public float dot(Vec2f vec) {
+        return x * vec.x + y * vec.y;
+    }
+
+    /**
+     * Returns a copy of the elements of this vector.
+     *
+     * @return the array of elements.
+     */
+    public float[] toArray() {
+        return new float[]{x, y};
+    }
+
+    @Override
+    public String toString() {
+        return Util.stringify(Util.widen(toArray()));
+    }
+
+    /**
+     * Creates a string representation of the vector with the specified number of decimals.
+     *
+     * @param decimals the number of decimals for each element.
+     * @return the string representation.
+     * @throws IllegalArgumentException if the specified decimal amount is less than zero.
+     */
+    public String toString(int decimals) {
+        return Util.stringify(Util.widen(toArray()), decimals);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec2f vec = (Vec2f) obj;
+        return Float.compare(x, vec.x) == 0 && Float.compare(y, vec.y) == 0;
+    }
+
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec2f vec = (Vec2f) obj;
+        return Math.abs(vec.x - x) <= error && Math.abs(vec.y - y) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Float.hashCode(x);
+        hash = 31 * hash + Float.hashCode(y);
+        return hash;
+    }
+
+}
@@ -1,10 +1,18 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * A vector of dimension 3.
  */
 public class Vec3 extends VecN implements CrossProductVec {
 
+    final double x;
+    final double y;
+    final double z;
+
     /**
      * Constructs a Vec3 from the first three values of an array. The array must contain at least
      * three values. The order of the elements is preserved.
@@ -13,8 +21,10 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @throws IllegalArgumentException if the array does not contain at least three elements.
      */
     public Vec3(double[] array) {
-        super(array);
         Util.verifyMinimumDimension(array, 3);
+        this.x = array[0];
+        this.y = array[1];
+        this.z = array[2];
     }
 
     /**
@@ -25,7 +35,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @throws IllegalArgumentException if the vector does not contain at least three elements.
      */
     public Vec3(Vec vec) {
-        super(vec, 3);
+        this(vec.toArray());
     }
 
     /**
@@ -36,7 +46,9 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @param z the z element.
      */
     public Vec3(double x, double y, double z) {
-        this(new double[]{x, y, z});
+        this.x = x;
+        this.y = y;
+        this.z = z;
     }
 
     /**
@@ -47,7 +59,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @param z the w element.
      */
     public Vec3(Vec2 vec2, double z) {
-        this(new double[]{vec2.x(), vec2.y(), z});
+        this(vec2.x, vec2.y, z);
     }
 
     /**
@@ -56,7 +68,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @return the x element.
      */
     public double x() {
-        return get(0);
+        return x;
     }
 
     /**
@@ -65,7 +77,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @return the y element.
      */
     public double y() {
-        return get(1);
+        return y;
     }
 
     /**
@@ -74,7 +86,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @return the z element.
      */
     public double z() {
-        return get(2);
+        return z;
     }
 
     /**
@@ -83,7 +95,45 @@ public class Vec3 extends VecN implements CrossProductVec {
      * @return the xy 2-dimensional vector.
      */
     public Vec2 xy() {
-        return new Vec2(x(), y());
+        return new Vec2(x, y);
+    }
+
+    @Override
+    double[] elements() {
+        return new double[]{x, y, z};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get(int i) {
+        switch (i) {
+            case 0:
+                return x;
+            case 1:
+                return y;
+            case 2:
+                return z;
+            default:
+                return super.get(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return 3;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double magnitude() {
+        return Math.sqrt(x * x + y * y + z * z);
     }
 
     /**
@@ -91,7 +141,8 @@ public class Vec3 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec3 normalize() {
-        return new Vec3(super.normalize().vector);
+        double magnitude = magnitude();
+        return new Vec3(x / magnitude, y / magnitude, z / magnitude);
     }
 
     /**
@@ -99,7 +150,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec3 scale(double scalar) {
-        return new Vec3(super.scale(scalar).vector);
+        return new Vec3(x * scalar, y * scalar, z * scalar);
     }
 
     /**
@@ -107,7 +158,7 @@ public class Vec3 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec3 invert() {
-        return new Vec3(super.invert().vector);
+        return new Vec3(-x, -y, -z);
     }
 
     /**
@@ -115,6 +166,10 @@ public class Vec3 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec3 add(Vec vec) {
+        if (vec instanceof Vec3) {
+            Vec3 other = (Vec3) vec;
+            return new Vec3(x + other.x, y + other.y, z + other.z);
+        }
         return new Vec3(super.add(vec).vector);
     }
 
@@ -123,15 +178,110 @@ public class Vec3 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec3 subtract(Vec vec) {
+        if (vec instanceof Vec3) {
+            Vec3 other = (Vec3) vec;
+            return new Vec3(x - other.x, y - other.y, z - other.z);
+        }
         return new Vec3(super.subtract(vec).vector);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double dot(Vec vec) {
+        if (vec instanceof Vec3) {
+            Vec3 other = (Vec3) vec;
+            return x * other.x + y * other.y + z * other.z;
+        }
+        return super.dot(vec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] toArray() {
+        return new double[]{x, y, z};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer) {
+        Util.verifyRemaining(buffer, 3);
+        buffer.put((float) x).put((float) y).put((float) z);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer) {
+        Util.verifyRemaining(buffer, 3);
+        buffer.put(x).put(y).put(z);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset) {
+        Util.verifyBufferRegion(buffer, offset, 3 * Float.BYTES);
+        buffer.putFloat(offset, (float) x).putFloat(offset + 4, (float) y)
+                .putFloat(offset + 8, (float) z);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Vec3 cross(CrossProductVec vec) {
-        return new Vec3(Util.cross(vector, vec.toArray()));
+        if (vec instanceof Vec3) {
+            Vec3 other = (Vec3) vec;
+            return cross(other.x, other.y, other.z);
+        }
+        if (vec instanceof Vec4) {
+            Vec4 other = (Vec4) vec;
+            return cross(other.x, other.y, other.z);
+        }
+        return new Vec3(Util.cross(elements(), vec.toArray()));
+    }
+
+    /**
+     * Returns the cross product of this vector with the x, y and z elements of another.
+     */
+    private Vec3 cross(double otherX, double otherY, double otherZ) {
+        return new Vec3(y * otherZ - z * otherY, z * otherX - x * otherZ, x * otherY - y * otherX);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec3 vec = (Vec3) obj;
+        return Double.compare(x, vec.x) == 0 && Double.compare(y, vec.y) == 0
+                && Double.compare(z, vec.z) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec3 vec = (Vec3) obj;
+        return Math.abs(vec.x - x) <= error && Math.abs(vec.y - y) <= error
+                && Math.abs(vec.z - z) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(x);
+        hash = 31 * hash + Double.hashCode(y);
+        hash = 31 * hash + Double.hashCode(z);
+        return hash;
     }
 
 }
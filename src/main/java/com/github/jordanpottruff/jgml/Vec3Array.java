@@ -0,0 +1,447 @@
+package com.github.jordanpottruff.jgml;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * A fixed-size array of 3-dimensional vectors stored back to back in one contiguous double
+ * array (x0, y0, z0, x1, y1, z1, ...), so that large amounts of vertex data can be operated on
+ * without creating a {@link Vec3} object per element.
+ * <p>
+ * Unlike the vector classes, a Vec3Array is mutable: the bulk operations update the vectors in
+ * place and return this array so they can be chained. A {@link #slice(int, int) slice} shares
+ * the storage of the array it was taken from, so changes made through either are visible in
+ * both.
+ */
+public class Vec3Array {
+
+    final double[] data;
+    final int offset;
+    final int size;
+
+    /**
+     * Constructs a Vec3Array of the given number of vectors, with every element set to zero.
+     *
+     * @param size the number of vectors.
+     * @throws IllegalArgumentException if the size is negative.
+     * @throws IllegalArgumentException if the size is too large for the elements to fit in an
+     *                                  array.
+     */
+    public Vec3Array(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(String.format("Expected a non-negative size " +
+                    "but received %d", size));
+        }
+        Util.verifyPackedSize(size, 3);
+        this.data = new double[size * 3];
+        this.offset = 0;
+        this.size = size;
+    }
+
+    /**
+     * Constructs a Vec3Array from a copy of an array of packed elements, where every three
+     * consecutive values make up one vector.
+     *
+     * @param array the packed elements.
+     * @throws IllegalArgumentException if the length of the array is not a multiple of three.
+     */
+    public Vec3Array(double[] array) {
+        Util.verifyPackedVectors(array, 3);
+        this.data = array.clone();
+        this.offset = 0;
+        this.size = array.length / 3;
+    }
+
+    /**
+     * Constructs a Vec3Array holding the elements of the given vectors, in order.
+     *
+     * @param vectors the vectors to copy.
+     */
+    public Vec3Array(Vec3... vectors) {
+        this(vectors.length);
+        for (int i = 0, j = 0; i < vectors.length; i++, j += 3) {
+            Vec3 vec = vectors[i];
+            data[j] = vec.x;
+            data[j + 1] = vec.y;
+            data[j + 2] = vec.z;
+        }
+    }
+
+    /**
+     * Constructs a view of 'size' vectors of the backing array, starting at the vector at index
+     * 'offset'. The array is kept rather than copied.
+     */
+    Vec3Array(double[] data, int offset, int size) {
+        this.data = data;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of vectors in this array.
+     *
+     * @return the size of the array.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a Vec3 from the vector at the given index.
+     *
+     * @param i the index of the vector.
+     * @return the vector at the index.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public Vec3 get(int i) {
+        Util.verifyValidIndex(i, size);
+        int j = (offset + i) * 3;
+        return new Vec3(data[j], data[j + 1], data[j + 2]);
+    }
+
+    /**
+     * Gets the x element of the vector at the given index.
+     *
+     * @param i the index of the vector.
+     * @return the x element.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public double x(int i) {
+        Util.verifyValidIndex(i, size);
+        return data[(offset + i) * 3];
+    }
+
+    /**
+     * Gets the y element of the vector at the given index.
+     *
+     * @param i the index of the vector.
+     * @return the y element.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public double y(int i) {
+        Util.verifyValidIndex(i, size);
+        return data[(offset + i) * 3 + 1];
+    }
+
+    /**
+     * Gets the z element of the vector at the given index.
+     *
+     * @param i the index of the vector.
+     * @return the z element.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public double z(int i) {
+        Util.verifyValidIndex(i, size);
+        return data[(offset + i) * 3 + 2];
+    }
+
+    /**
+     * Sets the vector at the given index to the elements of a Vec3.
+     *
+     * @param i the index of the vector.
+     * @param vec the new value of the vector.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public void set(int i, Vec3 vec) {
+        set(i, vec.x, vec.y, vec.z);
+    }
+
+    /**
+     * Sets the elements of the vector at the given index.
+     *
+     * @param i the index of the vector.
+     * @param x the x element.
+     * @param y the y element.
+     * @param z the z element.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public void set(int i, double x, double y, double z) {
+        Util.verifyValidIndex(i, size);
+        int j = (offset + i) * 3;
+        data[j] = x;
+        data[j + 1] = y;
+        data[j + 2] = z;
+    }
+
+    /**
+     * Returns a view of the vectors from index 'from' (inclusive) to 'to' (exclusive). The
+     * view shares the storage of this array rather than copying it.
+     *
+     * @param from the index of the first vector of the slice.
+     * @param to the index after the last vector of the slice.
+     * @return the slice.
+     * @throws IllegalArgumentException if the range is out of bounds or 'from' is after 'to'.
+     */
+    public Vec3Array slice(int from, int to) {
+        Util.verifyValidRange(from, to, size);
+        return new Vec3Array(data, offset + from, to - from);
+    }
+
+    /**
+     * Returns a copy of this array with its own storage.
+     *
+     * @return the copy.
+     */
+    public Vec3Array copy() {
+        return new Vec3Array(toArray(), 0, size);
+    }
+
+    /**
+     * Adds each vector of another array to the vector at the same index of this array.
+     *
+     * @param vectors the array of vectors to add.
+     * @return this array.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public Vec3Array add(Vec3Array vectors) {
+        Util.verifyEqualSizes(size, vectors.size);
+        double[] other = vectors.data;
+        int k = vectors.offset * 3;
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            data[j] += other[k];
+            data[j + 1] += other[k + 1];
+            data[j + 2] += other[k + 2];
+            k += 3;
+        }
+        return this;
+    }
+
+    /**
+     * Adds a vector to every vector of this array.
+     *
+     * @param vec the vector to add.
+     * @return this array.
+     */
+    public Vec3Array add(Vec3 vec) {
+        double x = vec.x, y = vec.y, z = vec.z;
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            data[j] += x;
+            data[j + 1] += y;
+            data[j + 2] += z;
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts each vector of another array from the vector at the same index of this array.
+     *
+     * @param vectors the array of vectors to subtract.
+     * @return this array.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public Vec3Array subtract(Vec3Array vectors) {
+        Util.verifyEqualSizes(size, vectors.size);
+        double[] other = vectors.data;
+        int k = vectors.offset * 3;
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            data[j] -= other[k];
+            data[j + 1] -= other[k + 1];
+            data[j + 2] -= other[k + 2];
+            k += 3;
+        }
+        return this;
+    }
+
+    /**
+     * Subtracts a vector from every vector of this array.
+     *
+     * @param vec the vector to subtract.
+     * @return this array.
+     */
+    public Vec3Array subtract(Vec3 vec) {
+        double x = vec.x, y = vec.y, z = vec.z;
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            data[j] -= x;
+            data[j + 1] -= y;
+            data[j + 2] -= z;
+        }
+        return this;
+    }
+
+    /**
+     * Multiplies every element of this array by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return this array.
+     */
+    public Vec3Array scale(double scalar) {
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j++) {
+            data[j] *= scalar;
+        }
+        return this;
+    }
+
+    /**
+     * Scales every vector of this array to a length of one, keeping its direction.
+     *
+     * @return this array.
+     */
+    public Vec3Array normalize() {
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            double x = data[j];
+            double y = data[j + 1];
+            double z = data[j + 2];
+            double magnitude = Math.sqrt(x * x + y * y + z * z);
+            data[j] = x / magnitude;
+            data[j + 1] = y / magnitude;
+            data[j + 2] = z / magnitude;
+        }
+        return this;
+    }
+
+    /**
+     * Calculates the dot product of each vector of this array with the vector at the same index
+     * of another array.
+     *
+     * @param vectors the other array of vectors.
+     * @return an array holding the dot product for each index.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public double[] dot(Vec3Array vectors) {
+        Util.verifyEqualSizes(size, vectors.size);
+        double[] other = vectors.data;
+        double[] result = new double[size];
+        int k = vectors.offset * 3;
+        for (int i = 0, j = offset * 3; i < size; i++, j += 3, k += 3) {
+            result[i] = data[j] * other[k] + data[j + 1] * other[k + 1]
+                    + data[j + 2] * other[k + 2];
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the dot product of each vector of this array with a single vector.
+     *
+     * @param vec the other vector.
+     * @return an array holding the dot product for each index.
+     */
+    public double[] dot(Vec3 vec) {
+        double x = vec.x, y = vec.y, z = vec.z;
+        double[] result = new double[size];
+        for (int i = 0, j = offset * 3; i < size; i++, j += 3) {
+            result[i] = data[j] * x + data[j + 1] * y + data[j + 2] * z;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces each vector of this array with its cross product with the vector at the same
+     * index of another array.
+     *
+     * @param vectors the other array of vectors.
+     * @return this array.
+     * @throws IllegalArgumentException if the arrays are not the same size.
+     */
+    public Vec3Array cross(Vec3Array vectors) {
+        Util.verifyEqualSizes(size, vectors.size);
+        double[] other = vectors.data;
+        int k = vectors.offset * 3;
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            cross(j, other[k], other[k + 1], other[k + 2]);
+            k += 3;
+        }
+        return this;
+    }
+
+    /**
+     * Replaces each vector of this array with its cross product with a single vector.
+     *
+     * @param vec the other vector.
+     * @return this array.
+     */
+    public Vec3Array cross(Vec3 vec) {
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j += 3) {
+            cross(j, vec.x, vec.y, vec.z);
+        }
+        return this;
+    }
+
+    /**
+     * Replaces the vector starting at element 'j' of the backing array with its cross product
+     * with the given elements.
+     */
+    private void cross(int j, double otherX, double otherY, double otherZ) {
+        double x = data[j], y = data[j + 1], z = data[j + 2];
+        data[j] = y * otherZ - z * otherY;
+        data[j + 1] = z * otherX - x * otherZ;
+        data[j + 2] = x * otherY - y * otherX;
+    }
+
+    /**
+     * Returns a copy of the packed elements of this array.
+     *
+     * @return the array of elements.
+     */
+    public double[] toArray() {
+        double[] array = new double[size * 3];
+        System.arraycopy(data, offset * 3, array, 0, array.length);
+        return array;
+    }
+
+    /**
+     * Writes the packed elements of this array into a float buffer, starting at the position of
+     * the buffer and advancing it. Each element is rounded to the nearest float.
+     *
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    public void writeTo(FloatBuffer buffer) {
+        Util.verifyRemaining(buffer, size * 3);
+        int end = (offset + size) * 3;
+        for (int j = offset * 3; j < end; j++) {
+            buffer.put((float) data[j]);
+        }
+    }
+
+    /**
+     * Writes the packed elements of this array into a double buffer, starting at the position of
+     * the buffer and advancing it.
+     *
+     * @param buffer the buffer to write into.
+     * @throws IllegalArgumentException if the buffer does not have room for every element.
+     */
+    public void writeTo(DoubleBuffer buffer) {
+        Util.verifyRemaining(buffer, size * 3);
+        buffer.put(data, offset * 3, size * 3);
+    }
+
+    /**
+     * Writes the packed elements of this array into a byte buffer as 4-byte floats, using the
+     * byte order of the buffer. The first element is written at the absolute byte offset, and the
+     * position of the buffer is left unchanged.
+     *
+     * @param buffer the buffer to write into.
+     * @param offset the byte index of the first element.
+     * @throws IllegalArgumentException if the buffer does not have room for every element from the
+     * offset.
+     */
+    public void writeTo(ByteBuffer buffer, int offset) {
+        Util.verifyBufferRegion(buffer, offset, size * 3L * Float.BYTES);
+        int end = (this.offset + size) * 3;
+        for (int j = this.offset * 3; j < end; j++, offset += Float.BYTES) {
+            buffer.putFloat(offset, (float) data[j]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append("\n");
+            }
+            result.append(get(i));
+        }
+        return result.toString();
+    }
+
+}
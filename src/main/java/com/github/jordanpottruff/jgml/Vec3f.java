@@ -0,0 +1,265 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * A vector of exactly three single-precision elements. It mirrors the operations of {@link Vec3}
+ * in half the memory, for bulk data such as vertices that does not need double precision.
+ */
+public class Vec3f {
+
+    final float x;
+    final float y;
+    final float z;
+
+    /**
+     * Constructs a Vec3f from the first three values of an array. The array must contain at least
+     * three values. The order of the elements is preserved.
+     *
+     * @param array an array containing at least three elements.
+     * @throws IllegalArgumentException if the array does not contain at least three elements.
+     */
+    public Vec3f(float[] array) {
+        Util.verifyMinimumDimension(array, 3);
+        this.x = array[0];
+        this.y = array[1];
+        this.z = array[2];
+    }
+
+    /**
+     * Constructs a Vec3f from x, y, and z elements.
+     *
+     * @param x the x element.
+     * @param y the y element.
+     * @param z the z element.
+     */
+    public Vec3f(float x, float y, float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Constructs a Vec3f from a Vec2f and a z element.
+     *
+     * @param vec2 the vector representing the x and y elements.
+     * @param z the z element.
+     */
+    public Vec3f(Vec2f vec2, float z) {
+        this(vec2.x, vec2.y, z);
+    }
+
+    /**
+     * Constructs a Vec3f from a Vec3, rounding each element to the nearest float.
+     *
+     * @param vec the double-precision vector.
+     */
+    public Vec3f(Vec3 vec) {
+        this((float) vec.x, (float) vec.y, (float) vec.z);
+    }
+
+    /**
+     * Gets the x element.
+     *
+     * @return the x element.
+     */
+    public float x() {
+        return x;
+    }
+
+    /**
+     * Gets the y element.
+     *
+     * @return the y element.
+     */
+    public float y() {
+        return y;
+    }
+
+    /**
+     * Gets the z element.
+     *
+     * @return the z element.
+     */
+    public float z() {
+        return z;
+    }
+
+    /**
+     * Creates a Vec2f from the xy elements of this vector.
+     *
+     * @return the xy 2-dimensional vector.
+     */
+    public Vec2f xy() {
+        return new Vec2f(x, y);
+    }
+
+    /**
+     * Converts this vector to double precision. Every float is exactly representable as a double,
+     * so no precision is lost.
+     *
+     * @return the double-precision vector.
+     */
+    public Vec3 toVec3() {
+        return new Vec3(x, y, z);
+    }
+
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param i the index of the element.
+     * @return the element at the index.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public float get(int i) {
+        switch (i) {
+            case 0:
+                return x;
+            case 1:
+                return y;
+            case 2:
+                return z;
+            default:
+                throw new IllegalArgumentException(String.format("Position at row=%d is out of " +
+                        "bounds of the vector:\n%s", i, toString(2)));
+        }
+    }
+
+    /**
+     * Returns the number of elements, which is always three.
+     *
+     * @return the size of the vector.
+     */
+    public int size() {
+        return 3;
+    }
+
+    /**
+     * Calculates the magnitude (length) of this vector.
+     *
+     * @return the magnitude.
+     */
+    public float magnitude() {
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Returns the vector of length one in the same direction as this vector.
+     *
+     * @return the normalized vector.
+     */
+    public Vec3f normalize() {
+        float magnitude = magnitude();
+        return new Vec3f(x / magnitude, y / magnitude, z / magnitude);
+    }
+
+    /**
+     * Returns the vector in the opposite direction of this vector.
+     *
+     * @return the inverted vector.
+     */
+    public Vec3f invert() {
+        return new Vec3f(-x, -y, -z);
+    }
+
+    /**
+     * Returns this vector with every element multiplied by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return the scaled vector.
+     */
+    public Vec3f scale(float scalar) {
+        return new Vec3f(x * scalar, y * scalar, z * scalar);
+    }
+
+    /**
+     * Returns the element-wise sum of this vector and another.
+     *
+     * @param vec the vector to add.
+     * @return the sum.
+     */
+    public Vec3f add(Vec3f vec) {
+        return new Vec3f(x + vec.x, y + vec.y, z + vec.z);
+    }
+
+    /**
+     * Returns the element-wise difference of this vector and another.
+     *
+     * @param vec the vector to subtract.
+     * @return the difference.
+     */
+    public Vec3f subtract(Vec3f vec) {
+        return new Vec3f(x - vec.x, y - vec.y, z - vec.z);
+    }
+
+    /**
+     * Calculates the dot product of this vector and another.
+     *
+     * @param vec the other vector.
+     * @return the dot product.
+     */
+    public float dot(Vec3f vec) {
+        return x * vec.x + y * vec.y + z * vec.z;
+    }
+
+    /**
+     * Calculates the cross product of this vector and another.
+     *
+     * @param vec the other vector.
+     * @return the cross product.
+     */
+    public Vec3f cross(Vec3f vec) {
+        return new Vec3f(y * vec.z - z * vec.y, z * vec.x - x * vec.z, x * vec.y - y * vec.x);
+    }
+
+    /**
+     * Returns a copy of the elements of this vector.
+     *
+     * @return the array of elements.
+     */
+    public float[] toArray() {
+        return new float[]{x, y, z};
+    }
+
+    @Override
+    public String toString() {
+        return Util.stringify(Util.widen(toArray()));
+    }
+
+    /**
+     * Creates a string representation of the vector with the specified number of decimals.
+     *
+     * @param decimals the number of decimals for each element.
+     * @return the string representation.
+     * @throws IllegalArgumentException if the specified decimal amount is less than zero.
+     */
+    public String toString(int decimals) {
+        return Util.stringify(Util.widen(toArray()), decimals);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec3f vec = (Vec3f) obj;
+        return Float.compare(x, vec.x) == 0 && Float.compare(y, vec.y) == 0
+                && Float.compare(z, vec.z) == 0;
+    }
+
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec3f vec = (Vec3f) obj;
+        return Math.abs(vec.x - x) <= error && Math.abs(vec.y - y) <= error
+                && Math.abs(vec.z - z) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Float.hashCode(x);
+        hash = 31 * hash + Float.hashCode(y);
+        hash = 31 * hash + Float.hashCode(z);
+        return hash;
+    }
+
+}
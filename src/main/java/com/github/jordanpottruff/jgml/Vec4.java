@@ -1,10 +1,19 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 /**
  * A vector of dimension 4.
  */
 public class Vec4 extends VecN implements CrossProductVec {
 
+    final double x;
+    final double y;
+    final double z;
+    final double w;
+
     /**
      * Constructs a Vec4 from the first four values of an array. The array must contain at least
      * four values. The order of the elements is preserved.
@@ -13,8 +22,11 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @throws IllegalArgumentException if the array does not contain at least four elements.
      */
     public Vec4(double[] array) {
-        super(array);
         Util.verifyMinimumDimension(array, 4);
+        this.x = array[0];
+        this.y = array[1];
+        this.z = array[2];
+        this.w = array[3];
     }
 
     /**
@@ -25,7 +37,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @throws IllegalArgumentException if the vector does not contain at least four elements.
      */
     public Vec4(Vec vec) {
-        super(vec, 4);
+        this(vec.toArray());
     }
 
     /**
@@ -37,7 +49,10 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @param w the w element.
      */
     public Vec4(double x, double y, double z, double w) {
-        this(new double[]{x, y, z, w});
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
     }
 
     /**
@@ -48,7 +63,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @param w the w element.
      */
     public Vec4(Vec3 vec3, double w) {
-        this(new double[]{vec3.x(), vec3.y(), vec3.z(), w});
+        this(vec3.x, vec3.y, vec3.z, w);
     }
 
     /**
@@ -57,7 +72,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @return the x element.
      */
     public double x() {
-        return get(0);
+        return x;
     }
 
     /**
@@ -66,7 +81,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @return the y element.
      */
     public double y() {
-        return get(1);
+        return y;
     }
 
     /**
@@ -75,7 +90,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @return the z element.
      */
     public double z() {
-        return get(2);
+        return z;
     }
 
     /**
@@ -84,7 +99,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @return the w element.
      */
     public double w() {
-        return get(3);
+        return w;
     }
 
     /**
@@ -93,7 +108,47 @@ public class Vec4 extends VecN implements CrossProductVec {
      * @return the xyz 3-dimensional vector.
      */
     public Vec3 xyz() {
-        return new Vec3(x(), y(), z());
+        return new Vec3(x, y, z);
+    }
+
+    @Override
+    double[] elements() {
+        return new double[]{x, y, z, w};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get(int i) {
+        switch (i) {
+            case 0:
+                return x;
+            case 1:
+                return y;
+            case 2:
+                return z;
+            case 3:
+                return w;
+            default:
+                return super.get(i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return 4;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double magnitude() {
+        return Math.sqrt(x * x + y * y + z * z + w * w);
     }
 
     /**
@@ -101,7 +156,8 @@ public class Vec4 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec4 normalize() {
-        return new Vec4(super.normalize().toArray());
+        double magnitude = magnitude();
+        return new Vec4(x / magnitude, y / magnitude, z / magnitude, w / magnitude);
     }
 
     /**
@@ -109,7 +165,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec4 invert() {
-        return new Vec4(super.invert().vector);
+        return new Vec4(-x, -y, -z, -w);
     }
 
     /**
@@ -117,7 +173,7 @@ public class Vec4 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec4 scale(double scalar) {
-        return new Vec4(super.scale(scalar).vector);
+        return new Vec4(x * scalar, y * scalar, z * scalar, w * scalar);
     }
 
     /**
@@ -125,6 +181,10 @@ public class Vec4 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec4 add(Vec vec) {
+        if (vec instanceof Vec4) {
+            Vec4 other = (Vec4) vec;
+            return new Vec4(x + other.x, y + other.y, z + other.z, w + other.w);
+        }
         return new Vec4(super.add(vec).vector);
     }
 
@@ -133,15 +193,111 @@ public class Vec4 extends VecN implements CrossProductVec {
      */
     @Override
     public Vec4 subtract(Vec vec) {
+        if (vec instanceof Vec4) {
+            Vec4 other = (Vec4) vec;
+            return new Vec4(x - other.x, y - other.y, z - other.z, w - other.w);
+        }
         return new Vec4(super.subtract(vec).vector);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double dot(Vec vec) {
+        if (vec instanceof Vec4) {
+            Vec4 other = (Vec4) vec;
+            return x * other.x + y * other.y + z * other.z + w * other.w;
+        }
+        return super.dot(vec);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double[] toArray() {
+        return new double[]{x, y, z, w};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer) {
+        Util.verifyRemaining(buffer, 4);
+        buffer.put((float) x).put((float) y).put((float) z).put((float) w);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer) {
+        Util.verifyRemaining(buffer, 4);
+        buffer.put(x).put(y).put(z).put(w);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset) {
+        Util.verifyBufferRegion(buffer, offset, 4 * Float.BYTES);
+        buffer.putFloat(offset, (float) x).putFloat(offset + 4, (float) y)
+                .putFloat(offset + 8, (float) z).putFloat(offset + 12, (float) w);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public Vec3 cross(CrossProductVec vec) {
-        return new Vec3(Util.cross(vector, vec.toArray()));
+        if (vec instanceof Vec3) {
+            Vec3 other = (Vec3) vec;
+            return cross(other.x, other.y, other.z);
+        }
+        if (vec instanceof Vec4) {
+            Vec4 other = (Vec4) vec;
+            return cross(other.x, other.y, other.z);
+        }
+        return new Vec3(Util.cross(elements(), vec.toArray()));
+    }
+
+    /**
+     * Returns the cross product of this vector with the x, y and z elements of another.
+     */
+    private Vec3 cross(double otherX, double otherY, double otherZ) {
+        return new Vec3(y * otherZ - z * otherY, z * otherX - x * otherZ, x * otherY - y * otherX);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec4 vec = (Vec4) obj;
+        return Double.compare(x, vec.x) == 0 && Double.compare(y, vec.y) == 0
+                && Double.compare(z, vec.z) == 0 && Double.compare(w, vec.w) == 0;
+    }
+
+    @Override
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec4 vec = (Vec4) obj;
+        return Math.abs(vec.x - x) <= error && Math.abs(vec.y - y) <= error
+                && Math.abs(vec.z - z) <= error && Math.abs(vec.w - w) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Double.hashCode(x);
+        hash = 31 * hash + Double.hashCode(y);
+        hash = 31 * hash + Double.hashCode(z);
+        hash = 31 * hash + Double.hashCode(w);
+        return hash;
     }
 
 }
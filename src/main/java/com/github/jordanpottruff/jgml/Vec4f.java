@@ -0,0 +1,282 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * A vector of exactly four single-precision elements. It mirrors the operations of {@link Vec4}
+ * in half the memory, for bulk data such as vertices that does not need double precision.
+ */
+public class Vec4f {
+
+    final float x;
+    final float y;
+    final float z;
+    final float w;
+
+    /**
+     * Constructs a Vec4f from the first four values of an array. The array must contain at least
+     * four values. The order of the elements is preserved.
+     *
+     * @param array an array containing at least four elements.
+     * @throws IllegalArgumentException if the array does not contain at least four elements.
+     */
+    public Vec4f(float[] array) {
+        Util.verifyMinimumDimension(array, 4);
+        this.x = array[0];
+        this.y = array[1];
+        this.z = array[2];
+        this.w = array[3];
+    }
+
+    /**
+     * Constructs a Vec4f from x, y, z, and w elements.
+     *
+     * @param x the x element.
+     * @param y the y element.
+     * @param z the z element.
+     * @param w the w element.
+     */
+    public Vec4f(float x, float y, float z, float w) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.w = w;
+    }
+
+    /**
+     * Constructs a Vec4f from a Vec3f and a w element.
+     *
+     * @param vec3 the vector representing the x, y and z elements.
+     * @param w the w element.
+     */
+    public Vec4f(Vec3f vec3, float w) {
+        this(vec3.x, vec3.y, vec3.z, w);
+    }
+
+    /**
+     * Constructs a Vec4f from a Vec4, rounding each element to the nearest float.
+     *
+     * @param vec the double-precision vector.
+     */
+    public Vec4f(Vec4 vec) {
+        this((float) vec.x, (float) vec.y, (float) vec.z, (float) vec.w);
+    }
+
+    /**
+     * Gets the x element.
+     *
+     * @return the x element.
+     */
+    public float x() {
+        return x;
+    }
+
+    /**
+     * Gets the y element.
+     *
+     * @return the y element.
+     */
+    public float y() {
+        return y;
+    }
+
+    /**
+     * Gets the z element.
+     *
+     * @return the z element.
+     */
+    public float z() {
+        return z;
+    }
+
+    /**
+     * Gets the w element.
+     *
+     * @return the w element.
+     */
+    public float w() {
+        return w;
+    }
+
+    /**
+     * Creates a Vec3f from the xyz elements of this vector.
+     *
+     * @return the xyz 3-dimensional vector.
+     */
+    public Vec3f xyz() {
+        return new Vec3f(x, y, z);
+    }
+
+    /**
+     * Converts this vector to double precision. Every float is exactly representable as a double,
+     * so no precision is lost.
+     *
+     * @return the double-precision vector.
+     */
+    public Vec4 toVec4() {
+        return new Vec4(x, y, z, w);
+    }
+
+    /**
+     * Gets the element at the specified index.
+     *
+     * @param i the index of the element.
+     * @return the element at the index.
+     * @throws IllegalArgumentException if the index is out of bounds.
+     */
+    public float get(int i) {
+        switch (i) {
+            case 0:
+                return x;
+            case 1:
+                return y;
+            case 2:
+                return z;
+            case 3:
+                return w;
+            default:
+                throw new IllegalArgumentException(String.format("Position at row=%d is out of " +
+                        "bounds of the vector:\n%s", i, toString(2)));
+        }
+    }
+
+    /**
+     * Returns the number of elements, which is always four.
+     *
+     * @return the size of the vector.
+     */
+    public int size() {
+        return 4;
+    }
+
+    /**
+     * Calculates the magnitude (length) of this vector.
+     *
+     * @return the magnitude.
+     */
+    public float magnitude() {
+        return (float) Math.sqrt(x * x + y * y + z * z + w * w);
+    }
+
+    /**
+     * Returns the vector of length one in the same direction as this vector.
+     *
+     * @return the normalized vector.
+     */
+    public Vec4f normalize() {
+        float magnitude = magnitude();
+        return new Vec4f(x / magnitude, y / magnitude, z / magnitude, w / magnitude);
+    }
+
+    /**
+     * Returns the vector in the opposite direction of this vector.
+     *
+     * @return the inverted vector.
+     */
+    public Vec4f invert() {
+        return new Vec4f(-x, -y, -z, -w);
+    }
+
+    /**
+     * Returns this vector with every element multiplied by the scalar.
+     *
+     * @param scalar the value to multiply by.
+     * @return the scaled vector.
+     */
+    public Vec4f scale(float scalar) {
+        return new Vec4f(x * scalar, y * scalar, z * scalar, w * scalar);
+    }
+
+    /**
+     * Returns the element-wise sum of this vector and another.
+     *
+     * @param vec the vector to add.
+     * @return the sum.
+     */
+    public Vec4f add(Vec4f vec) {
+        return new Vec4f(x + vec.x, y + vec.y, z + vec.z, w + vec.w);
+    }
+
+    /**
+     * Returns the element-wise difference of this vector and another.
+     *
+     * @param vec the vector to subtract.
+     * @return the difference.
+     */
+    public Vec4f subtract(Vec4f vec) {
+        return new Vec4f(x - vec.x, y - vec.y, z - vec.z, w - vec.w);
+    }
+
+    /**
+     * Calculates the dot product of this vector and another.
+     *
+     * @param vec the other vector.
+     * @return the dot product.
+     */
+    public float dot(Vec4f vec) {
+        return x * vec.x + y * vec.y + z * vec.z + w * vec.w;
+    }
+
+    /**
+     * Calculates the cross product of the x, y and z elements of this vector and another, as
+     * {@link Vec4#cross(CrossProductVec)} does.
+     *
+     * @param vec the other vector.
+     * @return the cross product, always a 3-dimensional vector.
+     */
+    public Vec3f cross(Vec4f vec) {
+        return new Vec3f(y * vec.z - z * vec.y, z * vec.x - x * vec.z, x * vec.y - y * vec.x);
+    }
+
+    /**
+     * Returns a copy of the elements of this vector.
+     *
+     * @return the array of elements.
+     */
+    public float[] toArray() {
+        return new float[]{x, y, z, w};
+    }
+
+    @Override
+    public String toString() {
+        return Util.stringify(Util.widen(toArray()));
+    }
+
+    /**
+     * Creates a string representation of the vector with the specified number of decimals.
+     *
+     * @param decimals the number of decimals for each element.
+     * @return the string representation.
+     * @throws IllegalArgumentException if the specified decimal amount is less than zero.
+     */
+    public String toString(int decimals) {
+        return Util.stringify(Util.widen(toArray()), decimals);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec4f vec = (Vec4f) obj;
+        return Float.compare(x, vec.x) == 0 && Float.compare(y, vec.y) == 0
+                && Float.compare(z, vec.z) == 0 && Float.compare(w, vec.w) == 0;
+    }
+
+    public boolean equals(Object obj, double error) {
+        if (obj == null || obj.getClass() != getClass()) {
+            return false;
+        }
+        Vec4f vec = (Vec4f) obj;
+        return Math.abs(vec.x - x) <= error && Math.abs(vec.y - y) <= error
+                && Math.abs(vec.z - z) <= error && Math.abs(vec.w - w) <= error;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Float.hashCode(x);
+        hash = 31 * hash + Float.hashCode(y);
+        hash = 31 * hash + Float.hashCode(z);
+        hash = 31 * hash + Float.hashCode(w);
+        return hash;
+    }
+
+}
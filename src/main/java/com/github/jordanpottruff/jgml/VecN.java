@@ -1,5 +1,8 @@
 package com.github.jordanpottruff.jgml;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -7,11 +10,23 @@ import java.util.Iterator;
 /**
  * The root of the hierarchy of concrete vector implementations. A VecN is a generalized vector of
  * any dimension N greater or equal to two.
+ * <p>
+ * A VecN stores its elements in an array. The fixed-size subclasses instead store them in fields,
+ * leaving the array null, and override {@link #elements()} along with the operations they
+ * implement directly.
  */
 public class VecN implements Vec {
 
     final double[] vector;
 
+    /**
+     * Constructs a VecN without an array of elements, for the fixed-size subclasses that store
+     * their elements in fields.
+     */
+    VecN() {
+        this.vector = null;
+    }
+
     /**
      * Constructs a VecN from an array of elements. The array must have at least two elements. The
      * order of the elements is preserved.
@@ -20,8 +35,25 @@ public class VecN implements Vec {
      * @throws IllegalArgumentException if the array does not contain at least two elements.
      */
     public VecN(double[] array) {
-        Util.verifyMinimumDimension(array, 2);
-        this.vector = array.clone();
+        this(array, true);
+    }
+
+    /**
+     * Constructs a VecN from an array of elements, optionally taking ownership of the array
+     * instead of copying it. When 'copy' is false the array is neither copied nor validated, so
+     * this is only for operations that have just built an array of a valid dimension themselves
+     * and will not modify it afterward.
+     *
+     * @param array an array of elements.
+     * @param copy whether the array should be validated and copied.
+     */
+    VecN(double[] array, boolean copy) {
+        if (copy) {
+            Util.verifyMinimumDimension(array, 2);
+            this.vector = array.clone();
+        } else {
+            this.vector = array;
+        }
     }
 
     /**
@@ -67,13 +99,21 @@ public class VecN implements Vec {
         return new VecN(vector);
     }
 
+    /**
+     * Returns the elements of this vector in an array that must not be modified. A VecN returns
+     * its own array, while the fixed-size subclasses return a new one.
+     */
+    double[] elements() {
+        return vector;
+    }
+
     /**
      * Returns an iterator over the elements in this vector in proper sequence.
      *
      * @return an iterator over the elements in this vector.
      */
     public Iterator<Double> iterator() {
-        return Arrays.stream(vector).iterator();
+        return Arrays.stream(elements()).iterator();
     }
 
     /**
@@ -81,8 +121,9 @@ public class VecN implements Vec {
      */
     @Override
     public double get(int i) {
-        Util.verifyValidCoord(vector, i);
-        return vector[i];
+        double[] elements = elements();
+        Util.verifyValidCoord(elements, i);
+        return elements[i];
     }
 
     /**
@@ -90,7 +131,7 @@ public class VecN implements Vec {
      */
     @Override
     public int size() {
-        return vector.length;
+        return elements().length;
     }
 
     /**
@@ -98,7 +139,7 @@ public class VecN implements Vec {
      */
     @Override
     public double magnitude() {
-        return Util.magnitude(vector);
+        return Util.magnitude(elements());
     }
 
     /**
@@ -106,7 +147,7 @@ public class VecN implements Vec {
      */
     @Override
     public VecN normalize() {
-        return new VecN(Util.normalize(vector));
+        return new VecN(Util.normalize(elements()));
     }
 
     /**
@@ -114,7 +155,7 @@ public class VecN implements Vec {
      */
     @Override
     public VecN invert() {
-        return new VecN(Util.invert(vector));
+        return new VecN(Util.invert(elements()));
     }
 
     /**
@@ -122,7 +163,7 @@ public class VecN implements Vec {
      */
     @Override
     public VecN scale(double scalar) {
-        return new VecN(Util.scale(vector, scalar));
+        return new VecN(Util.scale(elements(), scalar));
     }
 
     /**
@@ -130,7 +171,7 @@ public class VecN implements Vec {
      */
     @Override
     public VecN add(Vec vec) {
-        return new VecN(Util.add(vector, vec.toArray()));
+        return new VecN(Util.add(elements(), vec.toArray()));
     }
 
     /**
@@ -138,7 +179,7 @@ public class VecN implements Vec {
      */
     @Override
     public VecN subtract(Vec vec) {
-        return new VecN(Util.subtract(vector, vec.toArray()));
+        return new VecN(Util.subtract(elements(), vec.toArray()));
     }
 
     /**
@@ -146,7 +187,7 @@ public class VecN implements Vec {
      */
     @Override
     public double dot(Vec vec) {
-        return Util.multiply(vector, vec.toArray());
+        return Util.multiply(elements(), vec.toArray());
     }
 
     /**
@@ -154,12 +195,46 @@ public class VecN implements Vec {
      */
     @Override
     public double[] toArray() {
-        return vector.clone();
+        return elements().clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(FloatBuffer buffer) {
+        double[] elements = elements();
+        Util.verifyRemaining(buffer, elements.length);
+        for (double element : elements) {
+            buffer.put((float) element);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(DoubleBuffer buffer) {
+        double[] elements = elements();
+        Util.verifyRemaining(buffer, elements.length);
+        buffer.put(elements);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeTo(ByteBuffer buffer, int offset) {
+        double[] elements = elements();
+        Util.verifyBufferRegion(buffer, offset, elements.length * Float.BYTES);
+        for (int i = 0; i < elements.length; i++) {
+            buffer.putFloat(offset + i * Float.BYTES, (float) elements[i]);
+        }
     }
 
     @Override
     public String toString() {
-        return Util.stringify(vector);
+        return Util.stringify(elements());
     }
 
     /**
@@ -171,7 +246,7 @@ public class VecN implements Vec {
      * @throws IllegalArgumentException if the specified decimal amount is less than zero.
      */
     public String toString(int decimals) {
-        return Util.stringify(vector, decimals);
+        return Util.stringify(elements(), decimals);
     }
 
     @Override
@@ -180,7 +255,7 @@ public class VecN implements Vec {
             return false;
         }
         VecN vec = (VecN) obj;
-        return Arrays.equals(vector, vec.toArray());
+        return Arrays.equals(elements(), vec.elements());
     }
 
     public boolean equals(Object obj, double error) {
@@ -192,9 +267,11 @@ public class VecN implements Vec {
         if (vec.size() != size()) {
             return false;
         }
-        for (int i = 0; i < size(); i++) {
+        double[] elements = elements();
+        double[] other = vec.elements();
+        for (int i = 0; i < elements.length; i++) {
             // Check if their corresponding components are equal within the given error.
-            if (Math.abs(vec.vector[i] - vector[i]) > error) {
+            if (Math.abs(other[i] - elements[i]) > error) {
                 return false;
             }
         }
@@ -203,7 +280,7 @@ public class VecN implements Vec {
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(vector);
+        return Arrays.hashCode(elements());
     }
 
 }
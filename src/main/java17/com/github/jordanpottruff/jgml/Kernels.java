@@ -0,0 +1,90 @@
+package com.github.jordanpottruff.jgml;
+
+/**
+ * The innermost loops of the vector and matrix operations in {@link Util}, which do not verify
+ * their arguments. This Java 17 version replaces the scalar class in the multi-release jar. When
+ * the jdk.incubator.vector module is in the boot layer, as it is when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}, dot products of at least VECTOR_THRESHOLD elements
+ * are computed with SIMD instructions by {@link VectorKernels}. Otherwise the loops of
+ * {@link ScalarKernels} are used, and VectorKernels is never loaded.
+ * <p>
+ * Only the dot product is vectorized by hand. The JIT compiler already vectorizes the elementwise
+ * loops, but it must keep the order of a floating-point sum, so it cannot vectorize a reduction.
+ * A vectorized dot product sums its terms in a different order, so it may differ in the last
+ * bits from the scalar one.
+ */
+final class Kernels {
+
+    /**
+     * Whether the Vector API is available.
+     */
+    static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector")
+            .isPresent();
+
+    /**
+     * The shortest arrays for which the vectorized loop pays for its setup.
+     */
+    static final int VECTOR_THRESHOLD = 16;
+
+    private Kernels() {
+        // Intentionally blank to prevent instantiation.
+    }
+
+    /**
+     * Returns the dot product of the two arrays, which must have the same length.
+     */
+    static double dot(double[] a, double[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    /**
+     * Returns the dot product of 'length' elements of 'a' starting at 'aFrom' with those of 'b'
+     * starting at 'bFrom'.
+     */
+    static double dot(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        if (VECTORIZED && length >= VECTOR_THRESHOLD) {
+            return VectorKernels.dot(a, aFrom, b, bFrom, length);
+        }
+        return ScalarKernels.dot(a, aFrom, b, bFrom, length);
+    }
+
+    /**
+     * Stores the elementwise sum of 'a' and 'b' into 'result'. All three must have the same length.
+     */
+    static void add(double[] a, double[] b, double[] result) {
+        ScalarKernels.add(a, b, result);
+    }
+
+    /**
+     * Stores the elementwise difference of 'a' and 'b' into 'result'. All three must have the same
+     * length.
+     */
+    static void subtract(double[] a, double[] b, double[] result) {
+        ScalarKernels.subtract(a, b, result);
+    }
+
+    /**
+     * Stores 'a' multiplied by the scalar into 'result'. Both must have the same length.
+     */
+    static void scale(double[] a, double scalar, double[] result) {
+        ScalarKernels.scale(a, scalar, result);
+    }
+
+    /**
+     * Adds 'alpha' * 'x' to 'y' for the elements from 'from' (inclusive) to 'to' (exclusive). Each
+     * element is multiplied and then added, without a fused multiply-add, so every implementation
+     * gives identical results.
+     */
+    static void axpy(double alpha, double[] x, double[] y, int from, int to) {
+        ScalarKernels.axpy(alpha, x, y, from, to);
+    }
+
+    /**
+     * Adds 'alpha' * 'x' to 'y' for 'length' elements, starting at 'xFrom' in 'x' and 'yFrom' in
+     * 'y', so that a column of a column-major matrix can be combined into another in place. Like
+     * the other axpy, it never uses a fused multiply-add.
+     */
+    static void axpy(double alpha, double[] x, int xFrom, double[] y, int yFrom, int length) {
+        ScalarKernels.axpy(alpha, x, xFrom, y, yFrom, length);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.jordanpottruff.jgml;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementations of the {@link Kernels} reductions with the incubating Vector API. Each
+ * loop processes as many elements at a time as the widest vector register of the CPU holds, and
+ * finishes the remaining elements one at a time. This class must only be loaded when the
+ * jdk.incubator.vector module is available.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+        // Intentionally blank to prevent instantiation.
+    }
+
+    static double dot(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector va = DoubleVector.fromArray(SPECIES, a, aFrom + i);
+            DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bFrom + i);
+            sum = va.mul(vb).add(sum);
+        }
+        return sum.reduceLanes(VectorOperators.ADD) + ScalarKernels.dot(a, aFrom + i, b, bFrom + i,
+                length - i);
+    }
+}
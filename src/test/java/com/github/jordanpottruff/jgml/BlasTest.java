@@ -0,0 +1,95 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BlasTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final MatMN MAT3X2_A = new MatMN(new double[][]{{1.0, 3.0, -2.0}, {0.5, -1.0,
+            4.0}});
+    private static final MatMN MAT2X3_A = new MatMN(new double[][]{{2.0, 1.0}, {0.0, -3.0}, {1.5,
+            2.5}});
+
+    @Test
+    public void testAxpy() {
+        double[] y = {1.0, 2.0, 3.0};
+        Blas.axpy(2.0, new double[]{0.5, -1.0, 4.0}, y);
+        assertArrayEquals(new double[]{2.0, 0.0, 11.0}, y, ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> Blas.axpy(1.0, new double[2], y));
+    }
+
+    @Test
+    public void testGemv() {
+        double[] y = {1.0, -1.0, 2.0};
+        Blas.gemv(2.0, MAT3X2_A, new double[]{1.0, 2.0}, -1.0, y);
+        // A * x is {2.0, 1.0, 6.0}.
+        assertArrayEquals(new double[]{3.0, 3.0, 10.0}, y, ERROR_MARGIN);
+
+        double[] overwritten = {Double.NaN, Double.NaN, Double.NaN};
+        Blas.gemv(1.0, MAT3X2_A, new double[]{1.0, 2.0}, 0.0, overwritten);
+        assertArrayEquals(new double[]{2.0, 1.0, 6.0}, overwritten, ERROR_MARGIN);
+
+        assertThrows(IllegalArgumentException.class, () -> Blas.gemv(1.0, MAT3X2_A, new double[3],
+                1.0, y));
+        assertThrows(IllegalArgumentException.class, () -> Blas.gemv(1.0, MAT3X2_A, new double[2],
+                1.0, new double[2]));
+        double[] same = new double[2];
+        assertThrows(IllegalArgumentException.class, () -> Blas.gemv(1.0, new MatN(new double[][]{
+                {1.0, 0.0}, {0.0, 1.0}}), same, 1.0, same));
+    }
+
+    @Test
+    public void testGemm() {
+        MatMN product = MAT3X2_A.multiply(MAT2X3_A);
+        double[][] c = product.toArray();
+        Blas.gemm(3.0, MAT3X2_A, MAT2X3_A, -1.0, c);
+        assertMatricesEqual(product.scale(2.0), new MatMN(c), ERROR_MARGIN);
+
+        double[][] overwritten = {{Double.NaN, Double.NaN, Double.NaN}, {Double.NaN, Double.NaN,
+                Double.NaN}, {Double.NaN, Double.NaN, Double.NaN}};
+        Blas.gemm(1.0, MAT3X2_A, MAT2X3_A, 0.0, overwritten);
+        assertMatricesEqual(product, new MatMN(overwritten), ERROR_MARGIN);
+
+        assertThrows(IllegalArgumentException.class, () -> Blas.gemm(1.0, MAT3X2_A, MAT3X2_A, 1.0,
+                c));
+        assertThrows(IllegalArgumentException.class, () -> Blas.gemm(1.0, MAT3X2_A, MAT2X3_A, 1.0,
+                new double[2][2]));
+    }
+
+    @Test
+    public void testNoAllocation() {
+        MatMN a = new MatMN(new double[100][70]);
+        MatMN b = new MatMN(new double[40][100]);
+        MatMN smallA = new MatMN(new double[50][40]);
+        MatMN smallB = new MatMN(new double[30][50]);
+        double[] x = new double[100];
+        double[] y = new double[70];
+        double[][] c = new double[40][70];
+        double[] flat = new double[40 * 30];
+        Runnable calls = () -> {
+            Blas.gemv(2.0, a, x, 0.5, y);
+            Blas.gemm(2.0, a, b, 0.5, c);
+            Blas.gemm(2.0, smallA, smallB, 0.5, flat);
+        };
+        // The first call loads and initializes the classes involved, and reading the counter
+        // allocates a little itself, which is measured and discounted.
+        calls.run();
+        long start = allocatedBytes();
+        long overhead = allocatedBytes() - start;
+        long before = allocatedBytes();
+        calls.run();
+        assertEquals(overhead, allocatedBytes() - before);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BuffersTest {
+
+    private static final List<Mat4> MATRICES = Arrays.asList(Mat4.createIdentityMatrix(),
+            new Mat4.TransformBuilder().translate(1.0, 2.0, 3.0).build());
+    private static final List<Vec> VECTORS = Arrays.asList(new Vec3(1.0, 2.0, 3.0),
+            new VecN(new double[]{4.0, 5.0}), new Vec4(6.0, 7.0, 8.0, 9.0));
+
+    @Test
+    public void testWriteMatrices() {
+        FloatBuffer floats = FloatBuffer.allocate(32);
+        Buffers.writeMatrices(MATRICES, floats, Layout.COLUMN_MAJOR);
+        assertEquals(32, floats.position());
+        assertEquals(1.0f, floats.get(0));
+        assertEquals(2.0f, floats.get(16 + 13));
+
+        ByteBuffer bytes = ByteBuffer.allocate(136);
+        Buffers.writeMatrices(MATRICES, bytes, 8, Layout.ROW_MAJOR);
+        assertEquals(3.0f, bytes.getFloat(8 + (16 + 11) * Float.BYTES));
+
+        DoubleBuffer doubles = DoubleBuffer.allocate(31);
+        assertThrows(IllegalArgumentException.class, () -> Buffers.writeMatrices(MATRICES,
+                doubles, Layout.COLUMN_MAJOR));
+        assertEquals(0, doubles.position());
+    }
+
+    @Test
+    public void testWriteVectors() {
+        DoubleBuffer doubles = DoubleBuffer.allocate(9);
+        Buffers.writeVectors(VECTORS, doubles);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i + 1.0, doubles.get(i));
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(40);
+        Buffers.writeVectors(VECTORS, bytes, 4);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i + 1.0f, bytes.getFloat(4 + i * Float.BYTES));
+        }
+        assertThrows(IllegalArgumentException.class, () -> Buffers.writeVectors(VECTORS,
+                FloatBuffer.allocate(8)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CholeskyDecompositionTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final MatN MAT_SPD = new MatN(new double[][]{{4.0, 12.0, -16.0}, {12.0, 37.0,
+            -43.0}, {-16.0, -43.0, 98.0}});
+    private static final MatN MAT_NOT_SYMMETRIC = new MatN(new double[][]{{4.0, 1.0}, {2.0, 3.0}});
+    private static final MatN MAT_NOT_POSITIVE = new MatN(new double[][]{{1.0, 2.0}, {2.0, 1.0}});
+
+    private static final VecN VEC_X = new VecN(new double[]{1.0, -2.0, 0.5});
+
+    @Test
+    public void testFactor() {
+        MatN expected = new MatN(new double[][]{{2.0, 6.0, -8.0}, {0.0, 1.0, 5.0}, {0.0, 0.0,
+                3.0}});
+        assertMatricesEqual(expected, MAT_SPD.cholesky().l(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testDeterminant() {
+        assertEquals(36.0, MAT_SPD.cholesky().determinant(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testSolve_vec() {
+        CholeskyDecomposition cholesky = MAT_SPD.cholesky();
+        assertVectorsEqual(VEC_X, cholesky.solve(MAT_SPD.multiply(VEC_X)), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> cholesky.solve(new Vec2(1.0, 2.0)));
+    }
+
+    @Test
+    public void testSolve_mat() {
+        MatMN expected = new MatMN(new double[][]{{1.0, -2.0, 0.5}, {3.0, 0.0, -1.0}});
+        assertMatricesEqual(expected, MAT_SPD.cholesky().solve(MAT_SPD.multiply(expected)),
+                ERROR_MARGIN);
+    }
+
+    @Test
+    public void testInverse() {
+        assertMatricesEqual(MAT_SPD.inverse(), MAT_SPD.cholesky().inverse(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testNotSymmetricPositiveDefinite() {
+        assertThrows(IllegalArgumentException.class, MAT_NOT_SYMMETRIC::cholesky);
+        assertThrows(IllegalArgumentException.class, MAT_NOT_POSITIVE::cholesky);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EigenDecompositionTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final MatN MAT_SYMMETRIC = new MatN(new double[][]{{4.0, 1.0, -2.0, 2.0}, {1.0,
+            2.0, 0.0, 1.0}, {-2.0, 0.0, 3.0, -2.0}, {2.0, 1.0, -2.0, -1.0}});
+    private static final MatN MAT_DIAGONAL = new MatN(new double[][]{{1.0, 0.0}, {0.0, 3.0}});
+    private static final MatN MAT_NOT_SYMMETRIC = new MatN(new double[][]{{4.0, 1.0}, {2.0, 3.0}});
+
+    @Test
+    public void testEigenvalues() {
+        assertVectorsEqual(new VecN(new double[]{3.0, 1.0}), MAT_DIAGONAL.eigen().eigenvalues(),
+                ERROR_MARGIN);
+        assertEquals(1.0, MAT_DIAGONAL.eigen().eigenvalue(1), ERROR_MARGIN);
+
+        // The eigenvalues sum to the trace and multiply to the determinant.
+        VecN eigenvalues = MAT_SYMMETRIC.eigen().eigenvalues();
+        double sum = 0.0;
+        double product = 1.0;
+        for (int i = 0; i < eigenvalues.size(); i++) {
+            sum += eigenvalues.get(i);
+            product *= eigenvalues.get(i);
+            if (i > 0) {
+                assertTrue(eigenvalues.get(i - 1) >= eigenvalues.get(i));
+            }
+        }
+        assertEquals(8.0, sum, ERROR_MARGIN);
+        assertEquals(MAT_SYMMETRIC.determinant(), product, ERROR_MARGIN);
+    }
+
+    @Test
+    public void testEigenvectors() {
+        EigenDecomposition eigen = MAT_SYMMETRIC.eigen();
+        MatN v = eigen.eigenvectors();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                assertEquals(i == j ? 1.0 : 0.0, v.getCol(i).dot(v.getCol(j)), ERROR_MARGIN);
+            }
+            assertVectorsEqual(eigen.eigenvector(i).scale(eigen.eigenvalue(i)),
+                    MAT_SYMMETRIC.multiply(eigen.eigenvector(i)), ERROR_MARGIN);
+        }
+    }
+
+    @Test
+    public void testNotSymmetric() {
+        assertThrows(IllegalArgumentException.class, MAT_NOT_SYMMETRIC::eigen);
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.jordanpottruff.jgml;
+
+import com.github.jordanpottruff.jgml.IterativeEigenSolver.EigenPair;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IterativeEigenSolverTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final IterativeEigenSolver SOLVER = new IterativeEigenSolver(1e-10, 10000);
+
+    private static final MatN MAT_LAPLACIAN = new MatN(new double[][]{{2.0, -1.0, 0.0}, {-1.0,
+            2.0, -1.0}, {0.0, -1.0, 2.0}});
+
+    /**
+     * A tridiagonal operator that is never stored, with i + 1 on the diagonal and -0.5 off it.
+     */
+    private static final LinearOperator OPERATOR = new LinearOperator() {
+        @Override
+        public int rows() {
+            return 60;
+        }
+
+        @Override
+        public int cols() {
+            return 60;
+        }
+
+        @Override
+        public Vec multiply(Vec vec) {
+            double[] x = vec.toArray();
+            double[] y = new double[x.length];
+            for (int i = 0; i < x.length; i++) {
+                y[i] = (i + 1) * x[i];
+                if (i > 0) y[i] -= 0.5 * x[i - 1];
+                if (i < x.length - 1) y[i] -= 0.5 * x[i + 1];
+            }
+            return new VecN(y);
+        }
+    };
+
+    private static MatN materialize(LinearOperator operator) {
+        double[][] columns = new double[operator.cols()][];
+        for (int c = 0; c < columns.length; c++) {
+            double[] unit = new double[operator.cols()];
+            unit[c] = 1.0;
+            columns[c] = operator.multiply(new VecN(unit)).toArray();
+        }
+        return new MatN(columns);
+    }
+
+    private static void assertEigenpairs(LinearOperator operator, List<EigenPair> pairs,
+                                         double... expected) {
+        assertEquals(expected.length, pairs.size());
+        for (int i = 0; i < expected.length; i++) {
+            EigenPair pair = pairs.get(i);
+            assertEquals(expected[i], pair.value(), ERROR_MARGIN);
+            assertEquals(1.0, pair.vector().magnitude(), ERROR_MARGIN);
+            assertVectorsEqual(pair.vector().scale(pair.value()),
+                    (VecN) operator.multiply(pair.vector()), ERROR_MARGIN);
+        }
+    }
+
+    @Test
+    public void testPowerIteration() {
+        double root = Math.sqrt(2.0);
+        assertEigenpairs(MAT_LAPLACIAN, SOLVER.powerIteration(MAT_LAPLACIAN, 3), 2.0 + root, 2.0,
+                2.0 - root);
+
+        VecN expected = materialize(OPERATOR).eigen().eigenvalues();
+        assertEigenpairs(OPERATOR, SOLVER.powerIteration(OPERATOR, 2), expected.get(0),
+                expected.get(1));
+    }
+
+    @Test
+    public void testLanczos() {
+        double root = Math.sqrt(2.0);
+        assertEigenpairs(MAT_LAPLACIAN, SOLVER.lanczos(MAT_LAPLACIAN, 2), 2.0 + root, 2.0);
+
+        VecN expected = materialize(OPERATOR).eigen().eigenvalues();
+        assertEigenpairs(OPERATOR, SOLVER.lanczos(OPERATOR, 3), expected.get(0), expected.get(1),
+                expected.get(2));
+
+        // The identity spans an invariant subspace with every vector.
+        MatN identity = new MatN(new double[][]{{1.0, 0.0, 0.0}, {0.0, 1.0, 0.0}, {0.0, 0.0,
+                1.0}});
+        assertEigenpairs(identity, SOLVER.lanczos(identity, 3), 1.0, 1.0, 1.0);
+    }
+
+    @Test
+    public void testLanczos_repeatedEigenvalue() {
+        // A Krylov subspace holds only one direction of each eigenspace, so the second copy of the
+        // dominant eigenvalue is only found after restarting from the invariant subspace.
+        double[][] columns = new double[8][8];
+        double[] diagonal = {10.0, 10.0, 3.0, 1.0, 1.0, 1.0, 1.0, 1.0};
+        for (int i = 0; i < 8; i++) {
+            columns[i][i] = diagonal[i];
+        }
+        MatN mat = new MatN(columns);
+        assertEigenpairs(mat, SOLVER.lanczos(mat, 2), 10.0, 10.0);
+        assertEigenpairs(mat, SOLVER.powerIteration(mat, 2), 10.0, 10.0);
+    }
+
+    @Test
+    public void testNotConverged() {
+        MatN mat = new MatN(new double[][]{{1.0, 0.0}, {0.0, -1.0}});
+        assertThrows(IllegalArgumentException.class, () -> new IterativeEigenSolver(1e-10, 100)
+                .powerIteration(mat, 1));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        MatMN wide = new MatMN(new double[][]{{1.0, 0.0}, {0.0, 1.0}, {0.0, 0.0}});
+        assertThrows(IllegalArgumentException.class, () -> SOLVER.lanczos(wide, 1));
+        assertThrows(IllegalArgumentException.class, () -> SOLVER.powerIteration(MAT_LAPLACIAN, 0));
+        assertThrows(IllegalArgumentException.class, () -> SOLVER.lanczos(MAT_LAPLACIAN, 4));
+        assertThrows(IllegalArgumentException.class, () -> new IterativeEigenSolver(0.0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new IterativeEigenSolver(1e-10, 0));
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LUDecompositionTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final MatN MAT_A = new MatN(new double[][]{{4.0, -2.0, 1.0, 0.0, 3.0}, {1.0,
+            5.0, 0.0, 2.0, -1.0}, {0.0, 3.0, 6.0, 1.0, 2.0}, {2.0, 0.0, -1.0, 7.0, 1.0}, {1.0, 1.0,
+            2.0, 0.0, 8.0}});
+    private static final MatN MAT_SINGULAR = new MatN(new double[][]{{1.0, 2.0, 3.0}, {4.0, 5.0,
+            6.0}, {7.0, 8.0, 9.0}});
+
+    private static final VecN VEC_X = new VecN(new double[]{1.0, -2.0, 3.0, 0.5, -1.0});
+
+    @Test
+    public void testFactors() {
+        LUDecomposition lu = MAT_A.lu();
+        assertMatricesEqual(lu.p().multiply(MAT_A), lu.l().multiply(lu.u()), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testDeterminant() {
+        assertEquals(6155.0, MAT_A.lu().determinant(), ERROR_MARGIN);
+        assertEquals(0.0, MAT_SINGULAR.lu().determinant(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testIsSingular() {
+        assertFalse(MAT_A.lu().isSingular());
+        assertTrue(MAT_SINGULAR.lu().isSingular());
+    }
+
+    @Test
+    public void testSolve_vec() {
+        LUDecomposition lu = MAT_A.lu();
+        assertVectorsEqual(VEC_X, lu.solve(MAT_A.multiply(VEC_X)), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> lu.solve(new VecN(new double[]{1.0,
+                2.0})));
+        assertThrows(IllegalArgumentException.class, () -> MAT_SINGULAR.lu().solve(new Vec3(1.0,
+                2.0, 3.0)));
+    }
+
+    @Test
+    public void testSolve_mat() {
+        MatMN expected = new MatMN(new double[][]{{1.0, -2.0, 3.0, 0.5, -1.0}, {0.0, 1.0, 0.0,
+                2.0, 4.0}});
+        assertMatricesEqual(expected, MAT_A.lu().solve(MAT_A.multiply(expected)), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testInverse() {
+        assertMatricesEqual(MAT_A.inverse(), MAT_A.lu().inverse(), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT_SINGULAR.lu().inverse());
+    }
+}
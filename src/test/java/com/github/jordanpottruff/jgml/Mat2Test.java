@@ -5,6 +5,7 @@ import org.junit.Test;
 import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
 import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class Mat2Test {
     private static final double ERROR_MARGIN = .001;
@@ -62,6 +63,21 @@ public class Mat2Test {
         assertMatricesEqual(inverse, MAT_C.inverse(), ERROR_MARGIN);
     }
 
+    @Test
+    public void testInverse_nearSingular() {
+        double[][] array = {{1.0, 2.0}, {2.0, 4.0 + 1e-15}};
+        assertThrows(IllegalArgumentException.class, () -> new MatN(array).inverse());
+        assertThrows(IllegalArgumentException.class, () -> new Mat2(array).inverse());
+    }
+
+    @Test
+    public void testInverse_matchesGeneralInverse() {
+        Mat2 mat = new Mat2(new double[][]{{4.0, -2.0}, {1.0, 5.0}});
+        assertMatricesEqual(new Mat2(new MatN(mat).inverse()), mat.inverse(), ERROR_MARGIN);
+        assertMatricesEqual(Mat2.createIdentityMatrix(), mat.multiply(mat.inverse()), ERROR_MARGIN);
+        assertEquals(new MatN(mat).determinant(), mat.determinant(), ERROR_MARGIN);
+    }
+
     @Test
     public void testBuilder_scale() {
         Mat2 scaleMat = new Mat2.TransformBuilder().scale(5.0, 3.0).build();
@@ -104,4 +120,47 @@ public class Mat2Test {
                         1.0).rotate(-Math.PI / 4).build();
         assertMatricesEqual(Mat2.createIdentityMatrix(), reverse, ERROR_MARGIN);
     }
+
+    /**
+     * A builder in a state that is not the identity, whose rows are [2, 3] and [0, 3].
+     */
+    private static Mat2.TransformBuilder scaledAndSheared() {
+        return new Mat2.TransformBuilder().scale(2.0, 3.0).shearX(1.0);
+    }
+
+    @Test
+    public void testBuilder_operationsOnNonIdentity() {
+        // Each expected matrix is the operation multiplied on the left of the rows above, worked
+        // out by hand.
+        assertMatricesEqual(new Mat2(new double[][]{{2.0, 0.0}, {3.0, 3.0}}),
+                scaledAndSheared().build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat2(new double[][]{{4.0, 0.0}, {6.0, 9.0}}),
+                scaledAndSheared().scale(2.0, 3.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat2(new double[][]{{0.0, 2.0}, {-3.0, 3.0}}),
+                scaledAndSheared().rotate(Math.PI / 2).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat2(new double[][]{{2.0, 0.0}, {6.0, 3.0}}),
+                scaledAndSheared().shearX(1.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat2(new double[][]{{2.0, 2.0}, {3.0, 6.0}}),
+                scaledAndSheared().shearY(1.0).build(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testBuilder_buildInto() {
+        Mat2.TransformBuilder builder = scaledAndSheared();
+        double[] array = new double[6];
+        builder.buildInto(array, 2);
+        double[] expected = {0.0, 0.0, 2.0, 0.0, 3.0, 3.0};
+        for (int i = 0; i < 6; i++) {
+            assertEquals(expected[i], array[i], ERROR_MARGIN);
+        }
+        assertThrows(IllegalArgumentException.class, () -> builder.buildInto(array, 3));
+        assertThrows(IllegalArgumentException.class, () -> builder.buildInto(array, -1));
+
+        assertMatricesEqual(Mat2.createIdentityMatrix(), builder.reset().build(), ERROR_MARGIN);
+        builder.rotate(Math.PI / 2).buildInto(array, 0);
+        assertEquals(0.0, array[0], ERROR_MARGIN);
+        assertEquals(1.0, array[1], ERROR_MARGIN);
+        assertEquals(-1.0, array[2], ERROR_MARGIN);
+        assertEquals(0.0, array[3], ERROR_MARGIN);
+    }
 }
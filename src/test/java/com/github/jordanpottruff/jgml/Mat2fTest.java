@@ -0,0 +1,31 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Mat2fTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final Mat2f MAT_A = new Mat2f(new float[][]{{1.0f, 2.0f}, {5.0f, 6.0f}});
+    private static final Mat2f MAT_B = new Mat2f(new float[][]{{5.0f, 10.0f}, {25.0f, 30.0f}});
+
+    @Test
+    public void testOperations() {
+        assertTrue(MAT_B.equals(MAT_A.scale(5.0f), ERROR_MARGIN));
+        assertTrue(new Mat2f(new float[][]{{6.0f, 12.0f}, {30.0f, 36.0f}}).equals(MAT_A.add(MAT_B),
+                ERROR_MARGIN));
+        assertTrue(new Mat2f(MAT_A.toMat2().multiply(MAT_B.toMat2())).equals(MAT_A.multiply(
+                MAT_B), ERROR_MARGIN));
+        assertEquals(-4.0f, MAT_A.determinant());
+        assertTrue(Mat2f.createIdentityMatrix().equals(MAT_A.multiply(MAT_A.inverse()),
+                ERROR_MARGIN));
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(new Mat2(new double[][]{{1.0, 2.0}, {5.0, 6.0}}), MAT_A.toMat2());
+        assertEquals(MAT_A, new Mat2f(MAT_A.toMat2()));
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.Test;
 import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
 import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class Mat3Test {
     private static final double ERROR_MARGIN = .001;
@@ -70,6 +73,59 @@ public class Mat3Test {
         assertMatricesEqual(inverse, MAT_C.inverse(), ERROR_MARGIN);
     }
 
+    @Test
+    public void testInverse_nearSingular() {
+        double[][] array = {{.1, .2, .3}, {.4, .5, .6}, {.7, .8, .9}};
+        assertThrows(IllegalArgumentException.class, () -> new MatN(array).inverse());
+        assertThrows(IllegalArgumentException.class, () -> new Mat3(array).inverse());
+    }
+
+    @Test
+    public void testInverse_largeTranslation() {
+        Mat3 mat = new Mat3.TransformBuilder().rotate(0.3).translate(1e8, 1e8).build();
+        assertFalse(Util.isNegligibleDeterminant(mat.determinant(), 3, mat.hadamardBound()));
+        Mat3 expected = new Mat3.TransformBuilder().translate(-1e8, -1e8).rotate(-0.3).build();
+        assertTrue(expected.equals(mat.inverse(), 1e-4));
+
+        Mat3 singular = new Mat3(new double[][]{{1.0, 0.0, 0.0}, {2.0, 0.0, 0.0}, {1e8, 1e8,
+                1.0}});
+        assertTrue(Util.isNegligibleDeterminant(singular.determinant(), 3,
+                singular.hadamardBound()));
+        assertThrows(IllegalArgumentException.class, singular::inverse);
+    }
+
+    @Test
+    public void testInverse_matchesGeneralInverse() {
+        Mat3 mat = new Mat3(new double[][]{{4.0, -2.0, 1.0}, {1.0, 5.0, 0.0},
+                {0.0, 3.0, 6.0}});
+        assertMatricesEqual(new Mat3(new MatN(mat).inverse()), mat.inverse(), ERROR_MARGIN);
+        assertMatricesEqual(Mat3.createIdentityMatrix(), mat.multiply(mat.inverse()), ERROR_MARGIN);
+        assertEquals(new MatN(mat).determinant(), mat.determinant(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testEigen() {
+        Mat3.Eigen eigen = MAT_C.eigen();
+        assertVectorsEqual(new Vec3(7.0, 4.0, 4.0), eigen.eigenvalues(), ERROR_MARGIN);
+        for (int i = 0; i < 3; i++) {
+            Vec3 vector = eigen.eigenvector(i);
+            assertEquals(1.0, vector.magnitude(), ERROR_MARGIN);
+            assertVectorsEqual(vector.scale(eigen.eigenvalue(i)), MAT_C.multiply(vector),
+                    ERROR_MARGIN);
+        }
+        assertEquals(0.0, eigen.eigenvector(1).dot(eigen.eigenvector(2)), ERROR_MARGIN);
+
+        Mat3 mat = new Mat3(new double[][]{{2.0, -1.0, 0.5}, {-1.0, 3.0, 0.25}, {0.5, 0.25,
+                1.0}});
+        assertVectorsEqual(new Vec3(new MatN(mat).eigen().eigenvalues()), mat.eigen().eigenvalues(),
+                ERROR_MARGIN);
+        assertMatricesEqual(mat.multiply(mat.eigen().eigenvectors()), mat.eigen().eigenvectors()
+                .multiply(new Mat3(new double[][]{{mat.eigen().eigenvalue(0), 0.0, 0.0}, {0.0,
+                        mat.eigen().eigenvalue(1), 0.0}, {0.0, 0.0, mat.eigen().eigenvalue(2)}})),
+                ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, MAT_A::eigen);
+    }
+
     @Test
     public void testBuilder_scale() {
         Mat3 scaleMat = new Mat3.TransformBuilder().scale(5.0, 3.0).build();
@@ -123,4 +179,49 @@ public class Mat3Test {
                         1.0).rotate(-Math.PI / 4).build();
         assertMatricesEqual(Mat3.createIdentityMatrix(), reverse, ERROR_MARGIN);
     }
+
+    @Test
+    public void testBuilder_buildInto() {
+        Mat3.TransformBuilder builder = new Mat3.TransformBuilder().translate(3.0, -1.0)
+                .shearX(2.0).rotate(0.4).shearY(-0.5);
+        Mat3 expected = Mat3.chain(new Mat3.TransformBuilder().shearY(-0.5).build(),
+                new Mat3.TransformBuilder().rotate(0.4).build(),
+                new Mat3.TransformBuilder().shearX(2.0).build(),
+                new Mat3.TransformBuilder().translate(3.0, -1.0).build());
+        assertMatricesEqual(expected, builder.build(), ERROR_MARGIN);
+
+        double[] array = new double[9];
+        builder.buildInto(array, 0);
+        for (int i = 0; i < 9; i++) {
+            assertEquals(expected.get(i % 3, i / 3), array[i], ERROR_MARGIN);
+        }
+        assertMatricesEqual(Mat3.createIdentityMatrix(), builder.reset().build(), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> builder.buildInto(array, 1));
+    }
+
+    /**
+     * A builder in a state that is not the identity, whose rows are [2, 0, 1], [0, 3, 2] and
+     * [0, 0, 1].
+     */
+    private static Mat3.TransformBuilder scaledAndTranslated() {
+        return new Mat3.TransformBuilder().scale(2.0, 3.0).translate(1.0, 2.0);
+    }
+
+    @Test
+    public void testBuilder_operationsOnNonIdentity() {
+        // Each expected matrix is the operation multiplied on the left of the rows above, worked
+        // out by hand.
+        assertMatricesEqual(new Mat3(new double[][]{{2.0, 0.0, 0.0}, {0.0, 3.0, 0.0}, {1.0, 2.0,
+                1.0}}), scaledAndTranslated().build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat3(new double[][]{{4.0, 0.0, 0.0}, {0.0, 9.0, 0.0}, {2.0, 6.0,
+                1.0}}), scaledAndTranslated().scale(2.0, 3.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat3(new double[][]{{2.0, 0.0, 0.0}, {0.0, 3.0, 0.0}, {2.0, 1.0,
+                1.0}}), scaledAndTranslated().translate(1.0, -1.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat3(new double[][]{{0.0, 2.0, 0.0}, {-3.0, 0.0, 0.0}, {-2.0,
+                1.0, 1.0}}), scaledAndTranslated().rotate(Math.PI / 2).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat3(new double[][]{{2.0, 0.0, 0.0}, {3.0, 3.0, 0.0}, {3.0, 2.0,
+                1.0}}), scaledAndTranslated().shearX(1.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat3(new double[][]{{2.0, 2.0, 0.0}, {0.0, 3.0, 0.0}, {1.0, 3.0,
+                1.0}}), scaledAndTranslated().shearY(1.0).build(), ERROR_MARGIN);
+    }
 }
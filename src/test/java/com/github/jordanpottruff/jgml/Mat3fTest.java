@@ -0,0 +1,35 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Mat3fTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final Mat3f MAT_A = new Mat3f(new float[][]{{1.0f, 2.0f, 3.0f}, {5.0f, 6.0f,
+            7.0f}, {9.0f, 10.0f, 11.0f}});
+    private static final Mat3f MAT_C = new Mat3f(new float[][]{{5.0f, 1.0f, 1.0f}, {1.0f, 5.0f,
+            1.0f}, {1.0f, 1.0f, 5.0f}});
+
+    @Test
+    public void testMatchesDoublePrecision() {
+        Mat3 a = MAT_A.toMat3();
+        Mat3 c = MAT_C.toMat3();
+        assertTrue(new Mat3f(a.multiply(c)).equals(MAT_A.multiply(MAT_C), ERROR_MARGIN));
+        assertTrue(new Mat3f(c.inverse()).equals(MAT_C.inverse(), ERROR_MARGIN));
+        assertEquals(c.determinant(), MAT_C.determinant(), ERROR_MARGIN);
+        Vec3f vec = new Vec3f(1.0f, 2.0f, 3.0f);
+        assertTrue(new Vec3f(a.multiply(vec.toVec3())).equals(MAT_A.multiply(vec), ERROR_MARGIN));
+    }
+
+    @Test
+    public void testBuilder() {
+        Mat3 expected = new Mat3.TransformBuilder().scale(2.0, 3.0).rotate(0.5).translate(1.0,
+                2.0).build();
+        Mat3f actual = new Mat3f.TransformBuilder().scale(2.0f, 3.0f).rotate(0.5f)
+                .translate(new Vec2f(1.0f, 2.0f)).build();
+        assertTrue(new Mat3f(expected).equals(actual, ERROR_MARGIN));
+    }
+}
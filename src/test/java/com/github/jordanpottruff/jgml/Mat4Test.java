@@ -2,9 +2,19 @@ package com.github.jordanpottruff.jgml;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
 import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
 import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class Mat4Test {
     private static final double ERROR_MARGIN = .001;
@@ -30,6 +40,37 @@ public class Mat4Test {
         Mat4 sum = new Mat4(new double[][]{{6.0, 12.0, 18.0, 24.0}, {30.0, 36.0, 42.0, 48.0},
                 {54.0, 60.0, 66.0, 72.0}, {78.0, 84.0, 90.0, 96.0}});
         assertMatricesEqual(sum, MAT_A.add(MAT_B), ERROR_MARGIN);
+        assertMatricesEqual(sum, MAT_A.add(new MatN(MAT_B.toArray())), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(5.0, MAT_A.get(0, 1));
+        assertEquals(12.0, MAT_A.get(3, 2));
+        assertEquals(MAT_A.getCol(3).get(1), MAT_A.get(1, 3));
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.get(4, 0));
+    }
+
+    @Test
+    public void testGetRowAndCol() {
+        MatN general = new MatN(MAT_A.toArray());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(general.getRow(i), MAT_A.getRow(i));
+            assertEquals(general.getCol(i), MAT_A.getCol(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.getRow(4));
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.getCol(-1));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Mat4 mat = new Mat4(MAT_A.toArray());
+        assertEquals(MAT_A, mat);
+        assertEquals(MAT_A.hashCode(), mat.hashCode());
+        assertNotEquals(MAT_A, MAT_B);
+        assertNotEquals(MAT_A, new MatN(MAT_A.toArray()));
+        assertTrue(MAT_A.equals(MAT_A.add(MAT_C.scale(0.0001)), ERROR_MARGIN));
+        assertFalse(MAT_A.equals(MAT_A.add(MAT_C.scale(0.01)), ERROR_MARGIN));
     }
 
     @Test
@@ -50,6 +91,16 @@ public class Mat4Test {
                 1270.0, 1400.0}, {1570.0, 1780.0, 1990.0, 2200.0}, {2130.0, 2420.0, 2710.0,
                 3000.0}});
         assertMatricesEqual(product, MAT_A.multiply(MAT_B), ERROR_MARGIN);
+        assertMatricesEqual(product, MAT_A.multiply(new MatN(MAT_B.toArray())), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.multiply(new MatN(new
+                double[][]{{1.0, 2.0}, {3.0, 4.0}})));
+    }
+
+    @Test
+    public void testChain() {
+        assertMatricesEqual(MAT_A, Mat4.chain(MAT_A), ERROR_MARGIN);
+        assertMatricesEqual(MAT_A.multiply(MAT_B).multiply(MAT_C), Mat4.chain(MAT_A, MAT_B, MAT_C),
+                ERROR_MARGIN);
     }
 
     @Test
@@ -69,6 +120,61 @@ public class Mat4Test {
                 0.2188, -0.0313, -0.0313}, {-0.0313, -0.0313, 0.2188, -0.0313}, {-0.0313, -0.0313
                 , -0.0313, 0.2188}});
         assertMatricesEqual(inverse, MAT_C.inverse(), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, MAT_A::inverse);
+    }
+
+    @Test
+    public void testInverse_nearSingular() {
+        double[][] array = {{1.0, 2.0, 3.0, 4.0}, {5.0, 6.0, 7.0, 8.0}, {9.0, 10.0, 11.0, 12.0},
+                {13.0, 14.0, 15.0, 16.0 + 1e-13}};
+        assertThrows(IllegalArgumentException.class, () -> new MatN(array).inverse());
+        assertThrows(IllegalArgumentException.class, () -> new Mat4(array).inverse());
+    }
+
+    @Test
+    public void testInverse_largeTranslation() {
+        // A rigid transform far from the origin has a determinant of 1 and must take the closed
+        // form, however large the translation.
+        for (double t : new double[]{1e4, 1e8, 1e12}) {
+            Mat4 mat = new Mat4.TransformBuilder().rotateY(0.3).translate(t, 0.0, -t).build();
+            assertEquals(1.0, mat.determinant(), ERROR_MARGIN);
+            assertFalse(Util.isNegligibleDeterminant(mat.determinant(), 4, mat.hadamardBound()));
+            Mat4 expected = new Mat4.TransformBuilder().translate(-t, 0.0, t).rotateY(-0.3)
+                    .build();
+            assertTrue(expected.equals(mat.inverse(), t * 1e-12));
+        }
+
+        Mat4 singular = new Mat4(new double[][]{{1.0, 0.0, 0.0, 0.0}, {0.0, 1.0, 0.0, 0.0},
+                {1.0, 1.0, 0.0, 0.0}, {1e8, 1e8, 1e8, 1.0}});
+        assertTrue(Util.isNegligibleDeterminant(singular.determinant(), 4,
+                singular.hadamardBound()));
+        assertThrows(IllegalArgumentException.class, singular::inverse);
+    }
+
+    @Test
+    public void testInverse_badlyScaled() {
+        // The determinant is small next to the largest element, but the matrix is well
+        // conditioned along each axis, so it must still be inverted.
+        Mat4 mat = new Mat4(new double[][]{{1e-8, 0.0, 0.0, 0.0}, {0.0, 1.0, 0.0, 0.0},
+                {0.0, 0.0, 1.0, 0.0}, {0.0, 0.0, 0.0, 1e3}});
+        Mat4 expected = new Mat4(new double[][]{{1e8, 0.0, 0.0, 0.0}, {0.0, 1.0, 0.0, 0.0},
+                {0.0, 0.0, 1.0, 0.0}, {0.0, 0.0, 0.0, 1e-3}});
+        assertMatricesEqual(expected, mat.inverse(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testInverse_matchesGeneralInverse() {
+        Mat4 mat = new Mat4(new double[][]{{4.0, -2.0, 1.0, 0.0}, {1.0, 5.0, 0.0,
+                2.0}, {0.0, 3.0, 6.0, 1.0}, {2.0, 0.0, -1.0, 7.0}});
+        assertMatricesEqual(new Mat4(new MatN(mat).inverse()), mat.inverse(), ERROR_MARGIN);
+        assertMatricesEqual(Mat4.createIdentityMatrix(), mat.multiply(mat.inverse()), ERROR_MARGIN);
+        assertEquals(new MatN(mat).determinant(), mat.determinant(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testSolve_vec() {
+        assertVectorsEqual(VEC_A, MAT_C.solve(MAT_C.multiply(VEC_A)), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.solve(VEC_A));
     }
 
     @Test
@@ -150,4 +256,165 @@ public class Mat4Test {
         assertMatricesEqual(Mat4.createIdentityMatrix(), reverse, ERROR_MARGIN);
     }
 
+    @Test
+    public void testBuilder_composition() {
+        // Each operation is applied on the left of the operations before it.
+        Mat4 transformation = new Mat4.TransformBuilder().rotateY(0.3).shearX(1.0, 2.0)
+                .translate(1.0, 2.0, 3.0).rotateZ(0.7).shearZ(0.5, -1.0).scale(2.0, 3.0, 4.0)
+                .shearY(-1.0, 0.5).rotateX(1.1).build();
+        Mat4 expected = Mat4.chain(new Mat4.TransformBuilder().rotateX(1.1).build(),
+                new Mat4.TransformBuilder().shearY(-1.0, 0.5).build(),
+                new Mat4.TransformBuilder().scale(2.0, 3.0, 4.0).build(),
+                new Mat4.TransformBuilder().shearZ(0.5, -1.0).build(),
+                new Mat4.TransformBuilder().rotateZ(0.7).build(),
+                new Mat4.TransformBuilder().translate(1.0, 2.0, 3.0).build(),
+                new Mat4.TransformBuilder().shearX(1.0, 2.0).build(),
+                new Mat4.TransformBuilder().rotateY(0.3).build());
+        assertMatricesEqual(expected, transformation, ERROR_MARGIN);
+    }
+
+    @Test
+    public void testBuilder_buildInto() {
+        Mat4.TransformBuilder builder = new Mat4.TransformBuilder().rotateX(0.5).translate(1.0,
+                2.0, 3.0);
+        double[] array = new double[18];
+        builder.buildInto(array, 2);
+        double[][] expected = builder.build().toArray();
+        for (int i = 0; i < 16; i++) {
+            assertEquals(expected[i / 4][i % 4], array[i + 2]);
+        }
+
+        builder.reset().buildInto(array, 0);
+        assertMatricesEqual(Mat4.createIdentityMatrix(), builder.build(), ERROR_MARGIN);
+        assertEquals(1.0, array[15]);
+        assertThrows(IllegalArgumentException.class, () -> builder.buildInto(array, 3));
+        assertThrows(IllegalArgumentException.class, () -> builder.buildInto(array, -1));
+    }
+
+    @Test
+    public void testWriteTo() {
+        // MAT_A holds 1 to 16 in column-major order, so its row-major order is its transpose.
+        FloatBuffer floats = FloatBuffer.allocate(33);
+        floats.put(0.0f);
+        MAT_A.writeTo(floats);
+        MAT_A.writeTo(floats, Layout.ROW_MAJOR);
+        assertEquals(33, floats.position());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i + 1.0f, floats.get(i + 1));
+            assertEquals(MAT_A.get(i / 4, i % 4), floats.get(i + 17));
+        }
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.writeTo(floats));
+
+        DoubleBuffer doubles = DoubleBuffer.allocate(16);
+        MAT_A.writeTo(doubles, Layout.ROW_MAJOR);
+        assertEquals(MAT_A.get(3, 2), doubles.get(14));
+
+        ByteBuffer bytes = ByteBuffer.allocateDirect(68).order(ByteOrder.nativeOrder());
+        MAT_A.writeTo(bytes, 4);
+        assertEquals(0, bytes.position());
+        for (int i = 0; i < 16; i++) {
+            assertEquals(i + 1.0f, bytes.getFloat(4 + i * Float.BYTES));
+        }
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.writeTo(bytes, 8));
+    }
+
+    @Test
+    public void testTransformPoints() {
+        double[] src = {1.0, 2.0, 3.0, -1.0, 0.5, 0.0};
+        double[] dst = new double[7];
+        MAT_A.transformPoints(src, 0, dst, 1, 2);
+        for (int i = 0; i < 2; i++) {
+            Vec4 expected = MAT_A.multiply(new Vec4(src[i * 3], src[i * 3 + 1], src[i * 3 + 2],
+                    1.0));
+            assertVectorsEqual(expected.xyz(), new Vec3(dst[i * 3 + 1], dst[i * 3 + 2],
+                    dst[i * 3 + 3]), ERROR_MARGIN);
+        }
+        assertEquals(0.0, dst[0]);
+
+        Mat4 translation = new Mat4.TransformBuilder().translate(1.0, 2.0, 3.0).build();
+        translation.transformPoints(src, src, 2);
+        assertArrayEquals(new double[]{2.0, 4.0, 6.0, 0.0, 2.5, 3.0}, src, ERROR_MARGIN);
+
+        Vec3Array points = new Vec3Array(new Vec3(0.0, 0.0, 0.0), new Vec3(1.0, 1.0, 1.0));
+        translation.transformPoints(points, points);
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, 2.0, 3.0, 4.0}, points.toArray(),
+                ERROR_MARGIN);
+
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.transformPoints(src, dst, 3));
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.transformPoints(src, 1, dst, 0,
+                2));
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.transformPoints(src, dst, -1));
+        // A count whose number of elements overflows an int.
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.transformPoints(src, dst,
+                Integer.MAX_VALUE / 2 + 1));
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.transformPoints(points,
+                new Vec3Array(1)));
+    }
+
+    @Test
+    public void testTransformDirections() {
+        Mat4 transform = new Mat4.TransformBuilder().translate(1.0, 2.0, 3.0).scale(2.0, 2.0, 2.0)
+                .build();
+        double[] dst = new double[3];
+        transform.transformDirections(new double[]{1.0, 0.0, -1.0}, dst, 1);
+        assertArrayEquals(new double[]{2.0, 0.0, -2.0}, dst, ERROR_MARGIN);
+
+        Vec3Array directions = new Vec3Array(new double[]{0.0, 0.0, 0.0, 1.0, 2.0, 3.0});
+        Vec3Array result = new Vec3Array(1);
+        MAT_A.transformDirections(directions.slice(1, 2), result);
+        Vec4 expected = MAT_A.multiply(new Vec4(1.0, 2.0, 3.0, 0.0));
+        assertVectorsEqual(expected.xyz(), result.get(0), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testTransform() {
+        Vec4Array vectors = new Vec4Array(VEC_A, new Vec4(0.0, 1.0, 0.0, 0.0));
+        MAT_A.transform(vectors, vectors);
+        assertVectorsEqual(MAT_A.multiply(VEC_A), vectors.get(0), ERROR_MARGIN);
+        assertVectorsEqual(MAT_A.multiply(new Vec4(0.0, 1.0, 0.0, 0.0)), vectors.get(1),
+                ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.transform(vectors,
+                new Vec4Array(3)));
+    }
+
+    /**
+     * A builder in a state that is not the identity, whose rows are [2, 0, 0, 1], [0, 3, 0, 2],
+     * [0, 0, 4, 3] and [0, 0, 0, 1].
+     */
+    private static Mat4.TransformBuilder scaledAndTranslated() {
+        return new Mat4.TransformBuilder().scale(2.0, 3.0, 4.0).translate(1.0, 2.0, 3.0);
+    }
+
+    @Test
+    public void testBuilder_operationsOnNonIdentity() {
+        // Each expected matrix is the operation multiplied on the left of the rows above, worked
+        // out by hand.
+        assertMatricesEqual(new Mat4(new double[][]{{2.0, 0.0, 0.0, 0.0}, {0.0, 3.0, 0.0, 0.0},
+                {0.0, 0.0, 4.0, 0.0}, {1.0, 2.0, 3.0, 1.0}}), scaledAndTranslated().build(),
+                ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{4.0, 0.0, 0.0, 0.0}, {0.0, 9.0, 0.0, 0.0},
+                {0.0, 0.0, 16.0, 0.0}, {2.0, 6.0, 12.0, 1.0}}),
+                scaledAndTranslated().scale(2.0, 3.0, 4.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{2.0, 0.0, 0.0, 0.0}, {0.0, 3.0, 0.0, 0.0},
+                {0.0, 0.0, 4.0, 0.0}, {2.0, 1.0, 5.0, 1.0}}),
+                scaledAndTranslated().translate(1.0, -1.0, 2.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{2.0, 0.0, 0.0, 0.0}, {0.0, 0.0, 3.0, 0.0},
+                {0.0, -4.0, 0.0, 0.0}, {1.0, -3.0, 2.0, 1.0}}),
+                scaledAndTranslated().rotateX(Math.PI / 2).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{0.0, 0.0, -2.0, 0.0}, {0.0, 3.0, 0.0, 0.0},
+                {4.0, 0.0, 0.0, 0.0}, {3.0, 2.0, -1.0, 1.0}}),
+                scaledAndTranslated().rotateY(Math.PI / 2).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{0.0, 2.0, 0.0, 0.0}, {-3.0, 0.0, 0.0, 0.0},
+                {0.0, 0.0, 4.0, 0.0}, {-2.0, 1.0, 3.0, 1.0}}),
+                scaledAndTranslated().rotateZ(Math.PI / 2).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{2.0, 0.0, 0.0, 0.0}, {3.0, 3.0, 0.0, 0.0},
+                {8.0, 0.0, 4.0, 0.0}, {9.0, 2.0, 3.0, 1.0}}),
+                scaledAndTranslated().shearX(1.0, 2.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{2.0, 2.0, 0.0, 0.0}, {0.0, 3.0, 0.0, 0.0},
+                {0.0, 8.0, 4.0, 0.0}, {1.0, 9.0, 3.0, 1.0}}),
+                scaledAndTranslated().shearY(1.0, 2.0).build(), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4(new double[][]{{2.0, 0.0, 2.0, 0.0}, {0.0, 3.0, 6.0, 0.0},
+                {0.0, 0.0, 4.0, 0.0}, {1.0, 2.0, 8.0, 1.0}}),
+                scaledAndTranslated().shearZ(1.0, 2.0).build(), ERROR_MARGIN);
+    }
 }
@@ -0,0 +1,69 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Mat4fTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final Mat4f MAT_A = new Mat4f(new float[][]{{1.0f, 2.0f, 3.0f, 4.0f}, {5.0f,
+            6.0f, 7.0f, 8.0f}, {9.0f, 10.0f, 11.0f, 12.0f}, {13.0f, 14.0f, 15.0f, 16.0f}});
+    private static final Mat4f MAT_C = new Mat4f(new float[][]{{5.0f, 1.0f, 1.0f, 1.0f}, {1.0f,
+            5.0f, 1.0f, 1.0f}, {1.0f, 1.0f, 5.0f, 1.0f}, {1.0f, 1.0f, 1.0f, 5.0f}});
+
+    static void assertMatricesEqual(Mat4f expected, Mat4f actual, double error) {
+        assertTrue(expected.equals(actual, error));
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(5.0f, MAT_A.get(0, 1));
+        assertEquals(new Vec4f(13.0f, 14.0f, 15.0f, 16.0f), MAT_A.getCol(3));
+        assertEquals(new Vec4f(1.0f, 5.0f, 9.0f, 13.0f), MAT_A.getRow(0));
+        assertThrows(IllegalArgumentException.class, () -> MAT_A.get(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new Mat4f(new float[][]{{1.0f}}));
+    }
+
+    @Test
+    public void testMatchesDoublePrecision() {
+        Mat4 a = MAT_A.toMat4();
+        Mat4 c = MAT_C.toMat4();
+        assertMatricesEqual(new Mat4f(a.multiply(c)), MAT_A.multiply(MAT_C), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4f(a.add(c)), MAT_A.add(MAT_C), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4f(a.subtract(c)), MAT_A.subtract(MAT_C), ERROR_MARGIN);
+        assertMatricesEqual(new Mat4f(c.inverse()), MAT_C.inverse(), ERROR_MARGIN);
+        assertEquals(c.determinant(), MAT_C.determinant(), ERROR_MARGIN);
+        Vec4f vec = new Vec4f(1.0f, 2.0f, 3.0f, 4.0f);
+        assertTrue(new Vec4f(a.multiply(vec.toVec4())).equals(MAT_A.multiply(vec), ERROR_MARGIN));
+        assertTrue(vec.equals(MAT_C.multiply(MAT_C.solve(vec)), ERROR_MARGIN));
+    }
+
+    @Test
+    public void testChain() {
+        assertMatricesEqual(MAT_A.multiply(MAT_C).multiply(MAT_A), Mat4f.chain(MAT_A, MAT_C,
+                MAT_A), ERROR_MARGIN);
+        assertMatricesEqual(MAT_A, Mat4f.chain(MAT_A, Mat4f.createIdentityMatrix()),
+                ERROR_MARGIN);
+    }
+
+    @Test
+    public void testBuilder() {
+        Mat4.TransformBuilder expected = new Mat4.TransformBuilder().rotateX(0.5).translate(1.0,
+                2.0, 3.0).scale(2.0, 3.0, 4.0);
+        Mat4f.TransformBuilder builder = new Mat4f.TransformBuilder().rotateX(0.5f).translate(1.0f,
+                2.0f, 3.0f).scale(2.0f, 3.0f, 4.0f);
+        assertMatricesEqual(new Mat4f(expected.build()), builder.build(), ERROR_MARGIN);
+
+        float[] array = new float[18];
+        builder.buildInto(array, 2);
+        float[][] built = builder.build().toArray();
+        for (int i = 0; i < 16; i++) {
+            assertEquals(built[i / 4][i % 4], array[i + 2]);
+        }
+        assertMatricesEqual(Mat4f.createIdentityMatrix(), builder.reset().build(), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> builder.buildInto(array, 3));
+    }
+}
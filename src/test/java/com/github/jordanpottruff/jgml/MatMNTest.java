@@ -2,11 +2,19 @@ package com.github.jordanpottruff.jgml;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class MatMNTest {
@@ -89,6 +97,54 @@ public class MatMNTest {
         assertEquals(3.3, MAT3X2_A.get(1, 0), ERROR_MARGIN);
     }
 
+    @Test
+    public void testGet_nonSquare() {
+        // The elements of each matrix are numbered in row-major order, so that an index mix-up
+        // between rows and columns shows up as a wrong value.
+        MatMN wide = new MatMN(new double[][]{{0.0, 3.0}, {1.0, 4.0}, {2.0, 5.0}});
+        MatMN tall = new MatMN(new double[][]{{0.0, 2.0, 4.0}, {1.0, 3.0, 5.0}});
+        for (int row = 0; row < 2; row++) {
+            for (int col = 0; col < 3; col++) {
+                assertEquals(row * 3 + col, wide.get(row, col));
+                assertEquals(col * 2 + row, tall.get(col, row));
+            }
+        }
+        assertVectorsEqual(new VecN(new double[]{3.0, 4.0, 5.0}), wide.getRow(1), ERROR_MARGIN);
+        assertVectorsEqual(new VecN(new double[]{2.0, 5.0}), wide.getCol(2), ERROR_MARGIN);
+        assertVectorsEqual(new VecN(new double[]{4.0, 5.0}), tall.getRow(2), ERROR_MARGIN);
+        assertVectorsEqual(new VecN(new double[]{1.0, 3.0, 5.0}), tall.getCol(1), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> wide.get(2, 0));
+        assertThrows(IllegalArgumentException.class, () -> tall.get(0, 2));
+    }
+
+    @Test
+    public void testToArray_roundTrip() {
+        double[][] array = {{1.0, 2.0}, {3.0, 4.0}, {5.0, 6.0}};
+        MatMN mat = new MatMN(array);
+        double[][] copy = mat.toArray();
+        assertEquals(3, copy.length);
+        for (int col = 0; col < 3; col++) {
+            assertArrayEquals(array[col], copy[col]);
+        }
+        copy[0][0] = 10.0;
+        assertEquals(1.0, mat.get(0, 0));
+        assertEquals(mat, new MatMN(mat.toArray()));
+        assertEquals(MAT3X2_A, new MatMN(MAT3X2_A.toArray()));
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        MatMN mat = new MatMN(new double[][]{{1.0, 2.0}, {3.0, 4.0}, {5.0, 6.0}});
+        assertEquals(MAT2X3_A, mat);
+        assertEquals(MAT2X3_A.hashCode(), mat.hashCode());
+
+        // The same six elements in column-major order, but as a 3x2 matrix.
+        MatMN transposedShape = new MatMN(new double[][]{{1.0, 2.0, 3.0}, {4.0, 5.0, 6.0}});
+        assertNotEquals(MAT2X3_A, transposedShape);
+        assertNotEquals(MAT2X3_A.hashCode(), transposedShape.hashCode());
+        assertNotEquals(MAT2X3_A, MAT2X3_A.scale(2.0));
+    }
+
     @Test
     public void testInvert() {
         MatMN inverted = new MatMN(new double[][]{{-1.0f, -2.3f}, {1.5f, -0.5f}});
@@ -125,6 +181,67 @@ public class MatMNTest {
         assertMatricesEqual(product, MAT2X3_A.multiply(MAT3X2_A), ERROR_MARGIN);
     }
 
+    @Test
+    public void testMultiplyParallel() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        assertEquals(MAT2X3_A.multiply(MAT3X2_A), MAT2X3_A.multiplyParallel(MAT3X2_A, pool));
+        assertEquals(MAT3X2_A.multiply(MAT2X3_A), MAT3X2_A.multiplyParallel(MAT2X3_A, pool));
+        assertThrows(IllegalArgumentException.class, () -> MAT2X2_A.multiplyParallel(MAT3X2_A,
+                pool));
+        pool.shutdown();
+    }
+
+    @Test
+    public void testChain() {
+        MatMN tall = new MatMN(new double[][]{{1.0, 0.0, 2.0, -1.0}, {3.0, 1.0, 0.0, 2.0}});
+        MatMN wide = new MatMN(new double[][]{{2.0, 1.0}, {0.0, -1.0}, {1.0, 4.0}, {3.0, 0.0}});
+        MatMN narrow = new MatMN(new double[][]{{1.0, 2.0, 0.0, -1.0}, {0.5, 1.0, 1.0, 1.0}});
+
+        assertMatricesEqual(MAT2X2_A, MatMN.chain(MAT2X2_A), ERROR_MARGIN);
+        assertMatricesEqual(tall.multiply(wide).multiply(narrow), MatMN.chain(tall, wide, narrow),
+                ERROR_MARGIN);
+        assertMatricesEqual(tall.multiply(wide).multiply(tall).multiply(MAT2X3_A), MatMN.chain(tall,
+                wide, tall, MAT2X3_A), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MatMN.chain(tall, narrow));
+    }
+
+    private static MatMN transpose(MatMN mat) {
+        double[][] transposed = new double[mat.rows()][];
+        for (int i = 0; i < mat.rows(); i++) {
+            transposed[i] = mat.getRow(i).toArray();
+        }
+        return new MatMN(transposed);
+    }
+
+    @Test
+    public void testTransposeMultiply() {
+        assertMatricesEqual(transpose(MAT3X2_A).multiply(MAT3X2_A.multiply(MAT2X3_A)),
+                MAT3X2_A.transposeMultiply(MAT3X2_A.multiply(MAT2X3_A)), ERROR_MARGIN);
+        assertMatricesEqual(transpose(MAT2X3_A).multiply(MAT2X2_A),
+                MAT2X3_A.transposeMultiply(MAT2X2_A), ERROR_MARGIN);
+        assertVectorsEqual(transpose(MAT2X3_A).multiply(VEC2_A), MAT2X3_A.transposeMultiply(VEC2_A),
+                ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT3X2_A.transposeMultiply(MAT2X3_A));
+        assertThrows(IllegalArgumentException.class, () -> MAT3X2_A.transposeMultiply(VEC2_A));
+    }
+
+    @Test
+    public void testMultiplyTranspose() {
+        assertMatricesEqual(MAT3X2_A.multiply(transpose(MAT3X2_A)),
+                MAT3X2_A.multiplyTranspose(MAT3X2_A), ERROR_MARGIN);
+        assertMatricesEqual(MAT2X3_A.multiply(transpose(MAT3X2_A.multiply(MAT2X3_A))),
+                MAT2X3_A.multiplyTranspose(MAT3X2_A.multiply(MAT2X3_A)), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT2X3_A.multiplyTranspose(MAT2X2_A));
+    }
+
+    @Test
+    public void testGram() {
+        assertMatricesEqual(new MatN(transpose(MAT3X2_A).multiply(MAT3X2_A)), MAT3X2_A.gram(),
+                ERROR_MARGIN);
+        assertMatricesEqual(new MatN(transpose(MAT2X3_A).multiply(MAT2X3_A)), MAT2X3_A.gram(),
+                ERROR_MARGIN);
+    }
+
     @Test
     public void testToString() {
         String expected = "[1.000000][-1.500000]\n[2.300000][ 0.500000]";
@@ -136,4 +253,126 @@ public class MatMNTest {
         String expected = "[1.00][-1.50]\n[2.30][ 0.50]";
         assertEquals(expected, MAT2X2_A.toString(2));
     }
+
+    @Test
+    public void testWriteTo() {
+        FloatBuffer floats = FloatBuffer.allocate(12);
+        MAT2X3_A.writeTo(floats);
+        MAT2X3_A.writeTo(floats, Layout.ROW_MAJOR);
+        float[] expected = {1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 1.0f, 3.0f, 5.0f, 2.0f, 4.0f, 6.0f};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], floats.get(i));
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(24);
+        MAT2X3_A.writeTo(bytes, 0, Layout.ROW_MAJOR);
+        assertEquals(2.0f, bytes.getFloat(3 * Float.BYTES));
+        assertThrows(IllegalArgumentException.class, () -> MAT2X3_A.writeTo(bytes, -4));
+    }
+
+    @Test
+    public void testWriteTo_defaultMethods() {
+        Mat mat = new ForwardingMat(MAT2X3_A);
+        for (Layout layout : Layout.values()) {
+            FloatBuffer expectedFloats = FloatBuffer.allocate(6);
+            FloatBuffer floats = FloatBuffer.allocate(6);
+            MAT2X3_A.writeTo(expectedFloats, layout);
+            mat.writeTo(floats, layout);
+            assertEquals(expectedFloats.flip(), floats.flip());
+
+            DoubleBuffer expectedDoubles = DoubleBuffer.allocate(6);
+            DoubleBuffer doubles = DoubleBuffer.allocate(6);
+            MAT2X3_A.writeTo(expectedDoubles, layout);
+            mat.writeTo(doubles, layout);
+            assertEquals(expectedDoubles.flip(), doubles.flip());
+
+            ByteBuffer expectedBytes = ByteBuffer.allocate(28);
+            ByteBuffer bytes = ByteBuffer.allocate(28);
+            MAT2X3_A.writeTo(expectedBytes, 4, layout);
+            mat.writeTo(bytes, 4, layout);
+            assertEquals(expectedBytes, bytes);
+        }
+        FloatBuffer column = FloatBuffer.allocate(6);
+        mat.writeTo(column);
+        assertEquals(4.0f, column.get(3));
+        assertThrows(IllegalArgumentException.class, () -> mat.writeTo(FloatBuffer.allocate(5)));
+        assertThrows(IllegalArgumentException.class, () -> mat.writeTo(ByteBuffer.allocate(28), 8));
+    }
+
+    /**
+     * A Mat implemented outside of MatMN, which only inherits the default writeTo methods.
+     */
+    private static class ForwardingMat implements Mat {
+
+        private final MatMN mat;
+
+        ForwardingMat(MatMN mat) {
+            this.mat = mat;
+        }
+
+        @Override
+        public int rows() {
+            return mat.rows();
+        }
+
+        @Override
+        public int cols() {
+            return mat.cols();
+        }
+
+        @Override
+        public Vec getRow(int i) {
+            return mat.getRow(i);
+        }
+
+        @Override
+        public Vec getCol(int i) {
+            return mat.getCol(i);
+        }
+
+        @Override
+        public double get(int row, int col) {
+            return mat.get(row, col);
+        }
+
+        @Override
+        public Mat invert() {
+            return mat.invert();
+        }
+
+        @Override
+        public Mat add(Mat other) {
+            return mat.add(other);
+        }
+
+        @Override
+        public Mat subtract(Mat other) {
+            return mat.subtract(other);
+        }
+
+        @Override
+        public Mat scale(double scalar) {
+            return mat.scale(scalar);
+        }
+
+        @Override
+        public Vec multiply(Vec vec) {
+            return mat.multiply(vec);
+        }
+
+        @Override
+        public Mat multiply(Mat other) {
+            return mat.multiply(other);
+        }
+
+        @Override
+        public double[][] toArray() {
+            return mat.toArray();
+        }
+
+        @Override
+        public Iterator<Double> iterator() {
+            return mat.iterator();
+        }
+    }
 }
@@ -3,13 +3,23 @@ package com.github.jordanpottruff.jgml;
 import org.junit.Test;
 
 import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class MatNTest {
     private static final double ERROR_MARGIN = .001;
 
     private static final MatN MAT2_A = new MatN(new double[][]{{1.0, 2.0}, {3.0, 4.0}});
     private static final MatN MAT2_B = new MatN(new double[][]{{2.0, 3.0}, {4.0, 5.0}});
+    private static final MatN MAT4_A = new MatN(new double[][]{{4.0, -2.0, 1.0, 0.0}, {1.0, 5.0,
+            0.0, 2.0}, {0.0, 3.0, 6.0, 1.0}, {2.0, 0.0, -1.0, 7.0}});
+    private static final MatN MAT4_UPPER = new MatN(new double[][]{{2.0, 0.0, 0.0, 0.0}, {1.0,
+            3.0, 0.0, 0.0}, {-1.0, 4.0, 5.0, 0.0}, {2.0, 0.0, 1.0, -4.0}});
+    private static final MatN MAT4_SINGULAR = new MatN(new double[][]{{1.0, 2.0, 3.0, 4.0}, {5.0,
+            6.0, 7.0, 8.0}, {9.0, 10.0, 11.0, 12.0}, {13.0, 14.0, 15.0, 16.0}});
+
+    private static final VecN VEC4_A = new VecN(new double[]{1.0, -2.0, 3.0, 0.5});
 
     @Test
     public void testInvert() {
@@ -45,4 +55,42 @@ public class MatNTest {
         MatN inverse = new MatN(new double[][]{{-2.0, 1.0}, {1.5, -0.5}});
         assertMatricesEqual(inverse, MAT2_A.inverse(), ERROR_MARGIN);
     }
+
+    @Test
+    public void testSolve_vec() {
+        assertVectorsEqual(VEC4_A, MAT4_A.solve(MAT4_A.multiply(VEC4_A)), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT4_A.solve(new VecN(new double[]{1.0,
+                2.0})));
+        assertThrows(IllegalArgumentException.class, () -> MAT4_SINGULAR.solve(VEC4_A));
+    }
+
+    @Test
+    public void testSolve_vecTriangular() {
+        MatN lower = new MatN(new double[][]{{2.0, 1.0, -1.0, 2.0}, {0.0, 3.0, 4.0, 0.0}, {0.0,
+                0.0, 5.0, 1.0}, {0.0, 0.0, 0.0, -4.0}});
+        assertVectorsEqual(VEC4_A, MAT4_UPPER.solve(MAT4_UPPER.multiply(VEC4_A)), ERROR_MARGIN);
+        assertVectorsEqual(VEC4_A, lower.solve(lower.multiply(VEC4_A)), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> new MatN(new double[][]{{1.0, 0.0},
+                {2.0, 0.0}}).solve(new Vec2(1.0, 1.0)));
+    }
+
+    @Test
+    public void testSolve_mat() {
+        MatMN expected = new MatMN(new double[][]{{1.0, -2.0, 3.0, 0.5}, {0.0, 1.0, 0.0, 2.0},
+                {4.0, 4.0, -4.0, 1.0}});
+        assertMatricesEqual(expected, MAT4_A.solve(MAT4_A.multiply(expected)), ERROR_MARGIN);
+        assertMatricesEqual(expected, MAT4_UPPER.solve(MAT4_UPPER.multiply(expected)),
+                ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT4_SINGULAR.solve(expected));
+    }
+
+    @Test
+    public void testMultiplyStrassen() {
+        assertMatricesEqual(MAT4_A.multiply(MAT4_UPPER), MAT4_A.multiplyStrassen(MAT4_UPPER, 1),
+                ERROR_MARGIN);
+        assertMatricesEqual(MAT4_A.multiply(MAT4_A), MAT4_A.multiplyStrassen(MAT4_A),
+                ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT4_A.multiplyStrassen(MAT2_A));
+        assertThrows(IllegalArgumentException.class, () -> MAT4_A.multiplyStrassen(MAT4_A, 0));
+    }
 }
@@ -0,0 +1,76 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QRDecompositionTest {
+    private static final double ERROR_MARGIN = .001;
+
+    // Design matrix for fitting a line y = a + bx through four points.
+    private static final MatMN MAT_LINE = new MatMN(new double[][]{{1.0, 1.0, 1.0, 1.0}, {0.0, 1.0,
+            2.0, 3.0}});
+    private static final MatMN MAT_A = new MatMN(new double[][]{{4.0, -2.0, 1.0, 0.0, 3.0}, {1.0,
+            5.0, 0.0, 2.0, -1.0}, {0.0, 3.0, 6.0, 1.0, 2.0}});
+    private static final MatMN MAT_RANK_DEFICIENT = new MatMN(new double[][]{{1.0, 2.0, 3.0}, {2.0,
+            4.0, 6.0}});
+
+    @Test
+    public void testFactors() {
+        QRDecomposition qr = MAT_A.qr();
+        assertMatricesEqual(MAT_A, qr.q().multiply(qr.r()), ERROR_MARGIN);
+
+        // The columns of Q are orthonormal.
+        MatMN q = qr.q();
+        for (int i = 0; i < q.cols(); i++) {
+            for (int j = 0; j < q.cols(); j++) {
+                assertEquals(i == j ? 1.0 : 0.0, q.getCol(i).dot(q.getCol(j)), ERROR_MARGIN);
+            }
+        }
+
+        // R is upper-triangular.
+        MatN r = qr.r();
+        for (int c = 0; c < r.cols(); c++) {
+            for (int row = c + 1; row < r.rows(); row++) {
+                assertEquals(0.0, r.get(row, c));
+            }
+        }
+    }
+
+    @Test
+    public void testIsFullRank() {
+        assertTrue(MAT_A.qr().isFullRank());
+        assertFalse(MAT_RANK_DEFICIENT.qr().isFullRank());
+    }
+
+    @Test
+    public void testLeastSquares_vec() {
+        VecN fit = MAT_LINE.leastSquares(new VecN(new double[]{1.0, 3.0, 5.1, 6.9}));
+        assertVectorsEqual(new VecN(new double[]{1.03, 1.98}), fit, ERROR_MARGIN);
+
+        // A consistent system is solved exactly.
+        Vec3 x = new Vec3(1.0, -2.0, 0.5);
+        assertVectorsEqual(new VecN(x), MAT_A.leastSquares(MAT_A.multiply(x)), ERROR_MARGIN);
+
+        assertThrows(IllegalArgumentException.class, () -> MAT_LINE.leastSquares(x));
+        assertThrows(IllegalArgumentException.class, () -> MAT_RANK_DEFICIENT.leastSquares(x));
+    }
+
+    @Test
+    public void testLeastSquares_mat() {
+        MatMN expected = new MatMN(new double[][]{{1.0, -2.0, 0.5}, {0.0, 3.0, 1.0}});
+        assertMatricesEqual(expected, MAT_A.qr().leastSquares(MAT_A.multiply(expected)),
+                ERROR_MARGIN);
+    }
+
+    @Test
+    public void testWideMatrix() {
+        MatMN wide = new MatMN(new double[][]{{1.0, 2.0}, {3.0, 4.0}, {5.0, 6.0}});
+        assertThrows(IllegalArgumentException.class, wide::qr);
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static com.github.jordanpottruff.jgml.MatMNTest.assertMatricesEqual;
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SingularValueDecompositionTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private static final MatMN MAT_WIDE = new MatMN(new double[][]{{3.0, 2.0}, {2.0, 3.0}, {2.0,
+            -2.0}});
+    private static final MatMN MAT_TALL = new MatMN(new double[][]{{1.0, 1.0, 1.0, 1.0}, {0.0, 1.0,
+            2.0, 3.0}});
+    private static final MatMN MAT_RANK_ONE = new MatMN(new double[][]{{1.0, 2.0, 3.0}, {2.0, 4.0,
+            6.0}});
+
+    private static void assertOrthonormalColumns(MatMN mat) {
+        for (int i = 0; i < mat.cols(); i++) {
+            for (int j = 0; j < mat.cols(); j++) {
+                assertEquals(i == j ? 1.0 : 0.0, mat.getCol(i).dot(mat.getCol(j)), ERROR_MARGIN);
+            }
+        }
+    }
+
+    private static void assertDecomposes(MatMN mat, SingularValueDecomposition svd) {
+        // AV = U(Sigma) holds for both the thin and the full forms.
+        assertMatricesEqual(svd.u().multiply(svd.s()), mat.multiply(svd.v()), ERROR_MARGIN);
+        assertOrthonormalColumns(svd.u());
+        assertOrthonormalColumns(svd.v());
+    }
+
+    @Test
+    public void testSingularValues() {
+        assertVectorsEqual(new VecN(new double[]{5.0, 3.0}), MAT_WIDE.svd().singularValues(),
+                ERROR_MARGIN);
+    }
+
+    @Test
+    public void testThin() {
+        SingularValueDecomposition svd = MAT_TALL.svd();
+        assertEquals(4, svd.u().rows());
+        assertEquals(2, svd.u().cols());
+        assertEquals(2, svd.s().rows());
+        assertEquals(2, svd.v().cols());
+        assertDecomposes(MAT_TALL, svd);
+        assertDecomposes(MAT_WIDE, MAT_WIDE.svd());
+    }
+
+    @Test
+    public void testFull() {
+        SingularValueDecomposition svd = MAT_TALL.svd(false);
+        assertEquals(4, svd.u().cols());
+        assertEquals(4, svd.s().rows());
+        assertEquals(2, svd.s().cols());
+        assertDecomposes(MAT_TALL, svd);
+
+        SingularValueDecomposition wide = MAT_WIDE.svd(false);
+        assertEquals(3, wide.v().cols());
+        assertDecomposes(MAT_WIDE, wide);
+    }
+
+    @Test
+    public void testRank() {
+        assertEquals(2, MAT_TALL.svd().rank());
+        assertEquals(1, MAT_RANK_ONE.svd().rank());
+        assertDecomposes(MAT_RANK_ONE, MAT_RANK_ONE.svd());
+        assertDecomposes(MAT_RANK_ONE, MAT_RANK_ONE.svd(false));
+    }
+
+    @Test
+    public void testPseudoInverse() {
+        MatMN pseudoInverse = MAT_TALL.svd().pseudoInverse();
+        assertMatricesEqual(MatMN.chain(MAT_TALL, pseudoInverse, MAT_TALL), MAT_TALL, ERROR_MARGIN);
+        assertVectorsEqual(new VecN(new double[]{1.03, 1.98}), pseudoInverse.multiply(new VecN(
+                new double[]{1.0, 3.0, 5.1, 6.9})), ERROR_MARGIN);
+
+        MatMN rankOneInverse = MAT_RANK_ONE.svd().pseudoInverse();
+        assertMatricesEqual(MatMN.chain(MAT_RANK_ONE, rankOneInverse, MAT_RANK_ONE), MAT_RANK_ONE,
+                ERROR_MARGIN);
+    }
+
+    @Test
+    public void testApproximate() {
+        assertMatricesEqual(MAT_WIDE, MAT_WIDE.svd().approximate(2), ERROR_MARGIN);
+        assertMatricesEqual(MAT_RANK_ONE, MAT_RANK_ONE.svd().approximate(1), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> MAT_WIDE.svd().approximate(3));
+    }
+}
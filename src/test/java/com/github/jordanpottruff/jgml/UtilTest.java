@@ -2,6 +2,9 @@ package com.github.jordanpottruff.jgml;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static com.github.jordanpottruff.jgml.Util.*;
@@ -29,6 +32,11 @@ public class UtilTest {
     private static final double[][] MAT3X2_B = {{-1.0f, -2.0f, 3.0f}, {10.0f, 1.0f, 5.0f}};
     private static final double[][] MAT3X3_A = {{-3.7f, 8.2f, 2.9f}, {6.1f, 9.9f, -2.0f}, {4.5f,
             -3.3f, 3.5f}};
+    private static final double[][] MAT4X4_A = {{2.0f, 1.0f, 0.0f, 3.0f}, {1.0f, 3.0f, 2.0f,
+            0.0f}, {0.0f, 2.0f, 4.0f, 1.0f}, {3.0f, 0.0f, 1.0f, 5.0f}};
+    private static final double[][] MAT5X5_A = {{4.0f, -2.0f, 1.0f, 0.0f, 3.0f}, {1.0f, 5.0f,
+            0.0f, 2.0f, -1.0f}, {0.0f, 3.0f, 6.0f, 1.0f, 2.0f}, {2.0f, 0.0f, -1.0f, 7.0f, 1.0f},
+            {1.0f, 1.0f, 2.0f, 0.0f, 8.0f}};
 
     // Special matrices
     private static final double[][] MAT2X2_IDENTITY = {{1f, 0f}, {0f, 1f}};
@@ -90,6 +98,11 @@ public class UtilTest {
     public void testDeterminant() {
         assertEquals(3.95f, determinant(MAT2X2_A), EPSILON);
         assertEquals(-540.226f, determinant(MAT3X3_A), EPSILON);
+        assertEquals(-29.0f, determinant(MAT4X4_A), EPSILON);
+        assertEquals(6155.0f, determinant(MAT5X5_A), EPSILON);
+        assertEquals(0.0f, determinant(new double[][]{{1.0f, 2.0f, 3.0f, 4.0f}, {2.0f, 4.0f, 6.0f,
+                8.0f}, {0.0f, 1.0f, 0.0f, 1.0f}, {5.0f, 0.0f, 2.0f, 1.0f}}), EPSILON);
+        assertEquals(Math.pow(2.0, 20), determinant(scale(identity(20), 2.0)), EPSILON);
         assertThrows(IllegalArgumentException.class, () -> determinant(MAT3X2_A));
     }
 
@@ -97,9 +110,88 @@ public class UtilTest {
     public void testInverse() {
         assertTrue(matsEqual(inverse(MAT2X2_A), new double[][]{{0.126f, -0.582f}, {0.379f,
                 0.253f}}));
-        assertTrue(matsEqual(multiply(inverse(MAT2X2_A), MAT2X2_A), MAT2X2_IDENTITY));
+        assertTrue(vecsEqual(multiply(inverse(flatten(MAT2X2_A), 2), 2, flatten(MAT2X2_A), 2),
+                flatten(MAT2X2_IDENTITY)));
         assertTrue(matsEqual(inverse(MAT_3X3_IDENTITY), MAT_3X3_IDENTITY));
         assertThrows(IllegalArgumentException.class, () -> inverse(MAT2X2_NON_INVERTIBLE));
+
+        assertTrue(vecsEqual(multiply(inverse(flatten(MAT5X5_A), 5), 5, flatten(MAT5X5_A), 5),
+                flatten(identity(5))));
+        assertTrue(vecsEqual(multiply(flatten(MAT4X4_A), 4, inverse(flatten(MAT4X4_A), 4), 4),
+                flatten(identity(4))));
+        assertThrows(IllegalArgumentException.class, () -> inverse(new double[][]{{1.0f, 2.0f,
+                3.0f, 4.0f}, {5.0f, 6.0f, 7.0f, 8.0f}, {9.0f, 10.0f, 11.0f, 12.0f}, {13.0f, 14.0f,
+                15.0f, 16.0f}}));
+    }
+
+    @Test
+    public void testSolve() {
+        double[] mat = flatten(MAT5X5_A);
+        double[] columns = {1.0f, 2.0f, 3.0f, 4.0f, 5.0f, -1.0f, 0.0f, 1.0f, 0.0f, -1.0f};
+        double[] rhs = multiply(mat, 5, columns, 5);
+        solve(mat, 5, rhs);
+        assertTrue(vecsEqual(columns, rhs));
+
+        // Triangular matrices are solved by substitution instead.
+        double[] upper = {2.0f, 0.0f, 1.0f, 4.0f};
+        double[] lower = {2.0f, 1.0f, 0.0f, 4.0f};
+        double[] x = {1.0f, -1.0f, 3.0f, 0.5f};
+        double[] upperRhs = multiply(upper, 2, x, 2);
+        double[] lowerRhs = multiply(lower, 2, x, 2);
+        solve(upper, 2, upperRhs);
+        solve(lower, 2, lowerRhs);
+        assertTrue(vecsEqual(x, upperRhs));
+        assertTrue(vecsEqual(x, lowerRhs));
+
+        assertThrows(IllegalArgumentException.class, () -> solve(flatten(MAT2X2_NON_INVERTIBLE),
+                2, new double[]{1.0f, 1.0f}));
+        assertThrows(IllegalArgumentException.class, () -> solve(new double[]{1.0f, 0.0f, 1.0f,
+                0.0f}, 2, new double[]{1.0f, 1.0f}));
+    }
+
+    @Test
+    public void testIsTriangular() {
+        assertTrue(isUpperTriangular(new double[]{1.0f, 0.0f, 2.0f, 3.0f}, 2));
+        assertFalse(isUpperTriangular(flatten(MAT2X2_A), 2));
+        assertTrue(isLowerTriangular(new double[]{1.0f, 2.0f, 0.0f, 3.0f}, 2));
+        assertFalse(isLowerTriangular(flatten(MAT2X2_A), 2));
+    }
+
+    @Test
+    public void testDecomposeLU() {
+        int n = MAT4X4_A.length;
+        double[] lu = flatten(MAT4X4_A);
+        int[] pivots = new int[n];
+        decomposeLU(lu, n, pivots);
+
+        // Rebuild PA from the factors and compare it against the original matrix.
+        double[] l = new double[n * n];
+        double[] u = new double[n * n];
+        setIdentity(l, n);
+        for (int c = 0; c < n; c++) {
+            for (int r = 0; r < n; r++) {
+                if (r > c) {
+                    l[c * n + r] = lu[c * n + r];
+                } else {
+                    u[c * n + r] = lu[c * n + r];
+                }
+            }
+        }
+        double[][] pa = new double[n][];
+        for (int c = 0; c < n; c++) {
+            pa[c] = MAT4X4_A[c].clone();
+            for (int k = 0; k < n; k++) {
+                double tmp = pa[c][k];
+                pa[c][k] = pa[c][pivots[k]];
+                pa[c][pivots[k]] = tmp;
+            }
+        }
+        assertTrue(matsEqual(unflatten(multiply(l, n, u, n), n), pa));
+    }
+
+    @Test
+    public void testFlatten() {
+        assertTrue(vecsEqual(flatten(MAT2X3_A), new double[]{1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f}));
     }
 
     @Test
@@ -152,8 +244,120 @@ public class UtilTest {
 
     @Test
     public void testMultiply_mat() {
-        assertTrue(matsEqual(multiply(MAT2X2_A, MAT2X2_B), new double[][]{{4.85f, 6.81f}, {9.95f,
-                13.8f}}));
+        assertTrue(vecsEqual(multiply(flatten(MAT2X2_A), 2, flatten(MAT2X2_B), 2),
+                new double[]{4.85f, 6.81f, 9.95f, 13.8f}));
+        assertTrue(vecsEqual(multiply(flatten(MAT3X2_A), 3, flatten(MAT2X2_A), 2),
+                new double[]{-6.59f, 8.59f, 4.42f, -3.15f, -3.8f, -1.1f}));
+        assertThrows(IllegalArgumentException.class, () -> multiply(flatten(MAT2X2_A), 2,
+                flatten(MAT3X2_A), 3));
+    }
+
+    @Test
+    public void testMultiply_blocked() {
+        // Dimensions that are not multiples of the block size, large enough to use the blocked
+        // kernel, which must match a naive triple loop exactly.
+        Random random = new Random(42);
+        double[][] matA = randomMatrix(random, BLOCK_SIZE * 2 + 3, BLOCK_SIZE + 17);
+        double[][] matB = randomMatrix(random, BLOCK_SIZE + 5, matA.length);
+
+        double[][] expected = new double[matB.length][matA[0].length];
+        for (int row = 0; row < expected[0].length; row++) {
+            for (int col = 0; col < expected.length; col++) {
+                for (int i = 0; i < matA.length; i++) {
+                    expected[col][row] += matA[i][row] * matB[col][i];
+                }
+            }
+        }
+        int rows = matA[0].length;
+        double[][] product = unflatten(multiply(flatten(matA), rows, flatten(matB), matA.length),
+                rows);
+        for (int col = 0; col < expected.length; col++) {
+            assertArrayEquals(expected[col], product[col]);
+        }
+    }
+
+    @Test
+    public void testMultiplyColumn_offsets() {
+        // A 3x2 column-major matrix times the vector starting at index 1, added to the result
+        // starting at index 2.
+        double[] mat = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+        double[] vec = {9.0, 2.0, -1.0};
+        double[] result = {7.0, 7.0, 1.0, 1.0, 1.0};
+        multiplyColumn(2.0, mat, 3, vec, 1, result, 2);
+        assertArrayEquals(new double[]{7.0, 7.0, 1.0 - 4.0, 1.0 - 2.0, 1.0}, result);
+    }
+
+    @Test
+    public void testMultiplyTranspose_nonSquare() {
+        Random random = new Random(3);
+        // Large enough to span more than one tile in every dimension but the last.
+        int rows = BLOCK_SIZE + 2;
+        int inner = BLOCK_SIZE + 5;
+        double[][] matA = randomMatrix(random, inner, rows);
+        double[][] matB = randomMatrix(random, inner, 4);
+        double[] product = multiplyTranspose(flatten(matA), rows, flatten(matB), 4);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < 4; col++) {
+                double expected = 0.0;
+                for (int i = 0; i < inner; i++) {
+                    expected += matA[i][row] * matB[i][col];
+                }
+                assertEquals(expected, product[col * rows + row]);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiplyParallel() {
+        Random random = new Random(7);
+        double[][] matA = randomMatrix(random, BLOCK_SIZE + 9, BLOCK_SIZE * 2 + 1);
+        double[][] matB = randomMatrix(random, 150, matA.length);
+        int rows = matA[0].length;
+        double[] flat = new double[rows * matB.length];
+        multiplyColumns(1.0, flatten(matA), rows, flatten(matB), matA.length, flat, 0,
+                matB.length);
+        double[][] expected = unflatten(flat, rows);
+
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            double[][] product = unflatten(multiplyParallel(flatten(matA), rows, flatten(matB),
+                    matA.length, pool), rows);
+            pool.shutdown();
+            for (int col = 0; col < expected.length; col++) {
+                assertArrayEquals(expected[col], product[col]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> multiplyParallel(flatten(MAT2X2_A), 2,
+                flatten(MAT3X2_A), 3, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testMultiplyStrassen() {
+        Random random = new Random(11);
+        for (int n : new int[]{2, 8, 37, 64}) {
+            double[] matA = flatten(randomMatrix(random, n, n));
+            double[] matB = flatten(randomMatrix(random, n, n));
+            double[] expected = multiply(matA, n, matB, n);
+            for (int cutoff : new int[]{1, 3, 16}) {
+                assertArrayEquals(expected, multiplyStrassen(matA, matB, n, cutoff), 1e-12);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> multiplyStrassen(flatten(MAT2X2_A),
+                flatten(MAT2X2_B), 2, 0));
+        assertThrows(IllegalArgumentException.class, () -> multiplyStrassen(flatten(MAT3X2_A),
+                flatten(MAT2X2_A), 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> multiplyStrassen(flatten(MAT2X2_A),
+                flatten(MAT3X3_A), 2, 1));
+    }
+
+    private static double[][] randomMatrix(Random random, int cols, int rows) {
+        double[][] mat = new double[cols][rows];
+        for (double[] col : mat) {
+            for (int i = 0; i < rows; i++) {
+                col[i] = random.nextDouble() - 0.5;
+            }
+        }
+        return mat;
     }
 
     @Test
@@ -313,25 +517,43 @@ public class UtilTest {
     @Test
     public void testVerifyValidColumn() {
         // No exception expected -- test fails if one occurs.
-        verifyValidColumn(MAT2X2_A, 0);
-        verifyValidColumn(MAT3X3_A, 2);
-        verifyValidColumn(MAT3X2_A, 1);
-
-        assertThrows(IllegalArgumentException.class, () -> verifyValidColumn(MAT2X2_A, -1));
-        assertThrows(IllegalArgumentException.class, () -> verifyValidColumn(MAT3X2_A, 2));
-        assertThrows(IllegalArgumentException.class, () -> verifyValidColumn(MAT3X3_A, 10000));
+        verifyValidColumn(flatten(MAT2X2_A), 2, 0);
+        verifyValidColumn(flatten(MAT3X3_A), 3, 2);
+        verifyValidColumn(flatten(MAT3X2_A), 3, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> verifyValidColumn(flatten(MAT2X2_A), 2,
+                -1));
+        assertThrows(IllegalArgumentException.class, () -> verifyValidColumn(flatten(MAT3X2_A), 3,
+                2));
+        assertThrows(IllegalArgumentException.class, () -> verifyValidColumn(flatten(MAT3X3_A), 3,
+                10000));
     }
 
     @Test
     public void testVerifyValidRow() {
         // No exception expected -- test fails if one occurs.
-        verifyValidRow(MAT2X2_A, 0);
-        verifyValidRow(MAT3X3_A, 2);
-        verifyValidRow(MAT3X2_A, 2);
+        verifyValidRow(flatten(MAT2X2_A), 2, 0);
+        verifyValidRow(flatten(MAT3X3_A), 3, 2);
+        verifyValidRow(flatten(MAT3X2_A), 3, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> verifyValidRow(flatten(MAT2X2_A), 2,
+                -1));
+        assertThrows(IllegalArgumentException.class, () -> verifyValidRow(flatten(MAT3X2_A), 3,
+                3));
+        assertThrows(IllegalArgumentException.class, () -> verifyValidRow(flatten(MAT3X3_A), 3,
+                10000));
+    }
 
-        assertThrows(IllegalArgumentException.class, () -> verifyValidRow(MAT2X2_A, -1));
-        assertThrows(IllegalArgumentException.class, () -> verifyValidRow(MAT3X2_A, 3));
-        assertThrows(IllegalArgumentException.class, () -> verifyValidRow(MAT3X3_A, 10000));
+    @Test
+    public void testVerifySymmetricMatrix() {
+        // No exception expected -- test fails if one occurs.
+        verifySymmetricMatrix(flatten(MAT4X4_A), 4);
+        verifySymmetricMatrix(flatten(MAT2X2_IDENTITY), 2);
+
+        assertThrows(IllegalArgumentException.class, () -> verifySymmetricMatrix(flatten(MAT2X2_A),
+                2));
+        assertThrows(IllegalArgumentException.class, () -> verifySymmetricMatrix(flatten(MAT3X3_A),
+                3));
     }
 
     @Test
@@ -342,6 +564,8 @@ public class UtilTest {
         // No exception expected -- test fails if one occurs.
         verifyInvertibleMatrix(invertibleMatrix);
 
+        verifyInvertibleMatrix(MAT5X5_A);
+
         assertThrows(IllegalArgumentException.class, () -> verifyInvertibleMatrix(nonInvertibleMatrix));
     }
 
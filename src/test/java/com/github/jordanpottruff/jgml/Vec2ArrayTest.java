@@ -0,0 +1,53 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Vec2ArrayTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private final Vec2Array ARRAY_A = new Vec2Array(new Vec2(3.0, 4.0), new Vec2(1.0, 2.0));
+    private final Vec2Array ARRAY_B = new Vec2Array(new double[]{2.0, 0.0, 1.0, -1.0});
+
+    @Test
+    public void testAccessors() {
+        assertEquals(2, ARRAY_A.size());
+        assertVectorsEqual(new Vec2(1.0, 2.0), ARRAY_A.get(1), ERROR_MARGIN);
+        assertEquals(3.0, ARRAY_A.x(0));
+        assertEquals(4.0, ARRAY_A.y(0));
+        ARRAY_A.slice(1, 2).set(0, new Vec2(5.0, 6.0));
+        assertArrayEquals(new double[]{3.0, 4.0, 5.0, 6.0}, ARRAY_A.toArray());
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.get(2));
+        assertThrows(IllegalArgumentException.class, () -> new Vec2Array(new double[3]));
+        assertThrows(IllegalArgumentException.class, () -> new Vec2Array(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Vec2Array(1 << 30));
+    }
+
+    @Test
+    public void testOperations() {
+        ARRAY_A.add(ARRAY_B).subtract(new Vec2(1.0, 1.0)).scale(2.0);
+        assertArrayEquals(new double[]{8.0, 6.0, 2.0, 0.0}, ARRAY_A.toArray(), ERROR_MARGIN);
+        assertArrayEquals(new double[]{16.0, 2.0}, ARRAY_A.dot(ARRAY_B), ERROR_MARGIN);
+        assertArrayEquals(new double[]{6.0, 0.0}, ARRAY_A.dot(new Vec2(0.0, 1.0)), ERROR_MARGIN);
+        ARRAY_A.normalize();
+        assertArrayEquals(new double[]{0.8, 0.6, 1.0, 0.0}, ARRAY_A.toArray(), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.add(new Vec2Array(1)));
+    }
+
+    @Test
+    public void testWriteTo() {
+        DoubleBuffer doubles = DoubleBuffer.allocate(3);
+        doubles.put(0.0);
+        ARRAY_A.slice(1, 2).writeTo(doubles);
+        assertEquals(3, doubles.position());
+        assertEquals(2.0, doubles.get(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> ARRAY_A.writeTo(DoubleBuffer.allocate(3)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Vec2fTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private final Vec2f VEC_A = new Vec2f(3.0f, 4.0f);
+    private final Vec2f VEC_B = new Vec2f(10.0f, 10.0f);
+
+    @Test
+    public void testOperations() {
+        assertEquals(5.0f, VEC_A.magnitude());
+        assertTrue(new Vec2f(0.6f, 0.8f).equals(VEC_A.normalize(), ERROR_MARGIN));
+        assertTrue(new Vec2f(13.0f, 14.0f).equals(VEC_A.add(VEC_B), ERROR_MARGIN));
+        assertTrue(new Vec2f(6.0f, 8.0f).equals(VEC_A.scale(2.0f), ERROR_MARGIN));
+        assertEquals(70.0f, VEC_A.dot(VEC_B));
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(new Vec2(3.0, 4.0), VEC_A.toVec2());
+        assertEquals(VEC_A, new Vec2f(new Vec2(3.0, 4.0)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Vec3ArrayTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private final Vec3Array ARRAY_A = new Vec3Array(new Vec3(1.0, 2.0, 3.0),
+            new Vec3(4.0, 5.0, 6.0), new Vec3(7.0, 8.0, 9.0));
+    private final Vec3Array ARRAY_B = new Vec3Array(new double[]{10.0, 10.0, 10.0, 1.0, 0.0,
+            0.0, 0.0, 2.0, 0.0});
+
+    @Test
+    public void testConstructors() {
+        assertEquals(0, new Vec3Array(0).size());
+        assertArrayEquals(new double[6], new Vec3Array(2).toArray());
+        assertThrows(IllegalArgumentException.class, () -> new Vec3Array(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Vec3Array(0x55555556));
+        assertThrows(IllegalArgumentException.class, () -> new Vec3Array(new double[4]));
+
+        double[] elements = {1.0, 2.0, 3.0};
+        Vec3Array array = new Vec3Array(elements);
+        elements[0] = 5.0;
+        assertEquals(1.0, array.x(0));
+    }
+
+    @Test
+    public void testAccessors() {
+        assertEquals(3, ARRAY_A.size());
+        assertVectorsEqual(new Vec3(4.0, 5.0, 6.0), ARRAY_A.get(1), ERROR_MARGIN);
+        assertEquals(7.0, ARRAY_A.x(2));
+        assertEquals(8.0, ARRAY_A.y(2));
+        assertEquals(9.0, ARRAY_A.z(2));
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.get(3));
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.x(-1));
+    }
+
+    @Test
+    public void testSet() {
+        ARRAY_A.set(0, new Vec3(-1.0, -2.0, -3.0));
+        ARRAY_A.set(2, 0.0, 0.5, 1.0);
+        assertArrayEquals(new double[]{-1.0, -2.0, -3.0, 4.0, 5.0, 6.0, 0.0, 0.5, 1.0},
+                ARRAY_A.toArray());
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.set(3, 0.0, 0.0, 0.0));
+    }
+
+    @Test
+    public void testSlice() {
+        Vec3Array slice = ARRAY_A.slice(1, 3);
+        assertEquals(2, slice.size());
+        assertArrayEquals(new double[]{4.0, 5.0, 6.0, 7.0, 8.0, 9.0}, slice.toArray());
+
+        slice.set(0, 0.0, 0.0, 0.0);
+        assertEquals(0.0, ARRAY_A.x(1));
+        Vec3Array nested = slice.slice(1, 2);
+        assertVectorsEqual(new Vec3(7.0, 8.0, 9.0), nested.get(0), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> nested.get(1));
+
+        assertEquals(0, ARRAY_A.slice(3, 3).size());
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.slice(2, 4));
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.slice(2, 1));
+    }
+
+    @Test
+    public void testCopy() {
+        Vec3Array copy = ARRAY_A.slice(1, 2).copy();
+        copy.set(0, 0.0, 0.0, 0.0);
+        assertVectorsEqual(new Vec3(4.0, 5.0, 6.0), ARRAY_A.get(1), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testAdd() {
+        ARRAY_A.add(ARRAY_B);
+        assertArrayEquals(new double[]{11.0, 12.0, 13.0, 5.0, 5.0, 6.0, 7.0, 10.0, 9.0},
+                ARRAY_A.toArray(), ERROR_MARGIN);
+        ARRAY_A.slice(0, 1).add(new Vec3(-11.0, -12.0, -13.0));
+        assertVectorsEqual(new Vec3(0.0, 0.0, 0.0), ARRAY_A.get(0), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.add(ARRAY_B.slice(0, 2)));
+    }
+
+    @Test
+    public void testSubtract() {
+        ARRAY_A.slice(1, 3).subtract(ARRAY_B.slice(0, 2));
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, -6.0, -5.0, -4.0, 6.0, 8.0, 9.0},
+                ARRAY_A.toArray(), ERROR_MARGIN);
+        ARRAY_A.subtract(new Vec3(1.0, 2.0, 3.0));
+        assertVectorsEqual(new Vec3(5.0, 6.0, 6.0), ARRAY_A.get(2), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testScale() {
+        ARRAY_A.slice(1, 2).scale(2.0);
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, 8.0, 10.0, 12.0, 7.0, 8.0, 9.0},
+                ARRAY_A.toArray(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testNormalize() {
+        ARRAY_A.normalize();
+        for (int i = 0; i < ARRAY_A.size(); i++) {
+            Vec3 expected = new Vec3(3.0 * i + 1.0, 3.0 * i + 2.0, 3.0 * i + 3.0).normalize();
+            assertVectorsEqual(expected, ARRAY_A.get(i), ERROR_MARGIN);
+        }
+    }
+
+    @Test
+    public void testDot() {
+        assertArrayEquals(new double[]{60.0, 4.0, 16.0}, ARRAY_A.dot(ARRAY_B), ERROR_MARGIN);
+        assertArrayEquals(new double[]{4.0}, ARRAY_A.slice(1, 2).dot(ARRAY_B.slice(1, 2)),
+                ERROR_MARGIN);
+        assertArrayEquals(new double[]{1.0, 4.0, 7.0}, ARRAY_A.dot(new Vec3(1.0, 0.0, 0.0)),
+                ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.dot(new Vec3Array(2)));
+    }
+
+    @Test
+    public void testCross() {
+        Vec3[] expected = new Vec3[3];
+        for (int i = 0; i < 3; i++) {
+            expected[i] = ARRAY_A.get(i).cross(ARRAY_B.get(i));
+        }
+        ARRAY_A.cross(ARRAY_B);
+        for (int i = 0; i < 3; i++) {
+            assertVectorsEqual(expected[i], ARRAY_A.get(i), ERROR_MARGIN);
+        }
+
+        Vec3Array units = new Vec3Array(new Vec3(1.0, 0.0, 0.0), new Vec3(0.0, 1.0, 0.0));
+        units.cross(new Vec3(0.0, 0.0, 1.0));
+        assertArrayEquals(new double[]{0.0, -1.0, 0.0, 1.0, 0.0, 0.0}, units.toArray(),
+                ERROR_MARGIN);
+    }
+
+    @Test
+    public void testWriteTo() {
+        FloatBuffer floats = FloatBuffer.allocate(6);
+        ARRAY_A.slice(1, 3).writeTo(floats);
+        assertEquals(6, floats.position());
+        assertEquals(4.0f, floats.get(0));
+        assertEquals(9.0f, floats.get(5));
+        assertThrows(IllegalArgumentException.class,
+                () -> ARRAY_A.writeTo(FloatBuffer.allocate(8)));
+
+        ByteBuffer bytes = ByteBuffer.allocate(40);
+        ARRAY_A.writeTo(bytes, 4);
+        assertEquals(0, bytes.position());
+        assertEquals(1.0f, bytes.getFloat(4));
+        assertEquals(9.0f, bytes.getFloat(36));
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.writeTo(bytes, 8));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals(ARRAY_A.get(0) + "\n" + ARRAY_A.get(1), ARRAY_A.slice(0, 2).toString());
+    }
+}
@@ -3,7 +3,12 @@ package com.github.jordanpottruff.jgml;
 import org.junit.Test;
 
 import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class Vec3Test {
     private static final double ERROR_MARGIN = .001;
@@ -32,6 +37,36 @@ public class Vec3Test {
     public void testAdd() {
         Vec3 vecSumAB = new Vec3(11.0, 12.0, 13.0);
         assertVectorsEqual(vecSumAB, VEC_A.add(VEC_B), ERROR_MARGIN);
+        assertVectorsEqual(vecSumAB, VEC_A.add(new VecN(VEC_B.toArray())), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testGet() {
+        assertEquals(VEC_A.x(), VEC_A.get(0));
+        assertEquals(VEC_A.z(), VEC_A.get(2));
+        assertEquals(3, VEC_A.size());
+        assertThrows(IllegalArgumentException.class, () -> VEC_A.get(3));
+    }
+
+    @Test
+    public void testConstructor_longerArray() {
+        // Only the first three elements are kept. The vector used to keep the whole array, and
+        // so reported a size of four here.
+        Vec3 vec = new Vec3(new double[]{1.0, 2.0, 3.0, 4.0});
+        assertEquals(3, vec.size());
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0}, vec.toArray());
+        assertEquals(VEC_A, vec);
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        Vec3 vec = new Vec3(1.0, 2.0, 3.0);
+        assertEquals(VEC_A, vec);
+        assertEquals(VEC_A.hashCode(), vec.hashCode());
+        assertNotEquals(VEC_A, VEC_B);
+        assertNotEquals(VEC_A, new VecN(VEC_A.toArray()));
+        assertTrue(VEC_A.equals(new Vec3(1.0005, 2.0, 2.9995), ERROR_MARGIN));
+        assertFalse(VEC_A.equals(new Vec3(1.0, 2.01, 3.0), ERROR_MARGIN));
     }
 
     @Test
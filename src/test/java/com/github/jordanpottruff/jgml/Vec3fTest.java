@@ -0,0 +1,53 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Vec3fTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private final Vec3f VEC_A = new Vec3f(1.0f, 2.0f, 3.0f);
+    private final Vec3f VEC_B = new Vec3f(10.0f, 10.0f, 10.0f);
+
+    static void assertVectorsEqual(Vec3f expected, Vec3f actual, double error) {
+        assertTrue(expected.equals(actual, error));
+    }
+
+    @Test
+    public void testAccessors() {
+        assertEquals(1.0f, VEC_A.x());
+        assertEquals(2.0f, VEC_A.get(1));
+        assertEquals(3.0f, VEC_A.z());
+        assertThrows(IllegalArgumentException.class, () -> VEC_A.get(3));
+        assertThrows(IllegalArgumentException.class, () -> new Vec3f(new float[]{1.0f, 2.0f}));
+    }
+
+    @Test
+    public void testNormalize() {
+        assertVectorsEqual(new Vec3f(0.2672f, 0.5345f, 0.8017f), VEC_A.normalize(), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testAdd() {
+        assertVectorsEqual(new Vec3f(11.0f, 12.0f, 13.0f), VEC_A.add(VEC_B), ERROR_MARGIN);
+        assertVectorsEqual(new Vec3f(-9.0f, -8.0f, -7.0f), VEC_A.subtract(VEC_B), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testDotAndCross() {
+        assertEquals(60.0f, VEC_A.dot(VEC_B));
+        assertVectorsEqual(new Vec3f(-10.0f, 20.0f, -10.0f), VEC_A.cross(VEC_B), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testConversions() {
+        Vec3 vec = new Vec3(0.1, 0.2, 0.3);
+        Vec3f narrowed = new Vec3f(vec);
+        assertEquals(0.1f, narrowed.x());
+        assertEquals(vec.z(), narrowed.toVec3().z(), 1e-7);
+        assertEquals(new Vec3f(narrowed.toVec3()), narrowed);
+    }
+}
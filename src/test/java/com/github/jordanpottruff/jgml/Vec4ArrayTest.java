@@ -0,0 +1,55 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+
+import static com.github.jordanpottruff.jgml.VecNTest.assertVectorsEqual;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class Vec4ArrayTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private final Vec4Array ARRAY_A = new Vec4Array(new Vec4(1.0, 2.0, 3.0, 4.0),
+            new Vec4(0.0, 0.0, 3.0, 4.0));
+    private final Vec4Array ARRAY_B = new Vec4Array(new double[]{1.0, 1.0, 1.0, 1.0, 2.0, 0.0,
+            0.0, 1.0});
+
+    @Test
+    public void testAccessors() {
+        assertEquals(2, ARRAY_A.size());
+        assertVectorsEqual(new Vec4(0.0, 0.0, 3.0, 4.0), ARRAY_A.get(1), ERROR_MARGIN);
+        assertEquals(3.0, ARRAY_A.z(0));
+        assertEquals(4.0, ARRAY_A.w(0));
+        ARRAY_A.set(0, 5.0, 6.0, 7.0, 8.0);
+        assertVectorsEqual(new Vec4(5.0, 6.0, 7.0, 8.0), ARRAY_A.slice(0, 1).get(0), ERROR_MARGIN);
+        assertThrows(IllegalArgumentException.class, () -> ARRAY_A.w(2));
+        assertThrows(IllegalArgumentException.class, () -> new Vec4Array(new double[6]));
+        assertThrows(IllegalArgumentException.class, () -> new Vec4Array(-1));
+        assertThrows(IllegalArgumentException.class, () -> new Vec4Array(1 << 30));
+    }
+
+    @Test
+    public void testOperations() {
+        assertArrayEquals(new double[]{10.0, 4.0}, ARRAY_A.dot(ARRAY_B), ERROR_MARGIN);
+        assertArrayEquals(new double[]{4.0, 4.0}, ARRAY_A.dot(new Vec4(0.0, 0.0, 0.0, 1.0)),
+                ERROR_MARGIN);
+        ARRAY_A.subtract(ARRAY_B).add(new Vec4(1.0, 1.0, 1.0, 1.0)).scale(0.5);
+        assertArrayEquals(new double[]{0.5, 1.0, 1.5, 2.0, -0.5, 0.5, 2.0, 2.0},
+                ARRAY_A.toArray(), ERROR_MARGIN);
+        ARRAY_A.slice(1, 2).normalize();
+        assertVectorsEqual(new Vec4(-0.5, 0.5, 2.0, 2.0).normalize(), ARRAY_A.get(1),
+                ERROR_MARGIN);
+        assertVectorsEqual(new Vec4(0.5, 1.0, 1.5, 2.0), ARRAY_A.get(0), ERROR_MARGIN);
+    }
+
+    @Test
+    public void testWriteTo() {
+        FloatBuffer floats = FloatBuffer.allocate(8);
+        ARRAY_A.writeTo(floats);
+        assertEquals(8, floats.position());
+        assertEquals(3.0f, floats.get(6));
+    }
+}
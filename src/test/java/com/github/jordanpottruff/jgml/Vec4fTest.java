@@ -0,0 +1,28 @@
+package com.github.jordanpottruff.jgml;
+
+import org.junit.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Vec4fTest {
+    private static final double ERROR_MARGIN = .001;
+
+    private final Vec4f VEC_A = new Vec4f(1.0f, 2.0f, 3.0f, 4.0f);
+    private final Vec4f VEC_B = new Vec4f(10.0f, 10.0f, 10.0f, 10.0f);
+
+    @Test
+    public void testOperations() {
+        assertTrue(new Vec4f(11.0f, 12.0f, 13.0f, 14.0f).equals(VEC_A.add(VEC_B), ERROR_MARGIN));
+        assertTrue(new Vec4f(-1.0f, -2.0f, -3.0f, -4.0f).equals(VEC_A.invert(), ERROR_MARGIN));
+        assertEquals(100.0f, VEC_A.dot(VEC_B));
+        assertTrue(new Vec3f(-10.0f, 20.0f, -10.0f).equals(VEC_A.cross(VEC_B), ERROR_MARGIN));
+        assertEquals(new Vec3f(1.0f, 2.0f, 3.0f), VEC_A.xyz());
+    }
+
+    @Test
+    public void testConversions() {
+        assertEquals(new Vec4(1.0, 2.0, 3.0, 4.0), VEC_A.toVec4());
+        assertEquals(VEC_A, new Vec4f(VEC_A.toVec4()));
+    }
+}
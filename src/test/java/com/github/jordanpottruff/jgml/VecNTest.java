@@ -2,7 +2,11 @@ package com.github.jordanpottruff.jgml;
 
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -135,4 +139,91 @@ public class VecNTest {
         String expected = "[1.00]\n[2.00]\n[3.00]";
         assertEquals(expected, VEC3_A.toString(2));
     }
+
+    @Test
+    public void testWriteTo_defaultMethods() {
+        Vec vec = new ForwardingVec(VEC3_A);
+        FloatBuffer floats = FloatBuffer.allocate(3);
+        vec.writeTo(floats);
+        assertEquals(2.0f, floats.get(1));
+
+        DoubleBuffer doubles = DoubleBuffer.allocate(3);
+        vec.writeTo(doubles);
+        assertEquals(3.0, doubles.get(2));
+
+        ByteBuffer bytes = ByteBuffer.allocate(16);
+        vec.writeTo(bytes, 4);
+        assertEquals(1.0f, bytes.getFloat(4));
+        assertEquals(3.0f, bytes.getFloat(12));
+        assertThrows(IllegalArgumentException.class, () -> vec.writeTo(FloatBuffer.allocate(2)));
+        assertThrows(IllegalArgumentException.class, () -> vec.writeTo(DoubleBuffer.allocate(2)));
+        assertThrows(IllegalArgumentException.class, () -> vec.writeTo(bytes, 8));
+    }
+
+    /**
+     * A Vec implemented outside of VecN, which only inherits the default writeTo methods.
+     */
+    private static class ForwardingVec implements Vec {
+
+        private final VecN vec;
+
+        ForwardingVec(VecN vec) {
+            this.vec = vec;
+        }
+
+        @Override
+        public double get(int i) {
+            return vec.get(i);
+        }
+
+        @Override
+        public int size() {
+            return vec.size();
+        }
+
+        @Override
+        public double magnitude() {
+            return vec.magnitude();
+        }
+
+        @Override
+        public Vec normalize() {
+            return vec.normalize();
+        }
+
+        @Override
+        public Vec invert() {
+            return vec.invert();
+        }
+
+        @Override
+        public Vec scale(double scalar) {
+            return vec.scale(scalar);
+        }
+
+        @Override
+        public Vec add(Vec other) {
+            return vec.add(other);
+        }
+
+        @Override
+        public Vec subtract(Vec other) {
+            return vec.subtract(other);
+        }
+
+        @Override
+        public double dot(Vec other) {
+            return vec.dot(other);
+        }
+
+        @Override
+        public double[] toArray() {
+            return vec.toArray();
+        }
+
+        @Override
+        public Iterator<Double> iterator() {
+            return vec.iterator();
+        }
+    }
 }
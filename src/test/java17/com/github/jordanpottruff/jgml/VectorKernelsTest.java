@@ -0,0 +1,72 @@
+package com.github.jordanpottruff.jgml;
+
+import jdk.incubator.vector.DoubleVector;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VectorKernelsTest {
+
+    private static final int LANES = DoubleVector.SPECIES_PREFERRED.length();
+
+    private static double[] randomArray(Random random, int length) {
+        double[] array = new double[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = random.nextDouble() * 2.0 - 1.0;
+        }
+        return array;
+    }
+
+    /**
+     * The vectorized sum adds its terms in a different order, so it is only expected to match
+     * the scalar sum up to rounding relative to the sum of the magnitudes of the terms.
+     */
+    private static void assertDotMatches(double[] a, int aFrom, double[] b, int bFrom, int length) {
+        double magnitude = 0.0;
+        for (int i = 0; i < length; i++) {
+            magnitude += Math.abs(a[aFrom + i] * b[bFrom + i]);
+        }
+        double expected = ScalarKernels.dot(a, aFrom, b, bFrom, length);
+        assertEquals(expected, VectorKernels.dot(a, aFrom, b, bFrom, length),
+                length * Math.ulp(1.0) * magnitude);
+    }
+
+    @Test
+    public void testVectorized() {
+        assertTrue(Kernels.VECTORIZED);
+    }
+
+    @Test
+    public void testDot() {
+        Random random = new Random(1L);
+        // Cover every remainder modulo the species length, including arrays shorter than a lane.
+        for (int length = 0; length <= 4 * LANES + 3; length++) {
+            double[] a = randomArray(random, length);
+            double[] b = randomArray(random, length);
+            assertDotMatches(a, 0, b, 0, length);
+        }
+    }
+
+    @Test
+    public void testDot_offsets() {
+        Random random = new Random(2L);
+        double[] a = randomArray(random, 12 * LANES + 8);
+        double[] b = randomArray(random, 12 * LANES + 8);
+        for (int from = 0; from <= LANES + 1; from++) {
+            int length = 8 * LANES + from + 1;
+            assertDotMatches(a, from, b, 2 * from + 1, length);
+        }
+    }
+
+    @Test
+    public void testKernelsDot() {
+        Random random = new Random(3L);
+        int length = Kernels.VECTOR_THRESHOLD * 3 + 1;
+        double[] a = randomArray(random, length);
+        double[] b = randomArray(random, length);
+        assertEquals(ScalarKernels.dot(a, 0, b, 0, length), Kernels.dot(a, b), 1e-12);
+    }
+}